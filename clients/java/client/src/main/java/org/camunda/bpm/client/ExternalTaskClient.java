@@ -16,7 +16,10 @@
  */
 package org.camunda.bpm.client;
 
+import java.util.Map;
+
 import org.camunda.bpm.client.impl.ExternalTaskClientBuilderImpl;
+import org.camunda.bpm.client.task.ExternalTaskHandlerMetrics;
 import org.camunda.bpm.client.topic.TopicSubscriptionBuilder;
 
 /**
@@ -61,4 +64,9 @@ public interface ExternalTaskClient {
    */
   boolean isActive();
 
+  /**
+   * @return the timings of the task handlers, by topic name
+   */
+  Map<String, ExternalTaskHandlerMetrics> getHandlerMetrics();
+
 }
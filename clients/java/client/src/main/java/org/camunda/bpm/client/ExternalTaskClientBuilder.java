@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.client;
 
+import java.util.concurrent.ExecutorService;
+
 import org.camunda.bpm.client.backoff.BackoffStrategy;
 import org.camunda.bpm.client.backoff.ExponentialBackoffStrategy;
 import org.camunda.bpm.client.exception.ExternalTaskClientException;
@@ -141,6 +143,72 @@ public interface ExternalTaskClientBuilder {
    */
   ExternalTaskClientBuilder disableBackoffStrategy();
 
+  /**
+   * Specifies whether external tasks are pushed by the server over a stream instead of
+   * being fetched by one request per batch. This information is optional. Default is <code>false</code>.
+   *
+   * The stream is kept open for the {@link #asyncResponseTimeout(long)}, which is mandatory in this case,
+   * and reopened afterwards. At most {@link #maxTasks(int)} tasks are pushed before the client has handled them.
+   *
+   * @param useStreaming when fetching and locking tasks
+   * @return the builder
+   */
+  ExternalTaskClientBuilder useStreaming(boolean useStreaming);
+
+  /**
+   * Specifies the maximum amount of asynchronous completions that are sent to the engine within one request.
+   * If greater than one, the engine completes the tasks of a request in one transaction.
+   * This information is optional. Default is 1.
+   *
+   * @param completionBatchSize of tasks completed by
+   *   {@link org.camunda.bpm.client.task.ExternalTaskService#completeAsync} within one request
+   * @return the builder
+   */
+  ExternalTaskClientBuilder completionBatchSize(int completionBatchSize);
+
+  /**
+   * Specifies how long asynchronous completions are buffered before they are sent to the engine,
+   * unless the {@link #completionBatchSize(int)} is reached earlier.
+   * This information is optional. Default is 50 milliseconds.
+   *
+   * @param completionBatchTimeout in milliseconds
+   * @return the builder
+   */
+  ExternalTaskClientBuilder completionBatchTimeout(long completionBatchTimeout);
+
+  /**
+   * Specifies an executor that runs the task handlers, such that tasks are handled concurrently.
+   * This information is optional. By default, tasks are handled one after another by the thread
+   * that fetches them.
+   *
+   * NOTE: The executor is not shut down by the client. Concurrent handlers share the HTTP connections
+   *       of the client, which are limited by the system property <code>http.maxConnections</code>.
+   *
+   * @param handlerExecutor which executes the task handlers
+   * @return the builder
+   */
+  ExternalTaskClientBuilder handlerExecutor(ExecutorService handlerExecutor);
+
+  /**
+   * Specifies that every task is handled on a new virtual thread, such that tasks are handled concurrently.
+   * On Java runtimes without virtual threads, platform threads are used instead.
+   * On invocation, the configuration option {@link #handlerExecutor(ExecutorService)} is ignored.
+   *
+   * @return the builder
+   */
+  ExternalTaskClientBuilder useVirtualThreads();
+
+  /**
+   * Specifies the maximum amount of tasks that are handled concurrently if a {@link #handlerExecutor(ExecutorService)}
+   * is given or {@link #useVirtualThreads() virtual threads} are used. Tasks are only fetched for free handlers,
+   * so a fetch request asks for at most this number of tasks minus the tasks in execution.
+   * This information is optional. Default is the {@link #maxTasks(int)}.
+   *
+   * @param maxConcurrentTasks which are handled at the same time
+   * @return the builder
+   */
+  ExternalTaskClientBuilder maxConcurrentTasks(int maxConcurrentTasks);
+
   /**
    * Bootstraps the Camunda client
    *
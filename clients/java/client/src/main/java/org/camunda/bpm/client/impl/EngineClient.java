@@ -17,18 +17,22 @@
 package org.camunda.bpm.client.impl;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
 import org.camunda.bpm.client.task.impl.dto.BpmnErrorRequestDto;
+import org.camunda.bpm.client.task.impl.dto.CompleteAllRequestDto;
 import org.camunda.bpm.client.task.impl.dto.CompleteRequestDto;
 import org.camunda.bpm.client.task.impl.dto.ExtendLockRequestDto;
 import org.camunda.bpm.client.task.impl.dto.FailureRequestDto;
 import org.camunda.bpm.client.task.impl.dto.LockRequestDto;
 import org.camunda.bpm.client.task.impl.dto.SetVariablesRequestDto;
+import org.camunda.bpm.client.task.impl.dto.TaskCompletionDto;
 import org.camunda.bpm.client.topic.impl.dto.FetchAndLockRequestDto;
+import org.camunda.bpm.client.topic.impl.dto.FetchAndLockStreamCreditsRequestDto;
 import org.camunda.bpm.client.topic.impl.dto.TopicRequestDto;
 import org.camunda.bpm.client.variable.impl.TypedValueField;
 import org.camunda.bpm.client.variable.impl.TypedValues;
@@ -41,6 +45,9 @@ public class EngineClient {
   protected static final String EXTERNAL_TASK_RESOURCE_PATH = "/external-task";
   protected static final String EXTERNAL_TASK__PROCESS_RESOURCE_PATH = "/process-instance";
   protected static final String FETCH_AND_LOCK_RESOURCE_PATH = EXTERNAL_TASK_RESOURCE_PATH + "/fetchAndLock";
+  protected static final String FETCH_AND_LOCK_STREAM_RESOURCE_PATH = FETCH_AND_LOCK_RESOURCE_PATH + "/stream";
+  public static final String STREAM_ID_PATH_PARAM = "{streamId}";
+  public static final String STREAM_CREDITS_RESOURCE_PATH = FETCH_AND_LOCK_STREAM_RESOURCE_PATH + "/" + STREAM_ID_PATH_PARAM + "/credits";
   public static final String ID_PATH_PARAM = "{id}";
   protected static final String ID_RESOURCE_PATH = EXTERNAL_TASK_RESOURCE_PATH + "/" + ID_PATH_PARAM;
   public static final String LOCK_RESOURCE_PATH = ID_RESOURCE_PATH + "/lock";
@@ -48,6 +55,7 @@ public class EngineClient {
   public static final String SET_VARIABLES_RESOURCE_PATH = EXTERNAL_TASK__PROCESS_RESOURCE_PATH + "/" + ID_PATH_PARAM + "/variables";
   public static final String UNLOCK_RESOURCE_PATH = ID_RESOURCE_PATH + "/unlock";
   public static final String COMPLETE_RESOURCE_PATH = ID_RESOURCE_PATH + "/complete";
+  public static final String COMPLETE_ALL_RESOURCE_PATH = EXTERNAL_TASK_RESOURCE_PATH + "/complete";
   public static final String FAILURE_RESOURCE_PATH = ID_RESOURCE_PATH + "/failure";
   public static final String BPMN_ERROR_RESOURCE_PATH = ID_RESOURCE_PATH + "/bpmnError";
   public static final String NAME_PATH_PARAM = "{name}";
@@ -78,12 +86,35 @@ public class EngineClient {
   }
 
   public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics)  {
+    return fetchAndLock(topics, maxTasks);
+  }
+
+  public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics, int maxTasks)  {
     FetchAndLockRequestDto payload = new FetchAndLockRequestDto(workerId, maxTasks, asyncResponseTimeout, topics, usePriority);
     String resourceUrl = baseUrl + FETCH_AND_LOCK_RESOURCE_PATH;
     ExternalTask[] externalTasks = engineInteraction.postRequest(resourceUrl, payload, ExternalTaskImpl[].class);
     return Arrays.asList(externalTasks);
   }
 
+  public void fetchAndLockStream(List<TopicRequestDto> topics, FetchAndLockStreamHandler streamHandler) {
+    FetchAndLockRequestDto payload = new FetchAndLockRequestDto(workerId, maxTasks, asyncResponseTimeout, topics, usePriority);
+    String resourceUrl = baseUrl + FETCH_AND_LOCK_STREAM_RESOURCE_PATH;
+    engineInteraction.postStreamRequest(resourceUrl, payload, (streamId, line) -> {
+      List<ExternalTask> externalTasks = Collections.emptyList();
+      if (!line.isEmpty()) {
+        externalTasks = Arrays.asList(engineInteraction.deserializeLine(line, ExternalTaskImpl[].class));
+      }
+      return streamHandler.handleTasks(streamId, externalTasks);
+    });
+  }
+
+  public void grantCredits(String streamId, int credits) {
+    FetchAndLockStreamCreditsRequestDto payload = new FetchAndLockStreamCreditsRequestDto(workerId, credits);
+    String resourcePath = STREAM_CREDITS_RESOURCE_PATH.replace(STREAM_ID_PATH_PARAM, streamId);
+    String resourceUrl = baseUrl + resourcePath;
+    engineInteraction.postRequest(resourceUrl, payload, Void.class);
+  }
+
   public void lock(String taskId, long lockDuration)  {
     LockRequestDto payload = new LockRequestDto(workerId, lockDuration);
     String resourcePath = LOCK_RESOURCE_PATH.replace("{id}", taskId);
@@ -107,6 +138,26 @@ public class EngineClient {
     engineInteraction.postRequest(resourceUrl, payload, Void.class);
   }
 
+  public TaskCompletionDto createTaskCompletion(String taskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    Map<String, TypedValueField> typedValueDtoMap = typedValues.serializeVariables(variables);
+    Map<String, TypedValueField> localTypedValueDtoMap = typedValues.serializeVariables(localVariables);
+
+    return new TaskCompletionDto(taskId, typedValueDtoMap, localTypedValueDtoMap);
+  }
+
+  public void complete(TaskCompletionDto completion)  {
+    CompleteRequestDto payload = new CompleteRequestDto(workerId, completion.getVariables(), completion.getLocalVariables());
+    String resourcePath = COMPLETE_RESOURCE_PATH.replace("{id}", completion.getId());
+    String resourceUrl = baseUrl + resourcePath;
+    engineInteraction.postRequest(resourceUrl, payload, Void.class);
+  }
+
+  public void completeAll(List<TaskCompletionDto> completions)  {
+    CompleteAllRequestDto payload = new CompleteAllRequestDto(workerId, completions);
+    String resourceUrl = baseUrl + COMPLETE_ALL_RESOURCE_PATH;
+    engineInteraction.postRequest(resourceUrl, payload, Void.class);
+  }
+
   public void setVariables(String processId, Map<String, Object> variables)  {
     Map<String, TypedValueField> typedValueDtoMap = typedValues.serializeVariables(variables);
     SetVariablesRequestDto payload = new SetVariablesRequestDto(workerId, typedValueDtoMap);
@@ -157,6 +208,10 @@ public class EngineClient {
     return workerId;
   }
 
+  public int getMaxTasks() {
+    return maxTasks;
+  }
+
   public void setTypedValues(TypedValues typedValues) {
     this.typedValues = typedValues;
   }
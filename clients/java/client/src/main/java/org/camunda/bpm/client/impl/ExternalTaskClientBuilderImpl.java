@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 
 import org.camunda.bpm.client.ExternalTaskClient;
 import org.camunda.bpm.client.ExternalTaskClientBuilder;
@@ -86,6 +87,12 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
   protected boolean isAutoFetchingEnabled;
   protected BackoffStrategy backoffStrategy;
   protected boolean isBackoffStrategyDisabled;
+  protected boolean useStreaming;
+  protected int completionBatchSize;
+  protected long completionBatchTimeout;
+  protected ExecutorService handlerExecutor;
+  protected boolean useVirtualThreads;
+  protected Integer maxConcurrentTasks;
 
   public ExternalTaskClientBuilderImpl() {
     // default values
@@ -97,6 +104,11 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     this.isAutoFetchingEnabled = true;
     this.backoffStrategy = new ExponentialBackoffStrategy();
     this.isBackoffStrategyDisabled = false;
+    this.useStreaming = false;
+    this.completionBatchSize = 1;
+    this.completionBatchTimeout = 50;
+    this.useVirtualThreads = false;
+    this.maxConcurrentTasks = null;
   }
 
   public ExternalTaskClientBuilder baseUrl(String baseUrl) {
@@ -149,6 +161,36 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     return this;
   }
 
+  public ExternalTaskClientBuilder useStreaming(boolean useStreaming) {
+    this.useStreaming = useStreaming;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder completionBatchSize(int completionBatchSize) {
+    this.completionBatchSize = completionBatchSize;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder completionBatchTimeout(long completionBatchTimeout) {
+    this.completionBatchTimeout = completionBatchTimeout;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder handlerExecutor(ExecutorService handlerExecutor) {
+    this.handlerExecutor = handlerExecutor;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder useVirtualThreads() {
+    this.useVirtualThreads = true;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder maxConcurrentTasks(int maxConcurrentTasks) {
+    this.maxConcurrentTasks = maxConcurrentTasks;
+    return this;
+  }
+
   public ExternalTaskClientBuilder defaultSerializationFormat(String defaultSerializationFormat) {
     this.defaultSerializationFormat = defaultSerializationFormat;
     return this;
@@ -168,10 +210,26 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
       throw LOG.asyncResponseTimeoutNotGreaterThanZeroException(asyncResponseTimeout);
     }
 
+    if (useStreaming && asyncResponseTimeout == null) {
+      throw LOG.streamingWithoutAsyncResponseTimeoutException();
+    }
+
     if (lockDuration <= 0L) {
       throw LOG.lockDurationIsNotGreaterThanZeroException(lockDuration);
     }
 
+    if (completionBatchSize <= 0) {
+      throw LOG.completionBatchSizeNotGreaterThanZeroException(completionBatchSize);
+    }
+
+    if (completionBatchTimeout < 0L) {
+      throw LOG.completionBatchTimeoutNegativeException(completionBatchTimeout);
+    }
+
+    if (maxConcurrentTasks != null && maxConcurrentTasks <= 0) {
+      throw LOG.maxConcurrentTasksNotGreaterThanZeroException(maxConcurrentTasks);
+    }
+
     if (baseUrl == null || baseUrl.isEmpty()) {
       throw LOG.baseUrlNullException();
     }
@@ -274,6 +332,18 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
       topicSubscriptionManager.disableBackoffStrategy();
     }
 
+    if (useStreaming) {
+      topicSubscriptionManager.enableStreaming();
+    }
+
+    topicSubscriptionManager.setCompletionBatching(completionBatchSize, completionBatchTimeout);
+
+    if (handlerExecutor != null || useVirtualThreads) {
+      ExecutorService executor = useVirtualThreads ? null : handlerExecutor;
+      int concurrentTasks = maxConcurrentTasks != null ? maxConcurrentTasks : maxTasks;
+      topicSubscriptionManager.setHandlerExecution(executor, useVirtualThreads, concurrentTasks);
+    }
+
     if (isAutoFetchingEnabled()) {
       topicSubscriptionManager.start();
     }
@@ -16,7 +16,10 @@
  */
 package org.camunda.bpm.client.impl;
 
+import java.util.Map;
+
 import org.camunda.bpm.client.ExternalTaskClient;
+import org.camunda.bpm.client.task.ExternalTaskHandlerMetrics;
 import org.camunda.bpm.client.topic.TopicSubscriptionBuilder;
 import org.camunda.bpm.client.topic.impl.TopicSubscriptionBuilderImpl;
 import org.camunda.bpm.client.topic.impl.TopicSubscriptionManager;
@@ -48,6 +51,10 @@ public class ExternalTaskClientImpl implements ExternalTaskClient {
     return topicSubscriptionManager.isRunning();
   }
 
+  public Map<String, ExternalTaskHandlerMetrics> getHandlerMetrics() {
+    return topicSubscriptionManager.getHandlerMetrics();
+  }
+
   public TopicSubscriptionManager getTopicSubscriptionManager() {
     return topicSubscriptionManager;
   }
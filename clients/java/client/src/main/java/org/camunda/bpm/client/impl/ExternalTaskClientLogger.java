@@ -238,4 +238,24 @@ public class ExternalTaskClientLogger extends BaseLogger {
         "030", "Null value is not allowed as '{}'", parameterName));
   }
 
+  public ExternalTaskClientException streamingWithoutAsyncResponseTimeoutException() {
+    return new ExternalTaskClientException(exceptionMessage(
+        "032", "Streaming requires an asynchronous response timeout as duration of the stream"));
+  }
+
+  public ExternalTaskClientException completionBatchSizeNotGreaterThanZeroException(Integer completionBatchSize) {
+    return new ExternalTaskClientException(exceptionMessage(
+        "033", "Completion batch size must be greater than zero, but was '{}'", completionBatchSize));
+  }
+
+  public ExternalTaskClientException completionBatchTimeoutNegativeException(Long completionBatchTimeout) {
+    return new ExternalTaskClientException(exceptionMessage(
+        "034", "Completion batch timeout must not be negative, but was '{}'", completionBatchTimeout));
+  }
+
+  public ExternalTaskClientException maxConcurrentTasksNotGreaterThanZeroException(Integer maxConcurrentTasks) {
+    return new ExternalTaskClientException(exceptionMessage(
+        "035", "Maximum amount of concurrently handled tasks must be greater than zero, but was '{}'", maxConcurrentTasks));
+  }
+
 }
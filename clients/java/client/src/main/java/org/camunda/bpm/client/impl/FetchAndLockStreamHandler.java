@@ -0,0 +1,36 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.impl;
+
+import java.util.List;
+
+import org.camunda.bpm.client.task.ExternalTask;
+
+/**
+ * Receives the external tasks pushed over a fetch and lock stream.
+ */
+@FunctionalInterface
+public interface FetchAndLockStreamHandler {
+
+  /**
+   * @param streamId the id of the stream, used to grant further credits
+   * @param externalTasks the pushed tasks, empty if the server only kept the connection alive
+   * @return <code>true</code> to keep the stream open, <code>false</code> to close it
+   */
+  boolean handleTasks(String streamId, List<ExternalTask> externalTasks);
+
+}
@@ -16,13 +16,18 @@
  */
 package org.camunda.bpm.client.impl;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiPredicate;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.ResponseHandler;
@@ -53,6 +58,9 @@ public class RequestExecutor {
 
   protected static final Header HEADER_CONTENT_TYPE_JSON = new BasicHeader(HttpHeaders.CONTENT_TYPE, "application/json");
   protected static final Header HEADER_USER_AGENT = new BasicHeader(HttpHeaders.USER_AGENT, "Camunda External Task Client");
+  protected static final Header HEADER_ACCEPT_NDJSON = new BasicHeader(HttpHeaders.ACCEPT, "application/x-ndjson");
+
+  protected static final String STREAM_ID_HEADER_NAME = "Camunda-Stream-Id";
 
   protected HttpClient httpClient;
   protected ObjectMapper objectMapper;
@@ -74,6 +82,34 @@ public class RequestExecutor {
     return executeRequest(httpRequest, responseClass);
   }
 
+  /**
+   * Posts a request whose response is streamed as newline delimited JSON.
+   * Blocks until the server ends the stream or the line handler returns false.
+   *
+   * @param lineHandler receives the stream id and each line except exception lines
+   */
+  protected void postStreamRequest(String resourceUrl, RequestDto requestDto, BiPredicate<String, String> lineHandler) {
+    ByteArrayEntity serializedRequest = serializeRequest(requestDto);
+    HttpUriRequest httpRequest = RequestBuilder.post(resourceUrl)
+      .addHeader(HEADER_USER_AGENT)
+      .addHeader(HEADER_CONTENT_TYPE_JSON)
+      .addHeader(HEADER_ACCEPT_NDJSON)
+      .setEntity(serializedRequest)
+      .build();
+
+    try {
+      httpClient.execute(httpRequest, handleStreamResponse(httpRequest, lineHandler));
+
+    } catch (RestException e) { // catches >= 300 HTTP status responses and exception lines
+      throw LOG.exceptionWhileReceivingResponse(httpRequest, e);
+
+    } catch (IOException e) {
+      if (!httpRequest.isAborted()) { // connection was not closed on purpose
+        throw LOG.exceptionWhileEstablishingConnection(httpRequest, e);
+      }
+    }
+  }
+
   protected byte[] getRequest(String resourceUrl)  {
     HttpUriRequest httpRequest = RequestBuilder.get(resourceUrl)
       .addHeader(HEADER_USER_AGENT)
@@ -126,26 +162,65 @@ public class RequestExecutor {
 
       @Override
       public T handleResponse(HttpResponse response) throws IOException {
-        final StatusLine statusLine = response.getStatusLine();
         final HttpEntity entity = response.getEntity();
-        if (statusLine.getStatusCode() >= 300) {
-          try {
-            RestException engineException = deserializeResponse(entity, EngineRestExceptionDto.class).toRestException();
+        checkStatus(response);
+        return entity == null ? null : handleEntity(entity);
+      }
+    };
+  }
 
-            int statusCode = statusLine.getStatusCode();
-            engineException.setHttpStatusCode(statusCode);
+  protected ResponseHandler<Void> handleStreamResponse(final HttpUriRequest httpRequest, final BiPredicate<String, String> lineHandler) {
+    return response -> {
+      checkStatus(response);
 
+      Header streamIdHeader = response.getFirstHeader(STREAM_ID_HEADER_NAME);
+      String streamId = streamIdHeader != null ? streamIdHeader.getValue() : null;
+
+      BufferedReader reader = null;
+      try {
+        reader = new BufferedReader(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (line.startsWith("{")) {
+            // the server failed to fetch tasks after the stream was opened
+            RestException engineException = deserializeLine(line, EngineRestExceptionDto.class).toRestException();
+            engineException.setHttpStatusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
             throw engineException;
+          }
 
-          } finally {
-            EntityUtils.consume(entity);
+          if (!lineHandler.test(streamId, line)) {
+            // closing the stream would read it to its end
+            httpRequest.abort();
+            break;
           }
         }
-        return entity == null ? null : handleEntity(entity);
+      } finally {
+        IoUtil.closeSilently(reader);
       }
+
+      return null;
     };
   }
 
+  protected void checkStatus(HttpResponse response) throws IOException {
+    final StatusLine statusLine = response.getStatusLine();
+    final HttpEntity entity = response.getEntity();
+    if (statusLine.getStatusCode() >= 300) {
+      try {
+        RestException engineException = deserializeResponse(entity, EngineRestExceptionDto.class).toRestException();
+
+        int statusCode = statusLine.getStatusCode();
+        engineException.setHttpStatusCode(statusCode);
+
+        throw engineException;
+
+      } finally {
+        EntityUtils.consume(entity);
+      }
+    }
+  }
+
   protected <T> T deserializeResponse(HttpEntity httpEntity, Class<T> responseClass) {
     InputStream inputStream = null;
     try {
@@ -167,6 +242,22 @@ public class RequestExecutor {
     }
   }
 
+  protected <T> T deserializeLine(String line, Class<T> responseClass) {
+    try {
+      return objectMapper.readValue(line, responseClass);
+
+    } catch (JsonParseException e) {
+      throw LOG.exceptionWhileParsingJsonObject(responseClass, e);
+
+    } catch (JsonMappingException e) {
+      throw LOG.exceptionWhileMappingJsonObject(responseClass, e);
+
+    } catch (IOException e) {
+      throw LOG.exceptionWhileDeserializingJsonObject(responseClass, e);
+
+    }
+  }
+
   protected ByteArrayEntity serializeRequest(RequestDto dto)  {
     byte[] serializedRequest = null;
 
@@ -0,0 +1,50 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task;
+
+/**
+ * <p>Timings of the {@link ExternalTaskHandler} of one topic, accumulated since the client was built.</p>
+ */
+public interface ExternalTaskHandlerMetrics {
+
+  /**
+   * @return the number of tasks that were passed to the handler
+   */
+  long getHandledTasks();
+
+  /**
+   * @return the total time in milliseconds the handler took to execute tasks
+   */
+  long getTotalHandlerTime();
+
+  /**
+   * @return the longest time in milliseconds the handler took to execute a task
+   */
+  long getMaxHandlerTime();
+
+  /**
+   * @return the total time in milliseconds tasks waited for a free handler thread after they were fetched;
+   * always zero unless handlers are executed concurrently
+   */
+  long getTotalQueueWaitTime();
+
+  /**
+   * @return the longest time in milliseconds a task waited for a free handler thread after it was fetched
+   */
+  long getMaxQueueWaitTime();
+
+}
@@ -24,6 +24,7 @@ import org.camunda.bpm.client.exception.UnknownHttpErrorException;
 import org.camunda.bpm.client.exception.ValueMapperException;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <p>Service that provides possibilities to interact with fetched and locked tasks.</p>
@@ -189,6 +190,31 @@ public interface ExternalTaskService {
    */
   void complete(ExternalTask externalTask, Map<String, Object> variables, Map<String, Object> localVariables);
 
+  /**
+   * Completes a task asynchronously, without blocking the calling thread.
+   *
+   * @param externalTask which will be completed
+   * @return a future that is completed once the task was completed by the engine or completed
+   * exceptionally with the exceptions thrown by {@link #complete(ExternalTask)}
+   */
+  CompletableFuture<Void> completeAsync(ExternalTask externalTask);
+
+  /**
+   * Completes a task asynchronously, without blocking the calling thread.
+   *
+   * Completions are sent to the engine together if a completion batch size is configured
+   * on the client. In this case, the engine completes them in one transaction.
+   *
+   * @param externalTask    which will be completed
+   * @param variables       are set in the tasks ancestor execution hierarchy. The key and the value represent
+   *                        the variable name and its value. Map can consist of both typed and untyped variables.
+   * @param localVariables  are set in the execution of the external task instance. The key and the value represent
+   *                        the variable name and its value. Map can consist of both typed and untyped variables.
+   * @return a future that is completed once the task was completed by the engine or completed
+   * exceptionally with the exceptions thrown by {@link #complete(ExternalTask, Map, Map)}
+   */
+  CompletableFuture<Void> completeAsync(ExternalTask externalTask, Map<String, Object> variables, Map<String, Object> localVariables);
+
   /**
    * Completes a task.
    *
@@ -278,6 +304,23 @@ public interface ExternalTaskService {
    */
   void handleFailure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryTimeout, Map<String, Object> variables, Map<String, Object> localVariables);
 
+  /**
+   * Reports a failure to execute a task asynchronously, without blocking the calling thread.
+   *
+   * @param externalTask   which is meant to notify a failure for
+   * @param errorMessage   indicates the reason of the failure.
+   * @param errorDetails   provides a detailed error description.
+   * @param retries        specifies how often the task should be retried. Must be &gt;= 0.
+   *                       If 0, an incident is created and the task cannot be fetched anymore
+   *                       unless the retries are increased again. The incident's message is set
+   *                       to the errorMessage parameter.
+   * @param retryTimeout   specifies a timeout in milliseconds before the external task
+   *                       becomes available again for fetching. Must be &gt;= 0.
+   * @return a future that is completed once the failure was reported to the engine or completed
+   * exceptionally with the exceptions thrown by {@link #handleFailure(ExternalTask, String, String, int, long)}
+   */
+  CompletableFuture<Void> handleFailureAsync(ExternalTask externalTask, String errorMessage, String errorDetails, int retries, long retryTimeout);
+
   /**
    * Reports a business error in the context of a running task.
    * The error code must be specified to identify the BPMN error handler.
@@ -0,0 +1,266 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.client.exception.RestException;
+import org.camunda.bpm.client.impl.EngineClient;
+import org.camunda.bpm.client.impl.EngineClientException;
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+import org.camunda.bpm.client.task.impl.dto.TaskCompletionDto;
+
+/**
+ * <p>Sends asynchronous requests of the {@link ExternalTaskServiceImpl} on a separate thread,
+ * such that they do not block the thread that fetches and handles tasks.</p>
+ *
+ * <p>Completions are buffered for at most the batch timeout and sent to the engine together,
+ * at most batch size completions per request. If a batch is rejected, its completions are
+ * sent one by one, so that only the affected completions fail.</p>
+ *
+ * <p>At most capacity completions and requests are buffered or in flight. Further calls block
+ * until earlier requests are sent, such that a slow engine slows down the handlers instead of
+ * letting the buffer grow without bounds.</p>
+ */
+public class CompletionBuffer {
+
+  protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected static final int HTTP_STATUS_NOT_FOUND = 404;
+
+  protected EngineClient engineClient;
+
+  protected int batchSize;
+  protected long batchTimeout;
+
+  protected List<PendingCompletion> pendingCompletions;
+  protected ScheduledFuture<?> scheduledFlush;
+  protected ScheduledThreadPoolExecutor executor;
+  protected Semaphore capacity;
+
+  public CompletionBuffer(EngineClient engineClient) {
+    this(engineClient, DEFAULT_CAPACITY);
+  }
+
+  public CompletionBuffer(EngineClient engineClient, int capacity) {
+    this.engineClient = engineClient;
+    this.batchSize = 1;
+    this.batchTimeout = 0;
+    this.pendingCompletions = new ArrayList<>();
+    this.capacity = new Semaphore(capacity);
+  }
+
+  public CompletableFuture<Void> complete(TaskCompletionDto completion) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    if (!acquireCapacity(future)) {
+      return future;
+    }
+
+    synchronized (this) {
+      pendingCompletions.add(new PendingCompletion(completion, future));
+
+      if (pendingCompletions.size() >= batchSize) {
+        cancelScheduledFlush();
+        getExecutor().execute(this::flush);
+      }
+      else if (scheduledFlush == null) {
+        scheduledFlush = getExecutor().schedule(this::flush, batchTimeout, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    return future;
+  }
+
+  public CompletableFuture<Void> execute(Runnable request) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    if (!acquireCapacity(future)) {
+      return future;
+    }
+
+    getExecutor().execute(() -> {
+      try {
+        request.run();
+        future.complete(null);
+      }
+      catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+    });
+
+    return future;
+  }
+
+  /**
+   * Blocks until there is capacity for one more completion or request. The capacity is
+   * released once the given future is completed.
+   *
+   * @return false if the thread was interrupted while waiting, the future is failed then
+   */
+  protected boolean acquireCapacity(CompletableFuture<Void> future) {
+    try {
+      capacity.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.completeExceptionally(e);
+      return false;
+    }
+
+    future.whenComplete((result, exception) -> capacity.release());
+    return true;
+  }
+
+  protected void flush() {
+    List<PendingCompletion> completions;
+    synchronized (this) {
+      cancelScheduledFlush();
+      completions = pendingCompletions;
+      pendingCompletions = new ArrayList<>();
+    }
+
+    for (int i = 0; i < completions.size(); i += batchSize) {
+      send(completions.subList(i, Math.min(i + batchSize, completions.size())));
+    }
+  }
+
+  protected void send(List<PendingCompletion> completions) {
+    send(completions, false);
+  }
+
+  /**
+   * @param afterLostResponse whether the completions are resent because the response to their batch
+   *   was lost. The engine may have completed the batch then, so a task that is not found anymore
+   *   counts as completed.
+   */
+  protected void send(List<PendingCompletion> completions, boolean afterLostResponse) {
+    try {
+      if (completions.size() == 1) {
+        engineClient.complete(completions.get(0).completion);
+      }
+      else {
+        List<TaskCompletionDto> completionDtos = new ArrayList<>();
+        completions.forEach(pendingCompletion -> completionDtos.add(pendingCompletion.completion));
+        engineClient.completeAll(completionDtos);
+      }
+
+      completions.forEach(pendingCompletion -> pendingCompletion.future.complete(null));
+    }
+    catch (EngineClientException e) {
+      if (completions.size() > 1) {
+        // the engine completes a batch in one transaction, so if it rejected the batch none of its
+        // tasks is completed; without a response, all or none of its tasks may be completed
+        boolean responseLost = !(e.getCause() instanceof RestException);
+        completions.forEach(pendingCompletion -> send(Collections.singletonList(pendingCompletion), responseLost));
+      }
+      else if (afterLostResponse && isNotFound(e)) {
+        completions.get(0).future.complete(null);
+      }
+      else {
+        completions.get(0).future.completeExceptionally(LOG.handledEngineClientException("completing the external task", e));
+      }
+    }
+    catch (RuntimeException e) {
+      completions.forEach(pendingCompletion -> pendingCompletion.future.completeExceptionally(e));
+    }
+  }
+
+  protected boolean isNotFound(EngineClientException e) {
+    Throwable cause = e.getCause();
+    return cause instanceof RestException
+        && Integer.valueOf(HTTP_STATUS_NOT_FOUND).equals(((RestException) cause).getHttpStatusCode());
+  }
+
+  protected void cancelScheduledFlush() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+  }
+
+  protected synchronized ScheduledThreadPoolExecutor getExecutor() {
+    if (executor == null) {
+      executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, CompletionBuffer.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+    return executor;
+  }
+
+  /**
+   * Sends all buffered completions and waits until all requests are sent.
+   */
+  public void stop() {
+    ScheduledThreadPoolExecutor executor;
+    synchronized (this) {
+      executor = this.executor;
+      if (executor == null) {
+        return;
+      }
+
+      cancelScheduledFlush();
+      executor.execute(this::flush);
+      executor.shutdown();
+      this.executor = null;
+    }
+
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getBatchTimeout() {
+    return batchTimeout;
+  }
+
+  public void setBatchTimeout(long batchTimeout) {
+    this.batchTimeout = batchTimeout;
+  }
+
+  protected static class PendingCompletion {
+
+    protected TaskCompletionDto completion;
+    protected CompletableFuture<Void> future;
+
+    public PendingCompletion(TaskCompletionDto completion, CompletableFuture<Void> future) {
+      this.completion = completion;
+      this.future = future;
+    }
+
+  }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task.impl;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.client.task.ExternalTaskHandlerMetrics;
+
+public class ExternalTaskHandlerMetricsImpl implements ExternalTaskHandlerMetrics {
+
+  protected LongAdder handledTasks = new LongAdder();
+  protected LongAdder totalHandlerTime = new LongAdder();
+  protected LongAccumulator maxHandlerTime = new LongAccumulator(Math::max, 0);
+  protected LongAdder totalQueueWaitTime = new LongAdder();
+  protected LongAccumulator maxQueueWaitTime = new LongAccumulator(Math::max, 0);
+
+  public void recordQueueWait(long queueWaitTime) {
+    totalQueueWaitTime.add(queueWaitTime);
+    maxQueueWaitTime.accumulate(queueWaitTime);
+  }
+
+  public void recordHandlerExecution(long handlerTime) {
+    handledTasks.increment();
+    totalHandlerTime.add(handlerTime);
+    maxHandlerTime.accumulate(handlerTime);
+  }
+
+  public long getHandledTasks() {
+    return handledTasks.sum();
+  }
+
+  public long getTotalHandlerTime() {
+    return totalHandlerTime.sum();
+  }
+
+  public long getMaxHandlerTime() {
+    return maxHandlerTime.get();
+  }
+
+  public long getTotalQueueWaitTime() {
+    return totalQueueWaitTime.sum();
+  }
+
+  public long getMaxQueueWaitTime() {
+    return maxQueueWaitTime.get();
+  }
+
+}
@@ -17,12 +17,14 @@
 package org.camunda.bpm.client.task.impl;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.camunda.bpm.client.impl.EngineClient;
 import org.camunda.bpm.client.impl.EngineClientException;
 import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.ExternalTaskService;
+import org.camunda.bpm.client.task.impl.dto.TaskCompletionDto;
 
 /**
  * @author Tassilo Weidner
@@ -32,9 +34,11 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
   protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
 
   protected EngineClient engineClient;
+  protected CompletionBuffer completionBuffer;
 
   public ExternalTaskServiceImpl(EngineClient engineClient) {
     this.engineClient = engineClient;
+    this.completionBuffer = new CompletionBuffer(engineClient);
   }
 
   @Override
@@ -102,6 +106,23 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
     }
   }
 
+  @Override
+  public CompletableFuture<Void> completeAsync(ExternalTask externalTask) {
+    return completeAsync(externalTask, null, null);
+  }
+
+  @Override
+  public CompletableFuture<Void> completeAsync(ExternalTask externalTask, Map<String, Object> variables, Map<String, Object> localVariables) {
+    TaskCompletionDto completion;
+    try {
+      completion = engineClient.createTaskCompletion(externalTask.getId(), variables, localVariables);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    return completionBuffer.complete(completion);
+  }
+
 
 
   @Override
@@ -123,6 +144,11 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
     }
   }
 
+  @Override
+  public CompletableFuture<Void> handleFailureAsync(ExternalTask externalTask, String errorMessage, String errorDetails, int retries, long retryTimeout) {
+    return completionBuffer.execute(() -> handleFailure(externalTask, errorMessage, errorDetails, retries, retryTimeout));
+  }
+
   @Override
   public void handleBpmnError(ExternalTask externalTask, String errorCode) {
     handleBpmnError(externalTask, errorCode, null, null);
@@ -160,4 +186,8 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
       throw LOG.handledEngineClientException("extending lock", e);
     }
   }
+
+  public CompletionBuffer getCompletionBuffer() {
+    return completionBuffer;
+  }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task.impl.dto;
+
+import java.util.Map;
+
+import org.camunda.bpm.client.variable.impl.TypedValueField;
+
+/**
+ * A single task that is completed as part of a {@link CompleteAllRequestDto}.
+ */
+public class TaskCompletionDto {
+
+  protected String id;
+  protected Map<String, TypedValueField> variables;
+  protected Map<String, TypedValueField> localVariables;
+
+  public TaskCompletionDto(String id, Map<String, TypedValueField> variables, Map<String, TypedValueField> localVariables) {
+    this.id = id;
+    this.variables = variables;
+    this.localVariables = localVariables;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public Map<String, TypedValueField> getVariables() {
+    return variables;
+  }
+
+  public Map<String, TypedValueField> getLocalVariables() {
+    return localVariables;
+  }
+
+}
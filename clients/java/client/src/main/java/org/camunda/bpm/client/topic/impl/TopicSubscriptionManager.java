@@ -16,13 +16,22 @@
  */
 package org.camunda.bpm.client.topic.impl;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -34,6 +43,9 @@ import org.camunda.bpm.client.impl.EngineClientException;
 import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.ExternalTaskHandler;
+import org.camunda.bpm.client.task.ExternalTaskHandlerMetrics;
+import org.camunda.bpm.client.task.impl.CompletionBuffer;
+import org.camunda.bpm.client.task.impl.ExternalTaskHandlerMetricsImpl;
 import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
 import org.camunda.bpm.client.task.impl.ExternalTaskServiceImpl;
 import org.camunda.bpm.client.topic.TopicSubscription;
@@ -50,8 +62,12 @@ public class TopicSubscriptionManager implements Runnable {
 
   protected static final TopicSubscriptionManagerLogger LOG = ExternalTaskClientLogger.TOPIC_SUBSCRIPTION_MANAGER_LOGGER;
 
+  protected static final long HANDLER_SHUTDOWN_TIMEOUT = 60_000;
+  protected static final String HANDLER_THREAD_NAME_PREFIX = "camunda-external-task-handler-";
+
   protected ReentrantLock ACQUISITION_MONITOR = new ReentrantLock(false);
   protected Condition IS_WAITING = ACQUISITION_MONITOR.newCondition();
+  protected Condition HAS_HANDLER_PERMITS = ACQUISITION_MONITOR.newCondition();
   protected AtomicBoolean isRunning = new AtomicBoolean(false);
 
   protected ExternalTaskServiceImpl externalTaskService;
@@ -67,10 +83,19 @@ public class TopicSubscriptionManager implements Runnable {
   protected BackoffStrategy backoffStrategy;
   protected AtomicBoolean isBackoffStrategyDisabled;
 
+  protected boolean isStreamingEnabled;
+
   protected TypedValues typedValues;
 
   protected long clientLockDuration;
 
+  protected ExecutorService handlerExecutor;
+  protected boolean useVirtualThreads;
+  protected int maxConcurrentTasks;
+  protected Semaphore handlerPermits;
+
+  protected Map<String, ExternalTaskHandlerMetricsImpl> handlerMetrics;
+
   public TopicSubscriptionManager(EngineClient engineClient, TypedValues typedValues, long clientLockDuration) {
     this.engineClient = engineClient;
     this.subscriptions = new CopyOnWriteArrayList<>();
@@ -80,6 +105,7 @@ public class TopicSubscriptionManager implements Runnable {
     this.typedValues = typedValues;
     this.externalTaskService = new ExternalTaskServiceImpl(engineClient);
     this.isBackoffStrategyDisabled = new AtomicBoolean(false);
+    this.handlerMetrics = new ConcurrentHashMap<>();
   }
 
   public void run() {
@@ -99,20 +125,140 @@ public class TopicSubscriptionManager implements Runnable {
     subscriptions.forEach(this::prepareAcquisition);
 
     if (!taskTopicRequests.isEmpty()) {
-      FetchAndLockResponseDto fetchAndLockResponse = fetchAndLock(taskTopicRequests);
+      if (isStreamingEnabled) {
+        streamTasks(taskTopicRequests);
+        return;
+      }
 
-      fetchAndLockResponse.getExternalTasks().forEach(externalTask -> {
-        String topicName = externalTask.getTopicName();
-        ExternalTaskHandler taskHandler = externalTaskHandlers.get(topicName);
+      int maxTasks = getFreeHandlerCapacity();
+      if (maxTasks == 0) {
+        waitForHandlerPermits();
+        return;
+      }
 
-        if (taskHandler != null) {
-          handleExternalTask(externalTask, taskHandler);
-        }
-        else {
-          LOG.taskHandlerIsNull(topicName);
+      FetchAndLockResponseDto fetchAndLockResponse = fetchAndLock(taskTopicRequests, maxTasks);
+
+      handleExternalTasks(fetchAndLockResponse.getExternalTasks());
+
+      if (!isBackoffStrategyDisabled.get()) {
+        runBackoffStrategy(fetchAndLockResponse);
+      }
+    }
+  }
+
+  protected void handleExternalTasks(List<ExternalTask> externalTasks) {
+    externalTasks.forEach(externalTask -> {
+      String topicName = externalTask.getTopicName();
+      ExternalTaskHandler taskHandler = externalTaskHandlers.get(topicName);
+
+      if (taskHandler == null) {
+        LOG.taskHandlerIsNull(topicName);
+      }
+      else if (isConcurrentHandlingEnabled()) {
+        submitExternalTask(externalTask, taskHandler);
+      }
+      else {
+        handleExternalTask(externalTask, taskHandler);
+      }
+    });
+  }
+
+  /**
+   * Passes the task to the handler executor once a handler permit is available. The permit is
+   * released after the handler returned, which bounds the number of tasks in execution.
+   */
+  protected void submitExternalTask(ExternalTask externalTask, ExternalTaskHandler taskHandler) {
+    // the permits are replaced on restart, so release the permit where it was acquired
+    Semaphore permits = handlerPermits;
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    long submissionTime = System.currentTimeMillis();
+    Runnable handlerExecution = () -> {
+      try {
+        getOrCreateHandlerMetrics(externalTask.getTopicName()).recordQueueWait(System.currentTimeMillis() - submissionTime);
+        handleExternalTask(externalTask, taskHandler);
+      }
+      finally {
+        releaseHandlerPermit(permits);
+      }
+    };
+
+    try {
+      handlerExecutor.execute(handlerExecution);
+    } catch (RejectedExecutionException e) {
+      LOG.handlerExecutionRejected(externalTask.getTopicName());
+      handlerExecution.run();
+    }
+  }
+
+  protected void releaseHandlerPermit(Semaphore permits) {
+    permits.release();
+
+    ACQUISITION_MONITOR.lock();
+    try {
+      HAS_HANDLER_PERMITS.signal();
+    }
+    finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+  }
+
+  /**
+   * @return the number of tasks to fetch, such that every fetched task can be passed to a handler right away
+   */
+  protected int getFreeHandlerCapacity() {
+    int maxTasks = engineClient.getMaxTasks();
+    if (isConcurrentHandlingEnabled()) {
+      maxTasks = Math.min(maxTasks, handlerPermits.availablePermits());
+    }
+    return maxTasks;
+  }
+
+  protected void waitForHandlerPermits() {
+    ACQUISITION_MONITOR.lock();
+    try {
+      while (isRunning.get() && handlerPermits.availablePermits() == 0) {
+        HAS_HANDLER_PERMITS.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+  }
+
+  /**
+   * Handles tasks as they are pushed by the server. After handling tasks, credits for the same
+   * number of tasks are granted, so that at most maxTasks tasks are pushed in advance. If tasks are
+   * handled concurrently, credits are granted once the tasks are passed to the handler executor.
+   * The stream is reopened once it ends or the subscriptions change.
+   */
+  protected void streamTasks(List<TopicRequestDto> subscriptions) {
+    List<TopicSubscription> streamedSubscriptions = new ArrayList<>(this.subscriptions);
+
+    try {
+      LOG.fetchAndLockStream(subscriptions);
+      engineClient.fetchAndLockStream(subscriptions, (streamId, externalTasks) -> {
+        handleExternalTasks(externalTasks);
+
+        if (!externalTasks.isEmpty()) {
+          engineClient.grantCredits(streamId, externalTasks.size());
         }
+
+        return isRunning.get() && this.subscriptions.equals(streamedSubscriptions);
       });
 
+    } catch (EngineClientException ex) {
+      LOG.exceptionWhilePerformingFetchAndLock(ex);
+      FetchAndLockResponseDto fetchAndLockResponse =
+          new FetchAndLockResponseDto(LOG.handledEngineClientException("streaming tasks", ex));
+
       if (!isBackoffStrategyDisabled.get()) {
         runBackoffStrategy(fetchAndLockResponse);
       }
@@ -128,12 +274,12 @@ public class TopicSubscriptionManager implements Runnable {
     externalTaskHandlers.put(topicName, externalTaskHandler);
   }
 
-  protected FetchAndLockResponseDto fetchAndLock(List<TopicRequestDto> subscriptions) {
+  protected FetchAndLockResponseDto fetchAndLock(List<TopicRequestDto> subscriptions, int maxTasks) {
     List<ExternalTask> externalTasks = null;
 
     try {
       LOG.fetchAndLock(subscriptions);
-      externalTasks = engineClient.fetchAndLock(subscriptions);
+      externalTasks = engineClient.fetchAndLock(subscriptions, maxTasks);
 
     } catch (EngineClientException ex) {
       LOG.exceptionWhilePerformingFetchAndLock(ex);
@@ -151,35 +297,132 @@ public class TopicSubscriptionManager implements Runnable {
     Map<String, VariableValue> wrappedVariables = typedValues.wrapVariables(task, variables);
     task.setReceivedVariableMap(wrappedVariables);
 
+    long startTime = System.currentTimeMillis();
     try {
       taskHandler.execute(task, externalTaskService);
     } catch (ExternalTaskClientException e) {
       LOG.exceptionOnExternalTaskServiceMethodInvocation(task.getTopicName(), e);
     } catch (Throwable e) {
       LOG.exceptionWhileExecutingExternalTaskHandler(task.getTopicName(), e);
+    } finally {
+      getOrCreateHandlerMetrics(task.getTopicName()).recordHandlerExecution(System.currentTimeMillis() - startTime);
     }
   }
 
-  public synchronized void stop() {
-    if (isRunning.compareAndSet(true, false)) {
+  protected ExternalTaskHandlerMetricsImpl getOrCreateHandlerMetrics(String topicName) {
+    return handlerMetrics.computeIfAbsent(topicName, name -> new ExternalTaskHandlerMetricsImpl());
+  }
+
+  public void stop() {
+    Thread acquisitionThread;
+    Semaphore permits;
+    ExecutorService clientHandlerExecutor;
+
+    synchronized (this) {
+      if (!isRunning.compareAndSet(true, false)) {
+        return;
+      }
+
       resume();
 
-      try {
-        thread.join();
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        LOG.exceptionWhileShuttingDown(e);
+      acquisitionThread = thread;
+      permits = isConcurrentHandlingEnabled() ? handlerPermits : null;
+      clientHandlerExecutor = useVirtualThreads ? handlerExecutor : null;
+    }
+
+    // waiting for the acquisition thread and running handlers can take a while,
+    // so it happens outside of the monitor, such that it does not block other calls
+    try {
+      acquisitionThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.exceptionWhileShuttingDown(e);
+    }
+
+    if (permits != null) {
+      stopHandlerExecution(permits, clientHandlerExecutor);
+    }
+
+    externalTaskService.getCompletionBuffer().stop();
+  }
+
+  /**
+   * Waits until all tasks submitted with the given permits are handled and shuts down
+   * the handler executor if it was created by the client.
+   *
+   * @param clientHandlerExecutor the executor created by the client, or null if it was given by the user
+   */
+  protected void stopHandlerExecution(Semaphore permits, ExecutorService clientHandlerExecutor) {
+    try {
+      if (permits.tryAcquire(maxConcurrentTasks, HANDLER_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+        permits.release(maxConcurrentTasks);
       }
+      else {
+        LOG.timeoutWhileAwaitingHandlers(maxConcurrentTasks - permits.availablePermits());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.exceptionWhileShuttingDown(e);
+    }
+
+    if (clientHandlerExecutor != null) {
+      clientHandlerExecutor.shutdown();
     }
   }
 
   public synchronized void start() {
     if (isRunning.compareAndSet(false, true)) {
+      if (isConcurrentHandlingEnabled()) {
+        startHandlerExecution();
+      }
+
       thread = new Thread(this, TopicSubscriptionManager.class.getSimpleName());
       thread.start();
     }
   }
 
+  /**
+   * Creates new permits and, if virtual threads are used, a new executor, since those of a
+   * previous run may still be in use by handlers that are awaited by {@link #stop()}.
+   */
+  protected void startHandlerExecution() {
+    handlerPermits = new Semaphore(maxConcurrentTasks);
+
+    if (useVirtualThreads) {
+      handlerExecutor = createVirtualThreadExecutor();
+    }
+  }
+
+  /**
+   * Virtual threads require Java 21. On older runtimes, platform threads are created on demand;
+   * the number of tasks in execution is still bounded by the handler permits.
+   */
+  protected ExecutorService createVirtualThreadExecutor() {
+    try {
+      ThreadFactory threadFactory = createVirtualThreadFactory();
+
+      Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+
+    } catch (ReflectiveOperationException e) {
+      LOG.virtualThreadsNotSupported();
+
+      AtomicLong threadCounter = new AtomicLong();
+      return Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, HANDLER_THREAD_NAME_PREFIX + threadCounter.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  protected ThreadFactory createVirtualThreadFactory() throws ReflectiveOperationException {
+    Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+    Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+    builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, HANDLER_THREAD_NAME_PREFIX, 0L);
+    return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+  }
+
   protected void subscribe(TopicSubscription subscription) {
     if (!subscriptions.addIfAbsent(subscription)) {
       String topicName = subscription.getTopicName();
@@ -249,6 +492,7 @@ public class TopicSubscriptionManager implements Runnable {
     ACQUISITION_MONITOR.lock();
     try {
       IS_WAITING.signal();
+      HAS_HANDLER_PERMITS.signal();
     }
     finally {
       ACQUISITION_MONITOR.unlock();
@@ -259,4 +503,32 @@ public class TopicSubscriptionManager implements Runnable {
     this.isBackoffStrategyDisabled.set(true);
   }
 
+  public void enableStreaming() {
+    this.isStreamingEnabled = true;
+  }
+
+  /**
+   * Enables the concurrent execution of task handlers, either by the given executor or, if none is given
+   * and virtual threads are used, by a new virtual thread per task.
+   */
+  public void setHandlerExecution(ExecutorService handlerExecutor, boolean useVirtualThreads, int maxConcurrentTasks) {
+    this.handlerExecutor = handlerExecutor;
+    this.useVirtualThreads = handlerExecutor == null && useVirtualThreads;
+    this.maxConcurrentTasks = maxConcurrentTasks;
+  }
+
+  public boolean isConcurrentHandlingEnabled() {
+    return handlerExecutor != null || useVirtualThreads;
+  }
+
+  public Map<String, ExternalTaskHandlerMetrics> getHandlerMetrics() {
+    return Collections.unmodifiableMap(handlerMetrics);
+  }
+
+  public void setCompletionBatching(int batchSize, long batchTimeout) {
+    CompletionBuffer completionBuffer = externalTaskService.getCompletionBuffer();
+    completionBuffer.setBatchSize(batchSize);
+    completionBuffer.setBatchTimeout(batchTimeout);
+  }
+
 }
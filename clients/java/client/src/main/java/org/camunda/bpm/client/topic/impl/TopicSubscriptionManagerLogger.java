@@ -72,4 +72,27 @@ public class TopicSubscriptionManagerLogger extends ExternalTaskClientLogger {
       String.format("Fetch and lock new external tasks for %d topics", subscriptions.size()));
   }
 
+  protected void fetchAndLockStream(List<TopicRequestDto> subscriptions) {
+    logDebug(
+      "009",
+      String.format("Open stream of external tasks for %d topics", subscriptions.size()));
+  }
+
+  protected void handlerExecutionRejected(String topicName) {
+    logWarn(
+      "010",
+      String.format("Handler executor rejected a task of topic '%s', executing it on the acquisition thread.", topicName));
+  }
+
+  protected void timeoutWhileAwaitingHandlers(int tasksInExecution) {
+    logWarn(
+      "011",
+      String.format("Timeout while waiting for %d external task handlers to complete during shutdown.", tasksInExecution));
+  }
+
+  protected void virtualThreadsNotSupported() {
+    logWarn(
+      "012", "Virtual threads are not supported by this Java runtime, handling tasks on platform threads instead.");
+  }
+
 }
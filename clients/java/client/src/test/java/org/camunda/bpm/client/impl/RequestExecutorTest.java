@@ -0,0 +1,165 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.client.exception.RestException;
+import org.camunda.bpm.client.interceptor.impl.RequestInterceptorHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+public class RequestExecutorTest {
+
+  protected static final String STREAM_PATH = "/stream";
+
+  protected HttpServer server;
+  protected CountDownLatch streamClosed = new CountDownLatch(1);
+  protected String streamUrl;
+
+  protected RequestExecutor requestExecutor;
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.start();
+    streamUrl = "http://localhost:" + server.getAddress().getPort() + STREAM_PATH;
+
+    requestExecutor = new RequestExecutor(new RequestInterceptorHandler(Collections.emptyList()), new ObjectMapper());
+  }
+
+  @After
+  public void tearDown() {
+    streamClosed.countDown();
+    server.stop(0);
+  }
+
+  @Test
+  public void shouldPassStreamIdAndLinesToHandler() {
+    // given
+    respondWithStream(200, false, "[{\"id\":\"1\"}]", "", "[{\"id\":\"2\"}]");
+    List<String> streamIds = new ArrayList<>();
+    List<String> lines = new ArrayList<>();
+
+    // when
+    requestExecutor.postStreamRequest(streamUrl, new StreamRequestDto(), (streamId, line) -> {
+      streamIds.add(streamId);
+      lines.add(line);
+      return true;
+    });
+
+    // then
+    assertThat(lines).containsExactly("[{\"id\":\"1\"}]", "", "[{\"id\":\"2\"}]");
+    assertThat(streamIds).containsOnly("aStreamId");
+  }
+
+  @Test
+  public void shouldCloseStreamWhenHandlerReturnsFalse() {
+    // given
+    respondWithStream(200, true, "[{\"id\":\"1\"}]");
+    List<String> lines = new ArrayList<>();
+    long start = System.currentTimeMillis();
+
+    // when
+    requestExecutor.postStreamRequest(streamUrl, new StreamRequestDto(), (streamId, line) -> {
+      lines.add(line);
+      return false;
+    });
+
+    // then the request returns although the server keeps the stream open
+    assertThat(System.currentTimeMillis() - start).isLessThan(5000L);
+    assertThat(lines).containsExactly("[{\"id\":\"1\"}]");
+  }
+
+  @Test
+  public void shouldThrowExceptionForExceptionLine() {
+    // given
+    respondWithStream(200, false, "[]", "{\"type\":\"ProcessEngineException\",\"message\":\"fetching failed\"}");
+    List<String> lines = new ArrayList<>();
+
+    // when
+    assertThatThrownBy(() -> requestExecutor.postStreamRequest(streamUrl, new StreamRequestDto(), (streamId, line) -> {
+      lines.add(line);
+      return true;
+    }))
+      // then
+      .isInstanceOf(EngineClientException.class)
+      .hasMessageContaining("fetching failed")
+      .hasCauseInstanceOf(RestException.class)
+      .satisfies(e -> assertThat(((RestException) e.getCause()).getHttpStatusCode()).isEqualTo(500));
+    assertThat(lines).containsExactly("[]");
+  }
+
+  @Test
+  public void shouldThrowExceptionForErrorStatus() {
+    // given
+    respondWithStream(400, false, "{\"type\":\"InvalidRequestException\",\"message\":\"invalid stream\"}");
+
+    // when
+    assertThatThrownBy(() -> requestExecutor.postStreamRequest(streamUrl, new StreamRequestDto(), (streamId, line) -> true))
+      // then
+      .isInstanceOf(EngineClientException.class)
+      .hasMessageContaining("invalid stream")
+      .hasCauseInstanceOf(RestException.class)
+      .satisfies(e -> assertThat(((RestException) e.getCause()).getHttpStatusCode()).isEqualTo(400));
+  }
+
+  protected void respondWithStream(int statusCode, boolean keepOpen, String... lines) {
+    server.createContext(STREAM_PATH, exchange -> {
+      exchange.getResponseHeaders().add(RequestExecutor.STREAM_ID_HEADER_NAME, "aStreamId");
+      exchange.getResponseHeaders().add("Content-Type", statusCode < 300 ? "application/x-ndjson" : "application/json");
+      exchange.sendResponseHeaders(statusCode, 0);
+
+      try (OutputStream output = exchange.getResponseBody()) {
+        for (String line : lines) {
+          output.write((line + (statusCode < 300 ? "\n" : "")).getBytes(StandardCharsets.UTF_8));
+          output.flush();
+        }
+
+        if (keepOpen) {
+          streamClosed.await(10, TimeUnit.SECONDS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+  }
+
+  protected static class StreamRequestDto extends RequestDto {
+
+    public StreamRequestDto() {
+      super("aWorkerId");
+    }
+
+  }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.client.exception.BadRequestException;
+import org.camunda.bpm.client.exception.NotFoundException;
+import org.camunda.bpm.client.exception.RestException;
+import org.camunda.bpm.client.impl.EngineClient;
+import org.camunda.bpm.client.impl.EngineClientException;
+import org.camunda.bpm.client.task.impl.CompletionBuffer;
+import org.camunda.bpm.client.task.impl.dto.TaskCompletionDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompletionBufferTest {
+
+  protected EngineClientStub engineClient;
+  protected CompletionBuffer completionBuffer;
+
+  @Before
+  public void setup() {
+    engineClient = new EngineClientStub();
+    completionBuffer = new CompletionBuffer(engineClient);
+    completionBuffer.setBatchSize(2);
+    completionBuffer.setBatchTimeout(60_000);
+  }
+
+  @After
+  public void tearDown() {
+    completionBuffer.stop();
+  }
+
+  @Test
+  public void shouldSendCompletionsInBatch() throws Exception {
+    // when
+    CompletableFuture<Void> firstCompletion = completionBuffer.complete(completion("1"));
+    CompletableFuture<Void> secondCompletion = completionBuffer.complete(completion("2"));
+
+    // then
+    secondCompletion.get(10, TimeUnit.SECONDS);
+    assertThat(firstCompletion).isCompleted();
+    assertThat(engineClient.requests).containsExactly(List.of("1", "2"));
+  }
+
+  @Test
+  public void shouldSendBufferedCompletionAfterTimeout() throws Exception {
+    // given
+    completionBuffer.setBatchTimeout(10);
+
+    // when
+    CompletableFuture<Void> completion = completionBuffer.complete(completion("1"));
+
+    // then
+    completion.get(10, TimeUnit.SECONDS);
+    assertThat(engineClient.requests).containsExactly(List.of("1"));
+  }
+
+  @Test
+  public void shouldSendBufferedCompletionsOnStop() {
+    // given
+    CompletableFuture<Void> completion = completionBuffer.complete(completion("1"));
+
+    // when
+    completionBuffer.stop();
+
+    // then
+    assertThat(completion).isCompleted();
+    assertThat(engineClient.requests).containsExactly(List.of("1"));
+  }
+
+  @Test
+  public void shouldSendCompletionsOfRejectedBatchOneByOne() throws Exception {
+    // given
+    engineClient.failingTaskIds.add("2");
+
+    // when
+    CompletableFuture<Void> firstCompletion = completionBuffer.complete(completion("1"));
+    CompletableFuture<Void> secondCompletion = completionBuffer.complete(completion("2"));
+
+    // then
+    firstCompletion.get(10, TimeUnit.SECONDS);
+
+    assertThatThrownBy(() -> secondCompletion.get(10, TimeUnit.SECONDS))
+      .isInstanceOf(ExecutionException.class)
+      .hasCauseInstanceOf(BadRequestException.class);
+    assertThat(engineClient.requests).containsExactly(List.of("1"));
+  }
+
+  @Test
+  public void shouldTreatNotFoundTaskAsCompletedAfterLostResponse() throws Exception {
+    // given the engine completed the batch but the response was lost
+    engineClient.lostBatchResponse = true;
+    engineClient.notFoundTaskIds.add("1");
+    engineClient.notFoundTaskIds.add("2");
+
+    // when
+    CompletableFuture<Void> firstCompletion = completionBuffer.complete(completion("1"));
+    CompletableFuture<Void> secondCompletion = completionBuffer.complete(completion("2"));
+
+    // then
+    firstCompletion.get(10, TimeUnit.SECONDS);
+    secondCompletion.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void shouldFailNotFoundTaskOfRejectedBatch() {
+    // given
+    engineClient.failingTaskIds.add("2");
+    engineClient.notFoundTaskIds.add("2");
+
+    // when
+    completionBuffer.complete(completion("1"));
+    CompletableFuture<Void> secondCompletion = completionBuffer.complete(completion("2"));
+
+    // then
+    assertThatThrownBy(() -> secondCompletion.get(10, TimeUnit.SECONDS))
+      .isInstanceOf(ExecutionException.class)
+      .hasCauseInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  public void shouldBlockWhenCapacityIsExhausted() throws Exception {
+    // given
+    completionBuffer.stop();
+    completionBuffer = new CompletionBuffer(engineClient, 1);
+    engineClient.requestLatch = new CountDownLatch(1);
+
+    CompletableFuture<Void> firstCompletion = completionBuffer.complete(completion("1"));
+
+    // when
+    CompletableFuture<CompletableFuture<Void>> secondCall = CompletableFuture.supplyAsync(() -> completionBuffer.complete(completion("2")));
+
+    // then
+    Thread.sleep(200);
+    assertThat(secondCall).isNotDone();
+
+    // when
+    engineClient.requestLatch.countDown();
+
+    // then
+    firstCompletion.get(10, TimeUnit.SECONDS);
+    secondCall.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+    assertThat(engineClient.requests).containsExactly(List.of("1"), List.of("2"));
+  }
+
+  protected TaskCompletionDto completion(String taskId) {
+    return new TaskCompletionDto(taskId, null, null);
+  }
+
+  protected static class EngineClientStub extends EngineClient {
+
+    protected List<List<String>> requests = new CopyOnWriteArrayList<>();
+    protected Set<String> failingTaskIds = new HashSet<>();
+    protected Set<String> notFoundTaskIds = new HashSet<>();
+    protected boolean lostBatchResponse;
+    protected CountDownLatch requestLatch;
+
+    public EngineClientStub() {
+      super("aWorkerId", 10, null, "http://localhost:8080/engine-rest", null);
+    }
+
+    @Override
+    public void complete(TaskCompletionDto completion) {
+      if (notFoundTaskIds.contains(completion.getId())) {
+        RestException restException = new RestException("aMessage", "aType", null);
+        restException.setHttpStatusCode(404);
+        throw new EngineClientException("aMessage", restException) { };
+      }
+      completeAll(List.of(completion));
+    }
+
+    @Override
+    public void completeAll(List<TaskCompletionDto> completions) {
+      if (requestLatch != null) {
+        try {
+          requestLatch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (lostBatchResponse && completions.size() > 1) {
+        throw new EngineClientException("aMessage", new IOException("connection reset")) { };
+      }
+
+      List<String> taskIds = new ArrayList<>();
+      for (TaskCompletionDto completion : completions) {
+        if (failingTaskIds.contains(completion.getId())) {
+          RestException restException = new RestException("aMessage", "aType", null);
+          restException.setHttpStatusCode(400);
+          throw new EngineClientException("aMessage", restException) { };
+        }
+        taskIds.add(completion.getId());
+      }
+      requests.add(taskIds);
+    }
+
+  }
+
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.client.backoff.BackoffStrategy;
+import org.camunda.bpm.client.exception.RestException;
+import org.camunda.bpm.client.impl.EngineClient;
+import org.camunda.bpm.client.impl.EngineClientException;
+import org.camunda.bpm.client.impl.FetchAndLockStreamHandler;
+import org.camunda.bpm.client.task.ExternalTask;
+import org.camunda.bpm.client.task.ExternalTaskHandler;
+import org.camunda.bpm.client.task.ExternalTaskHandlerMetrics;
+import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
+import org.camunda.bpm.client.topic.impl.dto.TopicRequestDto;
+import org.camunda.bpm.client.variable.impl.DefaultValueMappers;
+import org.camunda.bpm.client.variable.impl.TypedValues;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TopicSubscriptionManagerTest {
+
+  protected static final String TOPIC_NAME = "aTopicName";
+
+  protected EngineClientStub engineClient;
+  protected TopicSubscriptionManager topicSubscriptionManager;
+  protected List<String> handledTaskIds;
+
+  @Before
+  public void setUp() {
+    engineClient = new EngineClientStub();
+    topicSubscriptionManager = new TopicSubscriptionManager(engineClient, new TypedValues(new DefaultValueMappers<>("application/json")), 20_000);
+    handledTaskIds = new CopyOnWriteArrayList<>();
+  }
+
+  @After
+  public void tearDown() {
+    topicSubscriptionManager.isRunning.set(false);
+    topicSubscriptionManager.externalTaskService.getCompletionBuffer().stop();
+  }
+
+  @Test
+  public void shouldGrantCreditsForStreamedTasks() {
+    // given
+    topicSubscriptionManager.enableStreaming();
+    topicSubscriptionManager.isRunning.set(true);
+    subscribe((task, service) -> handledTaskIds.add(task.getId()));
+
+    engineClient.pushes.add(Arrays.asList(task("1"), task("2")));
+    engineClient.pushes.add(Collections.emptyList());
+    engineClient.pushes.add(Collections.singletonList(task("3")));
+
+    // when
+    topicSubscriptionManager.acquire();
+
+    // then
+    assertThat(handledTaskIds).containsExactly("1", "2", "3");
+    assertThat(engineClient.grantedCredits).containsExactly(2, 1);
+    assertThat(engineClient.streamResults).containsExactly(true, true, true);
+  }
+
+  @Test
+  public void shouldCloseStreamWhenSubscriptionsChange() {
+    // given
+    topicSubscriptionManager.enableStreaming();
+    topicSubscriptionManager.isRunning.set(true);
+    TopicSubscriptionImpl subscription = subscribe((task, service) -> handledTaskIds.add(task.getId()));
+
+    engineClient.pushes.add(Collections.singletonList(task("1")));
+    engineClient.pushes.add(Collections.singletonList(task("2")));
+
+    // when
+    engineClient.onPush = subscription::close;
+    topicSubscriptionManager.acquire();
+
+    // then
+    assertThat(handledTaskIds).containsExactly("1");
+    assertThat(engineClient.streamResults).containsExactly(false);
+  }
+
+  @Test
+  public void shouldCloseStreamWhenStopped() {
+    // given
+    topicSubscriptionManager.enableStreaming();
+    subscribe((task, service) -> handledTaskIds.add(task.getId()));
+
+    engineClient.pushes.add(Collections.singletonList(task("1")));
+    engineClient.pushes.add(Collections.singletonList(task("2")));
+
+    // when
+    topicSubscriptionManager.acquire();
+
+    // then
+    assertThat(handledTaskIds).containsExactly("1");
+    assertThat(engineClient.streamResults).containsExactly(false);
+  }
+
+  @Test
+  public void shouldBackOffWhenStreamFails() {
+    // given
+    topicSubscriptionManager.enableStreaming();
+    topicSubscriptionManager.isRunning.set(true);
+    subscribe((task, service) -> handledTaskIds.add(task.getId()));
+
+    RestException restException = new RestException("aMessage", "aType", null);
+    restException.setHttpStatusCode(500);
+    engineClient.streamException = new EngineClientException("aMessage", restException) { };
+
+    BackoffStrategyStub backoffStrategy = new BackoffStrategyStub();
+    topicSubscriptionManager.setBackoffStrategy(backoffStrategy);
+
+    // when
+    topicSubscriptionManager.acquire();
+
+    // then
+    assertThat(handledTaskIds).isEmpty();
+    assertThat(backoffStrategy.reconfigurations).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldFetchTasksForFreeHandlerCapacity() throws InterruptedException {
+    // given
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    topicSubscriptionManager.setHandlerExecution(executor, false, 3);
+    topicSubscriptionManager.startHandlerExecution();
+    topicSubscriptionManager.handlerPermits.acquire();
+
+    topicSubscriptionManager.disableBackoffStrategy();
+    topicSubscriptionManager.isRunning.set(true);
+    subscribe((task, service) -> handledTaskIds.add(task.getId()));
+
+    try {
+      // when
+      topicSubscriptionManager.acquire();
+
+      // then
+      assertThat(engineClient.fetchedMaxTasks).containsExactly(2);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldFetchMaxTasksWithoutConcurrentHandling() {
+    // given
+    topicSubscriptionManager.disableBackoffStrategy();
+    topicSubscriptionManager.isRunning.set(true);
+    subscribe((task, service) -> handledTaskIds.add(task.getId()));
+
+    // when
+    topicSubscriptionManager.acquire();
+
+    // then
+    assertThat(engineClient.fetchedMaxTasks).containsExactly(10);
+  }
+
+  @Test
+  public void shouldBoundConcurrentlyHandledTasks() throws InterruptedException {
+    // given
+    ExecutorService executor = Executors.newCachedThreadPool();
+    topicSubscriptionManager.setHandlerExecution(executor, false, 2);
+    topicSubscriptionManager.startHandlerExecution();
+
+    CountDownLatch handlersStarted = new CountDownLatch(2);
+    CountDownLatch handlersReleased = new CountDownLatch(1);
+    AtomicInteger runningHandlers = new AtomicInteger();
+    AtomicInteger maxRunningHandlers = new AtomicInteger();
+
+    TopicSubscriptionImpl subscription = subscribe((task, service) -> {
+      maxRunningHandlers.accumulateAndGet(runningHandlers.incrementAndGet(), Math::max);
+      handlersStarted.countDown();
+      try {
+        handlersReleased.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      runningHandlers.decrementAndGet();
+      handledTaskIds.add(task.getId());
+    });
+    topicSubscriptionManager.prepareAcquisition(subscription);
+
+    Thread acquisitionThread = new Thread(() ->
+        topicSubscriptionManager.handleExternalTasks(Arrays.asList(task("1"), task("2"), task("3"))));
+
+    try {
+      // when
+      acquisitionThread.start();
+
+      // then
+      assertThat(handlersStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      acquisitionThread.join(100);
+      assertThat(acquisitionThread.isAlive()).isTrue();
+      assertThat(topicSubscriptionManager.handlerPermits.availablePermits()).isZero();
+
+      // when
+      handlersReleased.countDown();
+      acquisitionThread.join(5_000);
+      executor.shutdown();
+
+      // then
+      assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(handledTaskIds).containsExactlyInAnyOrder("1", "2", "3");
+      assertThat(maxRunningHandlers.get()).isEqualTo(2);
+      assertThat(topicSubscriptionManager.handlerPermits.availablePermits()).isEqualTo(2);
+    }
+    finally {
+      handlersReleased.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldFallBackToPlatformThreadsWithoutVirtualThreads() throws Exception {
+    // given
+    topicSubscriptionManager = new TopicSubscriptionManager(engineClient, new TypedValues(new DefaultValueMappers<>("application/json")), 20_000) {
+      @Override
+      protected ThreadFactory createVirtualThreadFactory() throws ReflectiveOperationException {
+        throw new NoSuchMethodException("ofVirtual");
+      }
+    };
+
+    // when
+    ExecutorService executor = topicSubscriptionManager.createVirtualThreadExecutor();
+
+    try {
+      Thread handlerThread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+      // then
+      assertThat(handlerThread.isDaemon()).isTrue();
+      assertThat(handlerThread.getName()).startsWith(TopicSubscriptionManager.HANDLER_THREAD_NAME_PREFIX);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldRecordHandlerMetrics() throws InterruptedException {
+    // given
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    topicSubscriptionManager.setHandlerExecution(executor, false, 2);
+    topicSubscriptionManager.startHandlerExecution();
+
+    TopicSubscriptionImpl subscription = subscribe((task, service) -> {
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      handledTaskIds.add(task.getId());
+    });
+    topicSubscriptionManager.prepareAcquisition(subscription);
+
+    // when
+    topicSubscriptionManager.handleExternalTasks(Arrays.asList(task("1"), task("2")));
+    executor.shutdown();
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+    // then
+    ExternalTaskHandlerMetrics metrics = topicSubscriptionManager.getHandlerMetrics().get(TOPIC_NAME);
+    assertThat(metrics.getHandledTasks()).isEqualTo(2);
+    assertThat(metrics.getMaxHandlerTime()).isPositive();
+    assertThat(metrics.getTotalHandlerTime()).isGreaterThanOrEqualTo(metrics.getMaxHandlerTime());
+
+    // the second task waited in the queue of the single handler thread
+    assertThat(metrics.getMaxQueueWaitTime()).isPositive();
+    assertThat(metrics.getTotalQueueWaitTime()).isGreaterThanOrEqualTo(metrics.getMaxQueueWaitTime());
+  }
+
+  protected TopicSubscriptionImpl subscribe(ExternalTaskHandler handler) {
+    TopicSubscriptionImpl subscription = new TopicSubscriptionImpl(TOPIC_NAME, null, handler, topicSubscriptionManager, null, null);
+    topicSubscriptionManager.subscribe(subscription);
+    return subscription;
+  }
+
+  protected ExternalTask task(String id) {
+    ExternalTaskImpl task = new ExternalTaskImpl();
+    task.setId(id);
+    task.setTopicName(TOPIC_NAME);
+    return task;
+  }
+
+  protected static class EngineClientStub extends EngineClient {
+
+    protected List<List<ExternalTask>> pushes = new ArrayList<>();
+    protected List<Boolean> streamResults = new ArrayList<>();
+    protected List<Integer> grantedCredits = new ArrayList<>();
+    protected List<Integer> fetchedMaxTasks = new ArrayList<>();
+    protected EngineClientException streamException;
+    protected Runnable onPush;
+
+    public EngineClientStub() {
+      super("aWorkerId", 10, null, "http://localhost:8080/engine-rest", null);
+    }
+
+    @Override
+    public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics, int maxTasks) {
+      fetchedMaxTasks.add(maxTasks);
+      return new ArrayList<>();
+    }
+
+    @Override
+    public void fetchAndLockStream(List<TopicRequestDto> topics, FetchAndLockStreamHandler streamHandler) {
+      if (streamException != null) {
+        throw streamException;
+      }
+
+      for (List<ExternalTask> externalTasks : pushes) {
+        if (onPush != null) {
+          onPush.run();
+        }
+
+        boolean keepOpen = streamHandler.handleTasks("aStreamId", externalTasks);
+        streamResults.add(keepOpen);
+        if (!keepOpen) {
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void grantCredits(String streamId, int credits) {
+      assertThat(streamId).isEqualTo("aStreamId");
+      grantedCredits.add(credits);
+    }
+
+  }
+
+  protected static class BackoffStrategyStub implements BackoffStrategy {
+
+    protected int reconfigurations;
+
+    @Override
+    public void reconfigure(List<ExternalTask> externalTasks) {
+      reconfigurations++;
+    }
+
+    @Override
+    public long calculateBackoffTime() {
+      return 0;
+    }
+
+  }
+
+}
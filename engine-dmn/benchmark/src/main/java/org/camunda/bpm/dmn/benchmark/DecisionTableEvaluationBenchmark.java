@@ -0,0 +1,151 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.transform.DefaultDmnTransformer;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluates a generated pricing decision table with and without compilation and rule
+ * index of the decision table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecisionTableEvaluationBenchmark {
+
+  protected static final String[] CUSTOMER_STATUS = { "bronze", "silver", "gold", "platinum" };
+  protected static final String[] REGIONS = { "north", "east", "south", "west", "central" };
+
+  @Param({ "5000" })
+  protected int numberOfRules;
+
+  @Param({ "true", "false" })
+  protected boolean compiled;
+
+  protected DmnEngine dmnEngine;
+  protected DmnDecision decision;
+  protected VariableMap[] variables;
+  protected int variablesIdx;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    DefaultDmnEngineConfiguration configuration = (DefaultDmnEngineConfiguration) DmnEngineConfiguration
+        .createDefaultDmnEngineConfiguration();
+    if (!compiled) {
+      ((DefaultDmnTransformer) configuration.getTransformer()).decisionTableCompiler(null);
+    }
+    dmnEngine = configuration.buildEngine();
+
+    byte[] dmn = createPricingDecision(numberOfRules).getBytes(StandardCharsets.UTF_8);
+    decision = dmnEngine.parseDecision("pricing", new ByteArrayInputStream(dmn));
+    if (!compiled) {
+      // evaluate all conditions by FEEL
+      ((DmnDecisionTableImpl) decision.getDecisionLogic()).setRuleIndex(null);
+    }
+
+    Random random = new Random(42);
+    variables = new VariableMap[1024];
+    for (int i = 0; i < variables.length; i++) {
+      variables[i] = Variables.createVariables()
+          .putValue("status", CUSTOMER_STATUS[random.nextInt(CUSTOMER_STATUS.length)])
+          .putValue("region", REGIONS[random.nextInt(REGIONS.length)])
+          .putValue("amount", random.nextInt(numberOfRules * 10));
+    }
+  }
+
+  @Benchmark
+  public DmnDecisionTableResult evaluatePricingDecision() {
+    VariableMap nextVariables = variables[variablesIdx++ & (variables.length - 1)];
+    return dmnEngine.evaluateDecisionTable(decision, nextVariables);
+  }
+
+  /**
+   * Creates a FIRST hit policy decision table where every rule matches a customer status,
+   * a region and a range of the amount, and returns a constant discount.
+   */
+  protected static String createPricingDecision(int numberOfRules) {
+    StringBuilder dmn = new StringBuilder()
+      .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+      .append("<definitions xmlns=\"https://www.omg.org/spec/DMN/20191111/MODEL/\" id=\"definitions\" name=\"definitions\" namespace=\"http://camunda.org/schema/1.0/dmn\">\n")
+      .append("  <decision id=\"pricing\" name=\"pricing\">\n")
+      .append("    <decisionTable id=\"decisionTable\" hitPolicy=\"FIRST\">\n")
+      .append(input("status", "string"))
+      .append(input("region", "string"))
+      .append(input("amount", "integer"))
+      .append("      <output id=\"discount\" name=\"discount\" typeRef=\"string\" />\n");
+
+    for (int i = 0; i < numberOfRules; i++) {
+      String status = CUSTOMER_STATUS[i % CUSTOMER_STATUS.length];
+      String region = REGIONS[(i / CUSTOMER_STATUS.length) % REGIONS.length];
+      int lowerBound = i * 10;
+
+      dmn.append("      <rule id=\"rule").append(i).append("\">\n")
+        .append(entry("inputEntry", i + "_1", "\"" + status + "\""))
+        .append(entry("inputEntry", i + "_2", i % 7 == 0 ? "-" : "\"" + region + "\""))
+        .append(entry("inputEntry", i + "_3", "[" + lowerBound + ".." + (lowerBound + 100) + "["))
+        .append(entry("outputEntry", i + "_1", "\"discount-" + (i % 20) + "\""))
+        .append("      </rule>\n");
+    }
+
+    return dmn
+      .append("    </decisionTable>\n")
+      .append("  </decision>\n")
+      .append("</definitions>\n")
+      .toString();
+  }
+
+  protected static String input(String name, String typeRef) {
+    return "      <input id=\"" + name + "\" label=\"" + name + "\">\n"
+      + "        <inputExpression id=\"" + name + "Expression\" typeRef=\"" + typeRef + "\">\n"
+      + "          <text>" + name + "</text>\n"
+      + "        </inputExpression>\n"
+      + "      </input>\n";
+  }
+
+  protected static String entry(String element, String id, String text) {
+    return "        <" + element + " id=\"" + element + id + "\"><text>" + text + "</text></" + element + ">\n";
+  }
+
+}
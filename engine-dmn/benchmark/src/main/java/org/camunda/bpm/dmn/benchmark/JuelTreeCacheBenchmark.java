@@ -0,0 +1,84 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.impl.juel.Builder;
+import org.camunda.bpm.impl.juel.Cache;
+import org.camunda.bpm.impl.juel.ConcurrentCache;
+import org.camunda.bpm.impl.juel.Tree;
+import org.camunda.bpm.impl.juel.TreeCache;
+import org.camunda.bpm.impl.juel.TreeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Looks up JUEL expression trees from 64 threads, comparing the synchronized LRU
+ * {@link Cache} with the {@link ConcurrentCache}. Most lookups hit a small set of
+ * hot expressions, the others are spread over more expressions than fit into the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class JuelTreeCacheBenchmark {
+
+  protected static final int CACHE_SIZE = 1000;
+  protected static final int HOT_EXPRESSIONS = 100;
+  protected static final int ALL_EXPRESSIONS = 2000;
+
+  @Param({ "concurrent", "synchronized" })
+  protected String cache;
+
+  protected TreeStore treeStore;
+  protected String[] expressions;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    TreeCache treeCache = "concurrent".equals(cache) ? new ConcurrentCache(CACHE_SIZE) : new Cache(CACHE_SIZE);
+    treeStore = new TreeStore(new Builder(Builder.Feature.METHOD_INVOCATIONS), treeCache);
+
+    expressions = new String[ALL_EXPRESSIONS];
+    for (int i = 0; i < ALL_EXPRESSIONS; i++) {
+      expressions[i] = "${execution.getVariable('amount') > " + i + " && approved}";
+    }
+  }
+
+  @Benchmark
+  public Tree lookupExpression() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int expressionIdx = random.nextInt(10) < 9 ? random.nextInt(HOT_EXPRESSIONS) : random.nextInt(ALL_EXPRESSIONS);
+    return treeStore.get(expressions[expressionIdx]);
+  }
+
+}
@@ -344,4 +344,32 @@ public interface DmnEngine {
    */
   DmnDecisionResult evaluateDecision(String decisionKey, DmnModelInstance dmnModelInstance, VariableContext variableContext);
 
+  /**
+   * Evaluates a decision once for every given variable context. The decision is
+   * resolved only once and the evaluation handlers are shared between all evaluations.
+   *
+   * <p>If the evaluation is parallel, the variable contexts are evaluated by
+   * the common fork-join pool. The decision evaluation listeners are always
+   * notified by the calling thread, in the order of the variable contexts,
+   * whereas decision table evaluation listeners are notified by the evaluating thread.</p>
+   *
+   * <p>Only decisions whose expressions are all FEEL expressions can be evaluated
+   * in parallel, since other expression languages like JUEL may depend on the
+   * context of the calling thread.</p>
+   *
+   * @param decision the {@link DmnDecision} to evaluate
+   * @param variableContexts the variable contexts to evaluate the decision for
+   * @param parallel <code>true</code> to evaluate the variable contexts in parallel
+   * @return the {@link DmnDecisionResult}s of the evaluations, in the order of the variable contexts
+   *
+   * @throws DmnEngineException
+   *           if the decision logic is not supported
+   * @throws DmnEngineException
+   *           if the evaluation is parallel and the decision or one of its required
+   *           decisions contains an expression of another language than FEEL
+   * @throws DmnEngineException
+   *           if an error occurs during the evaluation
+   */
+  List<DmnDecisionResult> evaluateDecisions(DmnDecision decision, List<? extends VariableContext> variableContexts, boolean parallel);
+
 }
@@ -17,21 +17,26 @@
 package org.camunda.bpm.dmn.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnEngineException;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionLogicEvaluationEvent;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnDecisionEvaluationEventImpl;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionLiteralExpressionEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionTableEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DmnDecisionLogicEvaluationHandler;
+import org.camunda.bpm.dmn.engine.impl.evaluation.ExpressionEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.hitpolicy.HitPolicyEntry;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
@@ -48,13 +53,29 @@ public class DefaultDmnDecisionContext {
   protected static final HitPolicyEntry COLLECT_HIT_POLICY = new HitPolicyEntry(HitPolicy.COLLECT, null);
   protected static final HitPolicyEntry RULE_ORDER_HIT_POLICY = new HitPolicyEntry(HitPolicy.RULE_ORDER, null);
 
+  protected static final int PARALLEL_CHUNK_SIZE = 1024;
+  protected static final int PARALLEL_TASK_SIZE = 16;
+
   protected final List<DmnDecisionEvaluationListener> evaluationListeners;
 
   protected final Map<Class<? extends DmnDecisionLogic>, DmnDecisionLogicEvaluationHandler> evaluationHandlers;
 
+  protected final ExpressionEvaluationHandler expressionEvaluationHandler;
+
+  protected final String inputExpressionExpressionLanguage;
+  protected final String inputEntryExpressionLanguage;
+  protected final String outputEntryExpressionLanguage;
+  protected final String literalExpressionLanguage;
+
   public DefaultDmnDecisionContext(DefaultDmnEngineConfiguration configuration) {
     evaluationListeners = configuration.getDecisionEvaluationListeners();
 
+    expressionEvaluationHandler = new ExpressionEvaluationHandler(configuration);
+    inputExpressionExpressionLanguage = configuration.getDefaultInputExpressionExpressionLanguage();
+    inputEntryExpressionLanguage = configuration.getDefaultInputEntryExpressionLanguage();
+    outputEntryExpressionLanguage = configuration.getDefaultOutputEntryExpressionLanguage();
+    literalExpressionLanguage = configuration.getDefaultLiteralExpressionLanguage();
+
     evaluationHandlers = new HashMap<Class<? extends DmnDecisionLogic>, DmnDecisionLogicEvaluationHandler>();
     evaluationHandlers.put(DmnDecisionTableImpl.class, new DecisionTableEvaluationHandler(configuration));
     evaluationHandlers.put(DmnDecisionLiteralExpressionImpl.class, new DecisionLiteralExpressionEvaluationHandler(configuration));
@@ -72,12 +93,75 @@ public class DefaultDmnDecisionContext {
     if(decision.getKey() == null) {
       throw LOG.unableToFindAnyDecisionTable();
     }
-    VariableMap variableMap = buildVariableMapFromVariableContext(variableContext);
 
     List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
     buildDecisionTree(decision, requiredDecisions);
 
     List<DmnDecisionLogicEvaluationEvent> evaluatedEvents = new ArrayList<DmnDecisionLogicEvaluationEvent>();
+    DmnDecisionResult evaluatedResult = evaluateDecision(decision, requiredDecisions, variableContext, evaluatedEvents);
+
+    generateDecisionEvaluationEvent(evaluatedEvents);
+    return evaluatedResult;
+  }
+
+  /**
+   * Evaluate a decision once for every given {@link VariableContext}. In parallel mode,
+   * the variable contexts are evaluated in chunks by the common fork-join pool and the
+   * evaluation listeners are notified by the calling thread after each chunk. Only
+   * decisions whose expressions are all FEEL expressions can be evaluated in parallel,
+   * as other expression languages may depend on the context of the calling thread.
+   *
+   * @param decision the decision to evaluate
+   * @param variableContexts the variable contexts to evaluate the decision for
+   * @param parallel whether the variable contexts are evaluated in parallel
+   * @return the results of the decision evaluations, in the order of the variable contexts
+   * @throws DmnEngineException if parallel evaluation is requested for a decision
+   *         which contains expressions of another language than FEEL
+   */
+  public List<DmnDecisionResult> evaluateDecisions(DmnDecision decision, List<? extends VariableContext> variableContexts, boolean parallel) {
+
+    if(decision.getKey() == null) {
+      throw LOG.unableToFindAnyDecisionTable();
+    }
+
+    List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
+    buildDecisionTree(decision, requiredDecisions);
+
+    int numberOfEvaluations = variableContexts.size();
+    DmnDecisionResult[] evaluatedResults = new DmnDecisionResult[numberOfEvaluations];
+
+    if (parallel) {
+      ensureFeelExpressions(requiredDecisions);
+
+      for (int chunkStart = 0; chunkStart < numberOfEvaluations; chunkStart += PARALLEL_CHUNK_SIZE) {
+        int chunkEnd = Math.min(chunkStart + PARALLEL_CHUNK_SIZE, numberOfEvaluations);
+
+        List<List<DmnDecisionLogicEvaluationEvent>> evaluatedEvents = new ArrayList<List<DmnDecisionLogicEvaluationEvent>>(chunkEnd - chunkStart);
+        for (int i = chunkStart; i < chunkEnd; i++) {
+          evaluatedEvents.add(new ArrayList<DmnDecisionLogicEvaluationEvent>());
+        }
+
+        ForkJoinPool.commonPool().invoke(new EvaluateDecisionsTask(decision, requiredDecisions, variableContexts,
+            evaluatedResults, evaluatedEvents, chunkStart, chunkStart, chunkEnd));
+
+        for (List<DmnDecisionLogicEvaluationEvent> events : evaluatedEvents) {
+          generateDecisionEvaluationEvent(events);
+        }
+      }
+    }
+    else {
+      for (int i = 0; i < numberOfEvaluations; i++) {
+        List<DmnDecisionLogicEvaluationEvent> evaluatedEvents = new ArrayList<DmnDecisionLogicEvaluationEvent>();
+        evaluatedResults[i] = evaluateDecision(decision, requiredDecisions, variableContexts.get(i), evaluatedEvents);
+        generateDecisionEvaluationEvent(evaluatedEvents);
+      }
+    }
+
+    return Arrays.asList(evaluatedResults);
+  }
+
+  protected DmnDecisionResult evaluateDecision(DmnDecision decision, List<DmnDecision> requiredDecisions, VariableContext variableContext, List<DmnDecisionLogicEvaluationEvent> evaluatedEvents) {
+    VariableMap variableMap = buildVariableMapFromVariableContext(variableContext);
     DmnDecisionResult evaluatedResult = null;
 
     for (DmnDecision evaluateDecision : requiredDecisions) {
@@ -91,7 +175,6 @@ public class DefaultDmnDecisionContext {
       }
     }
 
-    generateDecisionEvaluationEvent(evaluatedEvents);
     return evaluatedResult;
   }
 
@@ -119,6 +202,46 @@ public class DefaultDmnDecisionContext {
     requiredDecisions.add(decision);
   }
 
+  protected void ensureFeelExpressions(List<DmnDecision> decisions) {
+    for (DmnDecision decision : decisions) {
+      DmnDecisionLogic decisionLogic = decision.getDecisionLogic();
+
+      if (decisionLogic instanceof DmnDecisionTableImpl) {
+        DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) decisionLogic;
+        for (DmnDecisionTableInputImpl input : decisionTable.getInputs()) {
+          ensureFeelExpression(decision, input.getExpression(), inputExpressionExpressionLanguage);
+        }
+        for (DmnDecisionTableRuleImpl rule : decisionTable.getRules()) {
+          for (DmnExpressionImpl condition : rule.getConditions()) {
+            ensureFeelExpression(decision, condition, inputEntryExpressionLanguage);
+          }
+          for (DmnExpressionImpl conclusion : rule.getConclusions()) {
+            ensureFeelExpression(decision, conclusion, outputEntryExpressionLanguage);
+          }
+        }
+      }
+      else if (decisionLogic instanceof DmnDecisionLiteralExpressionImpl) {
+        DmnExpressionImpl expression = ((DmnDecisionLiteralExpressionImpl) decisionLogic).getExpression();
+        ensureFeelExpression(decision, expression, literalExpressionLanguage);
+      }
+    }
+  }
+
+  protected void ensureFeelExpression(DmnDecision decision, DmnExpressionImpl expression, String defaultExpressionLanguage) {
+    if (expression == null || expression.getExpression() == null || expression.getExpression().trim().isEmpty()) {
+      // empty expressions are not evaluated
+      return;
+    }
+
+    String expressionLanguage = expression.getExpressionLanguage();
+    if (expressionLanguage == null) {
+      expressionLanguage = defaultExpressionLanguage;
+    }
+    if (expressionLanguage == null || !expressionEvaluationHandler.isFeelExpressionLanguage(expressionLanguage)) {
+      throw LOG.parallelEvaluationNotSupportedForExpressionLanguage(decision, expressionLanguage);
+    }
+  }
+
   protected DmnDecisionLogicEvaluationHandler getDecisionEvaluationHandler(DmnDecision decision) {
     Class<? extends DmnDecisionLogic> key = decision.getDecisionLogic().getClass();
 
@@ -185,4 +308,48 @@ public class DefaultDmnDecisionContext {
     }
   }
 
+  /**
+   * Evaluates a range of variable contexts, splitting it until at most
+   * {@link #PARALLEL_TASK_SIZE} evaluations remain.
+   */
+  protected class EvaluateDecisionsTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final DmnDecision decision;
+    protected final List<DmnDecision> requiredDecisions;
+    protected final List<? extends VariableContext> variableContexts;
+    protected final DmnDecisionResult[] evaluatedResults;
+    protected final List<List<DmnDecisionLogicEvaluationEvent>> evaluatedEvents;
+    protected final int chunkStart;
+    protected final int start;
+    protected final int end;
+
+    public EvaluateDecisionsTask(DmnDecision decision, List<DmnDecision> requiredDecisions, List<? extends VariableContext> variableContexts,
+        DmnDecisionResult[] evaluatedResults, List<List<DmnDecisionLogicEvaluationEvent>> evaluatedEvents, int chunkStart, int start, int end) {
+      this.decision = decision;
+      this.requiredDecisions = requiredDecisions;
+      this.variableContexts = variableContexts;
+      this.evaluatedResults = evaluatedResults;
+      this.evaluatedEvents = evaluatedEvents;
+      this.chunkStart = chunkStart;
+      this.start = start;
+      this.end = end;
+    }
+
+    protected void compute() {
+      if (end - start <= PARALLEL_TASK_SIZE) {
+        for (int i = start; i < end; i++) {
+          evaluatedResults[i] = evaluateDecision(decision, requiredDecisions, variableContexts.get(i), evaluatedEvents.get(i - chunkStart));
+        }
+      }
+      else {
+        int middle = (start + end) >>> 1;
+        invokeAll(
+            new EvaluateDecisionsTask(decision, requiredDecisions, variableContexts, evaluatedResults, evaluatedEvents, chunkStart, start, middle),
+            new EvaluateDecisionsTask(decision, requiredDecisions, variableContexts, evaluatedResults, evaluatedEvents, chunkStart, middle, end));
+      }
+    }
+  }
+
 }
@@ -203,4 +203,17 @@ public class DefaultDmnEngine implements DmnEngine {
     throw LOG.unableToFindDecisionWithKey(decisionKey);
   }
 
+  public List<DmnDecisionResult> evaluateDecisions(DmnDecision decision, List<? extends VariableContext> variableContexts, boolean parallel) {
+    ensureNotNull("decision", decision);
+    ensureNotNull("variableContexts", variableContexts);
+
+    if (decision instanceof DmnDecisionImpl) {
+      DefaultDmnDecisionContext decisionContext = new DefaultDmnDecisionContext(dmnEngineConfiguration);
+      return decisionContext.evaluateDecisions(decision, variableContexts, parallel);
+    }
+    else {
+      throw LOG.decisionTypeNotSupported(decision);
+    }
+  }
+
 }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
+import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionTableRuleIndex;
 import org.camunda.bpm.dmn.engine.impl.hitpolicy.DefaultHitPolicyHandlerRegistry;
 import org.camunda.bpm.dmn.engine.impl.spi.hitpolicy.DmnHitPolicyHandler;
 import org.camunda.bpm.model.dmn.BuiltinAggregator;
@@ -33,6 +34,8 @@ public class DmnDecisionTableImpl implements DmnDecisionLogic {
   protected List<DmnDecisionTableOutputImpl> outputs = new ArrayList<DmnDecisionTableOutputImpl>();
   protected List<DmnDecisionTableRuleImpl> rules = new ArrayList<DmnDecisionTableRuleImpl>();
 
+  protected DecisionTableRuleIndex ruleIndex;
+
   public DmnHitPolicyHandler getHitPolicyHandler() {
     return hitPolicyHandler;
   }
@@ -65,6 +68,21 @@ public class DmnDecisionTableImpl implements DmnDecisionLogic {
     this.rules = rules;
   }
 
+  public DecisionTableRuleIndex getRuleIndex() {
+    return ruleIndex;
+  }
+
+  public void setRuleIndex(DecisionTableRuleIndex ruleIndex) {
+    this.ruleIndex = ruleIndex;
+  }
+
+  /**
+   * Indexes the conditions of the rules. Has to be called again after the inputs or rules were changed.
+   */
+  public void buildRuleIndex() {
+    ruleIndex = DecisionTableRuleIndex.build(this);
+  }
+
   @Override
   public String toString() {
     return "DmnDecisionTableImpl{" +
@@ -119,4 +119,11 @@ public class DmnEngineLogger extends DmnLogger {
     );
   }
 
+  public DmnEngineException parallelEvaluationNotSupportedForExpressionLanguage(DmnDecision decision, String expressionLanguage) {
+    return new DmnEngineException(exceptionMessage(
+      "014",
+      "Unable to evaluate decision '{}' in parallel as it contains expressions of language '{}'. Only FEEL expressions can be evaluated in parallel.", decision.getKey(), expressionLanguage)
+    );
+  }
+
 }
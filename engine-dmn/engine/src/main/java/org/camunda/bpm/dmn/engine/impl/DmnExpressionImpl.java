@@ -33,6 +33,9 @@ public class DmnExpressionImpl implements CachedCompiledScriptSupport, CachedExp
   protected CompiledScript cachedCompiledScript;
   protected ElExpression cachedExpression;
 
+  protected boolean isConstant;
+  protected Object constantValue;
+
   public String getId() {
     return id;
   }
@@ -99,4 +102,20 @@ public class DmnExpressionImpl implements CachedCompiledScriptSupport, CachedExp
   public void setCachedExpression(ElExpression expression) {
     this.cachedExpression = expression;
   }
+
+  /**
+   * @return true if the expression is a literal whose value was resolved on transformation
+   */
+  public boolean isConstant() {
+    return isConstant;
+  }
+
+  public Object getConstantValue() {
+    return constantValue;
+  }
+
+  public void setConstantValue(Object constantValue) {
+    this.constantValue = constantValue;
+    this.isConstant = true;
+  }
 }
@@ -17,6 +17,7 @@
 package org.camunda.bpm.dmn.engine.impl.evaluation;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +60,9 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   protected final String inputEntryExpressionLanguage;
   protected final String outputEntryExpressionLanguage;
 
+  protected final boolean isRuleIndexApplicable;
+  protected final boolean isConstantOutputEntryApplicable;
+
   public DecisionTableEvaluationHandler(DefaultDmnEngineConfiguration configuration) {
     expressionEvaluationHandler = new ExpressionEvaluationHandler(configuration);
     feelEngine = configuration.getFeelEngine();
@@ -68,6 +72,13 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     inputExpressionExpressionLanguage = configuration.getDefaultInputExpressionExpressionLanguage();
     inputEntryExpressionLanguage = configuration.getDefaultInputEntryExpressionLanguage();
     outputEntryExpressionLanguage = configuration.getDefaultOutputEntryExpressionLanguage();
+
+    // the rule index only covers FEEL simple unary tests
+    isRuleIndexApplicable = inputEntryExpressionLanguage != null
+        && expressionEvaluationHandler.isFeelExpressionLanguage(inputEntryExpressionLanguage);
+    // constant output entries are FEEL literals
+    isConstantOutputEntryApplicable = outputEntryExpressionLanguage != null
+        && expressionEvaluationHandler.isFeelExpressionLanguage(outputEntryExpressionLanguage);
   }
 
   @Override
@@ -97,7 +108,10 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
 
   protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
     int inputSize = decisionTable.getInputs().size();
+    DecisionTableRuleIndex ruleIndex = getRuleIndex(decisionTable);
+
     List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(decisionTable.getRules());
+    BitSet indexedMatchingRules = ruleIndex != null ? ruleIndex.getAllRules() : null;
     for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
       // evaluate input
       DmnDecisionTableInputImpl input = decisionTable.getInputs().get(inputIdx);
@@ -108,12 +122,48 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
       VariableContext localVariableContext = getLocalVariableContext(input, evaluatedInput, variableContext);
 
       // filter rules applicable with this input
-      matchingRules = evaluateInputForAvailableRules(inputIdx, input, matchingRules, localVariableContext);
+      if (ruleIndex != null) {
+        evaluateInputForIndexedRules(inputIdx, input, evaluatedInput, decisionTable, ruleIndex, indexedMatchingRules, localVariableContext);
+      } else {
+        matchingRules = evaluateInputForAvailableRules(inputIdx, input, matchingRules, localVariableContext);
+      }
+    }
+
+    if (ruleIndex != null) {
+      matchingRules = ruleIndex.getRules(decisionTable, indexedMatchingRules);
     }
 
     setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
   }
 
+  protected DecisionTableRuleIndex getRuleIndex(DmnDecisionTableImpl decisionTable) {
+    DecisionTableRuleIndex ruleIndex = decisionTable.getRuleIndex();
+    if (isRuleIndexApplicable && ruleIndex != null && ruleIndex.getNumberOfRules() == decisionTable.getRules().size()) {
+      return ruleIndex;
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Filters the available rules with the rule index first and evaluates only the conditions
+   * of the remaining rules which could not be checked by the index. The conditions are
+   * evaluated in the same order as by {@link #evaluateInputForAvailableRules}.
+   */
+  protected void evaluateInputForIndexedRules(int conditionIdx, DmnDecisionTableInputImpl input, DmnEvaluatedInput evaluatedInput, DmnDecisionTableImpl decisionTable,
+                                              DecisionTableRuleIndex ruleIndex, BitSet availableRules, VariableContext variableContext) {
+    Object value = evaluatedInput.getValue() != null ? evaluatedInput.getValue().getValue() : null;
+    BitSet uncheckedRules = ruleIndex.getInputIndex(conditionIdx).filter(value, availableRules);
+
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    for (int ruleIdx = uncheckedRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = uncheckedRules.nextSetBit(ruleIdx + 1)) {
+      DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(conditionIdx);
+      if (!isConditionApplicable(input, condition, variableContext)) {
+        availableRules.clear(ruleIdx);
+      }
+    }
+  }
+
   protected DmnEvaluatedInput evaluateInput(DmnDecisionTableInputImpl input, VariableContext variableContext) {
     DmnEvaluatedInputImpl evaluatedInput = new DmnEvaluatedInputImpl(input);
 
@@ -233,6 +283,10 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected Object evaluateOutputEntry(DmnExpressionImpl conclusion, VariableContext variableContext) {
+    if (isConstantOutputEntryApplicable && conclusion.isConstant()) {
+      return conclusion.getConstantValue();
+    }
+
     String expressionLanguage = conclusion.getExpressionLanguage();
     if (expressionLanguage == null) {
       expressionLanguage = outputEntryExpressionLanguage;
@@ -0,0 +1,238 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionTableIntervalTree.Interval;
+
+/**
+ * <p>Index over the conditions of one decision table input. The following FEEL simple unary
+ * tests of the default input entry expression language are indexed:</p>
+ *
+ * <ul>
+ *   <li>empty conditions and <code>-</code>, which match every value</li>
+ *   <li>string literals and lists of them, e.g. <code>"gold","silver"</code>, for string values</li>
+ *   <li>number literals, comparisons and intervals and lists of them, e.g. <code>&lt; 10, [20..30[</code>,
+ *   for integer and double values</li>
+ * </ul>
+ *
+ * <p>All other conditions, and indexed conditions for values of other types, have to be evaluated
+ * by the FEEL engine. Only shapes for which both FEEL engines compare exactly like
+ * {@link String#equals(Object)} or {@link BigDecimal#compareTo(BigDecimal)} are indexed.</p>
+ */
+public class DecisionTableInputIndex {
+
+  protected static final Pattern STRING_LITERAL = Pattern.compile("\"([^\"\\\\,]*)\"");
+
+  protected static final String NUMBER = "(-?\\d+(?:\\.\\d+)?)";
+  protected static final Pattern NUMBER_LITERAL = Pattern.compile(NUMBER);
+  protected static final Pattern COMPARISON = Pattern.compile("(<=|>=|<|>)\\s*" + NUMBER);
+  protected static final Pattern INTERVAL = Pattern.compile("([\\[\\]])\\s*" + NUMBER + "\\s*\\.\\.\\s*" + NUMBER + "\\s*([\\[\\]])");
+
+  /**
+   * Number literals and long values beyond these limits cannot be compared exactly as doubles.
+   */
+  protected static final int MAX_NUMBER_PRECISION = 15;
+  protected static final long MAX_EXACT_LONG = 1L << 53;
+
+  protected final BitSet wildcardRules = new BitSet();
+  protected final BitSet unindexedRules = new BitSet();
+
+  protected final BitSet stringRules = new BitSet();
+  protected final Map<String, BitSet> stringIndex = new HashMap<String, BitSet>();
+
+  protected final BitSet numericRules = new BitSet();
+  protected DecisionTableIntervalTree numericIndex;
+
+  public DecisionTableInputIndex(List<DmnExpressionImpl> conditions) {
+    List<Interval> intervals = new ArrayList<Interval>();
+    for (int ruleIdx = 0; ruleIdx < conditions.size(); ruleIdx++) {
+      indexCondition(ruleIdx, conditions.get(ruleIdx), intervals);
+    }
+
+    if (!intervals.isEmpty()) {
+      numericIndex = new DecisionTableIntervalTree(intervals);
+    }
+  }
+
+  /**
+   * @return true if no condition of this input is indexed
+   */
+  public boolean isEmpty() {
+    return wildcardRules.isEmpty() && stringRules.isEmpty() && numericRules.isEmpty();
+  }
+
+  /**
+   * Removes the rules with an indexed condition that does not match the given value from the matching rules.
+   *
+   * @return the remaining matching rules whose condition still has to be evaluated
+   */
+  public BitSet filter(Object value, BitSet matchingRules) {
+    BitSet candidateRules = (BitSet) wildcardRules.clone();
+    BitSet uncheckedRules = (BitSet) unindexedRules.clone();
+
+    if (value instanceof String) {
+      BitSet rules = stringIndex.get(value);
+      if (rules != null) {
+        candidateRules.or(rules);
+      }
+    } else {
+      uncheckedRules.or(stringRules);
+    }
+
+    BigDecimal number = toIndexedNumber(value);
+    if (number != null) {
+      if (numericIndex != null) {
+        numericIndex.findRules(number, candidateRules);
+      }
+    } else {
+      uncheckedRules.or(numericRules);
+    }
+
+    candidateRules.or(uncheckedRules);
+    matchingRules.and(candidateRules);
+
+    uncheckedRules.and(matchingRules);
+    return uncheckedRules;
+  }
+
+  protected void indexCondition(int ruleIdx, DmnExpressionImpl condition, List<Interval> intervals) {
+    String expression = condition != null ? condition.getExpression() : null;
+    if (expression == null || expression.trim().isEmpty()) {
+      // input entries without expressions are true
+      wildcardRules.set(ruleIdx);
+      return;
+    }
+
+    if (condition.getExpressionLanguage() != null) {
+      unindexedRules.set(ruleIdx);
+      return;
+    }
+
+    String[] tests = expression.trim().split(",");
+    if (tests.length == 1 && "-".equals(tests[0])) {
+      wildcardRules.set(ruleIdx);
+    }
+    else if (!indexStrings(ruleIdx, tests) && !indexNumbers(ruleIdx, tests, intervals)) {
+      unindexedRules.set(ruleIdx);
+    }
+  }
+
+  protected boolean indexStrings(int ruleIdx, String[] tests) {
+    List<String> values = new ArrayList<String>();
+    for (String test : tests) {
+      Matcher matcher = STRING_LITERAL.matcher(test.trim());
+      if (!matcher.matches()) {
+        return false;
+      }
+      values.add(matcher.group(1));
+    }
+
+    for (String value : values) {
+      BitSet rules = stringIndex.get(value);
+      if (rules == null) {
+        rules = new BitSet();
+        stringIndex.put(value, rules);
+      }
+      rules.set(ruleIdx);
+    }
+    stringRules.set(ruleIdx);
+    return true;
+  }
+
+  protected boolean indexNumbers(int ruleIdx, String[] tests, List<Interval> intervals) {
+    List<Interval> ruleIntervals = new ArrayList<Interval>();
+    for (String test : tests) {
+      Interval interval = parseInterval(ruleIdx, test.trim());
+      if (interval == null) {
+        return false;
+      }
+      ruleIntervals.add(interval);
+    }
+
+    intervals.addAll(ruleIntervals);
+    numericRules.set(ruleIdx);
+    return true;
+  }
+
+  protected Interval parseInterval(int ruleIdx, String test) {
+    Matcher matcher = NUMBER_LITERAL.matcher(test);
+    if (matcher.matches()) {
+      BigDecimal value = parseNumber(matcher.group(1));
+      return value != null ? new Interval(ruleIdx, value, true, value, true) : null;
+    }
+
+    matcher = COMPARISON.matcher(test);
+    if (matcher.matches()) {
+      BigDecimal value = parseNumber(matcher.group(2));
+      if (value == null) {
+        return null;
+      }
+      String operator = matcher.group(1);
+      if (operator.startsWith("<")) {
+        return new Interval(ruleIdx, null, false, value, operator.endsWith("="));
+      } else {
+        return new Interval(ruleIdx, value, operator.endsWith("="), null, false);
+      }
+    }
+
+    matcher = INTERVAL.matcher(test);
+    if (matcher.matches()) {
+      BigDecimal low = parseNumber(matcher.group(2));
+      BigDecimal high = parseNumber(matcher.group(3));
+      if (low == null || high == null) {
+        return null;
+      }
+      return new Interval(ruleIdx, low, "[".equals(matcher.group(1)), high, "]".equals(matcher.group(4)));
+    }
+
+    return null;
+  }
+
+  protected BigDecimal parseNumber(String number) {
+    BigDecimal value = new BigDecimal(number);
+    return value.precision() <= MAX_NUMBER_PRECISION ? value : null;
+  }
+
+  /**
+   * @return the value as number if it can be looked up in the numeric index, <code>null</code> otherwise
+   */
+  protected BigDecimal toIndexedNumber(Object value) {
+    if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+    }
+    if (value instanceof Long) {
+      long longValue = (Long) value;
+      return Math.abs(longValue) <= MAX_EXACT_LONG ? BigDecimal.valueOf(longValue) : null;
+    }
+    if (value instanceof Double) {
+      double doubleValue = (Double) value;
+      return Double.isNaN(doubleValue) || Double.isInfinite(doubleValue) ? null : BigDecimal.valueOf(doubleValue);
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Static interval tree over the numeric conditions of one decision table input. The intervals
+ * are sorted by their lower bound and stored as an implicit balanced binary tree, every node
+ * knows the maximum upper bound of its subtree. Finding all intervals that contain a value
+ * therefore takes O(log n + k) comparisons.
+ */
+public class DecisionTableIntervalTree {
+
+  protected static final Comparator<Interval> LOW_COMPARATOR = new Comparator<Interval>() {
+    public int compare(Interval interval, Interval other) {
+      return compareLow(interval.low, other.low);
+    }
+  };
+
+  protected final Interval[] intervals;
+  protected final BigDecimal[] maxHighs;
+
+  public DecisionTableIntervalTree(List<Interval> intervals) {
+    List<Interval> sortedIntervals = new ArrayList<Interval>(intervals);
+    Collections.sort(sortedIntervals, LOW_COMPARATOR);
+
+    this.intervals = sortedIntervals.toArray(new Interval[0]);
+    this.maxHighs = new BigDecimal[this.intervals.length];
+    initMaxHighs(0, this.intervals.length);
+  }
+
+  /**
+   * Sets the bits of the rules with an interval that contains the given value.
+   */
+  public void findRules(BigDecimal value, BitSet rules) {
+    findRules(0, intervals.length, value, rules);
+  }
+
+  protected void findRules(int from, int to, BigDecimal value, BitSet rules) {
+    if (from >= to) {
+      return;
+    }
+
+    int mid = (from + to) >>> 1;
+    if (maxHighs[mid] != null && maxHighs[mid].compareTo(value) < 0) {
+      // all intervals of this subtree end before the value
+      return;
+    }
+
+    findRules(from, mid, value, rules);
+
+    Interval interval = intervals[mid];
+    if (interval.low != null && interval.low.compareTo(value) > 0) {
+      // this and all following intervals start after the value
+      return;
+    }
+
+    if (interval.contains(value)) {
+      rules.set(interval.ruleIdx);
+    }
+
+    findRules(mid + 1, to, value, rules);
+  }
+
+  protected BigDecimal initMaxHighs(int from, int to) {
+    if (from >= to) {
+      return BigDecimal.ZERO;
+    }
+
+    int mid = (from + to) >>> 1;
+    BigDecimal maxHigh = intervals[mid].high;
+    if (from < mid) {
+      maxHigh = maxHigh(maxHigh, initMaxHighs(from, mid));
+    }
+    if (mid + 1 < to) {
+      maxHigh = maxHigh(maxHigh, initMaxHighs(mid + 1, to));
+    }
+    maxHighs[mid] = maxHigh;
+    return maxHigh;
+  }
+
+  /**
+   * @return the larger upper bound, where <code>null</code> is unbounded
+   */
+  protected static BigDecimal maxHigh(BigDecimal high, BigDecimal other) {
+    if (high == null || other == null) {
+      return null;
+    }
+    return high.compareTo(other) >= 0 ? high : other;
+  }
+
+  /**
+   * Compares lower bounds, where <code>null</code> is unbounded.
+   */
+  protected static int compareLow(BigDecimal low, BigDecimal other) {
+    if (low == null) {
+      return other == null ? 0 : -1;
+    }
+    if (other == null) {
+      return 1;
+    }
+    return low.compareTo(other);
+  }
+
+  public static class Interval {
+
+    protected final int ruleIdx;
+    protected final BigDecimal low;
+    protected final boolean lowInclusive;
+    protected final BigDecimal high;
+    protected final boolean highInclusive;
+
+    /**
+     * @param low the lower bound or <code>null</code> if the interval is unbounded below
+     * @param high the upper bound or <code>null</code> if the interval is unbounded above
+     */
+    public Interval(int ruleIdx, BigDecimal low, boolean lowInclusive, BigDecimal high, boolean highInclusive) {
+      this.ruleIdx = ruleIdx;
+      this.low = low;
+      this.lowInclusive = lowInclusive;
+      this.high = high;
+      this.highInclusive = highInclusive;
+    }
+
+    public boolean contains(BigDecimal value) {
+      if (low != null) {
+        int comparison = low.compareTo(value);
+        if (comparison > 0 || (comparison == 0 && !lowInclusive)) {
+          return false;
+        }
+      }
+      if (high != null) {
+        int comparison = high.compareTo(value);
+        if (comparison < 0 || (comparison == 0 && !highInclusive)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    public int getRuleIdx() {
+      return ruleIdx;
+    }
+
+  }
+
+}
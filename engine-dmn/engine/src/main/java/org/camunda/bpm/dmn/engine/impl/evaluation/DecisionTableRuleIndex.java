@@ -0,0 +1,96 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+
+/**
+ * Indexes the rules of a decision table by the conditions of each input, such that
+ * rules can be matched without evaluating every condition. Rules are identified by
+ * their position in the decision table.
+ *
+ * @see DecisionTableInputIndex
+ */
+public class DecisionTableRuleIndex {
+
+  protected final int numberOfRules;
+  protected final List<DecisionTableInputIndex> inputIndexes;
+
+  public DecisionTableRuleIndex(int numberOfRules, List<DecisionTableInputIndex> inputIndexes) {
+    this.numberOfRules = numberOfRules;
+    this.inputIndexes = inputIndexes;
+  }
+
+  /**
+   * @return the index of the decision table or <code>null</code> if none of its conditions can be indexed
+   */
+  public static DecisionTableRuleIndex build(DmnDecisionTableImpl decisionTable) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int numberOfInputs = decisionTable.getInputs().size();
+
+    boolean isEmpty = true;
+    List<DecisionTableInputIndex> inputIndexes = new ArrayList<DecisionTableInputIndex>();
+    for (int inputIdx = 0; inputIdx < numberOfInputs; inputIdx++) {
+      List<DmnExpressionImpl> conditions = new ArrayList<DmnExpressionImpl>();
+      for (DmnDecisionTableRuleImpl rule : rules) {
+        conditions.add(rule.getConditions().get(inputIdx));
+      }
+
+      DecisionTableInputIndex inputIndex = new DecisionTableInputIndex(conditions);
+      isEmpty &= inputIndex.isEmpty();
+      inputIndexes.add(inputIndex);
+    }
+
+    return isEmpty ? null : new DecisionTableRuleIndex(rules.size(), inputIndexes);
+  }
+
+  public DecisionTableInputIndex getInputIndex(int inputIdx) {
+    return inputIndexes.get(inputIdx);
+  }
+
+  /**
+   * @return the set of all rules
+   */
+  public BitSet getAllRules() {
+    BitSet rules = new BitSet(numberOfRules);
+    rules.set(0, numberOfRules);
+    return rules;
+  }
+
+  /**
+   * @return the given rules of the decision table in their order
+   */
+  public List<DmnDecisionTableRuleImpl> getRules(DmnDecisionTableImpl decisionTable, BitSet rules) {
+    List<DmnDecisionTableRuleImpl> decisionTableRules = decisionTable.getRules();
+    List<DmnDecisionTableRuleImpl> result = new ArrayList<DmnDecisionTableRuleImpl>(rules.cardinality());
+    for (int ruleIdx = rules.nextSetBit(0); ruleIdx >= 0; ruleIdx = rules.nextSetBit(ruleIdx + 1)) {
+      result.add(decisionTableRules.get(ruleIdx));
+    }
+    return result;
+  }
+
+  public int getNumberOfRules() {
+    return numberOfRules;
+  }
+
+}
@@ -81,6 +81,7 @@ public class DefaultDmnTransform implements DmnTransform, DmnElementTransformCon
   protected DmnDecisionTableImpl decisionTable;
   protected DmnDataTypeTransformerRegistry dataTypeTransformerRegistry;
   protected DmnHitPolicyHandlerRegistry hitPolicyHandlerRegistry;
+  protected DmnDecisionTableCompiler decisionTableCompiler;
 
   public DefaultDmnTransform(DmnTransformer transformer) {
     this.transformer = transformer;
@@ -88,6 +89,12 @@ public class DefaultDmnTransform implements DmnTransform, DmnElementTransformCon
     handlerRegistry = transformer.getElementTransformHandlerRegistry();
     dataTypeTransformerRegistry = transformer.getDataTypeTransformerRegistry();
     hitPolicyHandlerRegistry = transformer.getHitPolicyHandlerRegistry();
+
+    if (transformer instanceof DefaultDmnTransformer) {
+      decisionTableCompiler = ((DefaultDmnTransformer) transformer).getDecisionTableCompiler();
+    } else {
+      decisionTableCompiler = new DmnDecisionTableCompiler();
+    }
   }
 
   public void setModelInstance(File file) {
@@ -329,6 +336,12 @@ public class DefaultDmnTransform implements DmnTransform, DmnElementTransformCon
       }
     }
 
+    dmnDecisionTable.buildRuleIndex();
+
+    if (decisionTableCompiler != null) {
+      decisionTableCompiler.compile(dmnDecisionTable);
+    }
+
     return dmnDecisionTable;
   }
 
@@ -36,6 +36,7 @@ public class DefaultDmnTransformer implements DmnTransformer {
   protected DmnElementTransformHandlerRegistry elementTransformHandlerRegistry = new DefaultElementTransformHandlerRegistry();
   protected DmnDataTypeTransformerRegistry dataTypeTransformerRegistry = new DefaultDataTypeTransformerRegistry();
   protected DmnHitPolicyHandlerRegistry hitPolicyHandlerRegistry = new DefaultHitPolicyHandlerRegistry();
+  protected DmnDecisionTableCompiler decisionTableCompiler = new DmnDecisionTableCompiler();
 
   public DmnTransformFactory getTransformFactory() {
     return transformFactory;
@@ -93,6 +94,23 @@ public class DefaultDmnTransformer implements DmnTransformer {
     return this;
   }
 
+  public DmnDecisionTableCompiler getDecisionTableCompiler() {
+    return decisionTableCompiler;
+  }
+
+  /**
+   * @param decisionTableCompiler the compiler of transformed decision tables or <code>null</code>
+   *                              to evaluate decision tables without compilation
+   */
+  public void setDecisionTableCompiler(DmnDecisionTableCompiler decisionTableCompiler) {
+    this.decisionTableCompiler = decisionTableCompiler;
+  }
+
+  public DefaultDmnTransformer decisionTableCompiler(DmnDecisionTableCompiler decisionTableCompiler) {
+    setDecisionTableCompiler(decisionTableCompiler);
+    return this;
+  }
+
   public DmnTransform createTransform() {
     return transformFactory.createTransform(this);
   }
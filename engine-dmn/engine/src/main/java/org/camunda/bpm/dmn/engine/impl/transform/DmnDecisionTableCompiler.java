@@ -0,0 +1,65 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.transform;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+
+/**
+ * <p>Prepares a transformed decision table for evaluation, such that as few expressions
+ * as possible have to be evaluated by an expression language: output entries which are
+ * FEEL string or boolean literals are resolved to constant values. The conditions of the
+ * rules are indexed independently of the compiler, see {@link DmnDecisionTableImpl#buildRuleIndex()}.</p>
+ *
+ * <p>Expressions with an explicit expression language are left untouched. Constant values are
+ * only used if FEEL is the default output entry expression language.</p>
+ */
+public class DmnDecisionTableCompiler {
+
+  protected static final Pattern STRING_LITERAL = Pattern.compile("\"([^\"\\\\]*)\"");
+
+  public void compile(DmnDecisionTableImpl decisionTable) {
+    for (DmnDecisionTableRuleImpl rule : decisionTable.getRules()) {
+      for (DmnExpressionImpl conclusion : rule.getConclusions()) {
+        compileConclusion(conclusion);
+      }
+    }
+  }
+
+  protected void compileConclusion(DmnExpressionImpl conclusion) {
+    if (conclusion == null || conclusion.getExpressionLanguage() != null || conclusion.getExpression() == null) {
+      return;
+    }
+
+    String expression = conclusion.getExpression().trim();
+    Matcher matcher = STRING_LITERAL.matcher(expression);
+    if (matcher.matches()) {
+      conclusion.setConstantValue(matcher.group(1));
+    }
+    else if ("true".equals(expression)) {
+      conclusion.setConstantValue(Boolean.TRUE);
+    }
+    else if ("false".equals(expression)) {
+      conclusion.setConstantValue(Boolean.FALSE);
+    }
+  }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnEngineException;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationEvent;
+import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
+import org.camunda.bpm.dmn.engine.delegate.DmnDecisionTableEvaluationEvent;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EvaluateDecisionBatchTest extends DmnEngineTest {
+
+  public static final String EXAMPLE_DMN = "org/camunda/bpm/dmn/engine/api/Example.dmn";
+  public static final String JUEL_DMN = "org/camunda/bpm/dmn/engine/hitpolicy/HitPolicyTest.unique.single.dmn";
+
+  protected RecordingDecisionEvaluationListener listener;
+
+  @Override
+  public DmnEngineConfiguration getDmnEngineConfiguration() {
+    listener = new RecordingDecisionEvaluationListener();
+
+    return new DefaultDmnEngineConfiguration()
+      .customPostDecisionEvaluationListeners(Collections.<DmnDecisionEvaluationListener>singletonList(listener));
+  }
+
+  @Before
+  public void clearListener() {
+    listener.evaluatedSums.clear();
+    listener.notifyingThreads.clear();
+  }
+
+  @Test
+  @DecisionResource(resource = EXAMPLE_DMN)
+  public void shouldEvaluateDecisionForEveryVariableContext() {
+    // when
+    List<DmnDecisionResult> results = dmnEngine.evaluateDecisions(decision, createVariableContexts(100), false);
+
+    // then
+    assertThatResultsMatchVariableContexts(results, 100);
+  }
+
+  @Test
+  @DecisionResource(resource = EXAMPLE_DMN)
+  public void shouldEvaluateDecisionInParallel() {
+    // when
+    List<DmnDecisionResult> results = dmnEngine.evaluateDecisions(decision, createVariableContexts(5000), true);
+
+    // then
+    assertThatResultsMatchVariableContexts(results, 5000);
+  }
+
+  @Test
+  @DecisionResource(resource = EXAMPLE_DMN)
+  public void shouldNotifyListenersInOrderOnCallingThread() {
+    // when
+    dmnEngine.evaluateDecisions(decision, createVariableContexts(3000), true);
+
+    // then
+    assertThat(listener.notifyingThreads).containsOnly(Thread.currentThread());
+    assertThat(listener.evaluatedSums).hasSize(3000);
+    for (int i = 0; i < 3000; i++) {
+      assertThat(listener.evaluatedSums.get(i)).isEqualTo((double) (i % 1000));
+    }
+  }
+
+  @Test
+  @DecisionResource(resource = EXAMPLE_DMN)
+  public void shouldEvaluateNoVariableContexts() {
+    // when
+    List<DmnDecisionResult> results = dmnEngine.evaluateDecisions(decision, new ArrayList<VariableContext>(), true);
+
+    // then
+    assertThat(results).isEmpty();
+    assertThat(listener.evaluatedSums).isEmpty();
+  }
+
+  @Test
+  @DecisionResource(resource = JUEL_DMN)
+  public void shouldNotEvaluateJuelExpressionsInParallel() {
+    try {
+      // when
+      dmnEngine.evaluateDecisions(decision, createVariableContexts(10), true);
+      failBecauseExceptionWasNotThrown(DmnEngineException.class);
+    }
+    catch (DmnEngineException e) {
+      // then
+      assertThat(e)
+        .hasMessageStartingWith("DMN-01014")
+        .hasMessageContaining("'juel'");
+      assertThat(listener.evaluatedSums).isEmpty();
+    }
+  }
+
+  protected List<VariableContext> createVariableContexts(int numberOfVariableContexts) {
+    List<VariableContext> variableContexts = new ArrayList<VariableContext>(numberOfVariableContexts);
+    for (int i = 0; i < numberOfVariableContexts; i++) {
+      variableContexts.add(Variables.createVariables()
+          .putValue("status", i % 2 == 0 ? "silver" : "bronze")
+          .putValue("sum", i % 1000)
+          .asVariableContext());
+    }
+    return variableContexts;
+  }
+
+  protected void assertThatResultsMatchVariableContexts(List<DmnDecisionResult> results, int numberOfResults) {
+    assertThat(results).hasSize(numberOfResults);
+    for (int i = 0; i < numberOfResults; i++) {
+      String expectedResult = i % 2 == 0 ? "ok" : "notok";
+      assertThat((String) results.get(i).getSingleResult().getEntry("result")).isEqualTo(expectedResult);
+    }
+  }
+
+  public static class RecordingDecisionEvaluationListener implements DmnDecisionEvaluationListener {
+
+    protected List<Object> evaluatedSums = new ArrayList<Object>();
+    protected List<Thread> notifyingThreads = new ArrayList<Thread>();
+
+    public void notify(DmnDecisionEvaluationEvent evaluationEvent) {
+      DmnDecisionTableEvaluationEvent decisionTableEvent = (DmnDecisionTableEvaluationEvent) evaluationEvent.getDecisionResult();
+      evaluatedSums.add(decisionTableEvent.getInputs().get(1).getValue().getValue());
+      notifyingThreads.add(Thread.currentThread());
+    }
+  }
+
+}
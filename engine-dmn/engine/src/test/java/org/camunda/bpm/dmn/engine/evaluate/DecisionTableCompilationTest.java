@@ -0,0 +1,97 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+import org.camunda.bpm.dmn.engine.impl.transform.DefaultDmnTransformer;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.camunda.commons.utils.IoUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DecisionTableCompilationTest extends DmnEngineTest {
+
+  public static final String DMN_FILE = "org/camunda/bpm/dmn/engine/evaluate/DecisionTableRuleIndexTest.dmn";
+
+  protected DmnEngine interpretingDmnEngine;
+
+  @Before
+  public void buildInterpretingDmnEngine() {
+    DefaultDmnEngineConfiguration configuration = (DefaultDmnEngineConfiguration) DefaultDmnEngineConfiguration
+        .createDefaultDmnEngineConfiguration();
+    ((DefaultDmnTransformer) configuration.getTransformer()).decisionTableCompiler(null);
+
+    interpretingDmnEngine = configuration.buildEngine();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldResolveConstantOutputEntries() {
+    // when
+    DmnExpressionImpl conclusion = getDecisionTable(decision).getRules().get(0).getConclusions().get(0);
+
+    // then
+    assertThat(conclusion.isConstant()).isTrue();
+    assertThat(conclusion.getConstantValue()).isEqualTo("r1");
+  }
+
+  @Test
+  public void shouldIndexRulesWithoutCompiler() {
+    // when
+    DmnDecision interpretedDecision = interpretingDmnEngine.parseDecision("decision", IoUtil.fileAsStream(DMN_FILE));
+
+    // then
+    DmnDecisionTableImpl decisionTable = getDecisionTable(interpretedDecision);
+    assertThat(decisionTable.getRuleIndex()).isNotNull();
+    assertThat(decisionTable.getRules().get(0).getConclusions().get(0).isConstant()).isFalse();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldEvaluateLikeInterpretedDecisionTable() {
+    // given
+    DmnDecision interpretedDecision = interpretingDmnEngine.parseDecision("decision", IoUtil.fileAsStream(DMN_FILE));
+    // evaluate all conditions by FEEL
+    getDecisionTable(interpretedDecision).setRuleIndex(null);
+
+    variables.putValue("status", "silver");
+    variables.putValue("amount", 15);
+    variables.putValue("limit", 5000);
+
+    // when
+    List<String> results = dmnEngine.evaluateDecisionTable(decision, variables).collectEntries("result");
+    List<String> interpretedResults = interpretingDmnEngine.evaluateDecisionTable(interpretedDecision, variables).collectEntries("result");
+
+    // then
+    assertThat(results).containsExactly("r1", "r4", "r7");
+    assertThat(results).isEqualTo(interpretedResults);
+  }
+
+  protected DmnDecisionTableImpl getDecisionTable(DmnDecision decision) {
+    return (DmnDecisionTableImpl) decision.getDecisionLogic();
+  }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionTableInputIndex;
+import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionTableRuleIndex;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.junit.Test;
+
+public class DecisionTableRuleIndexTest extends DmnEngineTest {
+
+  public static final String DMN_FILE = "DecisionTableRuleIndexTest.dmn";
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldBuildRuleIndexOnTransform() {
+    // when
+    DecisionTableRuleIndex ruleIndex = getDecisionTable().getRuleIndex();
+
+    // then
+    assertThat(ruleIndex).isNotNull();
+    assertThat(ruleIndex.getNumberOfRules()).isEqualTo(7);
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchIndexedRules() {
+    assertThat(evaluate("gold", 50)).containsExactly("r1", "r5");
+    assertThat(evaluate("silver", 15)).containsExactly("r1", "r4", "r7");
+    assertThat(evaluate("silver", 20.0)).containsExactly("r1", "r4", "r7");
+    assertThat(evaluate("bronze", 100)).containsExactly("r2", "r4");
+    assertThat(evaluate("gold", 1000L)).containsExactly("r3");
+    assertThat(evaluate("bronze", 6000)).containsExactly("r4", "r5", "r6");
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchSameRulesWithoutIndex() {
+    Object[][] inputs = {
+      { "gold", 50 }, { "gold", 99.5 }, { "gold", 100 }, { "gold", 5001 }, { "silver", 10 },
+      { "silver", 10.5 }, { "silver", 20 }, { "bronze", 999 }, { "bronze", 1000L }, { "other", 50 },
+      { "gold", new BigDecimal("50") }, { "silver", 15.0f }, { "bronze", Long.MAX_VALUE }, { "", -1 }
+    };
+
+    for (Object[] input : inputs) {
+      // given
+      List<String> indexedResults = evaluate((String) input[0], input[1]);
+
+      // when
+      DmnDecisionTableImpl decisionTable = getDecisionTable();
+      DecisionTableRuleIndex ruleIndex = decisionTable.getRuleIndex();
+      decisionTable.setRuleIndex(null);
+      List<String> results = evaluate((String) input[0], input[1]);
+      decisionTable.setRuleIndex(ruleIndex);
+
+      // then
+      assertThat(indexedResults).as(Arrays.toString(input)).isEqualTo(results);
+    }
+  }
+
+  @Test
+  public void shouldOnlyIndexSimpleUnaryTests() {
+    // given
+    DecisionTableInputIndex inputIndex = new DecisionTableInputIndex(Arrays.asList(
+        condition(null, "\"a\",\"b\""),
+        condition(null, "-"),
+        condition(null, "[1..10["),
+        condition(null, "not(\"a\")"),
+        condition("javascript", "cellInput == 'a'"),
+        condition(null, "\"a,b\"")));
+
+    // when
+    BitSet matchingRules = allRules(6);
+    BitSet uncheckedRules = inputIndex.filter("a", matchingRules);
+
+    // then
+    assertThat(matchingRules).isEqualTo(rules(0, 1, 2, 3, 4, 5));
+    assertThat(uncheckedRules).isEqualTo(rules(2, 3, 4, 5));
+  }
+
+  @Test
+  public void shouldNotIndexValuesOfOtherTypes() {
+    // given
+    DecisionTableInputIndex inputIndex = new DecisionTableInputIndex(Arrays.asList(
+        condition(null, "\"a\""),
+        condition(null, "< 10")));
+
+    // when
+    BitSet matchingRules = allRules(2);
+    BitSet uncheckedRules = inputIndex.filter(new BigDecimal("5"), matchingRules);
+
+    // then
+    assertThat(matchingRules).isEqualTo(rules(0, 1));
+    assertThat(uncheckedRules).isEqualTo(rules(0, 1));
+  }
+
+  protected List<String> evaluate(String status, Object amount) {
+    variables.putValue("status", status);
+    variables.putValue("amount", amount);
+    variables.putValue("limit", 5000);
+    return evaluateDecisionTable().collectEntries("result");
+  }
+
+  protected DmnDecisionTableImpl getDecisionTable() {
+    return (DmnDecisionTableImpl) decision.getDecisionLogic();
+  }
+
+  protected DmnExpressionImpl condition(String expressionLanguage, String expression) {
+    DmnExpressionImpl condition = new DmnExpressionImpl();
+    condition.setExpressionLanguage(expressionLanguage);
+    condition.setExpression(expression);
+    return condition;
+  }
+
+  protected BitSet allRules(int numberOfRules) {
+    BitSet rules = new BitSet();
+    rules.set(0, numberOfRules);
+    return rules;
+  }
+
+  protected BitSet rules(int... ruleIdxs) {
+    BitSet rules = new BitSet();
+    for (int ruleIdx : ruleIdxs) {
+      rules.set(ruleIdx);
+    }
+    return rules;
+  }
+
+}
@@ -0,0 +1,48 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+    <@lib.property
+        name = "commandName"
+        type = "string"
+        desc = "The simple class name of the command."/>
+
+    <@lib.property
+        name = "invocations"
+        type = "integer"
+        format = "int64"
+        desc = "The number of invocations of the command."/>
+
+    <@lib.property
+        name = "optimisticLockingFailures"
+        type = "integer"
+        format = "int64"
+        desc = "The number of invocations that failed with an optimistic locking exception."/>
+
+    <@lib.property
+        name = "latency"
+        type = "ref"
+        dto = "HistogramStatisticsDto"
+        desc = "The duration of the invocations in microseconds, including the database flush."/>
+
+    <@lib.property
+        name = "flushTime"
+        type = "ref"
+        dto = "HistogramStatisticsDto"
+        desc = "The duration of flushing the entity changes to the database in microseconds."/>
+
+    <@lib.property
+        name = "sqlStatements"
+        type = "ref"
+        dto = "HistogramStatisticsDto"
+        desc = "The number of SQL statements executed per invocation."/>
+
+    <@lib.property
+        name = "loadedEntities"
+        type = "ref"
+        dto = "HistogramStatisticsDto"
+        last = true
+        desc = "The number of entities loaded from the database per invocation."/>
+
+</@lib.dto>
+
+</#macro>
@@ -0,0 +1,55 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+    <@lib.property
+        name = "acquisitionThreads"
+        type = "integer"
+        format = "int32"
+        desc = "The number of threads that lock tasks for pending requests."/>
+
+    <@lib.property
+        name = "queueCapacity"
+        type = "integer"
+        format = "int32"
+        desc = "The number of new requests each acquisition thread can queue. Further requests are rejected."/>
+
+    <@lib.property
+        name = "queuedRequests"
+        type = "integer"
+        format = "int32"
+        desc = "The number of new requests not yet taken over by an acquisition thread."/>
+
+    <@lib.property
+        name = "pendingRequests"
+        type = "integer"
+        format = "int32"
+        desc = "The number of requests waiting for tasks to become available."/>
+
+    <@lib.property
+        name = "responses"
+        type = "integer"
+        format = "int64"
+        desc = "The number of requests that were answered with a possibly empty list of tasks."/>
+
+    <@lib.property
+        name = "emptyResponses"
+        type = "integer"
+        format = "int64"
+        desc = "The number of requests that were answered without any task."/>
+
+    <@lib.property
+        name = "rejectedRequests"
+        type = "integer"
+        format = "int64"
+        desc = "The number of requests that were rejected because the queue was full."/>
+
+    <@lib.property
+        name = "timeToResponse"
+        type = "ref"
+        dto = "HistogramStatisticsDto"
+        last = true
+        desc = "The time between receiving a request and answering it in milliseconds."/>
+
+</@lib.dto>
+
+</#macro>
@@ -0,0 +1,43 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+    <@lib.property
+        name = "count"
+        type = "integer"
+        format = "int64"
+        desc = "The number of recorded values."/>
+
+    <@lib.property
+        name = "mean"
+        type = "number"
+        format = "double"
+        desc = "The mean of the recorded values."/>
+
+    <@lib.property
+        name = "max"
+        type = "integer"
+        format = "int64"
+        desc = "The largest recorded value."/>
+
+    <@lib.property
+        name = "p50"
+        type = "integer"
+        format = "int64"
+        desc = "The approximate median of the recorded values."/>
+
+    <@lib.property
+        name = "p95"
+        type = "integer"
+        format = "int64"
+        desc = "The approximate 95th percentile of the recorded values."/>
+
+    <@lib.property
+        name = "p99"
+        type = "integer"
+        format = "int64"
+        last = true
+        desc = "The approximate 99th percentile of the recorded values."/>
+
+</@lib.dto>
+
+</#macro>
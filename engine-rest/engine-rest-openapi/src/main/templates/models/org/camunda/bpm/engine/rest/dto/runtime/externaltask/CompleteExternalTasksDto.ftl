@@ -0,0 +1,13 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto extends = "HandleExternalTaskDto" >
+
+  <@lib.property
+      name = "tasks"
+      type = "array"
+      dto = "ExternalTaskCompletionDto"
+      last = true
+      desc = "A JSON array of the external tasks to complete. All tasks must be locked by the given worker." />
+
+</@lib.dto>
+
+</#macro>
\ No newline at end of file
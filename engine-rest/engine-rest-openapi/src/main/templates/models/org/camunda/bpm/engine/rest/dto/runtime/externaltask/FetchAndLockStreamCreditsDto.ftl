@@ -0,0 +1,13 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+    <@lib.property
+        name = "credits"
+        type = "integer"
+        format = "int32"
+        last = true
+        desc = "The number of further tasks the stream may push to the worker."/>
+
+</@lib.dto>
+
+</#macro>
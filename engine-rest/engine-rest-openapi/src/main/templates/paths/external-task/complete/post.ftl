@@ -0,0 +1,71 @@
+<#macro endpoint_macro docsUrl="">
+{
+
+  <@lib.endpointInfo
+      id = "completeExternalTasks"
+      tag = "External Task"
+      summary = "Complete Multiple"
+      desc = "Completes multiple external tasks of one worker in one transaction and updates process variables.
+              If one of the tasks cannot be completed, none of them is completed." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "CompleteExternalTasksDto"
+      examples = ['"example-1": {
+                       "summary": "POST /external-task/complete",
+                       "value": {
+                         "workerId": "aWorker",
+                         "tasks": [
+                           {
+                             "id": "anId",
+                             "variables": {
+                               "aVariable": {
+                                 "value": "aStringValue"
+                               }
+                             }
+                           },
+                           {
+                             "id": "anotherId",
+                             "localVariables": {
+                               "aLocalVariable": {
+                                 "value": 42
+                               }
+                             }
+                           }
+                         ]
+                       }
+                     }'] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "204"
+        desc = "Request successful." />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        desc = "Returned if no tasks are given or if the most recent lock of one of the tasks was not acquired by
+                the provided worker. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+    <@lib.response
+        code = "404"
+        dto = "ExceptionDto"
+        desc = "Returned if one of the tasks does not exist. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+    <@lib.response
+        code = "500"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if one of the corresponding process instances could not be resumed successfully. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+  }
+}
+
+</#macro>
\ No newline at end of file
@@ -0,0 +1,62 @@
+<#macro endpoint_macro docsUrl="">
+{
+
+  <@lib.endpointInfo
+      id = "fetchAndLockStream"
+      tag = "External Task"
+      summary = "Fetch and Lock Stream"
+      desc = "Opens a stream over which external tasks are locked and pushed to the worker as soon as they become available.
+              The response is newline delimited JSON: every line holds an array of locked tasks, an exception object
+              if fetching failed, or is empty to keep the connection alive. The stream ends after `asyncResponseTimeout`
+              milliseconds. The worker can receive `maxTasks` tasks initially. Further tasks are only pushed once it grants credits
+              for the stream, whose id is returned in the `Camunda-Stream-Id` header, via
+              `POST /external-task/fetchAndLock/stream/{streamId}/credits`. A stream never holds more than `maxTasks` credits.
+              Every open stream occupies a server thread, so the number of open streams per server instance is limited to 50." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "FetchExternalTasksDto"
+      examples = ['"example-1": {
+                       "summary": "POST /external-task/fetchAndLock/stream",
+                       "value": {
+                         "workerId": "aWorkerId",
+                         "maxTasks": 10,
+                         "usePriority": true,
+                         "asyncResponseTimeout": 300000,
+                         "topics": [
+                           {
+                             "topicName": "createOrder",
+                             "lockDuration": 10000
+                           }
+                         ]
+                       }
+                     }'] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        mediaType = "application/x-ndjson"
+        binary = true
+        desc = "Request successful. Locked tasks are streamed as arrays of `LockedExternalTaskDto`, one array per line." />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        desc = "Returned if `asyncResponseTimeout` is missing or greater than 1800000 milliseconds, or if `maxTasks` is
+                not greater than zero. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+    <@lib.response
+        code = "500"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if the maximum number of open streams is reached on this server instance. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+  }
+}
+
+</#macro>
@@ -0,0 +1,58 @@
+<#macro endpoint_macro docsUrl="">
+{
+
+  <@lib.endpointInfo
+      id = "grantFetchAndLockStreamCredits"
+      tag = "External Task"
+      summary = "Grant Stream Credits"
+      desc = "Allows an open fetch and lock stream to push the given number of further tasks to the worker.
+              Credits beyond the `maxTasks` of the stream are discarded. Must be sent by the user who opened
+              the stream to the same server instance that holds the stream." />
+
+  "parameters" : [
+
+    <@lib.parameter
+        name = "streamId"
+        location = "path"
+        type = "string"
+        required = true
+        last = true
+        desc = "The id of the stream, as returned in the `Camunda-Stream-Id` header."/>
+
+  ],
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "FetchAndLockStreamCreditsDto"
+      examples = ['"example-1": {
+                     "summary": "POST /external-task/fetchAndLock/stream/aStreamId/credits",
+                     "value": {
+                       "credits": 5
+                     }
+                   }'] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "204"
+        desc = "Request successful." />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        desc = "Returned if the number of credits is not greater than zero. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+    <@lib.response
+        code = "404"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if no stream with the given id was opened by the current user on this server instance. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+  }
+}
+
+</#macro>
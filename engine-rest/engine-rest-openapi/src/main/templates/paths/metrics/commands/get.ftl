@@ -0,0 +1,41 @@
+<#macro endpoint_macro docsUrl="">
+{
+  <@lib.endpointInfo
+      id = "getCommandStatistics"
+      tag = "Metrics"
+      summary = "Get Command Statistics"
+      desc = "Retrieves latency and database statistics per command class, collected by the process engine
+              since it was started. The list is empty if command metrics are disabled in the process engine
+              configuration. Durations are given in microseconds." />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "CommandStatisticsDto"
+        array = true
+        desc = "Request successful."
+        examples = ['"example-1": {
+                       "summary": "GET /metrics/commands",
+                       "value": [
+                                  {
+                                    "commandName": "ExecuteJobsCmd",
+                                    "invocations": 1200,
+                                    "optimisticLockingFailures": 3,
+                                    "latency": { "count": 1200, "mean": 5310.5, "max": 90111, "p50": 4095, "p95": 12287, "p99": 40959 },
+                                    "flushTime": { "count": 1200, "mean": 1210.2, "max": 20479, "p50": 1023, "p95": 3071, "p99": 8191 },
+                                    "sqlStatements": { "count": 1200, "mean": 14.1, "max": 31, "p50": 13, "p95": 23, "p99": 27 },
+                                    "loadedEntities": { "count": 1200, "mean": 6.4, "max": 15, "p50": 6, "p95": 9, "p99": 11 }
+                                  }
+                                ]
+                     }']/>
+
+    <@lib.response
+        code = "403"
+        dto = "ExceptionDto"
+        last = true
+        desc = "If the user who performs the operation is not a <b>camunda-admin</b> user." />
+  }
+}
+
+</#macro>
@@ -0,0 +1,38 @@
+<#macro endpoint_macro docsUrl="">
+{
+  <@lib.endpointInfo
+      id = "getFetchAndLockStatistics"
+      tag = "Metrics"
+      summary = "Get Fetch and Lock Statistics"
+      desc = "Retrieves statistics of the long-polling fetch and lock handler of this REST API instance,
+              collected since the web application was started. Durations are given in milliseconds." />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "FetchAndLockStatisticsDto"
+        desc = "Request successful."
+        examples = ['"example-1": {
+                       "summary": "GET /metrics/fetch-and-lock",
+                       "value": {
+                                  "acquisitionThreads": 4,
+                                  "queueCapacity": 2000,
+                                  "queuedRequests": 12,
+                                  "pendingRequests": 8350,
+                                  "responses": 120400,
+                                  "emptyResponses": 30120,
+                                  "rejectedRequests": 0,
+                                  "timeToResponse": { "count": 120400, "mean": 5310.5, "max": 30719, "p50": 255, "p95": 28671, "p99": 30719 }
+                                }
+                     }']/>
+
+    <@lib.response
+        code = "404"
+        dto = "ExceptionDto"
+        last = true
+        desc = "If a custom fetch and lock handler is used, which does not provide statistics." />
+  }
+}
+
+</#macro>
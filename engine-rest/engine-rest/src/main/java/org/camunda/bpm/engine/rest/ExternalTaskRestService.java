@@ -20,8 +20,10 @@ import java.util.List;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.CompleteExternalTasksDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchAndLockStreamCreditsDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.SetRetriesForExternalTasksDto;
 import org.camunda.bpm.engine.rest.sub.externaltask.ExternalTaskResource;
@@ -38,6 +40,7 @@ import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
 
 /**
@@ -78,6 +81,22 @@ public interface ExternalTaskRestService {
   @Produces(MediaType.APPLICATION_JSON)
   void fetchAndLock(FetchExternalTasksExtendedDto dto, @Suspended final AsyncResponse asyncResponse);
 
+  @POST
+  @Path("/fetchAndLock/stream")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces({"application/x-ndjson", MediaType.APPLICATION_JSON})
+  Response fetchAndLockStream(FetchExternalTasksExtendedDto dto);
+
+  @POST
+  @Path("/fetchAndLock/stream/{streamId}/credits")
+  @Consumes(MediaType.APPLICATION_JSON)
+  void grantFetchAndLockStreamCredits(@PathParam("streamId") String streamId, FetchAndLockStreamCreditsDto dto);
+
+  @POST
+  @Path("/complete")
+  @Consumes(MediaType.APPLICATION_JSON)
+  void complete(CompleteExternalTasksDto dto);
+
   @Path("/{id}")
   ExternalTaskResource getExternalTask(@PathParam("id") String externalTaskId);
 
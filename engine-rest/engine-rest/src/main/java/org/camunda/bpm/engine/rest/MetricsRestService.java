@@ -18,6 +18,8 @@ package org.camunda.bpm.engine.rest;
 
 import java.util.List;
 
+import org.camunda.bpm.engine.rest.dto.metrics.CommandStatisticsDto;
+import org.camunda.bpm.engine.rest.dto.metrics.FetchAndLockStatisticsDto;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsIntervalResultDto;
 import org.camunda.bpm.engine.rest.sub.metrics.MetricsResource;
 
@@ -48,6 +50,16 @@ public interface MetricsRestService {
   @Produces(MediaType.APPLICATION_JSON)
   List<MetricsIntervalResultDto> interval(@Context UriInfo uriInfo);
 
+  @GET
+  @Path("/commands")
+  @Produces(MediaType.APPLICATION_JSON)
+  List<CommandStatisticsDto> getCommandStatistics();
+
+  @GET
+  @Path("/fetch-and-lock")
+  @Produces(MediaType.APPLICATION_JSON)
+  FetchAndLockStatisticsDto getFetchAndLockStatistics();
+
   @DELETE
   @Path("/task-worker")
   Response deleteTaskMetrics(@QueryParam("date") String dateString);
@@ -26,6 +26,7 @@ package org.camunda.bpm.engine.rest.dto.externaltask;
  *   <li>{@link ExtendLockOnExternalTaskDto}</li>
  *   <li>{@link ExternalTaskFailureDto}</li>
  *   <li>{@link CompleteExternalTaskDto}</li>
+ *   <li>{@link CompleteExternalTasksDto}</li>
  * </ul>
  *
  * Note: the {@link ExternalTaskBpmnError} class doesn't extend this class. Any adjustments made here
@@ -0,0 +1,99 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import org.camunda.bpm.engine.management.CommandStatistics;
+
+public class CommandStatisticsDto {
+
+  protected String commandName;
+  protected long invocations;
+  protected long optimisticLockingFailures;
+  protected HistogramStatisticsDto latency;
+  protected HistogramStatisticsDto flushTime;
+  protected HistogramStatisticsDto sqlStatements;
+  protected HistogramStatisticsDto loadedEntities;
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public void setCommandName(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public long getInvocations() {
+    return invocations;
+  }
+
+  public void setInvocations(long invocations) {
+    this.invocations = invocations;
+  }
+
+  public long getOptimisticLockingFailures() {
+    return optimisticLockingFailures;
+  }
+
+  public void setOptimisticLockingFailures(long optimisticLockingFailures) {
+    this.optimisticLockingFailures = optimisticLockingFailures;
+  }
+
+  public HistogramStatisticsDto getLatency() {
+    return latency;
+  }
+
+  public void setLatency(HistogramStatisticsDto latency) {
+    this.latency = latency;
+  }
+
+  public HistogramStatisticsDto getFlushTime() {
+    return flushTime;
+  }
+
+  public void setFlushTime(HistogramStatisticsDto flushTime) {
+    this.flushTime = flushTime;
+  }
+
+  public HistogramStatisticsDto getSqlStatements() {
+    return sqlStatements;
+  }
+
+  public void setSqlStatements(HistogramStatisticsDto sqlStatements) {
+    this.sqlStatements = sqlStatements;
+  }
+
+  public HistogramStatisticsDto getLoadedEntities() {
+    return loadedEntities;
+  }
+
+  public void setLoadedEntities(HistogramStatisticsDto loadedEntities) {
+    this.loadedEntities = loadedEntities;
+  }
+
+  public static CommandStatisticsDto fromCommandStatistics(CommandStatistics statistics) {
+    CommandStatisticsDto dto = new CommandStatisticsDto();
+    dto.commandName = statistics.getCommandName();
+    dto.invocations = statistics.getInvocations();
+    dto.optimisticLockingFailures = statistics.getOptimisticLockingFailures();
+    dto.latency = HistogramStatisticsDto.fromHistogramStatistics(statistics.getLatency());
+    dto.flushTime = HistogramStatisticsDto.fromHistogramStatistics(statistics.getFlushTime());
+    dto.sqlStatements = HistogramStatisticsDto.fromHistogramStatistics(statistics.getSqlStatements());
+    dto.loadedEntities = HistogramStatisticsDto.fromHistogramStatistics(statistics.getLoadedEntities());
+    return dto;
+  }
+
+}
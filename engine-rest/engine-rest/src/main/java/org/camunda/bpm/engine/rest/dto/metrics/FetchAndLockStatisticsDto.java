@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import org.camunda.bpm.engine.rest.impl.FetchAndLockHandlerImpl;
+import org.camunda.bpm.engine.rest.impl.FetchAndLockMetrics;
+
+public class FetchAndLockStatisticsDto {
+
+  protected int acquisitionThreads;
+  protected int queueCapacity;
+  protected int queuedRequests;
+  protected int pendingRequests;
+  protected long responses;
+  protected long emptyResponses;
+  protected long rejectedRequests;
+  protected HistogramStatisticsDto timeToResponse;
+
+  public int getAcquisitionThreads() {
+    return acquisitionThreads;
+  }
+
+  public void setAcquisitionThreads(int acquisitionThreads) {
+    this.acquisitionThreads = acquisitionThreads;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public int getQueuedRequests() {
+    return queuedRequests;
+  }
+
+  public void setQueuedRequests(int queuedRequests) {
+    this.queuedRequests = queuedRequests;
+  }
+
+  public int getPendingRequests() {
+    return pendingRequests;
+  }
+
+  public void setPendingRequests(int pendingRequests) {
+    this.pendingRequests = pendingRequests;
+  }
+
+  public long getResponses() {
+    return responses;
+  }
+
+  public void setResponses(long responses) {
+    this.responses = responses;
+  }
+
+  public long getEmptyResponses() {
+    return emptyResponses;
+  }
+
+  public void setEmptyResponses(long emptyResponses) {
+    this.emptyResponses = emptyResponses;
+  }
+
+  public long getRejectedRequests() {
+    return rejectedRequests;
+  }
+
+  public void setRejectedRequests(long rejectedRequests) {
+    this.rejectedRequests = rejectedRequests;
+  }
+
+  public HistogramStatisticsDto getTimeToResponse() {
+    return timeToResponse;
+  }
+
+  public void setTimeToResponse(HistogramStatisticsDto timeToResponse) {
+    this.timeToResponse = timeToResponse;
+  }
+
+  public static FetchAndLockStatisticsDto fromFetchAndLockHandler(FetchAndLockHandlerImpl handler) {
+    FetchAndLockStatisticsDto dto = new FetchAndLockStatisticsDto();
+    dto.acquisitionThreads = handler.getAcquisitionThreads();
+    dto.queueCapacity = handler.getQueueCapacity();
+    dto.queuedRequests = handler.getQueuedRequestCount();
+    dto.pendingRequests = handler.getPendingRequestCount();
+
+    FetchAndLockMetrics metrics = handler.getMetrics();
+    dto.responses = metrics.getResponses();
+    dto.emptyResponses = metrics.getEmptyResponses();
+    dto.rejectedRequests = metrics.getRejectedRequests();
+    dto.timeToResponse = HistogramStatisticsDto.fromHistogramStatistics(metrics.getTimeToResponse());
+    return dto;
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import org.camunda.bpm.engine.management.HistogramStatistics;
+
+public class HistogramStatisticsDto {
+
+  protected long count;
+  protected double mean;
+  protected long max;
+  protected long p50;
+  protected long p95;
+  protected long p99;
+
+  public long getCount() {
+    return count;
+  }
+
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public void setMean(double mean) {
+    this.mean = mean;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public void setMax(long max) {
+    this.max = max;
+  }
+
+  public long getP50() {
+    return p50;
+  }
+
+  public void setP50(long p50) {
+    this.p50 = p50;
+  }
+
+  public long getP95() {
+    return p95;
+  }
+
+  public void setP95(long p95) {
+    this.p95 = p95;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+
+  public void setP99(long p99) {
+    this.p99 = p99;
+  }
+
+  public static HistogramStatisticsDto fromHistogramStatistics(HistogramStatistics statistics) {
+    HistogramStatisticsDto dto = new HistogramStatisticsDto();
+    dto.count = statistics.getCount();
+    dto.mean = statistics.getMean();
+    dto.max = statistics.getMax();
+    dto.p50 = statistics.getP50();
+    dto.p95 = statistics.getP95();
+    dto.p99 = statistics.getP99();
+    return dto;
+  }
+
+}
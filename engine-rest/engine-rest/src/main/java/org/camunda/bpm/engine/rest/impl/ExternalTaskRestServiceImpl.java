@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.List;
 import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.UriInfo;
 import org.camunda.bpm.engine.BadUserRequestException;
@@ -28,14 +29,20 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletionBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.rest.ExternalTaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.VariableValueDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.CompleteExternalTasksDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskCompletionDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchAndLockStreamCreditsDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.SetRetriesForExternalTasksDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
@@ -104,6 +111,50 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
     fetchAndLockHandler.addPendingRequest(dto, asyncResponse, getProcessEngine());
   }
 
+  @Override
+  public Response fetchAndLockStream(FetchExternalTasksExtendedDto dto) {
+    Long asyncResponseTimeout = dto.getAsyncResponseTimeout();
+    if (asyncResponseTimeout == null || asyncResponseTimeout <= 0
+        || asyncResponseTimeout > FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The asynchronous response timeout of a stream must be greater than zero "
+          + "and not greater than " + FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT + " milliseconds");
+    }
+    if (dto.getMaxTasks() <= 0) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The maximum number of tasks of a stream must be greater than zero");
+    }
+
+    ProcessEngine processEngine = getProcessEngine();
+    FetchAndLockRequest request = new FetchAndLockRequest()
+      .setProcessEngineName(processEngine.getName())
+      .setAuthentication(processEngine.getIdentityService().getCurrentAuthentication())
+      .setDto(dto);
+
+    FetchAndLockStream stream = new FetchAndLockStream(request, processEngine, getObjectMapper());
+    stream.open();
+
+    return Response.ok(stream, FetchAndLockStream.MEDIA_TYPE)
+      .header(FetchAndLockStream.STREAM_ID_HEADER, stream.getId())
+      .build();
+  }
+
+  @Override
+  public void grantFetchAndLockStreamCredits(String streamId, FetchAndLockStreamCreditsDto dto) {
+    if (dto.getCredits() <= 0) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The number of granted credits must be greater than zero");
+    }
+
+    ProcessEngine processEngine = getProcessEngine();
+    Authentication authentication = processEngine.getIdentityService().getCurrentAuthentication();
+
+    // only the user who opened the stream may grant credits to it
+    FetchAndLockStream stream = FetchAndLockStream.getOpenStream(streamId);
+    if (stream == null || !stream.isOpenedBy(processEngine.getName(), authentication)) {
+      throw new InvalidRequestException(Status.NOT_FOUND, "No open fetch and lock stream with id " + streamId);
+    }
+
+    stream.grantCredits(dto.getCredits());
+  }
+
   @Override
   public ExternalTaskResource getExternalTask(String externalTaskId) {
     return new ExternalTaskResourceImpl(getProcessEngine(), externalTaskId, getObjectMapper());
@@ -139,6 +190,33 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
                         .getTopicNames(withLockedTasks, withUnlockedTasks, withRetriesLeft);
   }
 
+  @Override
+  public void complete(CompleteExternalTasksDto dto) {
+    List<ExternalTaskCompletionDto> tasks = dto.getTasks();
+    if (tasks == null || tasks.isEmpty()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "At least one external task to complete must be given.");
+    }
+
+    ProcessEngine processEngine = getProcessEngine();
+    ExternalTaskCompletionBuilder builder = processEngine.getExternalTaskService().completeAll(dto.getWorkerId());
+
+    for (ExternalTaskCompletionDto task : tasks) {
+      builder.task(task.getId(),
+          VariableValueDto.toMap(task.getVariables(), processEngine, getObjectMapper()),
+          VariableValueDto.toMap(task.getLocalVariables(), processEngine, getObjectMapper()));
+    }
+
+    try {
+      builder.execute();
+    }
+    catch (NotFoundException e) {
+      throw new InvalidRequestException(Status.NOT_FOUND, e.getMessage());
+    }
+    catch (BadUserRequestException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+  }
+
   @Override
   public void setRetries(SetRetriesForExternalTasksDto retriesDto){
 
@@ -17,10 +17,21 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,9 +43,11 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableListener;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -49,11 +62,16 @@ import jakarta.servlet.ServletContextEvent;
 /**
  * @author Tassilo Weidner
  */
-public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
+public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler, ExternalTaskAvailableListener {
 
   private static final Logger LOG = Logger.getLogger(FetchAndLockHandlerImpl.class.getName());
 
   protected static final String UNIQUE_WORKER_REQUEST_PARAM_NAME = "fetch-and-lock-unique-worker-request";
+  protected static final String ACQUISITION_THREADS_PARAM_NAME = "fetch-and-lock-acquisition-threads";
+  protected static final String QUEUE_CAPACITY_PARAM_NAME = "fetch-and-lock-queue-capacity";
+
+  protected static final int DEFAULT_ACQUISITION_THREADS = 1;
+  protected static final int DEFAULT_QUEUE_CAPACITY = 200;
 
   protected static final long PENDING_REQUEST_FETCH_INTERVAL = 30L * 1000;
   protected static final long MAX_BACK_OFF_TIME = Long.MAX_VALUE;
@@ -61,16 +79,38 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected SingleConsumerCondition condition;
 
-  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(200);
+  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
   protected List<FetchAndLockRequest> pendingRequests = new ArrayList<>();
   protected List<FetchAndLockRequest> newRequests = new ArrayList<>();
 
+  /** pending requests indexed by the names of the topics they fetch */
+  protected Map<String, Set<FetchAndLockRequest>> pendingRequestsByTopic = new HashMap<>();
+
+  /** topics which became available since the last acquisition */
+  protected Set<String> availableTopics = ConcurrentHashMap.newKeySet();
+  /** set if a task of an unknown topic became available since the last acquisition */
+  protected AtomicBoolean unknownTopicAvailable = new AtomicBoolean(false);
+
+  protected long lastFullFetchTime = 0;
+
   protected Thread handlerThread = new Thread(this, this.getClass().getSimpleName());
 
   protected volatile boolean isRunning = false;
 
   protected boolean isUniqueWorkerRequest = false;
 
+  protected int acquisitionThreads = DEFAULT_ACQUISITION_THREADS;
+  protected int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+  /**
+   * The partitions of the handler, each with its own acquisition thread, queue and pending
+   * requests. This handler is the first partition. Requests are assigned to partitions
+   * by process engine and topics.
+   */
+  protected List<FetchAndLockHandlerImpl> partitions = Collections.singletonList(this);
+
+  protected FetchAndLockMetrics metrics = new FetchAndLockMetrics();
+
   public FetchAndLockHandlerImpl() {
     this.condition = new SingleConsumerCondition(handlerThread);
   }
@@ -94,17 +134,27 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     queue.drainTo(newRequests);
 
+    Set<FetchAndLockRequest> requestsToRetry = new HashSet<>(newRequests);
+
     if (!newRequests.isEmpty()) {
       if (isUniqueWorkerRequest) {
         removeDuplicates();
       }
 
       pendingRequests.addAll(newRequests);
+      for (FetchAndLockRequest newRequest : newRequests) {
+        indexRequest(newRequest);
+      }
       newRequests.clear();
     }
 
     LOG.log(Level.FINEST, "Number of pending requests {0}", pendingRequests.size());
 
+    boolean retryAll = collectRequestsToRetry(requestsToRetry);
+
+    Set<FetchAndLockRequest> requestsWithoutAvailableTopics = findRequestsWithoutAvailableTopics(
+        retryAll ? pendingRequests : requestsToRetry);
+
     long backoffTime = MAX_BACK_OFF_TIME; //timestamp
 
     Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
@@ -112,6 +162,17 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       FetchAndLockRequest pendingRequest = iterator.next();
 
+      boolean skipRequest = requestsWithoutAvailableTopics.contains(pendingRequest)
+          || !(retryAll || requestsToRetry.contains(pendingRequest) || isExpired(pendingRequest));
+
+      if (skipRequest) {
+        LOG.log(Level.FINEST, "Skipping request {0}, no tasks can be available for its topics", pendingRequest);
+
+        final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - ClockUtil.getCurrentTime().getTime();
+        backoffTime = Math.min(backoffTime, msUntilTimeout);
+        continue;
+      }
+
       LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
 
       FetchAndLockResult result = tryFetchAndLock(pendingRequest);
@@ -125,10 +186,12 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
         if (!lockedTasks.isEmpty() || isExpired(pendingRequest)) {
           AsyncResponse asyncResponse = pendingRequest.getAsyncResponse();
           asyncResponse.resume(lockedTasks);
+          metrics.recordResponse(pendingRequest, lockedTasks);
 
           LOG.log(Level.FINEST, "resume and remove request with {0}", lockedTasks);
 
           iterator.remove();
+          unindexRequest(pendingRequest);
         }
         else {
           final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - ClockUtil.getCurrentTime().getTime();
@@ -143,6 +206,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
         LOG.log(Level.FINEST, "Resume and remove request with error", processEngineException);
 
         iterator.remove();
+        unindexRequest(pendingRequest);
       }
     }
 
@@ -158,6 +222,137 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  /**
+   * Decides which pending requests are retried in this acquisition cycle. All of them are
+   * retried periodically, when the handler was not woken up by a new request or when a task of an
+   * unknown topic became available. Otherwise, only the new requests and the requests fetching one of
+   * the signaled topics are retried, since no other task can have become available on this node.
+   *
+   * @param requestsToRetry the new requests, extended by the requests of the signaled topics
+   * @return true if all pending requests must be retried
+   */
+  protected boolean collectRequestsToRetry(Set<FetchAndLockRequest> requestsToRetry) {
+    Set<String> signaledTopics = new HashSet<>();
+    Iterator<String> topicIterator = availableTopics.iterator();
+    while (topicIterator.hasNext()) {
+      signaledTopics.add(topicIterator.next());
+      topicIterator.remove();
+    }
+    boolean unknownTopicSignaled = unknownTopicAvailable.getAndSet(false);
+
+    long currentTime = ClockUtil.getCurrentTime().getTime();
+    boolean periodicFetchDue = currentTime - lastFullFetchTime >= PENDING_REQUEST_FETCH_INTERVAL;
+
+    if (unknownTopicSignaled || periodicFetchDue || (signaledTopics.isEmpty() && requestsToRetry.isEmpty())) {
+      lastFullFetchTime = currentTime;
+      return true;
+    }
+
+    for (String topicName : signaledTopics) {
+      Set<FetchAndLockRequest> topicRequests = pendingRequestsByTopic.get(topicName);
+      if (topicRequests != null) {
+        requestsToRetry.addAll(topicRequests);
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Instead of querying every request on its own, queries the topics with available tasks once per
+   * process engine when more than one request of that engine is retried. Requests fetching none of
+   * these topics cannot lock a task and are skipped. Expired requests are never skipped.
+   */
+  protected Set<FetchAndLockRequest> findRequestsWithoutAvailableTopics(Collection<FetchAndLockRequest> requests) {
+    Map<String, List<FetchAndLockRequest>> requestsByEngine = new HashMap<>();
+    for (FetchAndLockRequest request : requests) {
+      if (!isExpired(request)) {
+        requestsByEngine.computeIfAbsent(request.getProcessEngineName(), k -> new ArrayList<>()).add(request);
+      }
+    }
+
+    Set<FetchAndLockRequest> requestsWithoutAvailableTopics = new HashSet<>();
+    for (List<FetchAndLockRequest> engineRequests : requestsByEngine.values()) {
+      if (engineRequests.size() > 1) {
+        Set<String> topicNames = findAvailableTopicNames(engineRequests.get(0));
+        if (topicNames != null) {
+          for (FetchAndLockRequest request : engineRequests) {
+            if (!fetchesAnyTopic(request, topicNames)) {
+              requestsWithoutAvailableTopics.add(request);
+            }
+          }
+        }
+      }
+    }
+
+    return requestsWithoutAvailableTopics;
+  }
+
+  /**
+   * @return the names of all topics with unlocked tasks that have retries left, regardless of
+   *   the authentication of the request, or null if they could not be determined
+   */
+  protected Set<String> findAvailableTopicNames(FetchAndLockRequest request) {
+    try {
+      ProcessEngine processEngine = getProcessEngine(request);
+      List<String> topicNames = processEngine.getExternalTaskService().getTopicNames(false, true, true);
+      return new HashSet<>(topicNames);
+    }
+    catch (Exception e) {
+      // fetch and lock reports the failure to the request
+      LOG.log(Level.FINEST, "Querying available topics failed", e);
+      return null;
+    }
+  }
+
+  protected boolean fetchesAnyTopic(FetchAndLockRequest request, Set<String> topicNames) {
+    for (String topicName : getTopicNames(request)) {
+      if (topicNames.contains(topicName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected List<String> getTopicNames(FetchAndLockRequest request) {
+    List<String> topicNames = new ArrayList<>();
+    List<FetchExternalTaskTopicDto> topics = request.getDto().getTopics();
+    if (topics != null) {
+      for (FetchExternalTaskTopicDto topic : topics) {
+        topicNames.add(topic.getTopicName());
+      }
+    }
+    return topicNames;
+  }
+
+  protected void indexRequest(FetchAndLockRequest request) {
+    for (String topicName : getTopicNames(request)) {
+      pendingRequestsByTopic.computeIfAbsent(topicName, k -> new LinkedHashSet<>()).add(request);
+    }
+  }
+
+  protected void unindexRequest(FetchAndLockRequest request) {
+    for (String topicName : getTopicNames(request)) {
+      Set<FetchAndLockRequest> topicRequests = pendingRequestsByTopic.get(topicName);
+      if (topicRequests != null) {
+        topicRequests.remove(request);
+        if (topicRequests.isEmpty()) {
+          pendingRequestsByTopic.remove(topicName);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void onExternalTaskAvailable(String topicName) {
+    if (topicName != null) {
+      availableTopics.add(topicName);
+    }
+    else {
+      unknownTopicAvailable.set(true);
+    }
+  }
+
   protected void removeDuplicates() {
     for (FetchAndLockRequest newRequest : newRequests) {
       // remove any request from pendingRequests with the same worker id
@@ -169,6 +364,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
           asyncResponse.cancel();
 
           iterator.remove();
+          unindexRequest(pendingRequest);
         }
       }
 
@@ -181,27 +377,80 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
       return;
     }
 
+    partitions = createPartitions();
+
+    for (FetchAndLockHandlerImpl partition : partitions) {
+      partition.startAcquisition();
+    }
+  }
+
+  protected void startAcquisition() {
     isRunning = true;
     handlerThread.start();
 
+    ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.add(this);
     ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
   }
 
   @Override
   public void shutdown() {
+    for (FetchAndLockHandlerImpl partition : partitions) {
+      partition.stopAcquisition();
+    }
+
+    for (FetchAndLockHandlerImpl partition : partitions) {
+      try {
+        partition.handlerThread.join();
+      } catch (InterruptedException e) {
+        LOG.log(Level.WARNING, "Shutting down the handler thread failed", e);
+      }
+    }
+  }
+
+  protected void stopAcquisition() {
     try {
+      ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.remove(this);
       ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
     }
     finally {
       isRunning = false;
       condition.signal();
     }
+  }
 
-    try {
-      handlerThread.join();
-    } catch (InterruptedException e) {
-      LOG.log(Level.WARNING, "Shutting down the handler thread failed", e);
+  protected List<FetchAndLockHandlerImpl> createPartitions() {
+    List<FetchAndLockHandlerImpl> partitions = new ArrayList<>();
+    partitions.add(this);
+
+    for (int i = 1; i < acquisitionThreads; i++) {
+      FetchAndLockHandlerImpl partition = newPartition();
+      partition.isUniqueWorkerRequest = isUniqueWorkerRequest;
+      partition.queue = new ArrayBlockingQueue<>(queueCapacity);
+      partition.metrics = metrics;
+      partition.handlerThread.setName(handlerThread.getName() + "-" + i);
+      partitions.add(partition);
     }
+
+    return partitions;
+  }
+
+  protected FetchAndLockHandlerImpl newPartition() {
+    return new FetchAndLockHandlerImpl();
+  }
+
+  /**
+   * Requests of the same process engine and topics are always handled by the same partition.
+   * With unique worker requests, the worker id is used instead of the topics, such that a
+   * request can replace the pending request of the same worker.
+   */
+  protected FetchAndLockHandlerImpl getPartition(FetchAndLockRequest request) {
+    if (partitions.size() == 1) {
+      return partitions.get(0);
+    }
+
+    Object partitionKey = isUniqueWorkerRequest ? request.getDto().getWorkerId() : new TreeSet<>(getTopicNames(request));
+    int hash = Objects.hash(request.getProcessEngineName(), partitionKey);
+    return partitions.get(Math.floorMod(hash, partitions.size()));
   }
 
   protected void suspend(long millis) {
@@ -228,12 +477,15 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
   }
 
   protected void addRequest(FetchAndLockRequest request) {
-    if (!queue.offer(request)) {
+    FetchAndLockHandlerImpl partition = getPartition(request);
+
+    if (!partition.queue.offer(request)) {
+      metrics.recordRejectedRequest();
       AsyncResponse asyncResponse = request.getAsyncResponse();
       errorTooManyRequests(asyncResponse);
     }
 
-    condition.signal();
+    partition.condition.signal();
   }
 
   protected FetchAndLockResult tryFetchAndLock(FetchAndLockRequest request) {
@@ -322,6 +574,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
       List<LockedExternalTaskDto> lockedTasks = result.getTasks();
       if (!lockedTasks.isEmpty() || dto.getAsyncResponseTimeout() == null) { // response immediately if tasks available
         asyncResponse.resume(lockedTasks);
+        metrics.recordResponse(incomingRequest, lockedTasks);
 
         LOG.log(Level.FINEST, "Resuming request with {0}", lockedTasks);
       } else {
@@ -346,6 +599,8 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       if (servletContext != null) {
         parseUniqueWorkerRequestParam(servletContext.getInitParameter(UNIQUE_WORKER_REQUEST_PARAM_NAME));
+        parseAcquisitionThreadsParam(servletContext.getInitParameter(ACQUISITION_THREADS_PARAM_NAME));
+        parseQueueCapacityParam(servletContext.getInitParameter(QUEUE_CAPACITY_PARAM_NAME));
       }
     }
   }
@@ -358,7 +613,80 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  protected void parseAcquisitionThreadsParam(String acquisitionThreadsParam) {
+    acquisitionThreads = parsePositiveIntParam(ACQUISITION_THREADS_PARAM_NAME, acquisitionThreadsParam, DEFAULT_ACQUISITION_THREADS);
+  }
+
+  protected void parseQueueCapacityParam(String queueCapacityParam) {
+    queueCapacity = parsePositiveIntParam(QUEUE_CAPACITY_PARAM_NAME, queueCapacityParam, DEFAULT_QUEUE_CAPACITY);
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+  }
+
+  protected int parsePositiveIntParam(String paramName, String paramValue, int defaultValue) {
+    if (paramValue == null) {
+      return defaultValue; // default configuration
+    }
+
+    try {
+      int value = Integer.parseInt(paramValue.trim());
+      if (value > 0) {
+        return value;
+      }
+    }
+    catch (NumberFormatException e) {
+      // fall through to the warning
+    }
+
+    LOG.log(Level.WARNING, "Invalid value ''{0}'' of parameter {1}, using the default value {2}",
+        new Object[] { paramValue, paramName, defaultValue });
+    return defaultValue;
+  }
+
+  /**
+   * @return the requests the acquisition threads of all partitions are waiting to lock tasks for
+   */
   public List<FetchAndLockRequest> getPendingRequests() {
-    return pendingRequests;
+    List<FetchAndLockRequest> requests = new ArrayList<>();
+    for (FetchAndLockHandlerImpl partition : partitions) {
+      requests.addAll(partition.pendingRequests);
+    }
+    return requests;
+  }
+
+  public int getAcquisitionThreads() {
+    return partitions.size();
+  }
+
+  /**
+   * @return the capacity of the queue of new requests of each acquisition thread
+   */
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /**
+   * @return the number of new requests not yet taken over by the acquisition threads
+   */
+  public int getQueuedRequestCount() {
+    int count = 0;
+    for (FetchAndLockHandlerImpl partition : partitions) {
+      count += partition.queue.size();
+    }
+    return count;
+  }
+
+  /**
+   * @return the approximate number of requests the acquisition threads are waiting to lock tasks for
+   */
+  public int getPendingRequestCount() {
+    int count = 0;
+    for (FetchAndLockHandlerImpl partition : partitions) {
+      count += partition.pendingRequests.size();
+    }
+    return count;
+  }
+
+  public FetchAndLockMetrics getMetrics() {
+    return metrics;
   }
 }
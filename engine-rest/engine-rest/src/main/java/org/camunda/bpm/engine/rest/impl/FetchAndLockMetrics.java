@@ -0,0 +1,78 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Counts the responses of the long-polling fetch and lock handler.
+ * Shared by all acquisition threads of the handler.
+ */
+public class FetchAndLockMetrics {
+
+  protected LongAdder responses = new LongAdder();
+  protected LongAdder emptyResponses = new LongAdder();
+  protected LongAdder rejectedRequests = new LongAdder();
+  protected Histogram timeToResponse = new Histogram();
+
+  public void recordResponse(FetchAndLockRequest request, List<?> lockedTasks) {
+    responses.increment();
+    if (lockedTasks.isEmpty()) {
+      emptyResponses.increment();
+    }
+
+    long requestTime = request.getRequestTime().getTime();
+    timeToResponse.record(ClockUtil.getCurrentTime().getTime() - requestTime);
+  }
+
+  public void recordRejectedRequest() {
+    rejectedRequests.increment();
+  }
+
+  /**
+   * @return the number of requests that were answered with a possibly empty list of tasks
+   */
+  public long getResponses() {
+    return responses.sum();
+  }
+
+  /**
+   * @return the number of requests that were answered without any task
+   */
+  public long getEmptyResponses() {
+    return emptyResponses.sum();
+  }
+
+  /**
+   * @return the number of requests that were rejected because the queue was full
+   */
+  public long getRejectedRequests() {
+    return rejectedRequests.sum();
+  }
+
+  /**
+   * @return the milliseconds between receiving a request and answering it with a list of tasks
+   */
+  public Histogram getTimeToResponse() {
+    return timeToResponse;
+  }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
+import org.camunda.bpm.engine.rest.dto.ExceptionDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>Pushes locked external tasks to a client as soon as they become available, instead of
+ * answering one fetch and lock request per batch of tasks.</p>
+ *
+ * <p>The response is written as newline delimited JSON: every line holds either an array of
+ * locked tasks, an exception object if fetching failed, or nothing at all to keep the connection
+ * alive. The stream ends once the async response timeout of the request has passed.</p>
+ *
+ * <p>The client controls the flow by credits. Initially, it has as many credits as the
+ * request asks for tasks; every pushed task consumes one. Further credits are granted via
+ * {@link #grantCredits(int)}, usually once the client has handled tasks. A stream never holds
+ * more credits than the request asks for tasks.</p>
+ *
+ * <p>Every open stream occupies a servlet thread while it is written, so the number of open
+ * streams per server instance is limited to {@link #MAX_OPEN_STREAMS}.</p>
+ */
+public class FetchAndLockStream implements StreamingOutput {
+
+  private static final Logger LOG = Logger.getLogger(FetchAndLockStream.class.getName());
+
+  public static final String MEDIA_TYPE = "application/x-ndjson";
+  public static final String STREAM_ID_HEADER = "Camunda-Stream-Id";
+
+  public static final int MAX_OPEN_STREAMS = 50;
+
+  protected static final long HEARTBEAT_INTERVAL = 10L * 1000;
+
+  protected static final Map<String, FetchAndLockStream> OPEN_STREAMS = new ConcurrentHashMap<>();
+
+  protected String id = UUID.randomUUID().toString();
+  protected FetchAndLockRequest request;
+  protected ProcessEngine processEngine;
+  protected ObjectMapper objectMapper;
+  protected int maxTasks;
+
+  protected AtomicInteger credits = new AtomicInteger();
+  protected volatile SingleConsumerCondition condition;
+  protected long lastWriteTime;
+
+  public FetchAndLockStream(FetchAndLockRequest request, ProcessEngine processEngine, ObjectMapper objectMapper) {
+    this.request = request;
+    this.processEngine = processEngine;
+    this.objectMapper = objectMapper;
+    this.maxTasks = request.getDto().getMaxTasks();
+    this.credits.set(maxTasks);
+  }
+
+  public static FetchAndLockStream getOpenStream(String id) {
+    FetchAndLockStream stream = OPEN_STREAMS.get(id);
+    if (stream != null && stream.isExpired()) {
+      OPEN_STREAMS.remove(id);
+      return null;
+    }
+    return stream;
+  }
+
+  /**
+   * Registers the stream, such that credits can be granted to it. Streams that have expired
+   * without ever being written, e.g. because the client disconnected right away, are removed.
+   *
+   * @throws InvalidRequestException if {@link #MAX_OPEN_STREAMS} streams are already open
+   */
+  public void open() {
+    synchronized (OPEN_STREAMS) {
+      OPEN_STREAMS.values().removeIf(FetchAndLockStream::isExpired);
+
+      if (OPEN_STREAMS.size() >= MAX_OPEN_STREAMS) {
+        throw new InvalidRequestException(Status.INTERNAL_SERVER_ERROR,
+            "At the moment the server has to handle too many fetch and lock streams at the same time. Please try again later.");
+      }
+
+      OPEN_STREAMS.put(id, this);
+    }
+  }
+
+  /**
+   * @return true if the stream was opened on the given process engine by the given user
+   */
+  public boolean isOpenedBy(String processEngineName, Authentication authentication) {
+    Authentication streamAuthentication = request.getAuthentication();
+    String streamUserId = streamAuthentication != null ? streamAuthentication.getUserId() : null;
+    String userId = authentication != null ? authentication.getUserId() : null;
+
+    return Objects.equals(request.getProcessEngineName(), processEngineName)
+        && Objects.equals(streamUserId, userId);
+  }
+
+  /**
+   * Grants further credits, up to the number of tasks the stream was requested for.
+   */
+  public void grantCredits(int additionalCredits) {
+    credits.getAndUpdate(current -> (int) Math.min((long) current + additionalCredits, maxTasks));
+
+    SingleConsumerCondition currentCondition = condition;
+    if (currentCondition != null) {
+      currentCondition.signal();
+    }
+  }
+
+  @Override
+  public void write(OutputStream output) throws IOException {
+    condition = new SingleConsumerCondition(Thread.currentThread());
+    ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+
+    try {
+      lastWriteTime = ClockUtil.getCurrentTime().getTime();
+
+      while (!isExpired()) {
+        int tasksToFetch = Math.min(credits.get(), maxTasks);
+
+        if (tasksToFetch > 0) {
+          List<LockedExternalTaskDto> lockedTasks;
+          try {
+            lockedTasks = fetchAndLock(tasksToFetch);
+          }
+          catch (Exception e) {
+            LOG.log(Level.FINE, "Fetching tasks for stream " + id + " failed", e);
+            writeLine(output, objectMapper.writeValueAsBytes(ExceptionDto.fromException(e)));
+            return;
+          }
+
+          if (!lockedTasks.isEmpty()) {
+            push(output, lockedTasks);
+            continue;
+          }
+        }
+
+        long currentTime = ClockUtil.getCurrentTime().getTime();
+        if (currentTime - lastWriteTime >= HEARTBEAT_INTERVAL) {
+          writeLine(output, new byte[0]);
+        }
+
+        long msUntilTimeout = request.getTimeoutTimestamp() - currentTime;
+        long msUntilHeartbeat = lastWriteTime + HEARTBEAT_INTERVAL - currentTime;
+        long waitTime = Math.min(msUntilTimeout, msUntilHeartbeat);
+        if (waitTime > 0) {
+          condition.await(waitTime);
+        }
+      }
+    }
+    finally {
+      ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+      OPEN_STREAMS.remove(id);
+    }
+  }
+
+  protected List<LockedExternalTaskDto> fetchAndLock(int maxTasks) {
+    IdentityService identityService = processEngine.getIdentityService();
+    identityService.setAuthentication(request.getAuthentication());
+
+    try {
+      FetchExternalTasksExtendedDto fetchingDto = request.getDto();
+      fetchingDto.setMaxTasks(maxTasks);
+      List<LockedExternalTask> externalTasks = fetchingDto.buildQuery(processEngine).execute();
+      return LockedExternalTaskDto.fromLockedExternalTasks(externalTasks);
+    }
+    finally {
+      identityService.clearAuthentication();
+    }
+  }
+
+  protected void push(OutputStream output, List<LockedExternalTaskDto> lockedTasks) throws IOException {
+    credits.addAndGet(-lockedTasks.size());
+
+    try {
+      writeLine(output, objectMapper.writeValueAsBytes(lockedTasks));
+    }
+    catch (IOException e) {
+      // the client is gone, make the tasks available to other workers right away
+      unlock(lockedTasks);
+      throw e;
+    }
+  }
+
+  protected void unlock(List<LockedExternalTaskDto> lockedTasks) {
+    ExternalTaskService externalTaskService = processEngine.getExternalTaskService();
+    for (LockedExternalTaskDto lockedTask : lockedTasks) {
+      try {
+        externalTaskService.unlock(lockedTask.getId());
+      }
+      catch (Exception e) {
+        LOG.log(Level.FINE, "Unlocking task " + lockedTask.getId() + " of closed stream " + id + " failed", e);
+      }
+    }
+  }
+
+  protected void writeLine(OutputStream output, byte[] line) throws IOException {
+    output.write(line);
+    output.write('\n');
+    output.flush();
+    lastWriteTime = ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected boolean isExpired() {
+    return request.getTimeoutTimestamp() <= ClockUtil.getCurrentTime().getTime();
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public int getCredits() {
+    return credits.get();
+  }
+
+}
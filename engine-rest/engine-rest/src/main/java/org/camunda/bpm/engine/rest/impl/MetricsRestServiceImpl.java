@@ -27,12 +27,17 @@ import java.util.List;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
+import org.camunda.bpm.engine.management.CommandStatistics;
 import org.camunda.bpm.engine.management.MetricsQuery;
+import org.camunda.bpm.engine.rest.dto.metrics.CommandStatisticsDto;
+import org.camunda.bpm.engine.rest.dto.metrics.FetchAndLockStatisticsDto;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsIntervalResultDto;
 import org.camunda.bpm.engine.management.MetricIntervalValue;
 import org.camunda.bpm.engine.rest.dto.converter.DateConverter;
 import org.camunda.bpm.engine.rest.dto.converter.IntegerConverter;
 import org.camunda.bpm.engine.rest.dto.converter.LongConverter;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+import org.camunda.bpm.engine.rest.spi.FetchAndLockHandler;
 
 /**
  * @author Daniel Meyer
@@ -91,6 +96,29 @@ public class MetricsRestServiceImpl extends AbstractRestProcessEngineAware imple
     return dtoList;
   }
 
+  @Override
+  public List<CommandStatisticsDto> getCommandStatistics() {
+    List<CommandStatistics> commandStatistics = getProcessEngine().getManagementService().getCommandStatistics();
+
+    List<CommandStatisticsDto> dtos = new ArrayList<>();
+    for (CommandStatistics statistics : commandStatistics) {
+      dtos.add(CommandStatisticsDto.fromCommandStatistics(statistics));
+    }
+    return dtos;
+  }
+
+  @Override
+  public FetchAndLockStatisticsDto getFetchAndLockStatistics() {
+    FetchAndLockHandler fetchAndLockHandler = FetchAndLockContextListener.getFetchAndLockHandler();
+
+    if (!(fetchAndLockHandler instanceof FetchAndLockHandlerImpl)) {
+      throw new InvalidRequestException(Response.Status.NOT_FOUND,
+          "Statistics are only available for the default fetch and lock handler.");
+    }
+
+    return FetchAndLockStatisticsDto.fromFetchAndLockHandler((FetchAndLockHandlerImpl) fetchAndLockHandler);
+  }
+
   @Override
   public Response deleteTaskMetrics(String dateString) {
     Date date = dateConverter.convertQueryParameterToType(dateString);
@@ -33,11 +33,13 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,6 +55,7 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletionBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -66,6 +69,7 @@ import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsVariableMap;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -109,6 +113,7 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
   protected static final String PRIORITY_EXTERNAL_TASK_URL = SINGLE_EXTERNAL_TASK_URL + "/priority";
   protected static final String LOCK_EXTERNAL_TASK = SINGLE_EXTERNAL_TASK_URL + "/lock";
   protected static final String EXTEND_LOCK_ON_EXTERNAL_TASK = SINGLE_EXTERNAL_TASK_URL + "/extendLock";
+  protected static final String COMPLETE_EXTERNAL_TASKS_URL = EXTERNAL_TASK_URL + "/complete";
 
 
   protected ExternalTaskService externalTaskService;
@@ -615,6 +620,84 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
       .post(COMPLETE_EXTERNAL_TASK_URL);
   }
 
+  @Test
+  public void testCompleteAll() {
+    ExternalTaskCompletionBuilder completionBuilder = mock(ExternalTaskCompletionBuilder.class);
+    when(externalTaskService.completeAll(any())).thenReturn(completionBuilder);
+
+    Map<String, Object> firstTask = new HashMap<>();
+    firstTask.put("id", "anExternalTaskId");
+    Map<String, Object> secondTask = new HashMap<>();
+    secondTask.put("id", "anotherExternalTaskId");
+    secondTask.put("variables", VariablesBuilder.create().variable("var1", "val1").getVariables());
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("tasks", Arrays.asList(firstTask, secondTask));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.NO_CONTENT.getStatusCode())
+    .when()
+      .post(COMPLETE_EXTERNAL_TASKS_URL);
+
+    InOrder inOrder = inOrder(externalTaskService, completionBuilder);
+    inOrder.verify(externalTaskService).completeAll("aWorkerId");
+    inOrder.verify(completionBuilder).task("anExternalTaskId", null, null);
+    inOrder.verify(completionBuilder).task(eq("anotherExternalTaskId"),
+        argThat(EqualsVariableMap.matches().matcher("var1", EqualsUntypedValue.matcher().value("val1"))),
+        eq((Map<String, Object>) null));
+    inOrder.verify(completionBuilder).execute();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void testCompleteAllWithoutTasks() {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("workerId", "aWorkerId");
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("At least one external task to complete must be given."))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASKS_URL);
+
+    verifyNoInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testCompleteAllWithWrongWorkerId() {
+    ExternalTaskCompletionBuilder completionBuilder = mock(ExternalTaskCompletionBuilder.class);
+    when(externalTaskService.completeAll(any())).thenReturn(completionBuilder);
+    doThrow(new BadUserRequestException("aMessage")).when(completionBuilder).execute();
+
+    Map<String, Object> task = new HashMap<>();
+    task.put("id", "anExternalTaskId");
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("tasks", Collections.singletonList(task));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("aMessage"))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASKS_URL);
+  }
+
   @Test
   public void testCompleteThrowsAuthorizationException() {
     doThrow(new AuthorizationException("aMessage"))
@@ -20,7 +20,9 @@ import static io.restassured.RestAssured.given;
 import static org.camunda.bpm.engine.rest.util.DateTimeUtils.DATE_FORMAT_WITH_TIMEZONE;
 import static org.camunda.bpm.engine.rest.util.DateTimeUtils.withTimezone;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -28,18 +30,24 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.Date;
 
 import org.camunda.bpm.engine.AuthorizationException;
 import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.management.CommandStatistics;
+import org.camunda.bpm.engine.management.HistogramStatistics;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
+import org.camunda.bpm.engine.rest.impl.FetchAndLockContextListener;
+import org.camunda.bpm.engine.rest.impl.FetchAndLockHandlerImpl;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import jakarta.servlet.ServletContextEvent;
 import jakarta.ws.rs.core.Response.Status;
 
 /**
@@ -54,6 +62,8 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
   public static final String DELETE_UTW_URL = METRICS_URL + "/task-worker";
   public static final String SINGLE_METER_URL = METRICS_URL + "/{name}";
   public static final String SUM_URL = SINGLE_METER_URL + "/sum";
+  public static final String COMMANDS_URL = METRICS_URL + "/commands";
+  public static final String FETCH_AND_LOCK_URL = METRICS_URL + "/fetch-and-lock";
 
   protected ManagementService managementServiceMock;
   private MetricsQuery meterQueryMock;
@@ -424,4 +434,79 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
       .delete(DELETE_UTW_URL);
   }
 
+  @Test
+  public void testGetCommandStatistics() {
+    CommandStatistics commandStatistics = mock(CommandStatistics.class);
+    HistogramStatistics latency = createMockHistogramStatistics(4, 2.5, 4);
+    HistogramStatistics sqlStatements = createMockHistogramStatistics(4, 3.0, 5);
+    when(commandStatistics.getCommandName()).thenReturn("StartProcessInstanceCmd");
+    when(commandStatistics.getInvocations()).thenReturn(4L);
+    when(commandStatistics.getOptimisticLockingFailures()).thenReturn(1L);
+    when(commandStatistics.getLatency()).thenReturn(latency);
+    when(commandStatistics.getFlushTime()).thenReturn(latency);
+    when(commandStatistics.getSqlStatements()).thenReturn(sqlStatements);
+    when(commandStatistics.getLoadedEntities()).thenReturn(sqlStatements);
+    when(managementServiceMock.getCommandStatistics()).thenReturn(Collections.singletonList(commandStatistics));
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(1))
+      .body("[0].commandName", equalTo("StartProcessInstanceCmd"))
+      .body("[0].invocations", equalTo(4))
+      .body("[0].optimisticLockingFailures", equalTo(1))
+      .body("[0].latency.count", equalTo(4))
+      .body("[0].latency.mean", equalTo(2.5f))
+      .body("[0].latency.max", equalTo(4))
+      .body("[0].sqlStatements.max", equalTo(5))
+      .body("[0].sqlStatements.p99", equalTo(5))
+    .when()
+      .get(COMMANDS_URL);
+
+    verify(managementServiceMock).getCommandStatistics();
+  }
+
+  @Test
+  public void testGetCommandStatisticsThrowsAuthorizationException() {
+    String message = "expected exception";
+    when(managementServiceMock.getCommandStatistics()).thenThrow(new AuthorizationException(message));
+
+    given()
+    .then().expect()
+      .statusCode(Status.FORBIDDEN.getStatusCode())
+      .body("type", equalTo(AuthorizationException.class.getSimpleName()))
+      .body("message", equalTo(message))
+    .when()
+      .get(COMMANDS_URL);
+  }
+
+  @Test
+  public void testGetFetchAndLockStatistics() {
+    new FetchAndLockContextListener().contextInitialized(mock(ServletContextEvent.class, RETURNS_DEEP_STUBS));
+    FetchAndLockHandlerImpl handler = (FetchAndLockHandlerImpl) FetchAndLockContextListener.getFetchAndLockHandler();
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("acquisitionThreads", equalTo(handler.getAcquisitionThreads()))
+      .body("queueCapacity", equalTo(handler.getQueueCapacity()))
+      .body("queuedRequests", notNullValue())
+      .body("pendingRequests", notNullValue())
+      .body("rejectedRequests", notNullValue())
+      .body("timeToResponse.count", notNullValue())
+    .when()
+      .get(FETCH_AND_LOCK_URL);
+  }
+
+  protected HistogramStatistics createMockHistogramStatistics(long count, double mean, long max) {
+    HistogramStatistics statistics = mock(HistogramStatistics.class);
+    when(statistics.getCount()).thenReturn(count);
+    when(statistics.getMean()).thenReturn(mean);
+    when(statistics.getMax()).thenReturn(max);
+    when(statistics.getP50()).thenReturn(max);
+    when(statistics.getP95()).thenReturn(max);
+    when(statistics.getP99()).thenReturn(max);
+    return statistics;
+  }
+
 }
@@ -42,7 +42,9 @@ import jakarta.ws.rs.core.Response.Status;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -407,11 +409,173 @@ public class FetchAndLockHandlerTest {
     assertThat(argumentCaptor.getValue().getMessage(), is("Request rejected due to shutdown of application server."));
   }
 
-  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
+  @Test
+  public void shouldOnlyRetryRequestsOfAvailableTopic() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId", "aTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId", "anotherTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    // when
+    handler.onExternalTaskAvailable("aTopicName");
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(2)).topic("aTopicName", 12354L);
+    verify(fetchTopicBuilder, times(1)).topic("anotherTopicName", 12354L);
+    assertThat(handler.getPendingRequests().size(), is(2));
+  }
+
+  @Test
+  public void shouldRetryAllRequestsWhenTopicUnknown() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    handler.onExternalTaskAvailable("anotherTopicName");
+    handler.acquire();
+
+    // assume
+    verify(fetchTopicBuilder, times(2)).topic("aTopicName", 12354L);
+
+    // when
+    handler.onExternalTaskAvailable(null);
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).topic("aTopicName", 12354L);
+  }
+
+  @Test
+  public void shouldSkipRequestsWithoutAvailableTopics() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+    when(externalTaskService.getTopicNames(false, true, true)).thenReturn(Collections.singletonList("aTopicName"));
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId", "aTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId", "anotherTopicName"),
+        mock(AsyncResponse.class), processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(externalTaskService).getTopicNames(false, true, true);
+    verify(fetchTopicBuilder, times(2)).topic("aTopicName", 12354L);
+    verify(fetchTopicBuilder, times(1)).topic("anotherTopicName", 12354L);
+    assertThat(handler.getPendingRequests().size(), is(2));
+    verify(handler).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL);
+  }
+
+  @Test
+  public void shouldRecordResponseMetrics() {
+    // given
+    doReturn(Collections.singletonList(lockedExternalTaskMock)).when(fetchTopicBuilder).execute();
+    handler.addPendingRequest(createDto(5000L), mock(AsyncResponse.class), processEngine);
+
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+    handler.addPendingRequest(createDto(5000L), mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    addSecondsToClock(5);
+
+    // when
+    handler.acquire();
+
+    // then
+    FetchAndLockMetrics metrics = handler.getMetrics();
+    assertThat(metrics.getResponses(), is(2L));
+    assertThat(metrics.getEmptyResponses(), is(1L));
+    assertThat(metrics.getTimeToResponse().getCount(), is(2L));
+    assertThat(metrics.getTimeToResponse().getMax(), is(5000L));
+  }
+
+  @Test
+  public void shouldRejectRequestWhenQueueCapacityExceeded() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+    handler.parseQueueCapacityParam("1");
+
+    handler.addPendingRequest(createDto(5000L), mock(AsyncResponse.class), processEngine);
+
+    // when
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L), asyncResponse, processEngine);
+
+    // then
+    verify(asyncResponse).resume(any(InvalidRequestException.class));
+    assertThat(handler.getQueuedRequestCount(), is(1));
+    assertThat(handler.getMetrics().getRejectedRequests(), is(1L));
+  }
+
+  @Test
+  public void shouldAssignRequestsToPartitionsByTopic() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+    handler.parseAcquisitionThreadsParam("4");
+    handler.partitions = handler.createPartitions();
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      handler.addPendingRequest(createDto(5000L, "worker" + i, "topic" + (i % 5)), mock(AsyncResponse.class), processEngine);
+    }
+
+    // then
+    assertThat(handler.getAcquisitionThreads(), is(4));
+    assertThat(handler.getQueuedRequestCount(), is(20));
+
+    Map<String, FetchAndLockHandlerImpl> partitionsByTopic = new HashMap<>();
+    for (FetchAndLockHandlerImpl partition : handler.partitions) {
+      for (FetchAndLockRequest request : partition.queue) {
+        String topicName = request.getDto().getTopics().get(0).getTopicName();
+        FetchAndLockHandlerImpl topicPartition = partitionsByTopic.computeIfAbsent(topicName, k -> partition);
+        assertThat(topicPartition == partition, is(true));
+      }
+    }
+  }
+
+  @Test
+  public void shouldReturnPendingRequestsOfAllPartitions() {
+    // given
+    handler.parseAcquisitionThreadsParam("2");
+    handler.partitions = handler.createPartitions();
+
+    FetchAndLockRequest firstRequest = mock(FetchAndLockRequest.class);
+    FetchAndLockRequest secondRequest = mock(FetchAndLockRequest.class);
+    handler.partitions.get(0).pendingRequests.add(firstRequest);
+    handler.partitions.get(1).pendingRequests.add(secondRequest);
+
+    // when
+    List<FetchAndLockRequest> pendingRequests = handler.getPendingRequests();
+
+    // then
+    assertThat(pendingRequests.size(), is(2));
+    assertThat(pendingRequests.contains(firstRequest), is(true));
+    assertThat(pendingRequests.contains(secondRequest), is(true));
+    assertThat(handler.getPendingRequestCount(), is(2));
+  }
+
+  @Test
+  public void shouldUseDefaultForInvalidAcquisitionThreads() {
+    // when
+    handler.parseAcquisitionThreadsParam("-1");
+
+    // then
+    assertThat(handler.createPartitions().size(), is(1));
+  }
+
+  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId, String topicName) {
     FetchExternalTasksExtendedDto externalTask = new FetchExternalTasksExtendedDto();
 
     FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto topic = new FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto();
-    topic.setTopicName("aTopicName");
+    topic.setTopicName(topicName);
     topic.setLockDuration(12354L);
 
     externalTask.setMaxTasks(5);
@@ -425,6 +589,10 @@ public class FetchAndLockHandlerTest {
     return externalTask;
   }
 
+  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
+    return createDto(responseTimeout, workerId, "aTopicName");
+  }
+
   protected FetchExternalTasksExtendedDto createDto(Long responseTimeout) {
     return createDto(responseTimeout, "aWorkerId");
   }
@@ -0,0 +1,246 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+import org.camunda.bpm.engine.rest.helper.MockProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FetchAndLockStreamTest {
+
+  @Mock
+  protected ProcessEngine processEngine;
+
+  @Mock
+  protected IdentityService identityService;
+
+  @Mock
+  protected ExternalTaskService externalTaskService;
+
+  @Mock
+  protected ExternalTaskQueryTopicBuilder fetchTopicBuilder;
+
+  protected LockedExternalTask lockedExternalTaskMock;
+
+  @Before
+  public void initMocks() {
+    when(processEngine.getIdentityService()).thenReturn(identityService);
+    when(processEngine.getExternalTaskService()).thenReturn(externalTaskService);
+
+    when(externalTaskService.fetchAndLock(anyInt(), any(String.class), any(Boolean.class)))
+      .thenReturn(fetchTopicBuilder);
+    when(fetchTopicBuilder.topic(any(String.class), anyLong()))
+      .thenReturn(fetchTopicBuilder);
+
+    lockedExternalTaskMock = MockProvider.createMockLockedExternalTask();
+  }
+
+  @After
+  public void clearOpenStreams() {
+    FetchAndLockStream.OPEN_STREAMS.clear();
+  }
+
+  @Test
+  public void shouldPushTasksUntilCreditsAreConsumed() throws IOException {
+    // given
+    doReturn(Arrays.asList(lockedExternalTaskMock, lockedExternalTaskMock)).when(fetchTopicBuilder).execute();
+    FetchAndLockStream stream = createStream(2, 200L);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    // when
+    stream.write(output);
+
+    // then
+    String[] lines = output.toString("UTF-8").split("\n");
+    assertThat(lines.length, is(1));
+    assertThat(lines[0], containsString(MockProvider.EXTERNAL_TASK_ID));
+    assertThat(stream.getCredits(), is(0));
+    verify(fetchTopicBuilder, times(1)).execute();
+    verify(identityService).clearAuthentication();
+  }
+
+  @Test
+  public void shouldWriteExceptionWhenFetchingFails() throws IOException {
+    // given
+    doThrow(new ProcessEngineException("fetching failed")).when(fetchTopicBuilder).execute();
+    FetchAndLockStream stream = createStream(2, 5000L);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    // when
+    stream.write(output);
+
+    // then
+    String content = output.toString("UTF-8");
+    assertThat(content, containsString("\"type\":\"ProcessEngineException\""));
+    assertThat(content, containsString("fetching failed"));
+  }
+
+  @Test
+  public void shouldUnlockTasksWhenClientIsGone() {
+    // given
+    doReturn(Collections.singletonList(lockedExternalTaskMock)).when(fetchTopicBuilder).execute();
+    FetchAndLockStream stream = createStream(1, 5000L);
+    OutputStream output = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("connection reset");
+      }
+    };
+
+    // when
+    try {
+      stream.write(output);
+      fail("expected exception");
+    } catch (IOException e) {
+      // then
+      verify(externalTaskService).unlock(MockProvider.EXTERNAL_TASK_ID);
+    }
+  }
+
+  @Test
+  public void shouldRemoveStreamWhenFinished() throws IOException {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+    FetchAndLockStream stream = createStream(1, 100L);
+    stream.open();
+
+    // assume
+    assertThat(FetchAndLockStream.getOpenStream(stream.getId()) == stream, is(true));
+
+    // when
+    stream.write(new ByteArrayOutputStream());
+
+    // then
+    assertThat(FetchAndLockStream.getOpenStream(stream.getId()) == null, is(true));
+  }
+
+  @Test
+  public void shouldNotGrantMoreCreditsThanMaxTasks() {
+    // given
+    FetchAndLockStream stream = createStream(5, 5000L);
+
+    // when
+    stream.grantCredits(3);
+    stream.grantCredits(Integer.MAX_VALUE);
+
+    // then
+    assertThat(stream.getCredits(), is(5));
+  }
+
+  @Test
+  public void shouldRejectStreamWhenTooManyStreamsAreOpen() {
+    // given
+    for (int i = 0; i < FetchAndLockStream.MAX_OPEN_STREAMS; i++) {
+      createStream(1, 5000L).open();
+    }
+
+    // when
+    try {
+      createStream(1, 5000L).open();
+      fail("expected exception");
+    } catch (InvalidRequestException e) {
+      // then
+      assertThat(e.getMessage(), containsString("too many fetch and lock streams"));
+      assertThat(FetchAndLockStream.OPEN_STREAMS.size(), is(FetchAndLockStream.MAX_OPEN_STREAMS));
+    }
+  }
+
+  @Test
+  public void shouldRemoveExpiredStreamsThatWereNeverWrittenOnOpen() {
+    // given
+    FetchAndLockStream expiredStream = createStream(1, 100L);
+    expiredStream.open();
+    expiredStream.request.setRequestTime(new Date(0L));
+
+    // when
+    FetchAndLockStream stream = createStream(1, 5000L);
+    stream.open();
+
+    // then
+    assertThat(FetchAndLockStream.OPEN_STREAMS.containsKey(expiredStream.getId()), is(false));
+    assertThat(FetchAndLockStream.OPEN_STREAMS.containsKey(stream.getId()), is(true));
+  }
+
+  @Test
+  public void shouldOnlyBeOpenedByUserOfRequest() {
+    // given
+    FetchAndLockStream stream = createStream(1, 5000L);
+    stream.request.setAuthentication(new Authentication("aUserId", null));
+
+    // then
+    assertThat(stream.isOpenedBy("default", new Authentication("aUserId", null)), is(true));
+    assertThat(stream.isOpenedBy("default", new Authentication("anotherUserId", null)), is(false));
+    assertThat(stream.isOpenedBy("default", null), is(false));
+    assertThat(stream.isOpenedBy("anotherEngine", new Authentication("aUserId", null)), is(false));
+  }
+
+  protected FetchAndLockStream createStream(int maxTasks, long asyncResponseTimeout) {
+    FetchExternalTasksExtendedDto dto = new FetchExternalTasksExtendedDto();
+
+    FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto topic = new FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto();
+    topic.setTopicName("aTopicName");
+    topic.setLockDuration(12354L);
+
+    dto.setMaxTasks(maxTasks);
+    dto.setWorkerId("aWorkerId");
+    dto.setTopics(Collections.singletonList(topic));
+    dto.setAsyncResponseTimeout(asyncResponseTimeout);
+
+    FetchAndLockRequest request = new FetchAndLockRequest()
+      .setProcessEngineName("default")
+      .setDto(dto);
+
+    return new FetchAndLockStream(request, processEngine, new ObjectMapper());
+  }
+
+}
@@ -21,6 +21,7 @@ import java.util.Map;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.dmn.DecisionBatchEvaluationBuilder;
 import org.camunda.bpm.engine.dmn.DecisionEvaluationBuilder;
 import org.camunda.bpm.engine.dmn.DecisionsEvaluationBuilder;
 import org.camunda.bpm.engine.exception.NotFoundException;
@@ -154,4 +155,30 @@ public interface DecisionService {
    */
   DecisionsEvaluationBuilder evaluateDecisionById(String decisionDefinitionId);
 
+  /**
+   * Returns a fluent builder to evaluate the decision with the given key
+   * for many variable contexts at once. The decision definition is resolved
+   * and authorized only once per chunk of evaluations, see
+   * {@link DecisionBatchEvaluationBuilder#evaluate()}.
+   *
+   * @param decisionDefinitionKey
+   *          the key of the decision definition, cannot be <code>null</code>.
+   *
+   * @return a builder to evaluate a decision for many variable contexts
+   */
+  DecisionBatchEvaluationBuilder evaluateDecisionBatchByKey(String decisionDefinitionKey);
+
+  /**
+   * Returns a fluent builder to evaluate the decision with the given id
+   * for many variable contexts at once. The decision definition is resolved
+   * and authorized only once per chunk of evaluations, see
+   * {@link DecisionBatchEvaluationBuilder#evaluate()}.
+   *
+   * @param decisionDefinitionId
+   *          the id of the decision definition, cannot be <code>null</code>.
+   *
+   * @return a builder to evaluate a decision for many variable contexts
+   */
+  DecisionBatchEvaluationBuilder evaluateDecisionBatchById(String decisionDefinitionId);
+
 }
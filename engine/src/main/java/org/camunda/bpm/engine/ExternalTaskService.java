@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletionBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
@@ -169,6 +170,16 @@ public interface ExternalTaskService {
    */
   public void complete(String externalTaskId, String workerId, Map<String, Object> variables, Map<String, Object> localVariables);
 
+  /**
+   * <p>Defines the completion of multiple external tasks on behalf of a worker by using
+   * a fluent builder. All tasks are completed in one transaction and must be assigned
+   * to the worker.</p>
+   *
+   * @param workerId the id of the worker that completes the tasks
+   * @return a builder to define and execute the completion of the tasks
+   */
+  public ExternalTaskCompletionBuilder completeAll(String workerId);
+
   /**
    * <p>Extends a lock of an external task on behalf of a worker.
    * The given task must be assigned to the worker.</p>
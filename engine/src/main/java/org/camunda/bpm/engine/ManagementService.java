@@ -36,6 +36,7 @@ import org.camunda.bpm.engine.batch.BatchStatisticsQuery;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
+import org.camunda.bpm.engine.management.CommandStatistics;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
@@ -1335,6 +1336,17 @@ public interface ManagementService {
    */
   long getUniqueTaskWorkerCount(Date startTime, Date endTime);
 
+  /**
+   * Returns latency and database statistics per command class, collected on this
+   * process engine since it was started. The statistics are only collected if
+   * command metrics are enabled in the process engine configuration.
+   *
+   * @return the statistics of all invoked command classes, empty if command metrics are disabled
+   *
+   * @throws AuthorizationException if the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  List<CommandStatistics> getCommandStatistics();
+
   /**
    * Deletes all task metrics which are older than the specified timestamp.
    * If the timestamp is null, all metrics will be deleted
@@ -0,0 +1,144 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.dmn;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.exception.NotValidException;
+
+/**
+ * Fluent builder to evaluate a decision for many variable contexts at once.
+ */
+public interface DecisionBatchEvaluationBuilder {
+
+  /**
+   * Specify the id of the tenant the decision definition belongs to. Can only be
+   * used when the definition is referenced by <code>key</code> and not by <code>id</code>.
+   */
+  DecisionBatchEvaluationBuilder decisionDefinitionTenantId(String tenantId);
+
+  /**
+   * Specify that the decision definition belongs to no tenant. Can only be
+   * used when the definition is referenced by <code>key</code> and not by <code>id</code>.
+   */
+  DecisionBatchEvaluationBuilder decisionDefinitionWithoutTenantId();
+
+  /**
+   * Set the version of the decision definition. If <code>null</code> then
+   * the latest version is taken.
+   */
+  DecisionBatchEvaluationBuilder version(Integer version);
+
+  /**
+   * Set the input values of the evaluations, one map per evaluation.
+   */
+  DecisionBatchEvaluationBuilder variables(List<? extends Map<String, Object>> variables);
+
+  /**
+   * Set the input values of the evaluations, one map per evaluation.
+   * The stream is consumed chunk by chunk while the decision is evaluated,
+   * such that only the input values of the current chunk are held at once.
+   */
+  DecisionBatchEvaluationBuilder variables(Stream<? extends Map<String, Object>> variables);
+
+  /**
+   * Evaluate the decision for the given input values in parallel, using the
+   * common fork-join pool. The expressions of the decision are then evaluated
+   * outside of the engine's command context, such that only decisions whose
+   * expressions are all FEEL expressions can be evaluated in parallel. The evaluation
+   * of decisions with expressions of other languages, like JUEL, is rejected.
+   */
+  DecisionBatchEvaluationBuilder parallel();
+
+  /**
+   * Only create a historic decision instance for every <code>n</code>-th
+   * evaluation, starting with the first one. By default, a historic decision
+   * instance is created for every evaluation, depending on the history level.
+   *
+   * @param n the sampling interval, must be greater than zero
+   */
+  DecisionBatchEvaluationBuilder historySampled(int n);
+
+  /**
+   * Create no historic decision instances for the evaluations.
+   */
+  DecisionBatchEvaluationBuilder skipHistory();
+
+  /**
+   * Evaluates the decision once for the input values of every evaluation.
+   *
+   * <p>The evaluations are split into chunks of up to 1000 evaluations, each of
+   * which is evaluated in its own command and thus its own transaction. If the
+   * evaluation of a chunk fails, the historic decision instances of the preceding
+   * chunks remain. All chunks evaluate the decision definition which was
+   * resolved for the first one. A single user operation log entry with the total
+   * number of evaluations is written together with the last chunk.</p>
+   *
+   * @return the results of the evaluations, in the order of the input values.
+   *
+   * @throws NotFoundException
+   *           when no decision definition is deployed with the given id / key.
+   *
+   * @throws NotValidException
+   *           when the given decision definition id / key is null or the
+   *           sampling interval is not greater than zero.
+   *
+   * @throws ProcessEngineException
+   *           when the evaluation is parallel and the decision contains
+   *           expressions of another language than FEEL.
+   *
+   * @throws AuthorizationException
+   *           if the user has no {@link Permissions#CREATE_INSTANCE} permission
+   *           on {@link Resources#DECISION_DEFINITION}.
+   */
+  List<DmnDecisionResult> evaluate();
+
+  /**
+   * Evaluates the decision like {@link #evaluate()}, but passes the results to
+   * the given consumer instead of collecting them. The results of a chunk are passed
+   * once the chunk is evaluated, in the order of the input values, such that only the
+   * results of one chunk are held at once.
+   *
+   * @param resultConsumer receives the result of every evaluation
+   *
+   * @throws NotFoundException
+   *           when no decision definition is deployed with the given id / key.
+   *
+   * @throws NotValidException
+   *           when the given decision definition id / key is null or the
+   *           sampling interval is not greater than zero.
+   *
+   * @throws ProcessEngineException
+   *           when the evaluation is parallel and the decision contains
+   *           expressions of another language than FEEL.
+   *
+   * @throws AuthorizationException
+   *           if the user has no {@link Permissions#CREATE_INSTANCE} permission
+   *           on {@link Resources#DECISION_DEFINITION}.
+   */
+  void evaluate(Consumer<DmnDecisionResult> resultConsumer);
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.exception.NotFoundException;
+
+/**
+ * Fluent builder to complete multiple external tasks of one worker at once.
+ */
+public interface ExternalTaskCompletionBuilder {
+
+  /**
+   * Adds an external task to complete.
+   *
+   * @param externalTaskId the id of the external task to complete
+   */
+  ExternalTaskCompletionBuilder task(String externalTaskId);
+
+  /**
+   * Adds an external task to complete.
+   *
+   * @param externalTaskId the id of the external task to complete
+   * @param variables a map of variables to set on the execution
+   *   the external task is assigned to
+   * @param localVariables a map of variables to set on the execution locally
+   */
+  ExternalTaskCompletionBuilder task(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables);
+
+  /**
+   * <p>Completes all added external tasks in one transaction. If one of the tasks
+   * cannot be completed, none of them is completed.</p>
+   *
+   * @throws NotFoundException if no external task with one of the given ids exists
+   * @throws BadUserRequestException if one of the tasks is assigned to a different worker
+   * @throws AuthorizationException thrown if the current user does not possess any of the following permissions:
+   *   <ul>
+   *     <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *     <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   *   </ul>
+   */
+  void execute();
+
+}
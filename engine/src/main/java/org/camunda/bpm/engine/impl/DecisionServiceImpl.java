@@ -20,8 +20,10 @@ import java.util.Map;
 
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.dmn.DecisionBatchEvaluationBuilder;
 import org.camunda.bpm.engine.dmn.DecisionEvaluationBuilder;
 import org.camunda.bpm.engine.dmn.DecisionsEvaluationBuilder;
+import org.camunda.bpm.engine.impl.dmn.DecisionBatchEvaluationBuilderImpl;
 import org.camunda.bpm.engine.impl.dmn.DecisionEvaluationBuilderImpl;
 import org.camunda.bpm.engine.impl.dmn.DecisionTableEvaluationBuilderImpl;
 
@@ -65,4 +67,12 @@ public class DecisionServiceImpl extends ServiceImpl implements DecisionService
     return DecisionEvaluationBuilderImpl.evaluateDecisionById(commandExecutor, decisionDefinitionId);
   }
 
+  public DecisionBatchEvaluationBuilder evaluateDecisionBatchByKey(String decisionDefinitionKey) {
+    return DecisionBatchEvaluationBuilderImpl.evaluateDecisionBatchByKey(commandExecutor, decisionDefinitionKey);
+  }
+
+  public DecisionBatchEvaluationBuilder evaluateDecisionBatchById(String decisionDefinitionId) {
+    return DecisionBatchEvaluationBuilderImpl.evaluateDecisionBatchById(commandExecutor, decisionDefinitionId);
+  }
+
 }
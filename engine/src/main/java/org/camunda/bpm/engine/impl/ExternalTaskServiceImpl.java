@@ -21,10 +21,12 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletionBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesSelectBuilder;
 import org.camunda.bpm.engine.impl.cmd.*;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskCompletionBuilderImpl;
 import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
 
 /**
@@ -64,6 +66,11 @@ public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTask
     commandExecutor.execute(new CompleteExternalTaskCmd(externalTaskId, workerId, variables, localVariables));
   }
 
+  @Override
+  public ExternalTaskCompletionBuilder completeAll(String workerId) {
+    return new ExternalTaskCompletionBuilderImpl(commandExecutor, workerId);
+  }
+
   @Override
   public void handleFailure(String externalTaskId, String workerId, String errorMessage, int retries, long retryDuration) {
     this.handleFailure(externalTaskId,workerId,errorMessage,null,retries,retryDuration);
@@ -42,6 +42,7 @@ import org.camunda.bpm.engine.impl.cmd.DeleteLicenseKeyCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteMetricsCmd;
 import org.camunda.bpm.engine.impl.cmd.DeletePropertyCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteTaskMetricsCmd;
+import org.camunda.bpm.engine.impl.cmd.GetCommandStatisticsCmd;
 import org.camunda.bpm.engine.impl.cmd.GetHistoryLevelCmd;
 import org.camunda.bpm.engine.impl.cmd.GetJobExceptionStacktraceCmd;
 import org.camunda.bpm.engine.impl.cmd.GetLicenseKeyCmd;
@@ -84,6 +85,7 @@ import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.telemetry.TelemetryRegistry;
 import org.camunda.bpm.engine.impl.telemetry.dto.LicenseKeyDataImpl;
 import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
+import org.camunda.bpm.engine.management.CommandStatistics;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
 import org.camunda.bpm.engine.management.MetricsQuery;
@@ -532,6 +534,10 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     return commandExecutor.execute(new GetUniqueTaskWorkerCountCmd(startTime, endTime));
   }
 
+  public List<CommandStatistics> getCommandStatistics() {
+    return commandExecutor.execute(new GetCommandStatisticsCmd());
+  }
+
   @Override
   public void deleteTaskMetrics(Date timestamp) {
     commandExecutor.execute(new DeleteTaskMetricsCmd(timestamp));
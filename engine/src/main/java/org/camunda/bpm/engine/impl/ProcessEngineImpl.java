@@ -16,7 +16,9 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.camunda.bpm.engine.AuthorizationService;
 import org.camunda.bpm.engine.CaseService;
@@ -33,16 +35,22 @@ import org.camunda.bpm.engine.ProcessEngines;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
+import org.camunda.bpm.engine.impl.db.StripedDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableListener;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.log.HistoryEventLogHandler;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.metrics.reporter.MetricsSinkReporter;
 import org.camunda.bpm.engine.impl.telemetry.reporter.TelemetryReporter;
 import org.camunda.bpm.engine.impl.util.CompositeCondition;
 
@@ -54,6 +62,9 @@ public class ProcessEngineImpl implements ProcessEngine {
   /** external task conditions used to signal long polling in rest API */
   public static final CompositeCondition EXT_TASK_CONDITIONS = new CompositeCondition();
 
+  /** notified with the topic of an available external task before {@link #EXT_TASK_CONDITIONS} are signaled */
+  public static final List<ExternalTaskAvailableListener> EXT_TASK_AVAILABLE_LISTENERS = new CopyOnWriteArrayList<>();
+
   private final static ProcessEngineLogger LOG = ProcessEngineLogger.INSTANCE;
 
   protected String name;
@@ -122,6 +133,11 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.registerProcessEngine(this);
     }
 
+    AsyncDbHistoryEventHandler asyncDbHistoryEventHandler = processEngineConfiguration.getAsyncDbHistoryEventHandler();
+    if (asyncDbHistoryEventHandler != null) {
+      asyncDbHistoryEventHandler.start(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+    }
+
     if (processEngineConfiguration.isMetricsEnabled()) {
       String reporterId;
       // only use a deprecated, custom MetricsReporterIdProvider,
@@ -140,6 +156,11 @@ public class ProcessEngineImpl implements ProcessEngine {
       if(processEngineConfiguration.isDbMetricsReporterActivate()) {
         dbMetricsReporter.start();
       }
+
+      MetricsSinkReporter metricsSinkReporter = processEngineConfiguration.getMetricsSinkReporter();
+      if (metricsSinkReporter != null) {
+        metricsSinkReporter.start();
+      }
     }
   }
 
@@ -169,6 +190,11 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     if(processEngineConfiguration.isMetricsEnabled()) {
       processEngineConfiguration.getDbMetricsReporter().stop();
+
+      MetricsSinkReporter metricsSinkReporter = processEngineConfiguration.getMetricsSinkReporter();
+      if (metricsSinkReporter != null) {
+        metricsSinkReporter.stop();
+      }
     }
 
     TelemetryReporter telemetryReporter = processEngineConfiguration.getTelemetryReporter();
@@ -181,6 +207,22 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    AsyncDbHistoryEventHandler asyncDbHistoryEventHandler = processEngineConfiguration.getAsyncDbHistoryEventHandler();
+    if (asyncDbHistoryEventHandler != null) {
+      // write all queued history events before the schema may be dropped
+      asyncDbHistoryEventHandler.stop();
+    }
+
+    HistoryEventLogHandler historyEventLogHandler = processEngineConfiguration.getHistoryEventLogHandler();
+    if (historyEventLogHandler != null) {
+      historyEventLogHandler.close();
+    }
+
+    IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+    if (idGenerator instanceof StripedDbIdGenerator) {
+      ((StripedDbIdGenerator) idGenerator).close();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
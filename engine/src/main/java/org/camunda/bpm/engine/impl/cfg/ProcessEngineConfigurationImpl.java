@@ -20,6 +20,7 @@ package org.camunda.bpm.engine.impl.cfg;
 import static org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd.MAX_THREADS_NUMBER;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -141,9 +142,13 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.StripedDbIdGenerator;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntitySecondLevelCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -196,10 +201,13 @@ import org.camunda.bpm.engine.impl.history.HistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.history.event.HostnameProvider;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.CompositeDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.log.HistoryEventLogHandler;
+import org.camunda.bpm.engine.impl.history.log.HistoryEventLogWriter;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer;
@@ -219,6 +227,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContextFactory;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutorImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.camunda.bpm.engine.impl.interceptor.CommandMetricsInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.CrdbTransactionRetryInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.ExceptionCodeInterceptor;
@@ -249,11 +258,14 @@ import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBatc
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsReporterIdProvider;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.metrics.reporter.MetricsSink;
+import org.camunda.bpm.engine.impl.metrics.reporter.MetricsSinkReporter;
 import org.camunda.bpm.engine.impl.migration.DefaultMigrationActivityMatcher;
 import org.camunda.bpm.engine.impl.migration.DefaultMigrationInstructionGenerator;
 import org.camunda.bpm.engine.impl.migration.MigrationActivityMatcher;
@@ -291,6 +303,7 @@ import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.SoftReferenceCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
@@ -317,6 +330,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceMa
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
@@ -507,6 +521,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected CacheFactory cacheFactory;
   protected int cacheCapacity = 1000;
+
+  /**
+   * The capacity of the BPMN, CMMN and DMN model instance caches. A negative value
+   * applies the {@link #cacheCapacity} of the definition caches.
+   */
+  protected int modelInstanceCacheCapacity = -1;
+
+  /**
+   * Allows setting whether the model instance caches hold model instances by soft references,
+   * such that they are parsed again from the deployment resource after being reclaimed.
+   * Default setting is false.
+   */
+  protected boolean modelInstanceCacheSoftReferences = false;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
@@ -520,6 +547,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected long jobExecutorPriorityRangeMin = Long.MIN_VALUE;
   protected long jobExecutorPriorityRangeMax = Long.MAX_VALUE;
 
+  /**
+   * If true, the job executor claims acquirable jobs with a row locking select that skips
+   * jobs locked by other job executors (<code>SELECT ... FOR UPDATE SKIP LOCKED</code>),
+   * instead of competing for the same jobs by optimistic locking. Only supported on
+   * H2, PostgreSQL, MySQL and MariaDB; on other databases the setting is ignored.
+   */
+  protected boolean jobExecutorAcquireWithSkipLocked = false;
+
+  /**
+   * Job definitions whose non-exclusive jobs may be executed together in a single
+   * transaction, each given as <code>processDefinitionKey:activityId</code>. Meant for
+   * asynchronous continuations that only split transactions and do little work, such that
+   * the commit dominates their execution time. If a job of a batch fails, the batch is
+   * rolled back and its jobs are executed one by one, so non-transactional work of the
+   * other jobs is repeated. Only list job definitions whose jobs are safe to re-execute.
+   */
+  protected List<String> jobExecutorBatchedJobDefinitions = Collections.emptyList();
+
+  /**
+   * Maximum number of jobs of the {@link #jobExecutorBatchedJobDefinitions} that are
+   * executed in one transaction.
+   */
+  protected int jobExecutorBatchSize = 10;
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
@@ -534,6 +585,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If greater than zero, ids are generated by a {@link StripedDbIdGenerator}
+   * with the given number of stripes instead of a {@link DbIdGenerator}.
+   */
+  protected int idGeneratorStripes = 0;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -763,6 +820,29 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableDefaultDbHistoryEventHandler = true;
 
+  /**
+   * If true, the default {@link DbHistoryEventHandler} is replaced by an {@link AsyncDbHistoryEventHandler},
+   * which writes the history events of committed transactions in batches from a background thread.
+   * History queries are then eventually consistent. Default setting is false.
+   */
+  protected boolean asyncHistoryEventHandlerEnabled = false;
+  protected AsyncDbHistoryEventHandler asyncDbHistoryEventHandler;
+  protected int asyncHistoryEventQueueCapacity = 10000;
+  protected int asyncHistoryEventBatchSize = 500;
+  protected long asyncHistoryEventFlushIntervalInMillis = 100;
+
+  /**
+   * If set, history events are additionally appended to memory-mapped segment files in
+   * this directory by a {@link HistoryEventLogHandler}. Combined with disabling the
+   * {@link #enableDefaultDbHistoryEventHandler default database handler}, history can
+   * be retained outside of the database.
+   */
+  protected String historyEventLogDirectory;
+  protected HistoryEventLogHandler historyEventLogHandler;
+  protected int historyEventLogSegmentSize = 64 * 1024 * 1024;
+  protected int historyEventLogSyncBatchSize = 100;
+  protected long historyEventLogSyncIntervalInMillis = 1000;
+
   protected PermissionProvider permissionProvider;
 
   protected boolean isExecutionTreePrefetchEnabled = true;
@@ -800,6 +880,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDbEntityCacheReuseEnabled = false;
 
+  /**
+   * The maximum number of database operations that are flushed in one JDBC batch.
+   */
+  protected int jdbcBatchSize = DbEntityManager.BATCH_SIZE;
+
+  /**
+   * If true, operations of a flush that do not depend on each other are reordered
+   * so that operations using the same statement are executed consecutively, allowing
+   * the JDBC driver to batch them.
+   */
+  protected boolean jdbcBatchStatementGrouping = false;
+
+  /**
+   * Allows setting whether entities of rarely changing types are cached across commands
+   * in a node-local second level cache. Default setting is false.
+   */
+  protected boolean dbEntitySecondLevelCacheEnabled = false;
+  protected DbEntitySecondLevelCache dbEntitySecondLevelCache;
+  protected List<Class<? extends DbEntity>> dbEntitySecondLevelCacheTypes;
+  protected long dbEntitySecondLevelCacheTimeToLive = 60 * 1000;
+  protected int dbEntitySecondLevelCacheMaxSize = 10000;
+
   protected boolean isInvokeCustomVariableListeners = true;
 
   /**
@@ -824,6 +926,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean isMetricsEnabled = true;
   protected boolean isDbMetricsReporterActivate = true;
 
+  /**
+   * The maximum number of series per meter, e.g. per process definition key and tenant.
+   * Meters only count their total if set to 0, which is the default.
+   */
+  protected int metricsMaxSeriesPerMeter = 0;
+
+  /**
+   * Allows setting whether latency histograms and database statistics are recorded
+   * per command class, see {@link ManagementService#getCommandStatistics()}. Default setting is false.
+   */
+  protected boolean commandMetricsEnabled = false;
+  protected CommandMetricsRegistry commandMetricsRegistry;
+
+  /**
+   * Sinks that export the meters besides the {@link DbMetricsReporter}.
+   */
+  protected List<MetricsSink> metricsSinks;
+  protected MetricsSinkReporter metricsSinkReporter;
+
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
   protected boolean isTaskMetricsEnabled = true;
@@ -959,6 +1080,35 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   private boolean historyCleanupMetricsEnabled = true;
 
+  /**
+   * If true, each removal time based history cleanup job adapts the size of its batches to
+   * the measured duration of its previous run: the batch size is halved if a run took longer than
+   * {@link #historyCleanupTargetBatchDuration} and doubled up to {@link #historyCleanupMaxBatchSize}
+   * if a full batch took less than half of it. The {@link #historyCleanupBatchSize} is used initially.
+   * {@link HistoryCleanupHandler#MAX_BATCH_SIZE} must be respected.
+   */
+  protected boolean historyCleanupAdaptiveBatchSizeEnabled = false;
+  protected int historyCleanupMaxBatchSize = HistoryCleanupHandler.MAX_BATCH_SIZE;
+  protected long historyCleanupTargetBatchDuration = 1000;
+
+  /**
+   * If true, removal time based history cleanup additionally reports the number of rows removed
+   * from each table (see {@link Metrics#HISTORY_CLEANUP_REMOVED_ROWS_PREFIX}) and its duration.
+   */
+  protected boolean historyCleanupTableMetricsEnabled = false;
+
+  /**
+   * If true, the history schema is created with history tables that are range partitioned by their
+   * removal time (PostgreSQL only) and removal time based history cleanup drops expired day partitions
+   * as a whole. Partitions are created in advance for the longest history time to live of all deployed
+   * definitions and batch operations plus {@link #historyPartitionLookAheadDays} days, but for at most
+   * {@link #historyPartitionMaxLookAheadDays} days. Rows with a removal time beyond that go to the default
+   * partition and are removed row by row.
+   */
+  protected boolean historyPartitioningEnabled = false;
+  protected int historyPartitionLookAheadDays = 30;
+  protected int historyPartitionMaxLookAheadDays = 366;
+
   /**
    * Controls whether engine participates in history cleanup or not.
    */
@@ -1145,9 +1295,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initBatchHandlers();
     initJobExecutor();
     initTransactionFactory();
+    initJdbcBatchSize();
     initSqlSessionFactory();
     initIdentityProviderSessionFactory();
     initSessionFactories();
+    initDbEntitySecondLevelCache();
     initValueTypeResolver();
     initTypeValidator();
     initSerialization();
@@ -1244,6 +1396,37 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           String.format("value for batch size should be between 1 and %s", HistoryCleanupHandler.MAX_BATCH_SIZE));
     }
 
+    if (historyCleanupAdaptiveBatchSizeEnabled
+        && (historyCleanupMaxBatchSize < historyCleanupBatchSize || historyCleanupMaxBatchSize > HistoryCleanupHandler.MAX_BATCH_SIZE)) {
+      throw LOG.invalidPropertyValue("historyCleanupMaxBatchSize", String.valueOf(historyCleanupMaxBatchSize),
+          String.format("value for max batch size should be between the batch size %s and %s", historyCleanupBatchSize, HistoryCleanupHandler.MAX_BATCH_SIZE));
+    }
+
+    if (historyCleanupAdaptiveBatchSizeEnabled && historyCleanupTargetBatchDuration <= 0) {
+      throw LOG.invalidPropertyValue("historyCleanupTargetBatchDuration", String.valueOf(historyCleanupTargetBatchDuration),
+          "History cleanup target batch duration must be positive.");
+    }
+
+    if (historyPartitioningEnabled && !DbSqlSessionFactory.POSTGRES.equals(databaseType)) {
+      throw LOG.invalidPropertyValue("historyPartitioningEnabled", String.valueOf(historyPartitioningEnabled),
+          "History partitioning is only supported on PostgreSQL.");
+    }
+
+    if (historyPartitioningEnabled && !HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED.equals(historyCleanupStrategy)) {
+      throw LOG.invalidPropertyValue("historyPartitioningEnabled", String.valueOf(historyPartitioningEnabled),
+          String.format("History partitioning requires the history cleanup strategy '%s'.", HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED));
+    }
+
+    if (historyPartitionLookAheadDays < 1) {
+      throw LOG.invalidPropertyValue("historyPartitionLookAheadDays", String.valueOf(historyPartitionLookAheadDays),
+          "History partition look ahead days must be positive.");
+    }
+
+    if (historyPartitionMaxLookAheadDays < 1) {
+      throw LOG.invalidPropertyValue("historyPartitionMaxLookAheadDays", String.valueOf(historyPartitionMaxLookAheadDays),
+          "History partition max look ahead days must be positive.");
+    }
+
     if (historyCleanupBatchThreshold < 0) {
       throw LOG.invalidPropertyValue("historyCleanupBatchThreshold", String.valueOf(historyCleanupBatchThreshold),
           "History cleanup batch threshold cannot be negative.");
@@ -1523,6 +1706,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initCommandExecutors() {
     initActualCommandExecutor();
+    initCommandMetrics();
     initCommandInterceptorsTxRequired();
     initCommandExecutorTxRequired();
     initCommandInterceptorsTxRequiresNew();
@@ -1534,6 +1718,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     actualCommandExecutor = new CommandExecutorImpl();
   }
 
+  protected void initCommandMetrics() {
+    if (commandMetricsEnabled && commandMetricsRegistry == null) {
+      commandMetricsRegistry = new CommandMetricsRegistry();
+    }
+  }
+
   protected void initCommandInterceptorsTxRequired() {
     if (commandInterceptorsTxRequired == null) {
       if (customPreCommandInterceptorsTxRequired != null) {
@@ -1541,6 +1731,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         commandInterceptorsTxRequired = new ArrayList<>();
       }
+      if (commandMetricsRegistry != null) {
+        commandInterceptorsTxRequired.add(0, new CommandMetricsInterceptor(commandMetricsRegistry));
+      }
       commandInterceptorsTxRequired.addAll(getDefaultCommandInterceptorsTxRequired());
       if (customPostCommandInterceptorsTxRequired != null) {
         commandInterceptorsTxRequired.addAll(customPostCommandInterceptorsTxRequired);
@@ -1556,6 +1749,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         commandInterceptorsTxRequiresNew = new ArrayList<>();
       }
+      if (commandMetricsRegistry != null) {
+        commandInterceptorsTxRequiresNew.add(0, new CommandMetricsInterceptor(commandMetricsRegistry));
+      }
       commandInterceptorsTxRequiresNew.addAll(getDefaultCommandInterceptorsTxRequiresNew());
       if (customPostCommandInterceptorsTxRequiresNew != null) {
         commandInterceptorsTxRequiresNew.addAll(customPostCommandInterceptorsTxRequiresNew);
@@ -1876,6 +2072,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       properties.put("limitBetween", DbSqlSessionFactory.databaseSpecificLimitBetweenStatements.get(databaseType));
       properties.put("limitBetweenFilter", DbSqlSessionFactory.databaseSpecificLimitBetweenFilterStatements.get(databaseType));
       properties.put("limitBetweenAcquisition", DbSqlSessionFactory.databaseSpecificLimitBetweenAcquisitionStatements.get(databaseType));
+      properties.put("skipLocked", DbSqlSessionFactory.databaseSpecificSkipLockedStatements.get(databaseType));
       properties.put("orderBy", DbSqlSessionFactory.databaseSpecificOrderByStatements.get(databaseType));
       properties.put("limitBeforeNativeQuery", DbSqlSessionFactory.databaseSpecificLimitBeforeNativeQueryStatements.get(databaseType));
       properties.put("distinct", DbSqlSessionFactory.databaseSpecificDistinct.get(databaseType));
@@ -2010,6 +2207,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initJdbcBatchSize() {
+    if (jdbcBatchSize <= 0) {
+      throw LOG.invalidPropertyValue("jdbcBatchSize", String.valueOf(jdbcBatchSize),
+          "JDBC batch size must be positive.");
+    }
+  }
+
   protected void initPersistenceProviders() {
     ensurePrefixAndSchemaFitToegether(databaseTablePrefix, databaseSchema);
     dbSqlSessionFactory = new DbSqlSessionFactory(jdbcBatchProcessing);
@@ -2020,6 +2224,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDbHistoryUsed(isDbHistoryUsed);
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
+    dbSqlSessionFactory.setHistoryPartitioningEnabled(historyPartitioningEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
 
     //hack for the case when schema is defined via databaseTablePrefix parameter and not via databaseSchema parameter
@@ -2147,11 +2352,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
       initCacheFactory();
-      deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
+      deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity, getModelInstanceCacheFactory(), getEffectiveModelInstanceCacheCapacity());
       deploymentCache.setDeployers(deployers);
     }
   }
 
+  protected CacheFactory getModelInstanceCacheFactory() {
+    if (modelInstanceCacheSoftReferences) {
+      return new SoftReferenceCacheFactory(cacheFactory);
+    }
+    return cacheFactory;
+  }
+
+  protected int getEffectiveModelInstanceCacheCapacity() {
+    return modelInstanceCacheCapacity < 0 ? cacheCapacity : modelInstanceCacheCapacity;
+  }
+
   protected Collection<? extends Deployer> getDefaultDeployers() {
     List<Deployer> defaultDeployers = new ArrayList<>();
 
@@ -2369,6 +2585,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (jobExecutorPriorityRangeMin > batchJobPriority || jobExecutorPriorityRangeMax < batchJobPriority) {
       ProcessEngineLogger.JOB_EXECUTOR_LOGGER.infoJobExecutorDoesNotHandleBatchJobs(this);
     }
+
+    if (jobExecutorAcquireWithSkipLocked && !DbSqlSessionFactory.isSkipLockedSupported(databaseType)) {
+      ProcessEngineLogger.JOB_EXECUTOR_LOGGER.skipLockedAcquisitionNotSupported(databaseType);
+      jobExecutorAcquireWithSkipLocked = false;
+    }
   }
 
   protected void initJobProvider() {
@@ -2442,7 +2663,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator;
+      if (idGeneratorStripes > 0) {
+        StripedDbIdGenerator stripedDbIdGenerator = new StripedDbIdGenerator();
+        stripedDbIdGenerator.setStripes(idGeneratorStripes);
+        dbIdGenerator = stripedDbIdGenerator;
+      } else {
+        dbIdGenerator = new DbIdGenerator();
+      }
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -2484,6 +2712,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       if (metricsRegistry == null) {
         metricsRegistry = new MetricsRegistry();
+        metricsRegistry.setMaxSeriesPerMeter(metricsMaxSeriesPerMeter);
       }
 
       initDefaultMetrics(metricsRegistry);
@@ -2491,6 +2720,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       if (dbMetricsReporter == null) {
         dbMetricsReporter = new DbMetricsReporter(metricsRegistry, commandExecutorTxRequired);
       }
+
+      if (metricsSinkReporter == null && metricsSinks != null && !metricsSinks.isEmpty()) {
+        metricsSinkReporter = new MetricsSinkReporter(metricsRegistry, metricsSinks);
+      }
     }
   }
 
@@ -2519,6 +2752,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_INSTANCES);
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    if (dbEntitySecondLevelCache != null) {
+      metricsRegistry.createDbMeter(Metrics.ENTITY_CACHE_HIT);
+      metricsRegistry.createDbMeter(Metrics.ENTITY_CACHE_MISS);
+    }
+
+    if (idGenerator instanceof StripedDbIdGenerator) {
+      metricsRegistry.createDbMeter(Metrics.ID_BLOCK_FETCH);
+      metricsRegistry.createDbMeter(Metrics.ID_BLOCK_SYNCHRONOUS_FETCH);
+      metricsRegistry.createDbMeter(Metrics.ID_BLOCK_PREFETCH_USED);
+      metricsRegistry.createDbMeter(Metrics.ID_BLOCK_CONTENTION);
+      ((StripedDbIdGenerator) idGenerator).setMetricsRegistry(metricsRegistry);
+    }
   }
 
   protected void initSerialization() {
@@ -2809,11 +3055,34 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if (historyEventHandler == null) {
-      if (enableDefaultDbHistoryEventHandler) {
-        historyEventHandler = new CompositeDbHistoryEventHandler(customHistoryEventHandlers);
+      CompositeHistoryEventHandler compositeHistoryEventHandler;
+      if (enableDefaultDbHistoryEventHandler && asyncHistoryEventHandlerEnabled) {
+        if (asyncDbHistoryEventHandler == null) {
+          asyncDbHistoryEventHandler = new AsyncDbHistoryEventHandler();
+          asyncDbHistoryEventHandler.setQueueCapacity(asyncHistoryEventQueueCapacity);
+          asyncDbHistoryEventHandler.setBatchSize(asyncHistoryEventBatchSize);
+          asyncDbHistoryEventHandler.setFlushIntervalInMillis(asyncHistoryEventFlushIntervalInMillis);
+        }
+        compositeHistoryEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
+        compositeHistoryEventHandler.add(asyncDbHistoryEventHandler);
+      } else if (enableDefaultDbHistoryEventHandler) {
+        compositeHistoryEventHandler = new CompositeDbHistoryEventHandler(customHistoryEventHandlers);
       } else {
-        historyEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
+        compositeHistoryEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
       }
+
+      if (historyEventLogHandler == null && historyEventLogDirectory != null) {
+        HistoryEventLogWriter historyEventLogWriter = new HistoryEventLogWriter(new File(historyEventLogDirectory));
+        historyEventLogWriter.setSegmentSize(historyEventLogSegmentSize);
+        historyEventLogWriter.setSyncBatchSize(historyEventLogSyncBatchSize);
+        historyEventLogWriter.setSyncIntervalInMillis(historyEventLogSyncIntervalInMillis);
+        historyEventLogHandler = new HistoryEventLogHandler(historyEventLogWriter);
+      }
+      if (historyEventLogHandler != null) {
+        compositeHistoryEventHandler.add(historyEventLogHandler);
+      }
+
+      historyEventHandler = compositeHistoryEventHandler;
     }
   }
 
@@ -2846,6 +3115,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  // second level entity cache //////////////////////////////////////////////
+
+  protected void initDbEntitySecondLevelCache() {
+    if (dbEntitySecondLevelCacheEnabled && dbEntitySecondLevelCache == null) {
+      if (dbEntitySecondLevelCacheTypes == null) {
+        dbEntitySecondLevelCacheTypes = Collections.singletonList(JobDefinitionEntity.class);
+      }
+
+      dbEntitySecondLevelCache = new DbEntitySecondLevelCache(dbEntitySecondLevelCacheTypes);
+      dbEntitySecondLevelCache.setTimeToLive(dbEntitySecondLevelCacheTimeToLive);
+      dbEntitySecondLevelCache.setMaxSize(dbEntitySecondLevelCacheMaxSize);
+    }
+  }
+
   // cache factory //////////////////////////////////////////////////////////
 
   protected void initCacheFactory() {
@@ -3213,6 +3496,41 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isJobExecutorAcquireWithSkipLocked() {
+    return jobExecutorAcquireWithSkipLocked;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquireWithSkipLocked(boolean jobExecutorAcquireWithSkipLocked) {
+    this.jobExecutorAcquireWithSkipLocked = jobExecutorAcquireWithSkipLocked;
+    return this;
+  }
+
+  public List<String> getJobExecutorBatchedJobDefinitions() {
+    return jobExecutorBatchedJobDefinitions;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorBatchedJobDefinitions(List<String> jobExecutorBatchedJobDefinitions) {
+    this.jobExecutorBatchedJobDefinitions = jobExecutorBatchedJobDefinitions;
+    return this;
+  }
+
+  public int getJobExecutorBatchSize() {
+    return jobExecutorBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorBatchSize(int jobExecutorBatchSize) {
+    this.jobExecutorBatchSize = jobExecutorBatchSize;
+    return this;
+  }
+
+  public boolean isJobExecutorBatchingEnabled() {
+    return jobExecutorBatchSize > 1 && jobExecutorBatchedJobDefinitions != null && !jobExecutorBatchedJobDefinitions.isEmpty();
+  }
+
+  public boolean isJobExecutorBatchedJobDefinition(String processDefinitionKey, String activityId) {
+    return isJobExecutorBatchingEnabled() && jobExecutorBatchedJobDefinitions.contains(processDefinitionKey + ":" + activityId);
+  }
+
   public PriorityProvider<ExternalTaskActivityBehavior> getExternalTaskPriorityProvider() {
     return externalTaskPriorityProvider;
   }
@@ -3375,6 +3693,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheCapacity = cacheCapacity;
   }
 
+  public int getModelInstanceCacheCapacity() {
+    return modelInstanceCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setModelInstanceCacheCapacity(int modelInstanceCacheCapacity) {
+    this.modelInstanceCacheCapacity = modelInstanceCacheCapacity;
+    return this;
+  }
+
+  public boolean isModelInstanceCacheSoftReferences() {
+    return modelInstanceCacheSoftReferences;
+  }
+
+  public ProcessEngineConfigurationImpl setModelInstanceCacheSoftReferences(boolean modelInstanceCacheSoftReferences) {
+    this.modelInstanceCacheSoftReferences = modelInstanceCacheSoftReferences;
+    return this;
+  }
+
   public void setEnableFetchProcessDefinitionDescription(boolean enableFetchProcessDefinitionDescription){
     this.enableFetchProcessDefinitionDescription = enableFetchProcessDefinitionDescription;
   }
@@ -3883,6 +4219,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public int getIdGeneratorStripes() {
+    return idGeneratorStripes;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorStripes(int idGeneratorStripes) {
+    this.idGeneratorStripes = idGeneratorStripes;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3932,6 +4277,96 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableDefaultDbHistoryEventHandler = enableDefaultDbHistoryEventHandler;
   }
 
+  public String getHistoryEventLogDirectory() {
+    return historyEventLogDirectory;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventLogDirectory(String historyEventLogDirectory) {
+    this.historyEventLogDirectory = historyEventLogDirectory;
+    return this;
+  }
+
+  public HistoryEventLogHandler getHistoryEventLogHandler() {
+    return historyEventLogHandler;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventLogHandler(HistoryEventLogHandler historyEventLogHandler) {
+    this.historyEventLogHandler = historyEventLogHandler;
+    return this;
+  }
+
+  public int getHistoryEventLogSegmentSize() {
+    return historyEventLogSegmentSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventLogSegmentSize(int historyEventLogSegmentSize) {
+    this.historyEventLogSegmentSize = historyEventLogSegmentSize;
+    return this;
+  }
+
+  public int getHistoryEventLogSyncBatchSize() {
+    return historyEventLogSyncBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventLogSyncBatchSize(int historyEventLogSyncBatchSize) {
+    this.historyEventLogSyncBatchSize = historyEventLogSyncBatchSize;
+    return this;
+  }
+
+  public long getHistoryEventLogSyncIntervalInMillis() {
+    return historyEventLogSyncIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventLogSyncIntervalInMillis(long historyEventLogSyncIntervalInMillis) {
+    this.historyEventLogSyncIntervalInMillis = historyEventLogSyncIntervalInMillis;
+    return this;
+  }
+
+  public boolean isAsyncHistoryEventHandlerEnabled() {
+    return asyncHistoryEventHandlerEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventHandlerEnabled(boolean asyncHistoryEventHandlerEnabled) {
+    this.asyncHistoryEventHandlerEnabled = asyncHistoryEventHandlerEnabled;
+    return this;
+  }
+
+  public AsyncDbHistoryEventHandler getAsyncDbHistoryEventHandler() {
+    return asyncDbHistoryEventHandler;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncDbHistoryEventHandler(AsyncDbHistoryEventHandler asyncDbHistoryEventHandler) {
+    this.asyncDbHistoryEventHandler = asyncDbHistoryEventHandler;
+    return this;
+  }
+
+  public int getAsyncHistoryEventQueueCapacity() {
+    return asyncHistoryEventQueueCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventQueueCapacity(int asyncHistoryEventQueueCapacity) {
+    this.asyncHistoryEventQueueCapacity = asyncHistoryEventQueueCapacity;
+    return this;
+  }
+
+  public int getAsyncHistoryEventBatchSize() {
+    return asyncHistoryEventBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventBatchSize(int asyncHistoryEventBatchSize) {
+    this.asyncHistoryEventBatchSize = asyncHistoryEventBatchSize;
+    return this;
+  }
+
+  public long getAsyncHistoryEventFlushIntervalInMillis() {
+    return asyncHistoryEventFlushIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventFlushIntervalInMillis(long asyncHistoryEventFlushIntervalInMillis) {
+    this.asyncHistoryEventFlushIntervalInMillis = asyncHistoryEventFlushIntervalInMillis;
+    return this;
+  }
+
   public List<HistoryEventHandler> getCustomHistoryEventHandlers() {
     return customHistoryEventHandlers;
   }
@@ -4380,6 +4815,69 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getJdbcBatchSize() {
+    return jdbcBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchSize(int jdbcBatchSize) {
+    this.jdbcBatchSize = jdbcBatchSize;
+    return this;
+  }
+
+  public boolean isDbEntitySecondLevelCacheEnabled() {
+    return dbEntitySecondLevelCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntitySecondLevelCacheEnabled(boolean dbEntitySecondLevelCacheEnabled) {
+    this.dbEntitySecondLevelCacheEnabled = dbEntitySecondLevelCacheEnabled;
+    return this;
+  }
+
+  public DbEntitySecondLevelCache getDbEntitySecondLevelCache() {
+    return dbEntitySecondLevelCache;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntitySecondLevelCache(DbEntitySecondLevelCache dbEntitySecondLevelCache) {
+    this.dbEntitySecondLevelCache = dbEntitySecondLevelCache;
+    return this;
+  }
+
+  public List<Class<? extends DbEntity>> getDbEntitySecondLevelCacheTypes() {
+    return dbEntitySecondLevelCacheTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntitySecondLevelCacheTypes(List<Class<? extends DbEntity>> dbEntitySecondLevelCacheTypes) {
+    this.dbEntitySecondLevelCacheTypes = dbEntitySecondLevelCacheTypes;
+    return this;
+  }
+
+  public long getDbEntitySecondLevelCacheTimeToLive() {
+    return dbEntitySecondLevelCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntitySecondLevelCacheTimeToLive(long dbEntitySecondLevelCacheTimeToLive) {
+    this.dbEntitySecondLevelCacheTimeToLive = dbEntitySecondLevelCacheTimeToLive;
+    return this;
+  }
+
+  public int getDbEntitySecondLevelCacheMaxSize() {
+    return dbEntitySecondLevelCacheMaxSize;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntitySecondLevelCacheMaxSize(int dbEntitySecondLevelCacheMaxSize) {
+    this.dbEntitySecondLevelCacheMaxSize = dbEntitySecondLevelCacheMaxSize;
+    return this;
+  }
+
+  public boolean isJdbcBatchStatementGrouping() {
+    return jdbcBatchStatementGrouping;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchStatementGrouping(boolean jdbcBatchStatementGrouping) {
+    this.jdbcBatchStatementGrouping = jdbcBatchStatementGrouping;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -4447,6 +4945,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isCommandMetricsEnabled() {
+    return commandMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsEnabled(boolean commandMetricsEnabled) {
+    this.commandMetricsEnabled = commandMetricsEnabled;
+    return this;
+  }
+
+  public CommandMetricsRegistry getCommandMetricsRegistry() {
+    return commandMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsRegistry(CommandMetricsRegistry commandMetricsRegistry) {
+    this.commandMetricsRegistry = commandMetricsRegistry;
+    return this;
+  }
+
+  public int getMetricsMaxSeriesPerMeter() {
+    return metricsMaxSeriesPerMeter;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsMaxSeriesPerMeter(int metricsMaxSeriesPerMeter) {
+    this.metricsMaxSeriesPerMeter = metricsMaxSeriesPerMeter;
+    return this;
+  }
+
+  public List<MetricsSink> getMetricsSinks() {
+    return metricsSinks;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsSinks(List<MetricsSink> metricsSinks) {
+    this.metricsSinks = metricsSinks;
+    return this;
+  }
+
+  public MetricsSinkReporter getMetricsSinkReporter() {
+    return metricsSinkReporter;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsSinkReporter(MetricsSinkReporter metricsSinkReporter) {
+    this.metricsSinkReporter = metricsSinkReporter;
+    return this;
+  }
+
   public boolean isDbMetricsReporterActivate() {
     return isDbMetricsReporterActivate;
   }
@@ -4941,6 +5484,69 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.historyCleanupMetricsEnabled = historyCleanupMetricsEnabled;
   }
 
+  public boolean isHistoryCleanupAdaptiveBatchSizeEnabled() {
+    return historyCleanupAdaptiveBatchSizeEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupAdaptiveBatchSizeEnabled(boolean historyCleanupAdaptiveBatchSizeEnabled) {
+    this.historyCleanupAdaptiveBatchSizeEnabled = historyCleanupAdaptiveBatchSizeEnabled;
+    return this;
+  }
+
+  public int getHistoryCleanupMaxBatchSize() {
+    return historyCleanupMaxBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupMaxBatchSize(int historyCleanupMaxBatchSize) {
+    this.historyCleanupMaxBatchSize = historyCleanupMaxBatchSize;
+    return this;
+  }
+
+  public long getHistoryCleanupTargetBatchDuration() {
+    return historyCleanupTargetBatchDuration;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupTargetBatchDuration(long historyCleanupTargetBatchDuration) {
+    this.historyCleanupTargetBatchDuration = historyCleanupTargetBatchDuration;
+    return this;
+  }
+
+  public boolean isHistoryCleanupTableMetricsEnabled() {
+    return historyCleanupTableMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupTableMetricsEnabled(boolean historyCleanupTableMetricsEnabled) {
+    this.historyCleanupTableMetricsEnabled = historyCleanupTableMetricsEnabled;
+    return this;
+  }
+
+  public boolean isHistoryPartitioningEnabled() {
+    return historyPartitioningEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitioningEnabled(boolean historyPartitioningEnabled) {
+    this.historyPartitioningEnabled = historyPartitioningEnabled;
+    return this;
+  }
+
+  public int getHistoryPartitionLookAheadDays() {
+    return historyPartitionLookAheadDays;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitionLookAheadDays(int historyPartitionLookAheadDays) {
+    this.historyPartitionLookAheadDays = historyPartitionLookAheadDays;
+    return this;
+  }
+
+  public int getHistoryPartitionMaxLookAheadDays() {
+    return historyPartitionMaxLookAheadDays;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryPartitionMaxLookAheadDays(int historyPartitionMaxLookAheadDays) {
+    this.historyPartitionMaxLookAheadDays = historyPartitionMaxLookAheadDays;
+    return this;
+  }
+
   public boolean isHistoryCleanupEnabled() {
     return historyCleanupEnabled;
   }
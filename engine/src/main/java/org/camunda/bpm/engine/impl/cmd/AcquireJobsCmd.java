@@ -20,10 +20,13 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingResult;
@@ -34,6 +37,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 
@@ -66,6 +70,8 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
       .findNextJobsToExecute(new Page(0, numJobsToAcquire));
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
+    List<String> batchedJobs = new ArrayList<String>();
+    Set<String> batchedJobDefinitionIds = findBatchedJobDefinitionIds(commandContext, jobs);
 
     for (AcquirableJobEntity job : jobs) {
 
@@ -79,6 +85,9 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
         }
         list.add(job.getId());
       }
+      else if (batchedJobDefinitionIds.contains(job.getJobDefinitionId())) {
+        batchedJobs.add(job.getId());
+      }
       else {
         acquiredJobs.addJobIdBatch(job.getId());
       }
@@ -88,6 +97,13 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
       acquiredJobs.addJobIdBatch(jobIds);
     }
 
+    // non-exclusive jobs of batched job definitions are handed to the same
+    // thread, such that they can be executed in one transaction
+    int batchSize = commandContext.getProcessEngineConfiguration().getJobExecutorBatchSize();
+    for (int i = 0; i < batchedJobs.size(); i += batchSize) {
+      acquiredJobs.addJobIdBatch(new ArrayList<String>(batchedJobs.subList(i, Math.min(i + batchSize, batchedJobs.size()))));
+    }
+
     // register an OptimisticLockingListener which is notified about jobs which cannot be acquired.
     // the listener removes them from the list of acquired jobs.
     commandContext
@@ -117,6 +133,40 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return true;
   }
 
+  /**
+   * Loads the job definitions of the acquired non-exclusive jobs with a single query
+   * and returns the ids of those that are configured to be executed in batches.
+   */
+  protected Set<String> findBatchedJobDefinitionIds(CommandContext commandContext, List<AcquirableJobEntity> jobs) {
+    Set<String> batchedJobDefinitionIds = new HashSet<String>();
+
+    ProcessEngineConfigurationImpl engineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!engineConfiguration.isJobExecutorBatchingEnabled()) {
+      return batchedJobDefinitionIds;
+    }
+
+    Set<String> jobDefinitionIds = new HashSet<String>();
+    for (AcquirableJobEntity job : jobs) {
+      if (!job.isExclusive() && job.getJobDefinitionId() != null) {
+        jobDefinitionIds.add(job.getJobDefinitionId());
+      }
+    }
+
+    if (!jobDefinitionIds.isEmpty()) {
+      List<JobDefinitionEntity> jobDefinitions = commandContext
+        .getJobDefinitionManager()
+        .findByIds(new ArrayList<String>(jobDefinitionIds));
+
+      for (JobDefinitionEntity jobDefinition : jobDefinitions) {
+        if (engineConfiguration.isJobExecutorBatchedJobDefinition(jobDefinition.getProcessDefinitionKey(), jobDefinition.getActivityId())) {
+          batchedJobDefinitionIds.add(jobDefinition.getId());
+        }
+      }
+    }
+
+    return batchedJobDefinitionIds;
+  }
+
   protected void lockJob(AcquirableJobEntity job) {
     String lockOwner = jobExecutor.getLockOwner();
     job.setLockOwner(lockOwner);
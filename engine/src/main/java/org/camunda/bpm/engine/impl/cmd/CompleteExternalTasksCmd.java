@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Completes multiple external tasks of one worker within a single command context,
+ * such that they are flushed together.
+ */
+public class CompleteExternalTasksCmd implements Command<Void> {
+
+  protected String workerId;
+  protected List<CompleteExternalTaskCmd> completions;
+
+  public CompleteExternalTasksCmd(String workerId, List<CompleteExternalTaskCmd> completions) {
+    this.workerId = workerId;
+    this.completions = completions;
+  }
+
+  @Override
+  public Void execute(CommandContext commandContext) {
+    ensureNotNull("workerId", workerId);
+    ensureNotEmpty("completions", completions);
+
+    for (CompleteExternalTaskCmd completion : completions) {
+      completion.execute(commandContext);
+    }
+
+    return null;
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobFailureCollector;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Executes several non-exclusive jobs of batched job definitions in one transaction.
+ * Jobs that are not eligible for batching are skipped and have to be executed
+ * by {@link ExecuteJobsCmd} afterwards.
+ *
+ * <p>If one of the jobs fails, the whole command fails and none of the jobs is
+ * considered executed. The caller is expected to execute them one by one then.</p>
+ *
+ * @see ProcessEngineConfigurationImpl#getJobExecutorBatchedJobDefinitions()
+ */
+public class ExecuteJobBatchCmd implements Command<List<JobFailureCollector>> {
+
+  protected List<String> jobIds;
+
+  public ExecuteJobBatchCmd(List<String> jobIds) {
+    this.jobIds = jobIds;
+  }
+
+  /**
+   * @return the collectors of the executed jobs
+   */
+  @Override
+  public List<JobFailureCollector> execute(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl engineConfiguration = commandContext.getProcessEngineConfiguration();
+    List<JobFailureCollector> executedJobs = new ArrayList<>();
+
+    for (String jobId : jobIds) {
+      if (executedJobs.size() >= engineConfiguration.getJobExecutorBatchSize()) {
+        break;
+      }
+
+      JobEntity job = commandContext.getJobManager().findJobById(jobId);
+      if (!isBatchable(engineConfiguration, job)) {
+        if (executedJobs.isEmpty()) {
+          // not a batch of jobs, e.g. exclusive jobs of a process instance
+          return executedJobs;
+        }
+        continue;
+      }
+
+      JobFailureCollector jobFailureCollector = new JobFailureCollector(jobId);
+      new ExecuteJobsCmd(jobId, jobFailureCollector).execute(commandContext);
+      executedJobs.add(jobFailureCollector);
+    }
+
+    return executedJobs;
+  }
+
+  protected boolean isBatchable(ProcessEngineConfigurationImpl engineConfiguration, JobEntity job) {
+    return job != null
+        && !job.isExclusive()
+        && engineConfiguration.isJobExecutorBatchedJobDefinition(job.getProcessDefinitionKey(), job.getActivityId());
+  }
+
+}
@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandInvocationContext;
+import org.camunda.bpm.engine.impl.metrics.CommandInvocationMetrics;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 
@@ -43,6 +44,7 @@ public class Context {
 
   protected static ThreadLocal<Deque<CommandContext>> commandContextThreadLocal = new ThreadLocal<Deque<CommandContext>>();
   protected static ThreadLocal<Deque<CommandInvocationContext>> commandInvocationContextThreadLocal = new ThreadLocal<Deque<CommandInvocationContext>>();
+  protected static ThreadLocal<Deque<CommandInvocationMetrics>> commandInvocationMetricsThreadLocal = new ThreadLocal<Deque<CommandInvocationMetrics>>();
 
   protected static ThreadLocal<Deque<ProcessEngineConfigurationImpl>> processEngineConfigurationStackThreadLocal = new ThreadLocal<Deque<ProcessEngineConfigurationImpl>>();
   protected static ThreadLocal<Deque<CoreExecutionContext<? extends CoreExecution>>> executionContextStackThreadLocal = new ThreadLocal<Deque<CoreExecutionContext<? extends CoreExecution>>>();
@@ -91,6 +93,22 @@ public class Context {
     }
   }
 
+  public static CommandInvocationMetrics getCommandInvocationMetrics() {
+    Deque<CommandInvocationMetrics> stack = getStack(commandInvocationMetricsThreadLocal);
+    if (stack.isEmpty()) {
+      return null;
+    }
+    return stack.peek();
+  }
+
+  public static void setCommandInvocationMetrics(CommandInvocationMetrics commandInvocationMetrics) {
+    getStack(commandInvocationMetricsThreadLocal).push(commandInvocationMetrics);
+  }
+
+  public static void removeCommandInvocationMetrics() {
+    getStack(commandInvocationMetricsThreadLocal).pop();
+  }
+
   public static ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     Deque<ProcessEngineConfigurationImpl> stack = getStack(processEngineConfigurationStackThreadLocal);
     if (stack.isEmpty()) {
@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.db;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
@@ -32,23 +34,36 @@ public class DbIdGenerator implements IdGenerator {
 
   protected CommandExecutor commandExecutor;
 
+  // a lock instead of a monitor, so that fetching a block on a virtual thread does not pin its carrier thread
+  protected final ReentrantLock lock = new ReentrantLock();
+
   public DbIdGenerator() {
     reset();
   }
 
-  public synchronized String getNextId() {
-    if (lastId<nextId) {
-      getNewBlock();
+  public String getNextId() {
+    lock.lock();
+    try {
+      if (lastId<nextId) {
+        getNewBlock();
+      }
+      long _nextId = nextId++;
+      return Long.toString(_nextId);
+    } finally {
+      lock.unlock();
     }
-    long _nextId = nextId++;
-    return Long.toString(_nextId);
   }
 
-  protected synchronized void getNewBlock() {
-    // TODO http://jira.codehaus.org/browse/ACT-45 use a separate 'requiresNew' command executor
-    IdBlock idBlock = commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
-    this.nextId = idBlock.getNextId();
-    this.lastId = idBlock.getLastId();
+  protected void getNewBlock() {
+    lock.lock();
+    try {
+      // TODO http://jira.codehaus.org/browse/ACT-45 use a separate 'requiresNew' command executor
+      IdBlock idBlock = commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
+      this.nextId = idBlock.getNextId();
+      this.lastId = idBlock.getLastId();
+    } finally {
+      lock.unlock();
+    }
   }
 
   public int getIdBlockSize() {
@@ -37,6 +37,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
@@ -872,6 +873,133 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
 
   // exception code 110 is already taken. See requiredCamundaAdminOrPermissionException() for details.
 
+  public void idBlockPrefetchFailed(Exception exception) {
+    logWarn(
+      "111",
+      "Exception while prefetching the next block of ids. The block is fetched on demand instead: {}",
+      exception.getMessage(),
+      exception);
+  }
+
+  public void couldNotCacheEntityInSecondLevelCache(DbEntity entity, Exception exception) {
+    logDebug(
+      "112",
+      "Could not cache entity {} in the second level cache: {}",
+      entity,
+      exception.getMessage(),
+      exception);
+  }
+
+  public void couldNotReadEntityFromSecondLevelCache(Exception exception) {
+    logDebug(
+      "113",
+      "Could not read entity from the second level cache. Loading it from the database instead: {}",
+      exception.getMessage(),
+      exception);
+  }
+
+  public void couldNotWriteHistoryEventBatch(int numberOfEvents, Exception exception) {
+    logWarn(
+      "114",
+      "Could not write a batch of {} history events. Writing the events one by one instead: {}",
+      numberOfEvents,
+      exception.getMessage(),
+      exception);
+  }
+
+  public void couldNotWriteHistoryEvent(HistoryEvent historyEvent, Exception exception) {
+    logError(
+      "115",
+      "Could not write history event {}. The event is discarded: {}",
+      historyEvent,
+      exception.getMessage(),
+      exception);
+  }
+
+  public void interruptedWhileQueueingHistoryEvents(int numberOfEvents) {
+    logWarn(
+      "116",
+      "Interrupted while waiting for free capacity in the history event queue. Writing {} history events synchronously instead",
+      numberOfEvents);
+  }
+
+  public ProcessEngineException historyEventLogException(String action, String file, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+      "117",
+      "Could not {} history event log segment '{}': {}",
+      action,
+      file,
+      cause.getMessage()),
+      cause);
+  }
+
+  public void couldNotAppendHistoryEvent(HistoryEvent historyEvent, Exception exception) {
+    logError(
+      "118",
+      "Could not append history event {} to the history event log. The event is discarded: {}",
+      historyEvent,
+      exception.getMessage(),
+      exception);
+  }
+
+  public void historyEventTooLargeForLogSegment(HistoryEvent historyEvent, int size, int segmentSize) {
+    logError(
+      "119",
+      "History event {} has a serialized size of {} bytes and does not fit into a history event log segment of {} bytes. The event is discarded",
+      historyEvent,
+      size,
+      segmentSize);
+  }
+
+  public void corruptHistoryEventLogRecord(String file, int position) {
+    logWarn(
+      "120",
+      "Found a corrupt record at position {} of history event log segment '{}'. Skipping the rest of the segment",
+      position,
+      file);
+  }
+
+  public void droppedHistoryPartition(String partitionName) {
+    logInfo(
+      "121",
+      "Dropped expired history partition '{}'",
+      partitionName);
+  }
+
+  public void skippedHistoryPartition(String partitionName, String defaultPartitionName) {
+    logDebug(
+      "122",
+      "Did not create history partition '{}' because the default partition '{}' already contains rows of its range",
+      partitionName,
+      defaultPartitionName);
+  }
+
+  public ProcessEngineException historyPartitionException(String tableName, SQLException cause) {
+    return new ProcessEngineException(exceptionMessage(
+      "123",
+      "Could not manage the partitions of history table '{}': {}",
+      tableName,
+      cause.getMessage()),
+      cause);
+  }
+
+  public void couldNotSyncHistoryEventLog(Exception exception) {
+    logError(
+      "124",
+      "Could not sync the history event log: {}",
+      exception.getMessage(),
+      exception);
+  }
+
+  public ProcessEngineException unsupportedHistoryEventLogFormatVersion(String file, int version, int supportedVersion) {
+    return new ProcessEngineException(exceptionMessage(
+      "125",
+      "History event log segment '{}' has format version {}, but only version {} is supported. Replay it with the engine version that wrote it",
+      file,
+      version,
+      supportedVersion));
+  }
+
   public static List<SQLException> findRelatedSqlExceptions(Throwable exception) {
     List<SQLException> sqlExceptionList = new ArrayList<>();
     Throwable cause = exception;
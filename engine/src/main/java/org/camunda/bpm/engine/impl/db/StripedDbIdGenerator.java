@@ -0,0 +1,289 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>{@link DbIdGenerator} that hands out ids without a global monitor.</p>
+ *
+ * <p>Ids are taken from a number of stripes, each holding its own {@link IdBlock}. A thread
+ * always draws from the stripe its thread id maps to, so concurrent callers rarely touch
+ * the same counter. Once the ids of a stripe's block drop to the low-water mark, the next
+ * block is fetched in the background so that a stripe running dry can usually swap in a
+ * prefetched block instead of waiting for a round trip to the database.</p>
+ *
+ * <p>Ids are unique, but not monotonically increasing across threads. The background
+ * thread is stopped by {@link #close()} when the process engine is closed.</p>
+ */
+public class StripedDbIdGenerator extends DbIdGenerator {
+
+  private final static EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected int stripes = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Fraction of a block that is left when the next block is prefetched.
+   */
+  protected double lowWaterMark = 0.2;
+
+  protected AtomicReferenceArray<IdRange> ranges;
+  protected Queue<IdBlock> prefetchedBlocks = new ConcurrentLinkedQueue<>();
+  protected AtomicBoolean prefetchInProgress = new AtomicBoolean(false);
+  protected AtomicLong generation = new AtomicLong();
+  protected ThreadPoolExecutor prefetchExecutor;
+  protected volatile boolean closed = false;
+
+  // metrics
+  protected LongAdder blockFetches = new LongAdder();
+  protected LongAdder prefetchedBlocksUsed = new LongAdder();
+  protected LongAdder synchronousBlockFetches = new LongAdder();
+  protected LongAdder contentions = new LongAdder();
+  protected MetricsRegistry metricsRegistry;
+
+  public String getNextId() {
+    AtomicReferenceArray<IdRange> ranges = getRanges();
+    int stripe = (int) (Thread.currentThread().getId() % ranges.length());
+
+    while (true) {
+      IdRange range = ranges.get(stripe);
+      long id = range.nextId.getAndIncrement();
+
+      if (id <= range.lastId) {
+        if (id == range.prefetchId) {
+          prefetchBlock();
+        }
+        return Long.toString(id);
+      }
+
+      IdBlock idBlock = claimBlock();
+      if (!ranges.compareAndSet(stripe, range, new IdRange(idBlock, lowWaterMark))) {
+        // another thread has refilled the stripe meanwhile; keep the block for later
+        markOccurrence(contentions, Metrics.ID_BLOCK_CONTENTION);
+        prefetchedBlocks.offer(idBlock);
+      }
+    }
+  }
+
+  protected void getNewBlock() {
+    // blocks are managed per stripe, see #claimBlock()
+  }
+
+  protected IdBlock claimBlock() {
+    IdBlock idBlock = prefetchedBlocks.poll();
+    if (idBlock != null) {
+      markOccurrence(prefetchedBlocksUsed, Metrics.ID_BLOCK_PREFETCH_USED);
+      return idBlock;
+    }
+
+    markOccurrence(synchronousBlockFetches, Metrics.ID_BLOCK_SYNCHRONOUS_FETCH);
+    return fetchBlock();
+  }
+
+  protected IdBlock fetchBlock() {
+    IdBlock idBlock = commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
+    markOccurrence(blockFetches, Metrics.ID_BLOCK_FETCH);
+    return idBlock;
+  }
+
+  protected void markOccurrence(LongAdder counter, String metric) {
+    counter.increment();
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(metric);
+    }
+  }
+
+  protected void prefetchBlock() {
+    if (closed || prefetchedBlocks.size() >= stripes || !prefetchInProgress.compareAndSet(false, true)) {
+      return;
+    }
+
+    final long prefetchGeneration = generation.get();
+    try {
+      getPrefetchExecutor().execute(() -> {
+        try {
+          IdBlock idBlock = fetchBlock();
+          // blocks fetched before a reset must not be used anymore
+          if (prefetchGeneration == generation.get()) {
+            prefetchedBlocks.offer(idBlock);
+          }
+        } catch (RuntimeException e) {
+          LOG.idBlockPrefetchFailed(e);
+        } finally {
+          prefetchInProgress.set(false);
+        }
+      });
+    } catch (RuntimeException e) {
+      prefetchInProgress.set(false);
+      LOG.idBlockPrefetchFailed(e);
+    }
+  }
+
+  protected AtomicReferenceArray<IdRange> getRanges() {
+    AtomicReferenceArray<IdRange> currentRanges = ranges;
+    if (currentRanges == null) {
+      synchronized (this) {
+        if (ranges == null) {
+          ranges = createRanges();
+        }
+        currentRanges = ranges;
+      }
+    }
+    return currentRanges;
+  }
+
+  protected AtomicReferenceArray<IdRange> createRanges() {
+    AtomicReferenceArray<IdRange> newRanges = new AtomicReferenceArray<>(Math.max(1, stripes));
+    for (int i = 0; i < newRanges.length(); i++) {
+      newRanges.set(i, new IdRange());
+    }
+    return newRanges;
+  }
+
+  protected synchronized ThreadPoolExecutor getPrefetchExecutor() {
+    if (prefetchExecutor == null) {
+      prefetchExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "camunda-id-block-prefetch");
+        thread.setDaemon(true);
+        return thread;
+      });
+      prefetchExecutor.allowCoreThreadTimeOut(true);
+    }
+    return prefetchExecutor;
+  }
+
+  /**
+   * Stops the background thread that prefetches blocks. Ids are still generated
+   * afterwards, fetching blocks on demand.
+   */
+  public synchronized void close() {
+    closed = true;
+    if (prefetchExecutor != null) {
+      prefetchExecutor.shutdownNow();
+      prefetchExecutor = null;
+    }
+  }
+
+  /**
+   * Reset inner state so that the generator fetches new blocks of IDs from the database
+   * when the next ID generation requests are received.
+   */
+  public void reset() {
+    super.reset();
+    if (generation != null) {
+      generation.incrementAndGet();
+      prefetchedBlocks.clear();
+      ranges = null;
+    }
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getStripes() {
+    return stripes;
+  }
+
+  public void setStripes(int stripes) {
+    this.stripes = stripes;
+    this.ranges = null;
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  /**
+   * Fetched blocks and contention are additionally counted by the given registry.
+   */
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public double getLowWaterMark() {
+    return lowWaterMark;
+  }
+
+  public void setLowWaterMark(double lowWaterMark) {
+    this.lowWaterMark = lowWaterMark;
+  }
+
+  /**
+   * @return the number of id blocks fetched from the database
+   */
+  public long getBlockFetches() {
+    return blockFetches.sum();
+  }
+
+  /**
+   * @return the number of times a stripe was refilled from a prefetched block
+   */
+  public long getPrefetchedBlocksUsed() {
+    return prefetchedBlocksUsed.sum();
+  }
+
+  /**
+   * @return the number of times a thread had to wait for a block to be fetched
+   */
+  public long getSynchronousBlockFetches() {
+    return synchronousBlockFetches.sum();
+  }
+
+  /**
+   * @return the number of times two threads refilled the same stripe concurrently
+   */
+  public long getContentions() {
+    return contentions.sum();
+  }
+
+  /**
+   * The ids of a block that are handed out by one stripe.
+   */
+  protected static class IdRange {
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+    protected final long prefetchId;
+
+    protected IdRange() {
+      this.nextId = new AtomicLong(0);
+      this.lastId = -1;
+      this.prefetchId = -1;
+    }
+
+    protected IdRange(IdBlock idBlock, double lowWaterMark) {
+      this.nextId = new AtomicLong(idBlock.getNextId());
+      this.lastId = idBlock.getLastId();
+
+      long size = lastId - idBlock.getNextId() + 1;
+      this.prefetchId = lastId - (long) (size * lowWaterMark);
+    }
+  }
+
+}
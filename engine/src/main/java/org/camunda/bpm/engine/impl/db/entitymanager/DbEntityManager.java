@@ -51,6 +51,9 @@ import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -63,6 +66,7 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntitySecondLevelCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
@@ -70,13 +74,17 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation.State;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.metrics.CommandInvocationMetrics;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.ResourceTypes;
 
 /**
@@ -97,11 +105,17 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected DbEntityCache dbEntityCache;
 
+  protected DbEntitySecondLevelCache secondLevelCache;
+
   protected DbOperationManager dbOperationManager;
 
   protected PersistenceSession persistenceSession;
   protected boolean isIgnoreForeignKeysForNextFlush;
 
+  protected int batchSize = BATCH_SIZE;
+
+  protected boolean isCommandMetricsEnabled;
+
   public DbEntityManager(IdGenerator idGenerator, PersistenceSession persistenceSession) {
     this.idGenerator = idGenerator;
     this.persistenceSession = persistenceSession;
@@ -113,6 +127,18 @@ public class DbEntityManager implements Session, EntityLoadListener {
   }
 
   protected void initializeOperationManager() {
+    final ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+
+    if (processEngineConfiguration != null) {
+      batchSize = processEngineConfiguration.getJdbcBatchSize();
+
+      DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+      if (processEngineConfiguration.isJdbcBatchStatementGrouping() && dbSqlSessionFactory != null) {
+        dbOperationManager = new DbOperationManager(dbSqlSessionFactory::getStatement);
+        return;
+      }
+    }
+
     dbOperationManager = new DbOperationManager();
   }
 
@@ -140,6 +166,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
       }
     }
 
+    if (processEngineConfiguration != null) {
+      secondLevelCache = processEngineConfiguration.getDbEntitySecondLevelCache();
+      isCommandMetricsEnabled = processEngineConfiguration.getCommandMetricsRegistry() != null;
+    }
   }
 
   // selects /////////////////////////////////////////////////
@@ -178,11 +208,13 @@ public class DbEntityManager implements Session, EntityLoadListener {
       return Collections.EMPTY_LIST;
     }
     List loadedObjects = persistenceSession.selectList(statement, parameter);
+    countSqlStatements(1);
     return filterLoadedObjects(loadedObjects);
   }
 
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
+    countSqlStatements(1);
     if (result instanceof DbEntity) {
       DbEntity loadedObject = (DbEntity) result;
       result = cacheFilter(loadedObject);
@@ -193,6 +225,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
   @SuppressWarnings("unchecked")
   public boolean selectBoolean(String statement, Object parameter) {
     List<String> result = (List<String>) persistenceSession.selectList(statement, parameter);
+    countSqlStatements(1);
     if(result != null) {
       return result.contains(1);
     }
@@ -206,7 +239,18 @@ public class DbEntityManager implements Session, EntityLoadListener {
       return persistentObject;
     }
 
+    if (secondLevelCache != null && secondLevelCache.isCacheable(entityClass)) {
+      persistentObject = secondLevelCache.get(entityClass, id);
+      if (persistentObject != null) {
+        markSecondLevelCacheOccurrence(Metrics.ENTITY_CACHE_HIT);
+        putLoadedEntity(persistentObject);
+        return persistentObject;
+      }
+      markSecondLevelCacheOccurrence(Metrics.ENTITY_CACHE_MISS);
+    }
+
     persistentObject = persistenceSession.selectById(entityClass, id);
+    countSqlStatements(1);
 
     if (persistentObject==null) {
       return null;
@@ -254,6 +298,20 @@ public class DbEntityManager implements Session, EntityLoadListener {
   @Override
   public void onEntityLoaded(DbEntity entity) {
     // we get a callback when the persistence session loads an object from the database
+    CommandInvocationMetrics commandInvocationMetrics = getCommandInvocationMetrics();
+    if (commandInvocationMetrics != null) {
+      commandInvocationMetrics.addLoadedEntity();
+    }
+
+    if (secondLevelCache != null && dbEntityCache.get(entity.getClass(), entity.getId()) == null) {
+      // cache the state before any postLoad() modifications
+      secondLevelCache.put(entity);
+    }
+
+    putLoadedEntity(entity);
+  }
+
+  protected void putLoadedEntity(DbEntity entity) {
     DbEntity cachedPersistentObject = dbEntityCache.get(entity.getClass(), entity.getId());
     if(cachedPersistentObject == null) {
       // only put into the cache if not already present
@@ -268,12 +326,31 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   }
 
+  protected CommandInvocationMetrics getCommandInvocationMetrics() {
+    return isCommandMetricsEnabled ? Context.getCommandInvocationMetrics() : null;
+  }
+
+  protected void countSqlStatements(long statements) {
+    CommandInvocationMetrics commandInvocationMetrics = getCommandInvocationMetrics();
+    if (commandInvocationMetrics != null) {
+      commandInvocationMetrics.addSqlStatements(statements);
+    }
+  }
+
+  protected void markSecondLevelCacheOccurrence(String metric) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
   public void lock(String statement) {
     lock(statement, null);
   }
 
   public void lock(String statement, Object parameter) {
     persistenceSession.lock(statement, parameter);
+    countSqlStatements(1);
   }
 
   public boolean isDirty(DbEntity dbEntity) {
@@ -309,6 +386,13 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
     LOG.databaseFlushSummary(operationsToFlush);
 
+    CommandInvocationMetrics commandInvocationMetrics = getCommandInvocationMetrics();
+    long flushStart = commandInvocationMetrics != null ? System.nanoTime() : 0;
+
+    if (secondLevelCache != null) {
+      invalidateSecondLevelCache(operationsToFlush);
+    }
+
     // If we want to delete all table data as bulk operation, on tables which have self references,
     // We need to turn the foreign key check off on MySQL and MariaDB.
     // On other databases we have to do nothing, the mapped statement will be empty.
@@ -318,7 +402,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
 
     try {
-      final List<List<DbOperation>> batches = CollectionUtil.partition(operationsToFlush, BATCH_SIZE);
+      final List<List<DbOperation>> batches = CollectionUtil.partition(operationsToFlush, batchSize);
       for (List<DbOperation> batch : batches) {
         flushDbOperations(batch, operationsToFlush);
       }
@@ -328,6 +412,48 @@ public class DbEntityManager implements Session, EntityLoadListener {
         persistenceSession.flushOperations();
         isIgnoreForeignKeysForNextFlush = false;
       }
+
+      if (commandInvocationMetrics != null) {
+        commandInvocationMetrics.addFlushTime(System.nanoTime() - flushStart);
+        commandInvocationMetrics.addSqlStatements(operationsToFlush.size());
+      }
+    }
+  }
+
+  /**
+   * Removes modified entities from the second level cache. This happens again once the
+   * transaction has finished, since other commands may have cached the entity meanwhile.
+   */
+  protected void invalidateSecondLevelCache(List<DbOperation> operationsToFlush) {
+    final List<DbOperation> invalidatingOperations = new ArrayList<>();
+    for (DbOperation operation : operationsToFlush) {
+      if (operation.getOperationType() != INSERT && secondLevelCache.isCacheable(operation.getEntityType())) {
+        invalidatingOperations.add(operation);
+      }
+    }
+
+    if (invalidatingOperations.isEmpty()) {
+      return;
+    }
+
+    invalidateSecondLevelCacheEntries(invalidatingOperations);
+
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      TransactionListener invalidationListener = context -> invalidateSecondLevelCacheEntries(invalidatingOperations);
+      TransactionContext transactionContext = commandContext.getTransactionContext();
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, invalidationListener);
+      transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, invalidationListener);
+    }
+  }
+
+  protected void invalidateSecondLevelCacheEntries(List<DbOperation> operations) {
+    for (DbOperation operation : operations) {
+      if (operation instanceof DbEntityOperation) {
+        secondLevelCache.invalidate(operation.getEntityType(), ((DbEntityOperation) operation).getEntity());
+      } else {
+        secondLevelCache.invalidateType(operation.getEntityType());
+      }
     }
   }
 
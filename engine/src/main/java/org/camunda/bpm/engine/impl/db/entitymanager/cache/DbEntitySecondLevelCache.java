@@ -0,0 +1,358 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Node-local cache of entities that outlives a single command.</p>
+ *
+ * <p>In contrast to the {@link DbEntityCache}, which is discarded at the end of every command,
+ * this cache is shared by all commands of a process engine. It is meant for entity types that
+ * rarely change, e.g. job definitions. Only {@link Serializable} entities can be cached.
+ * The cache holds a serialized snapshot of every entity, such that every command gets its
+ * own copy that it can modify without affecting other commands.</p>
+ *
+ * <p>Entries are invalidated when the entity is updated or deleted on this node and expire
+ * after {@link #timeToLive} milliseconds, which bounds the staleness of entities modified
+ * by other nodes. Updating a stale entity fails with an optimistic locking exception.</p>
+ *
+ * <p>An invalidated entry is replaced by an invalidation marker that remembers the revision
+ * of the invalidated entity until it expires. A command that loaded the entity before the
+ * invalidation cannot put its stale revision back into the cache.</p>
+ */
+public class DbEntitySecondLevelCache {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected Set<Class<?>> cacheableTypes = new HashSet<>();
+  protected long timeToLive = 60 * 1000;
+  protected int maxSize = 10000;
+
+  protected ConcurrentMap<Class<?>, ConcurrentMap<String, CacheEntry>> entries = new ConcurrentHashMap<>();
+  protected ConcurrentMap<Class<?>, Long> typeInvalidationExpirationTimes = new ConcurrentHashMap<>();
+  protected AtomicInteger size = new AtomicInteger();
+
+  protected LongAdder hits = new LongAdder();
+  protected LongAdder misses = new LongAdder();
+  protected LongAdder evictions = new LongAdder();
+
+  public DbEntitySecondLevelCache() {
+  }
+
+  public DbEntitySecondLevelCache(Collection<Class<? extends DbEntity>> cacheableTypes) {
+    this.cacheableTypes.addAll(cacheableTypes);
+  }
+
+  public boolean isCacheable(Class<?> type) {
+    return cacheableTypes.contains(type);
+  }
+
+  /**
+   * @return a copy of the cached entity or null if the entity is not cached
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends DbEntity> T get(Class<T> type, String id) {
+    ConcurrentMap<String, CacheEntry> entriesByType = entries.get(type);
+    CacheEntry entry = entriesByType != null ? entriesByType.get(id) : null;
+
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+
+    if (entry.isExpired()) {
+      if (entriesByType.remove(id, entry)) {
+        size.decrementAndGet();
+      }
+      misses.increment();
+      return null;
+    }
+
+    if (entry.isInvalidation()) {
+      misses.increment();
+      return null;
+    }
+
+    T entity = (T) deserialize(entry.snapshot);
+    if (entity == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return entity;
+  }
+
+  /**
+   * Caches a snapshot of the given entity, unless a newer revision of it is already cached
+   * or the entity was invalidated at the same or a newer revision.
+   */
+  public void put(DbEntity entity) {
+    if (!isCacheable(entity.getClass()) || entity.getId() == null || isTypeInvalidated(entity.getClass())) {
+      return;
+    }
+
+    byte[] snapshot = serialize(entity);
+    if (snapshot == null) {
+      return;
+    }
+
+    CacheEntry newEntry = new CacheEntry(snapshot, getRevision(entity), getExpirationTime());
+    ConcurrentMap<String, CacheEntry> entriesByType = entries.computeIfAbsent(entity.getClass(), type -> new ConcurrentHashMap<>());
+
+    CacheEntry previousEntry = entriesByType.get(entity.getId());
+    if (previousEntry == null) {
+      if (entriesByType.putIfAbsent(entity.getId(), newEntry) == null) {
+        size.incrementAndGet();
+        evictIfNecessary();
+      }
+    } else if (previousEntry.isExpired() || isNewer(newEntry, previousEntry)) {
+      entriesByType.replace(entity.getId(), previousEntry, newEntry);
+    }
+  }
+
+  protected boolean isNewer(CacheEntry entry, CacheEntry previousEntry) {
+    if (previousEntry.isInvalidation()) {
+      return entry.revision > previousEntry.revision;
+    }
+    return entry.revision >= previousEntry.revision;
+  }
+
+  /**
+   * Removes the cached entity and rejects snapshots of it up to the entity's current revision
+   * until the invalidation expires.
+   */
+  public void invalidate(Class<?> type, DbEntity entity) {
+    invalidate(type, entity.getId(), getRevision(entity));
+  }
+
+  public void invalidate(Class<?> type, String id, int revision) {
+    ConcurrentMap<String, CacheEntry> entriesByType = entries.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+    CacheEntry invalidation = new CacheEntry(null, revision, getExpirationTime());
+
+    while (true) {
+      CacheEntry previousEntry = entriesByType.putIfAbsent(id, invalidation);
+      if (previousEntry == null) {
+        size.incrementAndGet();
+        evictIfNecessary();
+        return;
+      }
+
+      // keep the lowest invalidated revision, e.g. when invalidating again after the commit
+      if (previousEntry.isInvalidation() && !previousEntry.isExpired() && previousEntry.revision <= revision) {
+        return;
+      }
+
+      if (entriesByType.replace(id, previousEntry, invalidation)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Removes all cached entities of the given type and does not cache any entity of the type
+   * until the invalidation expires.
+   */
+  public void invalidateType(Class<?> type) {
+    typeInvalidationExpirationTimes.put(type, getExpirationTime());
+
+    ConcurrentMap<String, CacheEntry> entriesByType = entries.remove(type);
+    if (entriesByType != null) {
+      size.addAndGet(-entriesByType.size());
+    }
+  }
+
+  protected boolean isTypeInvalidated(Class<?> type) {
+    Long expirationTime = typeInvalidationExpirationTimes.get(type);
+    if (expirationTime == null) {
+      return false;
+    }
+
+    if (ClockUtil.getCurrentTime().getTime() > expirationTime) {
+      typeInvalidationExpirationTimes.remove(type, expirationTime);
+      return false;
+    }
+    return true;
+  }
+
+  public void clear() {
+    entries.clear();
+    typeInvalidationExpirationTimes.clear();
+    size.set(0);
+  }
+
+  protected long getExpirationTime() {
+    return ClockUtil.getCurrentTime().getTime() + timeToLive;
+  }
+
+  /**
+   * Removes expired entries first and arbitrary entries after that
+   * until the cache does not exceed its maximum size anymore.
+   */
+  protected void evictIfNecessary() {
+    if (size.get() <= maxSize) {
+      return;
+    }
+
+    boolean removeExpiredOnly = true;
+    while (size.get() > maxSize) {
+      for (Map<String, CacheEntry> entriesByType : entries.values()) {
+        Iterator<CacheEntry> iterator = entriesByType.values().iterator();
+        while (iterator.hasNext() && size.get() > maxSize) {
+          CacheEntry entry = iterator.next();
+          if (!removeExpiredOnly || entry.isExpired()) {
+            iterator.remove();
+            size.decrementAndGet();
+            evictions.increment();
+          }
+        }
+      }
+
+      if (!removeExpiredOnly) {
+        // concurrent modifications may keep the size above the maximum; the next put evicts again
+        return;
+      }
+      removeExpiredOnly = false;
+    }
+  }
+
+  protected int getRevision(DbEntity entity) {
+    if (entity instanceof HasDbRevision) {
+      return ((HasDbRevision) entity).getRevision();
+    }
+    return 0;
+  }
+
+  protected byte[] serialize(DbEntity entity) {
+    if (!(entity instanceof Serializable)) {
+      return null;
+    }
+
+    try {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      ObjectOutputStream outputStream = new ObjectOutputStream(buffer);
+      outputStream.writeObject(entity);
+      outputStream.close();
+      return buffer.toByteArray();
+
+    } catch (IOException e) {
+      LOG.couldNotCacheEntityInSecondLevelCache(entity, e);
+      return null;
+    }
+  }
+
+  protected Object deserialize(byte[] snapshot) {
+    try {
+      ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(snapshot));
+      return inputStream.readObject();
+
+    } catch (IOException | ClassNotFoundException e) {
+      LOG.couldNotReadEntityFromSecondLevelCache(e);
+      return null;
+    }
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public Set<Class<?>> getCacheableTypes() {
+    return cacheableTypes;
+  }
+
+  public void setCacheableTypes(Set<Class<?>> cacheableTypes) {
+    this.cacheableTypes = cacheableTypes;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public void setTimeToLive(long timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @return the number of cached entities and invalidation markers
+   */
+  public int getSize() {
+    return size.get();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * A snapshot of a cached entity, or an invalidation marker if the snapshot is null.
+   */
+  protected static class CacheEntry {
+
+    protected final byte[] snapshot;
+    protected final int revision;
+    protected final long expirationTime;
+
+    public CacheEntry(byte[] snapshot, int revision, long expirationTime) {
+      this.snapshot = snapshot;
+      this.revision = revision;
+      this.expirationTime = expirationTime;
+    }
+
+    public boolean isExpired() {
+      return ClockUtil.getCurrentTime().getTime() > expirationTime;
+    }
+
+    public boolean isInvalidation() {
+      return snapshot == null;
+    }
+  }
+
+}
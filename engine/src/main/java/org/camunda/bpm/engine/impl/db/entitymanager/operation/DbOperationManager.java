@@ -30,6 +30,7 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
@@ -71,6 +72,16 @@ public class DbOperationManager {
   /** bulk modifications (DELETE, UPDATE) for which order of execution is important */
   public LinkedHashSet<DbBulkOperation> bulkOperationsInsertionOrder = new LinkedHashSet<DbBulkOperation>();
 
+  /** if set, independent operations are grouped by the statement it returns */
+  protected Function<DbOperation, String> statementResolver;
+
+  public DbOperationManager() {
+  }
+
+  public DbOperationManager(Function<DbOperation, String> statementResolver) {
+    this.statementResolver = statementResolver;
+  }
+
   public boolean addOperation(DbEntityOperation newOperation) {
     if(newOperation.getOperationType() == INSERT) {
       return getInsertsForType(newOperation.getEntityType(), true)
@@ -132,9 +143,16 @@ public class DbOperationManager {
     List<DbOperation> flush = new ArrayList<DbOperation>();
     // first INSERTs
     addSortedInserts(flush);
+    int numInserts = flush.size();
     // then UPDATEs + DELETEs
     addSortedModifications(flush);
-    
+
+    if (statementResolver != null) {
+      groupByStatement(flush.subList(0, numInserts));
+      // bulk operations with insertion order are never reordered
+      groupByStatement(flush.subList(numInserts, flush.size() - bulkOperationsInsertionOrder.size()));
+    }
+
     determineDependencies(flush);
     return flush;
   }
@@ -247,6 +265,48 @@ public class DbOperationManager {
     return opList;
   }
 
+  /**
+   * Reorders operations so that operations executing the same statement are adjacent,
+   * which allows the JDBC driver to execute them in one batch. Only operations on entity
+   * types of the same {@link EntityTypeComparatorForModifications#getTypeOrder(Class) type order}
+   * are reordered, as those types do not depend on each other. For every type,
+   * UPDATEs still happen before DELETEs and DELETEs before bulk operations.
+   *
+   * @param operations INSERTs or modifications, sorted by type order
+   */
+  protected void groupByStatement(List<DbOperation> operations) {
+    Comparator<DbOperation> statementComparator = Comparator
+        .comparingInt(DbOperationManager::getExecutionPhase)
+        .thenComparing(statementResolver);
+
+    int runStart = 0;
+    while (runStart < operations.size()) {
+      int typeOrder = EntityTypeComparatorForModifications.getTypeOrder(operations.get(runStart).getEntityType());
+
+      int runEnd = runStart + 1;
+      while (runEnd < operations.size()
+          && EntityTypeComparatorForModifications.getTypeOrder(operations.get(runEnd).getEntityType()) == typeOrder) {
+        runEnd++;
+      }
+
+      // the sort is stable, i.e. the order of operations with the same statement is kept
+      operations.subList(runStart, runEnd).sort(statementComparator);
+      runStart = runEnd;
+    }
+  }
+
+  protected static int getExecutionPhase(DbOperation operation) {
+    switch (operation.getOperationType()) {
+      case DELETE:
+        return 1;
+      case DELETE_BULK:
+      case UPDATE_BULK:
+        return 2;
+      default:
+        return 0;
+    }
+  }
+
   protected void determineDependencies(List<DbOperation> flush) {
     TreeSet<DbEntityOperation> defaultValue = new TreeSet<DbEntityOperation>();
     for (DbOperation operation : flush) {
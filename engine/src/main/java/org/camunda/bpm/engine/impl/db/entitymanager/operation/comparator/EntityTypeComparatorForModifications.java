@@ -92,18 +92,7 @@ public class EntityTypeComparatorForModifications implements Comparator<Class<?>
       return 0;
     }
 
-    Integer firstIndex = TYPE_ORDER.get(firstEntityType);
-    Integer secondIndex = TYPE_ORDER.get(secondEntityType);
-
-    // unknown type happens before / after everything else
-    if(firstIndex == null) {
-      firstIndex = Integer.MAX_VALUE;
-    }
-    if(secondIndex == null) {
-      secondIndex = Integer.MAX_VALUE;
-    }
-
-    int result = firstIndex.compareTo(secondIndex);
+    int result = Integer.compare(getTypeOrder(firstEntityType), getTypeOrder(secondEntityType));
     if(result == 0) {
       return firstEntityType.getName().compareTo(secondEntityType.getName());
 
@@ -113,4 +102,18 @@ public class EntityTypeComparatorForModifications implements Comparator<Class<?>
     }
   }
 
+  /**
+   * Types with the same order do not depend on each other, i.e. operations on
+   * them can be executed in any order.
+   */
+  public static int getTypeOrder(Class<?> entityType) {
+    Integer index = TYPE_ORDER.get(entityType);
+
+    // unknown type happens before / after everything else
+    if(index == null) {
+      return Integer.MAX_VALUE;
+    }
+    return index;
+  }
+
 }
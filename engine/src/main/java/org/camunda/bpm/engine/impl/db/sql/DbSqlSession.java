@@ -535,7 +535,11 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
 
   @Override
   protected void dbSchemaCreateHistory() {
-    executeMandatorySchemaResource("create", "history");
+    if (dbSqlSessionFactory.isHistoryPartitioningEnabled()) {
+      executeMandatorySchemaResource("create", "history.partitioned");
+    } else {
+      executeMandatorySchemaResource("create", "history");
+    }
   }
 
   @Override
@@ -25,6 +25,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
@@ -57,6 +60,8 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final Map<String, String> databaseSpecificLimitBetweenStatements = new HashMap<>();
   public static final Map<String, String> databaseSpecificLimitBetweenFilterStatements = new HashMap<>();
   public static final Map<String, String> databaseSpecificLimitBetweenAcquisitionStatements = new HashMap<>();
+  // row locking clause that skips rows locked by concurrent transactions, empty if not supported
+  public static final Map<String, String> databaseSpecificSkipLockedStatements = new HashMap<>();
   // count distinct statements
   public static final Map<String, String> databaseSpecificCountDistinctBeforeStart = new HashMap<>();
   public static final Map<String, String> databaseSpecificCountDistinctBeforeEnd = new HashMap<>();
@@ -109,6 +114,15 @@ public class DbSqlSessionFactory implements SessionFactory {
    */
   public static final int MAXIMUM_NUMBER_PARAMS = 2000;
 
+  /**
+   * @return true if the database allows locking rows while skipping rows that are already
+   * locked by concurrent transactions, e.g. by <code>SELECT ... FOR UPDATE SKIP LOCKED</code>
+   */
+  public static boolean isSkipLockedSupported(String databaseType) {
+    String skipLockedStatement = databaseSpecificSkipLockedStatements.get(databaseType);
+    return skipLockedStatement != null && !skipLockedStatement.isEmpty();
+  }
+
   static {
 
     String defaultOrderBy = "order by ${internalOrderBy}";
@@ -134,6 +148,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificLimitBetweenStatements.put(H2, "");
     databaseSpecificLimitBetweenFilterStatements.put(H2, "");
     databaseSpecificLimitBetweenAcquisitionStatements.put(H2, "");
+    databaseSpecificSkipLockedStatements.put(H2, "for update skip locked");
     databaseSpecificOrderByStatements.put(H2, defaultOrderBy);
     databaseSpecificLimitBeforeNativeQueryStatements.put(H2, "");
     databaseSpecificDistinct.put(H2, "distinct");
@@ -196,6 +211,7 @@ public class DbSqlSessionFactory implements SessionFactory {
       databaseSpecificLimitBetweenStatements.put(mysqlLikeDatabase, "");
       databaseSpecificLimitBetweenFilterStatements.put(mysqlLikeDatabase, "");
       databaseSpecificLimitBetweenAcquisitionStatements.put(mysqlLikeDatabase, "");
+      databaseSpecificSkipLockedStatements.put(mysqlLikeDatabase, "for update skip locked");
       databaseSpecificOrderByStatements.put(mysqlLikeDatabase, defaultOrderBy);
       databaseSpecificLimitBeforeNativeQueryStatements.put(mysqlLikeDatabase, "");
       databaseSpecificDistinct.put(mysqlLikeDatabase, "distinct");
@@ -298,6 +314,8 @@ public class DbSqlSessionFactory implements SessionFactory {
       databaseSpecificLimitBetweenStatements.put(postgresLikeDatabase, "");
       databaseSpecificLimitBetweenFilterStatements.put(postgresLikeDatabase, "");
       databaseSpecificLimitBetweenAcquisitionStatements.put(postgresLikeDatabase, "");
+      // cockroachdb runs with serializable isolation, so skipping locked rows brings no benefit there
+      databaseSpecificSkipLockedStatements.put(postgresLikeDatabase, POSTGRES.equals(postgresLikeDatabase) ? "for update skip locked" : "");
       databaseSpecificOrderByStatements.put(postgresLikeDatabase, defaultOrderBy);
       databaseSpecificLimitBeforeNativeQueryStatements.put(postgresLikeDatabase, "");
       databaseSpecificDistinct.put(postgresLikeDatabase, "distinct");
@@ -407,6 +425,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificLimitBetweenStatements.put(ORACLE, "");
     databaseSpecificLimitBetweenFilterStatements.put(ORACLE, "");
     databaseSpecificLimitBetweenAcquisitionStatements.put(ORACLE, "");
+    // oracle does not allow row locking in combination with the ROWNUM based paging
+    databaseSpecificSkipLockedStatements.put(ORACLE, "");
     databaseSpecificOrderByStatements.put(ORACLE, defaultOrderBy);
     databaseSpecificLimitBeforeNativeQueryStatements.put(ORACLE, "");
     databaseSpecificDistinct.put(ORACLE, "distinct");
@@ -495,8 +515,10 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificLimitBetweenStatements.put(DB2, db2LimitBetweenWithoutColumns + "RES.* ");
     databaseSpecificLimitBetweenFilterStatements.put(DB2, db2LimitBetweenWithoutColumns + "RES.ID_, RES.REV_, RES.RESOURCE_TYPE_, RES.NAME_, RES.OWNER_ ");
     databaseSpecificLimitBetweenAcquisitionStatements.put(DB2, db2LimitBetweenWithoutColumns
-        + "RES.ID_, RES.REV_, RES.TYPE_, RES.LOCK_EXP_TIME_, RES.LOCK_OWNER_, RES.EXCLUSIVE_, RES.PROCESS_INSTANCE_ID_, RES.DUEDATE_, RES.PRIORITY_ ");
+        + "RES.ID_, RES.REV_, RES.TYPE_, RES.LOCK_EXP_TIME_, RES.LOCK_OWNER_, RES.EXCLUSIVE_, RES.PROCESS_INSTANCE_ID_, RES.DUEDATE_, RES.PRIORITY_, RES.JOB_DEF_ID_ ");
     databaseSpecificLimitBeforeWithoutOffsetStatements.put(DB2, "");
+    // row_number() based paging cannot be combined with row locking
+    databaseSpecificSkipLockedStatements.put(DB2, "");
     databaseSpecificLimitAfterWithoutOffsetStatements.put(DB2, "FETCH FIRST ${maxResults} ROWS ONLY");
     databaseSpecificOrderByStatements.put(DB2, defaultOrderBy);
     databaseSpecificLimitBeforeNativeQueryStatements.put(DB2, "SELECT SUB.* FROM ( select RES.* , row_number() over (ORDER BY ${internalOrderBy}) rnk FROM (");
@@ -589,8 +611,10 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificLimitBetweenStatements.put(MSSQL, mssqlLimitBetweenWithoutColumns + "RES.* ");
     databaseSpecificLimitBetweenFilterStatements.put(MSSQL, "");
     databaseSpecificLimitBetweenAcquisitionStatements.put(MSSQL, mssqlLimitBetweenWithoutColumns
-        + "RES.ID_, RES.REV_, RES.TYPE_, RES.LOCK_EXP_TIME_, RES.LOCK_OWNER_, RES.EXCLUSIVE_, RES.PROCESS_INSTANCE_ID_, RES.DUEDATE_, RES.PRIORITY_ ");
+        + "RES.ID_, RES.REV_, RES.TYPE_, RES.LOCK_EXP_TIME_, RES.LOCK_OWNER_, RES.EXCLUSIVE_, RES.PROCESS_INSTANCE_ID_, RES.DUEDATE_, RES.PRIORITY_, RES.JOB_DEF_ID_ ");
     databaseSpecificLimitBeforeWithoutOffsetStatements.put(MSSQL, "TOP (#{maxResults})");
+    // row_number() based paging cannot be combined with row locking
+    databaseSpecificSkipLockedStatements.put(MSSQL, "");
     databaseSpecificLimitAfterWithoutOffsetStatements.put(MSSQL, "");
     databaseSpecificOrderByStatements.put(MSSQL, "");
     databaseSpecificLimitBeforeNativeQueryStatements.put(MSSQL, "SELECT SUB.* FROM ( select RES.* , row_number() over (ORDER BY ${internalOrderBy}) rnk FROM (");
@@ -736,6 +760,7 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean isDbHistoryUsed = true;
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
+  protected boolean historyPartitioningEnabled = false;
 
   protected boolean jdbcBatchProcessing;
 
@@ -775,6 +800,22 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(persistentObjectClass, selectStatements, "select");
   }
 
+  /**
+   * @return the name of the statement that is executed for the given operation
+   */
+  public String getStatement(DbOperation operation) {
+    switch (operation.getOperationType()) {
+      case INSERT:
+        return getInsertStatement(((DbEntityOperation) operation).getEntity());
+      case UPDATE:
+        return getUpdateStatement(((DbEntityOperation) operation).getEntity());
+      case DELETE:
+        return getDeleteStatement(operation.getEntityType());
+      default:
+        return ((DbBulkOperation) operation).getStatement();
+    }
+  }
+
   private String getStatement(Class<?> persistentObjectClass, Map<Class<?>,String> cachedStatements, String prefix) {
     String statement = cachedStatements.get(persistentObjectClass);
     if (statement!=null) {
@@ -917,6 +958,14 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.dmnEnabled = dmnEnabled;
   }
 
+  public boolean isHistoryPartitioningEnabled() {
+    return historyPartitioningEnabled;
+  }
+
+  public void setHistoryPartitioningEnabled(boolean historyPartitioningEnabled) {
+    this.historyPartitioningEnabled = historyPartitioningEnabled;
+  }
+
   public void setDatabaseTablePrefix(String databaseTablePrefix) {
     this.databaseTablePrefix = databaseTablePrefix;
   }
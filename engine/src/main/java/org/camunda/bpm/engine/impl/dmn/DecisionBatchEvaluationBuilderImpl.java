@@ -0,0 +1,211 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.dmn.DecisionBatchEvaluationBuilder;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.exception.NullValueException;
+import org.camunda.bpm.engine.exception.dmn.DecisionDefinitionNotFoundException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.dmn.cmd.EvaluateDecisionBatchCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+public class DecisionBatchEvaluationBuilderImpl implements DecisionBatchEvaluationBuilder {
+
+  private final static DecisionLogger LOG = ProcessEngineLogger.DECISION_LOGGER;
+
+  /**
+   * The maximum number of evaluations per command, i.e. per transaction.
+   */
+  public static final int EVALUATION_CHUNK_SIZE = 1000;
+
+  protected CommandExecutor commandExecutor;
+
+  protected String decisionDefinitionKey;
+  protected String decisionDefinitionId;
+
+  protected Integer version;
+  protected List<? extends Map<String, Object>> variables;
+  protected Stream<? extends Map<String, Object>> variablesStream;
+
+  protected String decisionDefinitionTenantId;
+  protected boolean isTenantIdSet = false;
+
+  protected boolean parallel = false;
+  protected int historySampleInterval = 1;
+  protected boolean skipHistory = false;
+
+  public DecisionBatchEvaluationBuilderImpl(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public DecisionBatchEvaluationBuilder variables(List<? extends Map<String, Object>> variables) {
+    this.variables = variables;
+    this.variablesStream = null;
+    return this;
+  }
+
+  public DecisionBatchEvaluationBuilder variables(Stream<? extends Map<String, Object>> variables) {
+    this.variablesStream = variables;
+    this.variables = null;
+    return this;
+  }
+
+  public DecisionBatchEvaluationBuilder version(Integer version) {
+    this.version = version;
+    return this;
+  }
+
+  public DecisionBatchEvaluationBuilder decisionDefinitionTenantId(String tenantId) {
+    this.decisionDefinitionTenantId = tenantId;
+    isTenantIdSet = true;
+    return this;
+  }
+
+  public DecisionBatchEvaluationBuilder decisionDefinitionWithoutTenantId() {
+    this.decisionDefinitionTenantId = null;
+    isTenantIdSet = true;
+    return this;
+  }
+
+  public DecisionBatchEvaluationBuilder parallel() {
+    this.parallel = true;
+    return this;
+  }
+
+  public DecisionBatchEvaluationBuilder historySampled(int n) {
+    this.historySampleInterval = n;
+    return this;
+  }
+
+  public DecisionBatchEvaluationBuilder skipHistory() {
+    this.skipHistory = true;
+    return this;
+  }
+
+  public List<DmnDecisionResult> evaluate() {
+    List<DmnDecisionResult> results = new ArrayList<>();
+    evaluate(results::add);
+    return results;
+  }
+
+  public void evaluate(Consumer<DmnDecisionResult> resultConsumer) {
+    ensureNotNull(NotValidException.class, "resultConsumer", resultConsumer);
+    ensureOnlyOneNotNull(NotValidException.class, "either decision definition id or key must be set", decisionDefinitionId, decisionDefinitionKey);
+    ensureGreaterThanOrEqual(NotValidException.class, "history sample interval must be greater than zero", "historySampleInterval", historySampleInterval, 1);
+
+    if (isTenantIdSet && decisionDefinitionId != null) {
+      throw LOG.exceptionEvaluateDecisionDefinitionByIdAndTenantId();
+    }
+
+    Iterator<? extends Map<String, Object>> variablesIterator;
+    if (variablesStream != null) {
+      variablesIterator = variablesStream.iterator();
+    }
+    else if (variables != null) {
+      variablesIterator = variables.iterator();
+    }
+    else {
+      variablesIterator = Collections.<Map<String, Object>>emptyIterator();
+    }
+
+    try {
+      // evaluate at least one chunk to resolve the decision definition even without variables
+      EvaluateDecisionBatchCmd command = null;
+      do {
+        List<Map<String, Object>> chunk = new ArrayList<>();
+        while (variablesIterator.hasNext() && chunk.size() < EVALUATION_CHUNK_SIZE) {
+          chunk.add(variablesIterator.next());
+        }
+        boolean lastChunk = !variablesIterator.hasNext();
+
+        command = command == null ? new EvaluateDecisionBatchCmd(this, chunk, lastChunk) : command.nextChunk(chunk, lastChunk);
+        for (DmnDecisionResult result : commandExecutor.execute(command)) {
+          resultConsumer.accept(result);
+        }
+      }
+      while (variablesIterator.hasNext());
+    }
+    catch (NullValueException e) {
+      throw new NotValidException(e.getMessage(), e);
+    }
+    catch (DecisionDefinitionNotFoundException e) {
+      throw new NotFoundException(e.getMessage(), e);
+    }
+  }
+
+  public static DecisionBatchEvaluationBuilder evaluateDecisionBatchByKey(CommandExecutor commandExecutor, String decisionDefinitionKey) {
+    DecisionBatchEvaluationBuilderImpl builder = new DecisionBatchEvaluationBuilderImpl(commandExecutor);
+    builder.decisionDefinitionKey = decisionDefinitionKey;
+    return builder;
+  }
+
+  public static DecisionBatchEvaluationBuilder evaluateDecisionBatchById(CommandExecutor commandExecutor, String decisionDefinitionId) {
+    DecisionBatchEvaluationBuilderImpl builder = new DecisionBatchEvaluationBuilderImpl(commandExecutor);
+    builder.decisionDefinitionId = decisionDefinitionId;
+    return builder;
+  }
+
+  // getters ////////////////////////////////////
+
+  public String getDecisionDefinitionKey() {
+    return decisionDefinitionKey;
+  }
+
+  public String getDecisionDefinitionId() {
+    return decisionDefinitionId;
+  }
+
+  public Integer getVersion() {
+    return version;
+  }
+
+  public String getDecisionDefinitionTenantId() {
+    return decisionDefinitionTenantId;
+  }
+
+  public boolean isTenantIdSet() {
+    return isTenantIdSet;
+  }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * @return the interval of evaluations which create a historic decision instance
+   *         or <code>0</code> if no historic decision instances are created
+   */
+  public int getHistorySampleInterval() {
+    return skipHistory ? 0 : historySampleInterval;
+  }
+
+}
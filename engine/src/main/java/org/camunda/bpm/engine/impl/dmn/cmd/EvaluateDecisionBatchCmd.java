@@ -0,0 +1,218 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.cmd;
+
+import static org.camunda.bpm.engine.impl.util.DecisionEvaluationUtil.evaluateDecisions;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.dmn.DecisionBatchEvaluationBuilderImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+
+/**
+ * Evaluates the decision with the given key or id once for every given variable map.
+ *
+ * The decision definition is resolved and authorized once per command. Only every n-th
+ * evaluation creates a historic decision instance if the history is sampled.
+ *
+ * A batch is split into chunks which are evaluated by one command each, see
+ * {@link #nextChunk(List, boolean)}. The following chunks evaluate the decision definition
+ * resolved by the first one and continue its sampling. The last chunk writes the user
+ * operation log entry for the whole batch.
+ */
+public class EvaluateDecisionBatchCmd implements Command<List<DmnDecisionResult>> {
+
+  protected String decisionDefinitionKey;
+  protected String decisionDefinitionId;
+  protected Integer version;
+  protected List<VariableContext> variableContexts;
+  protected String decisionDefinitionTenantId;
+  protected boolean isTenandIdSet;
+  protected boolean parallel;
+  protected int historySampleInterval;
+  protected int firstEvaluationIdx;
+  protected boolean lastChunk;
+
+  protected String evaluatedDecisionDefinitionId;
+
+  public EvaluateDecisionBatchCmd(DecisionBatchEvaluationBuilderImpl builder, List<? extends Map<String, Object>> variables, boolean lastChunk) {
+    this.decisionDefinitionKey = builder.getDecisionDefinitionKey();
+    this.decisionDefinitionId = builder.getDecisionDefinitionId();
+    this.version = builder.getVersion();
+    this.decisionDefinitionTenantId = builder.getDecisionDefinitionTenantId();
+    this.isTenandIdSet = builder.isTenantIdSet();
+    this.parallel = builder.isParallel();
+    this.historySampleInterval = builder.getHistorySampleInterval();
+    this.firstEvaluationIdx = 0;
+    this.lastChunk = lastChunk;
+    this.variableContexts = toVariableContexts(variables);
+  }
+
+  protected EvaluateDecisionBatchCmd(EvaluateDecisionBatchCmd previousChunk, List<? extends Map<String, Object>> variables, boolean lastChunk) {
+    this.decisionDefinitionId = previousChunk.evaluatedDecisionDefinitionId;
+    this.parallel = previousChunk.parallel;
+    this.historySampleInterval = previousChunk.historySampleInterval;
+    this.firstEvaluationIdx = previousChunk.firstEvaluationIdx + previousChunk.variableContexts.size();
+    this.lastChunk = lastChunk;
+    this.variableContexts = toVariableContexts(variables);
+  }
+
+  /**
+   * @param lastChunk whether no more chunks follow, i.e. whether the command writes the
+   *        user operation log entry of the batch
+   * @return a command which evaluates the given variable maps after the ones of this
+   *         command, for the decision definition this command has evaluated
+   */
+  public EvaluateDecisionBatchCmd nextChunk(List<? extends Map<String, Object>> variables, boolean lastChunk) {
+    return new EvaluateDecisionBatchCmd(this, variables, lastChunk);
+  }
+
+  protected List<VariableContext> toVariableContexts(List<? extends Map<String, Object>> variables) {
+    List<VariableContext> variableContexts = new ArrayList<>(variables.size());
+    for (Map<String, Object> variableMap : variables) {
+      variableContexts.add(Variables.fromMap(variableMap).asVariableContext());
+    }
+    return variableContexts;
+  }
+
+  @Override
+  public List<DmnDecisionResult> execute(CommandContext commandContext) {
+    ensureOnlyOneNotNull("either decision definition id or key must be set", decisionDefinitionId, decisionDefinitionKey);
+
+    DecisionDefinition decisionDefinition = getDecisionDefinition(commandContext);
+    evaluatedDecisionDefinitionId = decisionDefinition.getId();
+
+    for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+      checker.checkEvaluateDecision(decisionDefinition);
+    }
+
+    if (lastChunk) {
+      writeUserOperationLog(commandContext, decisionDefinition);
+    }
+
+    if (historySampleInterval == 1) {
+      return doEvaluateDecisions(decisionDefinition, variableContexts);
+    }
+    else {
+      return doEvaluateDecisionsWithSampledHistory(commandContext, decisionDefinition);
+    }
+  }
+
+  /**
+   * Evaluates the variable contexts in their order, in runs of consecutive contexts which
+   * are all sampled or all not sampled, such that listeners see the evaluations in input order.
+   */
+  protected List<DmnDecisionResult> doEvaluateDecisionsWithSampledHistory(CommandContext commandContext, DecisionDefinition decisionDefinition) {
+    List<DmnDecisionResult> results = new ArrayList<>(variableContexts.size());
+    boolean decisionHistoryEnabled = commandContext.isDecisionHistoryEnabled();
+
+    int runStart = 0;
+    while (runStart < variableContexts.size()) {
+      boolean sampled = isSampled(runStart);
+      int runEnd = runStart + 1;
+      while (runEnd < variableContexts.size() && isSampled(runEnd) == sampled) {
+        runEnd++;
+      }
+
+      List<VariableContext> run = variableContexts.subList(runStart, runEnd);
+      if (sampled) {
+        results.addAll(doEvaluateDecisions(decisionDefinition, run));
+      }
+      else {
+        commandContext.disableDecisionHistory();
+        try {
+          results.addAll(doEvaluateDecisions(decisionDefinition, run));
+        }
+        finally {
+          if (decisionHistoryEnabled) {
+            commandContext.enableDecisionHistory();
+          }
+        }
+      }
+      runStart = runEnd;
+    }
+    return results;
+  }
+
+  protected boolean isSampled(int evaluationIdx) {
+    return historySampleInterval > 0 && (firstEvaluationIdx + evaluationIdx) % historySampleInterval == 0;
+  }
+
+  protected void writeUserOperationLog(CommandContext commandContext, DecisionDefinition decisionDefinition) {
+    List<PropertyChange> propertyChanges = new ArrayList<>();
+    propertyChanges.add(new PropertyChange("decisionDefinitionId", null, decisionDefinition.getId()));
+    propertyChanges.add(new PropertyChange("decisionDefinitionKey", null, decisionDefinition.getKey()));
+    propertyChanges.add(new PropertyChange("nrOfEvaluations", null, firstEvaluationIdx + variableContexts.size()));
+    commandContext.getOperationLogManager().logDecisionDefinitionOperation(UserOperationLogEntry.OPERATION_TYPE_EVALUATE, decisionDefinition.getTenantId(), propertyChanges);
+  }
+
+  protected List<DmnDecisionResult> doEvaluateDecisions(DecisionDefinition decisionDefinition, List<VariableContext> variableContexts) {
+    if (variableContexts.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    try {
+      return evaluateDecisions(decisionDefinition, variableContexts, parallel);
+    }
+    catch (Exception e) {
+      throw new ProcessEngineException("Exception while evaluating decision with key '"+decisionDefinition.getKey()+"'", e);
+    }
+  }
+
+  protected DecisionDefinition getDecisionDefinition(CommandContext commandContext) {
+    DeploymentCache deploymentCache = commandContext.getProcessEngineConfiguration().getDeploymentCache();
+
+    if (decisionDefinitionId != null) {
+      return deploymentCache.findDeployedDecisionDefinitionById(decisionDefinitionId);
+    } else {
+      return findByKey(deploymentCache);
+    }
+  }
+
+  protected DecisionDefinition findByKey(DeploymentCache deploymentCache) {
+    DecisionDefinition decisionDefinition = null;
+
+    if (version == null && !isTenandIdSet) {
+      decisionDefinition = deploymentCache.findDeployedLatestDecisionDefinitionByKey(decisionDefinitionKey);
+    }
+    else if (version == null && isTenandIdSet) {
+      decisionDefinition = deploymentCache.findDeployedLatestDecisionDefinitionByKeyAndTenantId(decisionDefinitionKey, decisionDefinitionTenantId);
+    }
+    else if (version != null && !isTenandIdSet) {
+      decisionDefinition = deploymentCache.findDeployedDecisionDefinitionByKeyAndVersion(decisionDefinitionKey, version);
+    }
+    else if (version != null && isTenandIdSet) {
+      decisionDefinition = deploymentCache.findDeployedDecisionDefinitionByKeyVersionAndTenantId(decisionDefinitionKey, version, decisionDefinitionTenantId);
+    }
+
+    return decisionDefinition;
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.invocation;
+
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+
+/**
+ * {@link DelegateInvocation} invoking a {@link DecisionDefinition}
+ * once for every given {@link VariableContext}.
+ *
+ * The DmnEngine instance is resolved from the Context.
+ *
+ * The invocation result is a list of {@link DmnDecisionResult}s
+ * in the order of the variable contexts.
+ *
+ * The target of the invocation is the {@link DecisionDefinition}.
+ */
+public class DecisionBatchInvocation extends DelegateInvocation {
+
+  protected DecisionDefinition decisionDefinition;
+  protected List<? extends VariableContext> variableContexts;
+  protected boolean parallel;
+
+  public DecisionBatchInvocation(DecisionDefinition decisionDefinition, List<? extends VariableContext> variableContexts, boolean parallel) {
+    super(null, (DecisionDefinitionEntity) decisionDefinition);
+    this.decisionDefinition = decisionDefinition;
+    this.variableContexts = variableContexts;
+    this.parallel = parallel;
+  }
+
+  @Override
+  protected void invoke() throws Exception {
+    final DmnEngine dmnEngine = Context.getProcessEngineConfiguration()
+      .getDmnEngine();
+
+    invocationResult = dmnEngine.evaluateDecisions((DmnDecision) decisionDefinition, variableContexts, parallel);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<DmnDecisionResult> getInvocationResult() {
+    return (List<DmnDecisionResult>) super.getInvocationResult();
+  }
+
+  public DecisionDefinition getDecisionDefinition() {
+    return decisionDefinition;
+  }
+
+}
@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.delegate.ExpressionGetInvocation;
+import org.camunda.bpm.engine.impl.delegate.ExpressionPlanGetInvocation;
 import org.camunda.bpm.engine.impl.delegate.ExpressionSetInvocation;
 import org.camunda.bpm.impl.juel.jakarta.el.ELContext;
 import org.camunda.bpm.impl.juel.jakarta.el.ELException;
@@ -40,11 +41,18 @@ public class JuelExpression implements Expression {
   protected String expressionText;
   protected ValueExpression valueExpression;
   protected JuelExpressionManager expressionManager;
+  protected JuelExpressionPlan expressionPlan;
 
   public JuelExpression(ValueExpression valueExpression, JuelExpressionManager expressionManager, String expressionText) {
+    this(valueExpression, expressionManager, expressionText, null);
+  }
+
+  public JuelExpression(ValueExpression valueExpression, JuelExpressionManager expressionManager, String expressionText,
+      JuelExpressionPlan expressionPlan) {
     this.valueExpression = valueExpression;
     this.expressionManager = expressionManager;
     this.expressionText = expressionText;
+    this.expressionPlan = expressionPlan;
   }
 
   public Object getValue(VariableScope variableScope) {
@@ -54,7 +62,7 @@ public class JuelExpression implements Expression {
   public Object getValue(VariableScope variableScope, BaseDelegateExecution contextExecution) {
     ELContext elContext = expressionManager.getElContext(variableScope);
     try {
-      ExpressionGetInvocation invocation = new ExpressionGetInvocation(valueExpression, elContext, contextExecution);
+      ExpressionGetInvocation invocation = createGetInvocation(variableScope, elContext, contextExecution);
       Context.getProcessEngineConfiguration()
         .getDelegateInterceptor()
         .handleInvocation(invocation);
@@ -77,6 +85,14 @@ public class JuelExpression implements Expression {
     }
   }
 
+  protected ExpressionGetInvocation createGetInvocation(VariableScope variableScope, ELContext elContext,
+      BaseDelegateExecution contextExecution) {
+    if (expressionPlan != null && variableScope != null) {
+      return new ExpressionPlanGetInvocation(expressionPlan, variableScope, valueExpression, elContext, contextExecution);
+    }
+    return new ExpressionGetInvocation(valueExpression, elContext, contextExecution);
+  }
+
   public void setValue(Object value, VariableScope variableScope) {
     setValue(value, variableScope, null);
   }
@@ -109,4 +125,8 @@ public class JuelExpression implements Expression {
   public String getExpressionText() {
     return expressionText;
   }
+
+  public JuelExpressionPlan getExpressionPlan() {
+    return expressionPlan;
+  }
 }
@@ -55,6 +55,9 @@ public class JuelExpressionManager implements ExpressionManager, ElProviderCompa
   // Default implementation (does nothing)
   protected ELContext parsingElContext;
   protected volatile ElProvider elProvider;
+  // Expression plans read variables directly from the variable scope. Must be disabled
+  // by subclasses whose ELResolver resolves identifiers before the VariableScopeElResolver
+  protected boolean expressionPlansEnabled = true;
 
   public JuelExpressionManager() {
     this(null);
@@ -71,7 +74,18 @@ public class JuelExpressionManager implements ExpressionManager, ElProviderCompa
   public Expression createExpression(String expression) {
     ensureInitialized();
     ValueExpression valueExpression = createValueExpression(expression);
-    return new JuelExpression(valueExpression, this, expression);
+    return new JuelExpression(valueExpression, this, expression, createExpressionPlan(valueExpression));
+  }
+
+  /**
+   * @return a plan that evaluates the expression without the EL resolver chain
+   * or <code>null</code> if the expression is not simple enough
+   */
+  protected JuelExpressionPlan createExpressionPlan(ValueExpression valueExpression) {
+    if (!expressionPlansEnabled) {
+      return null;
+    }
+    return JuelExpressionPlan.create(valueExpression);
   }
 
   @Override
@@ -90,6 +104,14 @@ public class JuelExpressionManager implements ExpressionManager, ElProviderCompa
     this.expressionFactory = expressionFactory;
   }
 
+  public boolean isExpressionPlansEnabled() {
+    return expressionPlansEnabled;
+  }
+
+  public void setExpressionPlansEnabled(boolean expressionPlansEnabled) {
+    this.expressionPlansEnabled = expressionPlansEnabled;
+  }
+
   public ELContext getElContext(VariableScope variableScope) {
     ensureInitialized();
     ELContext elContext = null;
@@ -0,0 +1,346 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.impl.juel.AstBinary;
+import org.camunda.bpm.impl.juel.AstChoice;
+import org.camunda.bpm.impl.juel.AstEval;
+import org.camunda.bpm.impl.juel.AstIdentifier;
+import org.camunda.bpm.impl.juel.AstLiteral;
+import org.camunda.bpm.impl.juel.AstNested;
+import org.camunda.bpm.impl.juel.AstNode;
+import org.camunda.bpm.impl.juel.AstUnary;
+import org.camunda.bpm.impl.juel.Bindings;
+import org.camunda.bpm.impl.juel.ExpressionNode;
+import org.camunda.bpm.impl.juel.TreeValueExpression;
+import org.camunda.bpm.impl.juel.jakarta.el.ValueExpression;
+
+/**
+ * <p>Pre-resolved evaluation plan of a JUEL expression that only consists of
+ * literals, process variables and unary, binary or conditional operators,
+ * e.g. <code>${amount > 1000 && !approved}</code>.</p>
+ *
+ * <p>The plan reads variables directly from the {@link VariableScope} instead of
+ * walking the {@link VariableScopeElResolver} chain and applies the same operators
+ * and type coercions as the parse tree. If a variable does not exist in the scope,
+ * {@link #UNRESOLVED} is returned and the expression must be evaluated as usual,
+ * such that beans, mocks and missing properties behave as before.</p>
+ */
+public class JuelExpressionPlan {
+
+  public static final Object UNRESOLVED = new Object();
+
+  protected final PlanNode root;
+  protected final Bindings bindings;
+  protected final Class<?> expectedType;
+
+  protected JuelExpressionPlan(PlanNode root, Bindings bindings, Class<?> expectedType) {
+    this.root = root;
+    this.bindings = bindings;
+    this.expectedType = expectedType;
+  }
+
+  /**
+   * @return the plan of the given expression or <code>null</code> if the expression
+   * uses anything else than literals, process variables and operators
+   */
+  public static JuelExpressionPlan create(ValueExpression valueExpression) {
+    if (!(valueExpression instanceof TreeValueExpression)) {
+      return null;
+    }
+
+    TreeValueExpression treeValueExpression = (TreeValueExpression) valueExpression;
+    ExpressionNode rootNode = treeValueExpression.getRoot();
+    if (!(rootNode instanceof AstEval)) {
+      return null;
+    }
+
+    Bindings bindings = treeValueExpression.getBindings();
+    PlanNode root = createNode(((AstEval) rootNode).getChild(0), bindings);
+    if (root == null) {
+      return null;
+    }
+
+    return new JuelExpressionPlan(root, bindings, treeValueExpression.getExpectedType());
+  }
+
+  protected static PlanNode createNode(AstNode node, Bindings bindings) {
+    if (node instanceof AstNested) {
+      return createNode(((AstNested) node).getChild(0), bindings);
+    }
+    if (node instanceof AstLiteral) {
+      return new LiteralNode(node.eval(bindings, null));
+    }
+    if (node instanceof AstIdentifier) {
+      return createVariableNode((AstIdentifier) node, bindings);
+    }
+    if (node instanceof AstUnary) {
+      return createUnaryNode((AstUnary) node, bindings);
+    }
+    if (node instanceof AstBinary) {
+      return createBinaryNode((AstBinary) node, bindings);
+    }
+    if (node instanceof AstChoice) {
+      return createChoiceNode((AstChoice) node, bindings);
+    }
+    return null;
+  }
+
+  protected static PlanNode createVariableNode(AstIdentifier identifier, Bindings bindings) {
+    String name = identifier.getName();
+    if (bindings.isVariableBound(identifier.getIndex()) || isReservedName(name)) {
+      return null;
+    }
+    return new VariableNode(name);
+  }
+
+  protected static PlanNode createUnaryNode(AstUnary unary, Bindings bindings) {
+    if (!(unary.getOperator() instanceof AstUnary.SimpleOperator)) {
+      return null;
+    }
+    PlanNode child = createNode(unary.getChild(0), bindings);
+    if (child == null) {
+      return null;
+    }
+    return new UnaryNode((AstUnary.SimpleOperator) unary.getOperator(), child, bindings);
+  }
+
+  protected static PlanNode createBinaryNode(AstBinary binary, Bindings bindings) {
+    PlanNode left = createNode(binary.getChild(0), bindings);
+    PlanNode right = createNode(binary.getChild(1), bindings);
+    if (left == null || right == null) {
+      return null;
+    }
+
+    AstBinary.Operator operator = binary.getOperator();
+    if (operator == AstBinary.AND) {
+      return new AndNode(left, right, bindings);
+    }
+    if (operator == AstBinary.OR) {
+      return new OrNode(left, right, bindings);
+    }
+    if (operator instanceof AstBinary.SimpleOperator) {
+      return new BinaryNode((AstBinary.SimpleOperator) operator, left, right, bindings);
+    }
+    return null;
+  }
+
+  protected static PlanNode createChoiceNode(AstChoice choice, Bindings bindings) {
+    PlanNode question = createNode(choice.getChild(0), bindings);
+    PlanNode yes = createNode(choice.getChild(1), bindings);
+    PlanNode no = createNode(choice.getChild(2), bindings);
+    if (question == null || yes == null || no == null) {
+      return null;
+    }
+    return new ChoiceNode(question, yes, no, bindings);
+  }
+
+  /**
+   * Names which the {@link VariableScopeElResolver} resolves to something else
+   * than a variable.
+   */
+  protected static boolean isReservedName(String name) {
+    return VariableScopeElResolver.EXECUTION_KEY.equals(name)
+        || VariableScopeElResolver.CASE_EXECUTION_KEY.equals(name)
+        || VariableScopeElResolver.TASK_KEY.equals(name)
+        || VariableScopeElResolver.EXTERNAL_TASK_KEY.equals(name)
+        || VariableScopeElResolver.LOGGED_IN_USER_KEY.equals(name);
+  }
+
+  /**
+   * @return the value of the expression coerced to the expected type or
+   * {@link #UNRESOLVED} if a variable of the expression does not exist
+   */
+  public Object getValue(VariableScope variableScope) {
+    Object value = root.eval(variableScope);
+    if (value == UNRESOLVED || expectedType == null) {
+      return value;
+    }
+    return bindings.convert(value, expectedType);
+  }
+
+  protected abstract static class PlanNode {
+
+    protected abstract Object eval(VariableScope variableScope);
+
+  }
+
+  protected static class LiteralNode extends PlanNode {
+
+    protected final Object value;
+
+    public LiteralNode(Object value) {
+      this.value = value;
+    }
+
+    protected Object eval(VariableScope variableScope) {
+      return value;
+    }
+
+  }
+
+  protected static class VariableNode extends PlanNode {
+
+    protected final String name;
+
+    public VariableNode(String name) {
+      this.name = name;
+    }
+
+    protected Object eval(VariableScope variableScope) {
+      if (variableScope.hasVariable(name)) {
+        return variableScope.getVariable(name);
+      }
+      return UNRESOLVED;
+    }
+
+  }
+
+  protected static class UnaryNode extends PlanNode {
+
+    protected final AstUnary.SimpleOperator operator;
+    protected final PlanNode child;
+    protected final Bindings bindings;
+
+    public UnaryNode(AstUnary.SimpleOperator operator, PlanNode child, Bindings bindings) {
+      this.operator = operator;
+      this.child = child;
+      this.bindings = bindings;
+    }
+
+    protected Object eval(VariableScope variableScope) {
+      Object value = child.eval(variableScope);
+      if (value == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      return operator.apply(bindings, value);
+    }
+
+  }
+
+  protected static class BinaryNode extends PlanNode {
+
+    protected final AstBinary.SimpleOperator operator;
+    protected final PlanNode left;
+    protected final PlanNode right;
+    protected final Bindings bindings;
+
+    public BinaryNode(AstBinary.SimpleOperator operator, PlanNode left, PlanNode right, Bindings bindings) {
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+      this.bindings = bindings;
+    }
+
+    protected Object eval(VariableScope variableScope) {
+      Object leftValue = left.eval(variableScope);
+      if (leftValue == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      Object rightValue = right.eval(variableScope);
+      if (rightValue == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      return operator.apply(bindings, leftValue, rightValue);
+    }
+
+  }
+
+  protected static class AndNode extends PlanNode {
+
+    protected final PlanNode left;
+    protected final PlanNode right;
+    protected final Bindings bindings;
+
+    public AndNode(PlanNode left, PlanNode right, Bindings bindings) {
+      this.left = left;
+      this.right = right;
+      this.bindings = bindings;
+    }
+
+    protected Object eval(VariableScope variableScope) {
+      Object leftValue = left.eval(variableScope);
+      if (leftValue == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      if (!Boolean.TRUE.equals(bindings.convert(leftValue, Boolean.class))) {
+        return Boolean.FALSE;
+      }
+      Object rightValue = right.eval(variableScope);
+      if (rightValue == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      return bindings.convert(rightValue, Boolean.class);
+    }
+
+  }
+
+  protected static class OrNode extends PlanNode {
+
+    protected final PlanNode left;
+    protected final PlanNode right;
+    protected final Bindings bindings;
+
+    public OrNode(PlanNode left, PlanNode right, Bindings bindings) {
+      this.left = left;
+      this.right = right;
+      this.bindings = bindings;
+    }
+
+    protected Object eval(VariableScope variableScope) {
+      Object leftValue = left.eval(variableScope);
+      if (leftValue == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      if (Boolean.TRUE.equals(bindings.convert(leftValue, Boolean.class))) {
+        return Boolean.TRUE;
+      }
+      Object rightValue = right.eval(variableScope);
+      if (rightValue == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      return bindings.convert(rightValue, Boolean.class);
+    }
+
+  }
+
+  protected static class ChoiceNode extends PlanNode {
+
+    protected final PlanNode question;
+    protected final PlanNode yes;
+    protected final PlanNode no;
+    protected final Bindings bindings;
+
+    public ChoiceNode(PlanNode question, PlanNode yes, PlanNode no, Bindings bindings) {
+      this.question = question;
+      this.yes = yes;
+      this.no = no;
+      this.bindings = bindings;
+    }
+
+    protected Object eval(VariableScope variableScope) {
+      Object value = question.eval(variableScope);
+      if (value == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      return bindings.convert(value, Boolean.class) ? yes.eval(variableScope) : no.eval(variableScope);
+    }
+
+  }
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+/**
+ * Listener that is notified after a transaction committed which made an
+ * external task available for fetching, i.e. created or unlocked it.
+ * Allows long polling consumers to only retry requests for the affected topic.
+ */
+public interface ExternalTaskAvailableListener {
+
+  /**
+   * @param topicName the topic of the available external task or <code>null</code>
+   *   if the topic is unknown, in which case any topic may have become available
+   */
+  void onExternalTaskAvailable(String topicName);
+
+}
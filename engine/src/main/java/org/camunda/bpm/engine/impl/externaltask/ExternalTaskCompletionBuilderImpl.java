@@ -0,0 +1,54 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.externaltask.ExternalTaskCompletionBuilder;
+import org.camunda.bpm.engine.impl.cmd.CompleteExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.CompleteExternalTasksCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+public class ExternalTaskCompletionBuilderImpl implements ExternalTaskCompletionBuilder {
+
+  protected CommandExecutor commandExecutor;
+
+  protected String workerId;
+  protected List<CompleteExternalTaskCmd> completions;
+
+  public ExternalTaskCompletionBuilderImpl(CommandExecutor commandExecutor, String workerId) {
+    this.commandExecutor = commandExecutor;
+    this.workerId = workerId;
+    this.completions = new ArrayList<CompleteExternalTaskCmd>();
+  }
+
+  public ExternalTaskCompletionBuilder task(String externalTaskId) {
+    return task(externalTaskId, null, null);
+  }
+
+  public ExternalTaskCompletionBuilder task(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    completions.add(new CompleteExternalTaskCmd(externalTaskId, workerId, variables, localVariables));
+    return this;
+  }
+
+  public void execute() {
+    commandExecutor.execute(new CompleteExternalTasksCmd(workerId, completions));
+  }
+
+}
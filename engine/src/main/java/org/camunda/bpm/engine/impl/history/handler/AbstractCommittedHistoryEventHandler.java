@@ -0,0 +1,98 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * <p>{@link HistoryEventHandler} that collects the history events of a command and
+ * passes them to {@link #handleCommittedEvents(List)} once its transaction has committed.
+ * The events of a rolled back transaction are discarded.</p>
+ *
+ * <p>Events that are handled outside of a command, or while {@link #isCollectingEvents()}
+ * returns false, are passed to {@link #handleUncollectedEvent(HistoryEvent)} right away.</p>
+ */
+public abstract class AbstractCommittedHistoryEventHandler implements HistoryEventHandler {
+
+  protected Map<CommandContext, List<HistoryEvent>> pendingEvents = new ConcurrentHashMap<>();
+
+  @Override
+  public void handleEvent(HistoryEvent historyEvent) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    if (commandContext == null || !isCollectingEvents()) {
+      handleUncollectedEvent(historyEvent);
+
+    } else {
+      List<HistoryEvent> events = pendingEvents.get(commandContext);
+      if (events == null) {
+        events = new ArrayList<>();
+        pendingEvents.put(commandContext, events);
+        registerTransactionListeners(commandContext);
+      }
+      events.add(historyEvent);
+    }
+  }
+
+  @Override
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  protected void registerTransactionListeners(final CommandContext commandContext) {
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+      public void execute(CommandContext context) {
+        List<HistoryEvent> events = pendingEvents.remove(commandContext);
+        if (events != null) {
+          handleCommittedEvents(events);
+        }
+      }
+    });
+
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+      public void execute(CommandContext context) {
+        pendingEvents.remove(commandContext);
+      }
+    });
+  }
+
+  protected boolean isCollectingEvents() {
+    return true;
+  }
+
+  protected void handleUncollectedEvent(HistoryEvent historyEvent) {
+    handleCommittedEvents(Collections.singletonList(historyEvent));
+  }
+
+  /**
+   * Handles the events of a committed transaction, in the order in which they were produced.
+   */
+  protected abstract void handleCommittedEvents(List<HistoryEvent> historyEvents);
+
+}
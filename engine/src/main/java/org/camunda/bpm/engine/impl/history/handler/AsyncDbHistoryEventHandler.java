@@ -0,0 +1,438 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>History event handler that writes history events with a {@link DbHistoryEventHandler}
+ * in a background thread instead of within the transaction that produced them.</p>
+ *
+ * <p>The events of a command are handed over to a bounded queue once its transaction
+ * has committed; the events of a rolled back transaction are discarded. If the queue is
+ * full, the committing thread blocks until the writer has caught up. The writer drains
+ * the queue in batches, merges the start and the end event of an activity or process instance
+ * into a single insert and writes each batch in a single transaction, so the operations are
+ * flushed in JDBC batches. Stopping the handler writes all queued events.</p>
+ *
+ * <p>As a consequence, history is eventually consistent: a history query may not yet
+ * see the events of a command that has already completed. Events that are handled
+ * outside of a command or while the handler is not running are written synchronously.</p>
+ *
+ * <p>With the removal time strategy start, the handler provides the removal time of the
+ * events from their historic root process instance when writing them, since the root
+ * process instance of a recently started process may not be written yet when its events
+ * are produced.</p>
+ */
+public class AsyncDbHistoryEventHandler extends AbstractCommittedHistoryEventHandler {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected int queueCapacity = 10000;
+  protected int batchSize = 500;
+  protected long flushIntervalInMillis = 100;
+
+  protected CommandExecutor commandExecutor;
+  protected BlockingQueue<HistoryEvent> queue;
+  protected DbHistoryEventHandler dbHistoryEventHandler = new DbHistoryEventHandler();
+  protected ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  protected volatile boolean isActive = false;
+  protected Thread writerThread;
+
+  public void start(CommandExecutor commandExecutor) {
+    lock.writeLock().lock();
+    try {
+      if (!isActive) {
+        this.commandExecutor = commandExecutor;
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        isActive = true;
+
+        writerThread = new Thread(this::writeQueuedEvents, "Camunda History Event Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Stops the writer once it has written all queued events. Events that are
+   * handed over afterwards are written synchronously.
+   */
+  public void stop() {
+    lock.writeLock().lock();
+    try {
+      if (!isActive) {
+        return;
+      }
+      isActive = false;
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    // the writer may have been interrupted before the queue was empty
+    List<HistoryEvent> remainingEvents = new ArrayList<>();
+    queue.drainTo(remainingEvents);
+    if (!remainingEvents.isEmpty()) {
+      writeBatch(remainingEvents);
+    }
+    writerThread = null;
+  }
+
+  @Override
+  protected boolean isCollectingEvents() {
+    return isActive;
+  }
+
+  @Override
+  protected void handleUncollectedEvent(HistoryEvent historyEvent) {
+    List<HistoryEvent> historyEvents = Collections.singletonList(historyEvent);
+    Set<HistoryEvent> eventsToInsert = Collections.<HistoryEvent>emptySet();
+
+    if (Context.getCommandContext() != null) {
+      writeEvents(historyEvents, eventsToInsert);
+    } else {
+      commandExecutor.execute(new WriteHistoryEventsCmd(historyEvents, eventsToInsert));
+    }
+  }
+
+  @Override
+  protected void handleCommittedEvents(List<HistoryEvent> historyEvents) {
+    enqueue(historyEvents);
+  }
+
+  /**
+   * Hands the events of a committed transaction over to the writer, blocking
+   * while the queue is full.
+   */
+  protected void enqueue(List<HistoryEvent> events) {
+    lock.readLock().lock();
+    try {
+      if (isActive) {
+        for (int i = 0; i < events.size(); i++) {
+          try {
+            queue.put(events.get(i));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            List<HistoryEvent> remainingEvents = events.subList(i, events.size());
+            LOG.interruptedWhileQueueingHistoryEvents(remainingEvents.size());
+            writeBatch(new ArrayList<>(remainingEvents));
+            return;
+          }
+        }
+        return;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    writeBatch(events);
+  }
+
+  protected void writeQueuedEvents() {
+    List<HistoryEvent> batch = new ArrayList<>(batchSize);
+
+    while (isActive || !queue.isEmpty()) {
+      try {
+        HistoryEvent historyEvent = queue.poll(flushIntervalInMillis, TimeUnit.MILLISECONDS);
+        if (historyEvent != null) {
+          batch.add(historyEvent);
+          queue.drainTo(batch, batchSize - 1);
+          writeBatch(batch);
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  protected void writeBatch(List<HistoryEvent> historyEvents) {
+    Set<HistoryEvent> eventsToInsert = Collections.newSetFromMap(new IdentityHashMap<HistoryEvent, Boolean>());
+    List<HistoryEvent> mergedEvents = mergeEvents(historyEvents, eventsToInsert);
+
+    try {
+      commandExecutor.execute(new WriteHistoryEventsCmd(mergedEvents, eventsToInsert));
+
+    } catch (Exception e) {
+      LOG.couldNotWriteHistoryEventBatch(mergedEvents.size(), e);
+
+      for (HistoryEvent historyEvent : mergedEvents) {
+        try {
+          commandExecutor.execute(new WriteHistoryEventsCmd(Collections.singletonList(historyEvent), eventsToInsert));
+        } catch (Exception ex) {
+          LOG.couldNotWriteHistoryEvent(historyEvent, ex);
+        }
+      }
+    }
+  }
+
+  /**
+   * Collapses the start and the end event of an activity or process instance into a single
+   * insert of the end event, if no other event of that instance lies in between. The end event
+   * takes the position of the start event and the fields that only the start event sets. All
+   * other events are written as they are, in their original order.
+   */
+  protected List<HistoryEvent> mergeEvents(List<HistoryEvent> historyEvents, Set<HistoryEvent> eventsToInsert) {
+    List<HistoryEvent> mergedEvents = new ArrayList<>(historyEvents.size());
+    Map<String, Integer> startEventPositions = new HashMap<>();
+
+    for (HistoryEvent historyEvent : historyEvents) {
+      String key = historyEvent.getClass().getName() + ":" + historyEvent.getId();
+      Integer position = startEventPositions.remove(key);
+
+      if (position != null && isEndEvent(historyEvent)) {
+        HistoryEvent startEvent = mergedEvents.set(position, historyEvent);
+        copyStartEventFields(startEvent, historyEvent);
+        eventsToInsert.add(historyEvent);
+
+      } else {
+        if (isStartEvent(historyEvent)) {
+          startEventPositions.put(key, mergedEvents.size());
+        }
+        mergedEvents.add(historyEvent);
+      }
+    }
+
+    return mergedEvents;
+  }
+
+  protected boolean isStartEvent(HistoryEvent historyEvent) {
+    return historyEvent.getId() != null
+        && (historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_START)
+          || historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_START));
+  }
+
+  protected boolean isEndEvent(HistoryEvent historyEvent) {
+    return historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)
+        || historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END);
+  }
+
+  /**
+   * Copies the fields of a start event to the end event that replaces it, unless the end
+   * event sets them itself. Without the merge, these fields would be inserted by the start
+   * event and kept by the update of the end event.
+   */
+  protected void copyStartEventFields(HistoryEvent startEvent, HistoryEvent endEvent) {
+    if (endEvent.getRemovalTime() == null) {
+      endEvent.setRemovalTime(startEvent.getRemovalTime());
+    }
+
+    HistoricScopeInstanceEvent startScopeEvent = (HistoricScopeInstanceEvent) startEvent;
+    HistoricScopeInstanceEvent endScopeEvent = (HistoricScopeInstanceEvent) endEvent;
+    endScopeEvent.setStartTime(startScopeEvent.getStartTime());
+    if (endScopeEvent.getDurationInMillis() == null && endScopeEvent.getStartTime() != null && endScopeEvent.getEndTime() != null) {
+      endScopeEvent.setDurationInMillis(endScopeEvent.getEndTime().getTime() - endScopeEvent.getStartTime().getTime());
+    }
+
+    if (startEvent instanceof HistoricActivityInstanceEventEntity) {
+      HistoricActivityInstanceEventEntity startActivityEvent = (HistoricActivityInstanceEventEntity) startEvent;
+      HistoricActivityInstanceEventEntity endActivityEvent = (HistoricActivityInstanceEventEntity) endEvent;
+
+      if (endActivityEvent.getCalledProcessInstanceId() == null) {
+        endActivityEvent.setCalledProcessInstanceId(startActivityEvent.getCalledProcessInstanceId());
+      }
+      if (endActivityEvent.getCalledCaseInstanceId() == null) {
+        endActivityEvent.setCalledCaseInstanceId(startActivityEvent.getCalledCaseInstanceId());
+      }
+      if (endActivityEvent.getTaskId() == null) {
+        endActivityEvent.setTaskId(startActivityEvent.getTaskId());
+      }
+      if (endActivityEvent.getTaskAssignee() == null) {
+        endActivityEvent.setTaskAssignee(startActivityEvent.getTaskAssignee());
+      }
+
+    } else if (startEvent instanceof HistoricProcessInstanceEventEntity) {
+      HistoricProcessInstanceEventEntity startProcessEvent = (HistoricProcessInstanceEventEntity) startEvent;
+      HistoricProcessInstanceEventEntity endProcessEvent = (HistoricProcessInstanceEventEntity) endEvent;
+
+      if (endProcessEvent.getStartUserId() == null) {
+        endProcessEvent.setStartUserId(startProcessEvent.getStartUserId());
+      }
+      if (endProcessEvent.getStartActivityId() == null) {
+        endProcessEvent.setStartActivityId(startProcessEvent.getStartActivityId());
+      }
+      if (endProcessEvent.getSuperProcessInstanceId() == null) {
+        endProcessEvent.setSuperProcessInstanceId(startProcessEvent.getSuperProcessInstanceId());
+      }
+      if (endProcessEvent.getSuperCaseInstanceId() == null) {
+        endProcessEvent.setSuperCaseInstanceId(startProcessEvent.getSuperCaseInstanceId());
+      }
+    }
+  }
+
+  protected void writeEvents(List<HistoryEvent> historyEvents, Set<HistoryEvent> eventsToInsert) {
+    boolean isRemovalTimeStrategyStart = HISTORY_REMOVAL_TIME_STRATEGY_START
+        .equals(Context.getProcessEngineConfiguration().getHistoryRemovalTimeStrategy());
+
+    for (HistoryEvent historyEvent : historyEvents) {
+      if (isRemovalTimeStrategyStart) {
+        provideRemovalTime(historyEvent);
+      }
+
+      if (eventsToInsert.contains(historyEvent)) {
+        Context.getCommandContext().getDbEntityManager().insert(historyEvent);
+      } else {
+        dbHistoryEventHandler.handleEvent(historyEvent);
+      }
+
+      if (isRootProcessInstanceEndEventWithRemovalTime(historyEvent)) {
+        addRemovalTimeByRootProcessInstanceId(historyEvent.getRootProcessInstanceId(), historyEvent.getRemovalTime());
+      }
+    }
+  }
+
+  /**
+   * Takes the removal time of an event from its historic root process instance. The root
+   * process instance is written before the events that follow it, either by a preceding
+   * command or earlier within this command, in which case it is found in the entity cache.
+   */
+  protected void provideRemovalTime(HistoryEvent historyEvent) {
+    String rootProcessInstanceId = historyEvent.getRootProcessInstanceId();
+    if (historyEvent.getRemovalTime() != null || rootProcessInstanceId == null || isRootProcessInstanceEvent(historyEvent)) {
+      return;
+    }
+
+    HistoricProcessInstanceEventEntity historicRootProcessInstance = Context.getCommandContext()
+      .getDbEntityManager()
+      .selectById(HistoricProcessInstanceEventEntity.class, rootProcessInstanceId);
+
+    if (historicRootProcessInstance != null) {
+      historyEvent.setRemovalTime(historicRootProcessInstance.getRemovalTime());
+    }
+  }
+
+  protected boolean isRootProcessInstanceEvent(HistoryEvent historyEvent) {
+    return historyEvent instanceof HistoricProcessInstanceEventEntity
+        && historyEvent.getRootProcessInstanceId().equals(historyEvent.getProcessInstanceId());
+  }
+
+  /**
+   * With the removal time strategy end, the history event producer passes the removal
+   * time of a root process instance with its end event instead of updating all history of the
+   * process instance in the transaction that ends it, since the history events of that transaction
+   * are not written yet.
+   */
+  protected boolean isRootProcessInstanceEndEventWithRemovalTime(HistoryEvent historyEvent) {
+    return historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)
+        && historyEvent.getRemovalTime() != null
+        && historyEvent.getProcessInstanceId() != null
+        && historyEvent.getProcessInstanceId().equals(historyEvent.getRootProcessInstanceId())
+        && HISTORY_REMOVAL_TIME_STRATEGY_END.equals(Context.getProcessEngineConfiguration().getHistoryRemovalTimeStrategy());
+  }
+
+  /**
+   * Runs in the same transaction as the insert of the events, which are flushed before bulk updates.
+   */
+  protected void addRemovalTimeByRootProcessInstanceId(String rootProcessInstanceId, Date removalTime) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    commandContext.getHistoricProcessInstanceManager()
+      .addRemovalTimeToProcessInstancesByRootProcessInstanceId(rootProcessInstanceId, removalTime);
+
+    if (commandContext.getProcessEngineConfiguration().isDmnEnabled()) {
+      commandContext.getHistoricDecisionInstanceManager()
+        .addRemovalTimeToDecisionsByRootProcessInstanceId(rootProcessInstanceId, removalTime);
+    }
+  }
+
+  public boolean isActive() {
+    return isActive;
+  }
+
+  public int getQueuedEventCount() {
+    return queue != null ? queue.size() : 0;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getFlushIntervalInMillis() {
+    return flushIntervalInMillis;
+  }
+
+  public void setFlushIntervalInMillis(long flushIntervalInMillis) {
+    this.flushIntervalInMillis = flushIntervalInMillis;
+  }
+
+  protected class WriteHistoryEventsCmd implements Command<Void> {
+
+    protected List<HistoryEvent> historyEvents;
+    protected Set<HistoryEvent> eventsToInsert;
+
+    public WriteHistoryEventsCmd(List<HistoryEvent> historyEvents, Set<HistoryEvent> eventsToInsert) {
+      this.historyEvents = historyEvents;
+      this.eventsToInsert = eventsToInsert;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      writeEvents(historyEvents, eventsToInsert);
+      return null;
+    }
+
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.log;
+
+import java.io.Closeable;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.AbstractCommittedHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+
+/**
+ * <p>{@link HistoryEventHandler} that appends history events to a history event log
+ * instead of the database. Use a {@link HistoryEventLogReader} to stream the events
+ * back, e.g. for a replay into the database or an analytics store.</p>
+ *
+ * <p>The events of a command are appended once its transaction has committed;
+ * the events of a rolled back transaction are discarded.</p>
+ *
+ * @see HistoryEventLogWriter
+ */
+public class HistoryEventLogHandler extends AbstractCommittedHistoryEventHandler implements Closeable {
+
+  protected HistoryEventLogWriter writer;
+
+  public HistoryEventLogHandler(HistoryEventLogWriter writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  protected void handleCommittedEvents(List<HistoryEvent> historyEvents) {
+    writer.append(historyEvents);
+  }
+
+  /**
+   * Syncs and closes the current segment. Events handled afterwards are appended to a new segment.
+   */
+  @Override
+  public void close() {
+    writer.close();
+  }
+
+  public HistoryEventLogWriter getWriter() {
+    return writer;
+  }
+
+}
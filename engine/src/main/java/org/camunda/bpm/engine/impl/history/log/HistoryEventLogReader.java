@@ -0,0 +1,215 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+
+/**
+ * <p>Streams the history events of a history event log in the order they were appended,
+ * e.g. to replay them into the database with a {@link HistoryEventHandler}.</p>
+ *
+ * <p>The reader moves on to the next segment once it exists, so it can follow a log
+ * that is still written: if {@link #hasNext()} returns false, it may return true once
+ * more events have been appended. Segments that have been read completely (i.e. those
+ * with an index lower than {@link #getSegmentIndex()}) can be deleted.</p>
+ */
+public class HistoryEventLogReader implements Iterator<HistoryEvent>, Closeable {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected File directory;
+  protected HistoryEventLogSerializer serializer = new HistoryEventLogSerializer();
+
+  protected long segmentIndex;
+  protected MappedByteBuffer buffer;
+  protected HistoryEvent nextEvent;
+
+  public HistoryEventLogReader(File directory) {
+    this(directory, 0);
+  }
+
+  /**
+   * @param fromSegmentIndex the index of the first segment to read
+   */
+  public HistoryEventLogReader(File directory, long fromSegmentIndex) {
+    this.directory = directory;
+    this.segmentIndex = fromSegmentIndex - 1;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (nextEvent == null) {
+      if (buffer != null) {
+        nextEvent = readEvent();
+        if (nextEvent != null) {
+          return true;
+        }
+      }
+
+      Long nextSegmentIndex = findNextSegmentIndex();
+      if (nextSegmentIndex == null) {
+        return false;
+      }
+
+      if (buffer != null) {
+        // the current segment may have been completed before the next one was created
+        nextEvent = readEvent();
+        if (nextEvent != null) {
+          return true;
+        }
+      }
+      if (!openSegment(nextSegmentIndex)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public HistoryEvent next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    HistoryEvent historyEvent = nextEvent;
+    nextEvent = null;
+    return historyEvent;
+  }
+
+  /**
+   * Passes all remaining events to the handler.
+   *
+   * @return the number of replayed events
+   */
+  public int replay(HistoryEventHandler historyEventHandler) {
+    int count = 0;
+    while (hasNext()) {
+      historyEventHandler.handleEvent(next());
+      count++;
+    }
+    return count;
+  }
+
+  protected HistoryEvent readEvent() {
+    File file = HistoryEventLogSegment.getFile(directory, segmentIndex);
+
+    while (buffer.remaining() >= HistoryEventLogSegment.RECORD_HEADER_SIZE) {
+      int position = buffer.position();
+      int length = buffer.getInt(position);
+      if (length == 0) {
+        // no record written yet
+        return null;
+      }
+
+      int checksum = buffer.getInt(position + 4);
+      if (length < 0 || length > buffer.remaining() - HistoryEventLogSegment.RECORD_HEADER_SIZE) {
+        skipSegment(file, position);
+        return null;
+      }
+
+      byte[] payload = new byte[length];
+      buffer.position(position + HistoryEventLogSegment.RECORD_HEADER_SIZE);
+      buffer.get(payload);
+
+      CRC32 crc = new CRC32();
+      crc.update(payload, 0, length);
+      if ((int) crc.getValue() != checksum) {
+        skipSegment(file, position);
+        return null;
+      }
+
+      try {
+        return serializer.deserialize(payload);
+      } catch (IOException e) {
+        throw LOG.historyEventLogException("read", file.getAbsolutePath(), e);
+      }
+    }
+    return null;
+  }
+
+  protected void skipSegment(File file, int position) {
+    LOG.corruptHistoryEventLogRecord(file.getAbsolutePath(), position);
+    buffer.position(buffer.limit());
+  }
+
+  protected Long findNextSegmentIndex() {
+    for (Long index : HistoryEventLogSegment.getIndexes(directory)) {
+      if (index > segmentIndex) {
+        return index;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return false if the writer has not initialized the segment yet
+   * @throws ProcessEngineException if the segment was written in a format version that is not supported
+   */
+  protected boolean openSegment(long nextIndex) {
+    File file = HistoryEventLogSegment.getFile(directory, nextIndex);
+    MappedByteBuffer segment;
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+      segment = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+    } catch (IOException e) {
+      throw LOG.historyEventLogException("open", file.getAbsolutePath(), e);
+    }
+
+    if (segment.remaining() < HistoryEventLogSegment.HEADER_SIZE || segment.getInt(0) == 0) {
+      return false;
+    }
+    if (segment.getInt(0) == HistoryEventLogSegment.MAGIC && segment.get(4) != HistoryEventLogSegment.FORMAT_VERSION) {
+      throw LOG.unsupportedHistoryEventLogFormatVersion(file.getAbsolutePath(), segment.get(4), HistoryEventLogSegment.FORMAT_VERSION);
+    }
+    buffer = segment;
+    segmentIndex = nextIndex;
+
+    if (buffer.getInt(0) == HistoryEventLogSegment.MAGIC) {
+      buffer.position(HistoryEventLogSegment.HEADER_SIZE);
+    }
+    else {
+      skipSegment(file, 0);
+    }
+    return true;
+  }
+
+  /**
+   * @return the index of the segment that is currently read
+   */
+  public long getSegmentIndex() {
+    return segmentIndex;
+  }
+
+  @Override
+  public void close() {
+    buffer = null;
+    nextEvent = null;
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.log;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Layout of the segment files of a history event log.</p>
+ *
+ * <p>A segment is a file of fixed size named <code>history-&lt;index&gt;.log</code>.
+ * It starts with an 8 byte header (int magic number, byte format version and three
+ * reserved bytes), followed by records of the form
+ * <code>[int length][int crc32][length bytes of payload]</code>. The format version
+ * determines the encoding of the payload, see {@link HistoryEventLogSerializer}.
+ * A length of zero marks the end of the written records; the writer sets the
+ * length last, such that a reader never sees a record that is only partially written.</p>
+ */
+public final class HistoryEventLogSegment {
+
+  public static final int MAGIC = 0x43484C47;
+  public static final byte FORMAT_VERSION = 2;
+  public static final int HEADER_SIZE = 8;
+  public static final int RECORD_HEADER_SIZE = 8;
+
+  protected static final String PREFIX = "history-";
+  protected static final String SUFFIX = ".log";
+
+  private HistoryEventLogSegment() {
+  }
+
+  public static File getFile(File directory, long index) {
+    return new File(directory, String.format("%s%019d%s", PREFIX, index, SUFFIX));
+  }
+
+  /**
+   * @return the index of the segment file or -1 if the file is not a segment
+   */
+  public static long getIndex(File file) {
+    String name = file.getName();
+    if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+      try {
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+      } catch (NumberFormatException e) {
+        // not a segment
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return the indexes of all segments in the directory in ascending order
+   */
+  public static List<Long> getIndexes(File directory) {
+    File[] files = directory.listFiles(new FileFilter() {
+      public boolean accept(File file) {
+        return file.isFile() && getIndex(file) >= 0;
+      }
+    });
+
+    List<Long> indexes = new ArrayList<>();
+    if (files != null) {
+      for (File file : files) {
+        indexes.add(getIndex(file));
+      }
+    }
+    Collections.sort(indexes);
+    return indexes;
+  }
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.log;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.persistence.entity.util.ByteArrayField;
+import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueField;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+
+/**
+ * <p>Serializes history events for the history event log.</p>
+ *
+ * <p>An event is written as its class name followed by its fields, each as the
+ * field name and a tagged value. Supported are the fields of the event class and its
+ * super classes with a type of {@link String}, {@link Date}, <code>byte[]</code>,
+ * primitive or boxed <code>int</code>, <code>long</code>, <code>double</code> and
+ * <code>boolean</code>, nested history events and collections of these. A
+ * {@link ByteArrayField} is written as the id of its byte array and a
+ * {@link TypedValueField} as its serializer name; fields of any other type are not
+ * written. Fields that are unknown when reading or whose type has changed are
+ * skipped, such that a log remains readable if the history event classes change.
+ * Incompatible changes of the encoding itself require a new
+ * {@link HistoryEventLogSegment#FORMAT_VERSION}.</p>
+ */
+public class HistoryEventLogSerializer {
+
+  protected static final byte NULL = 0;
+  protected static final byte STRING = 1;
+  protected static final byte INTEGER = 2;
+  protected static final byte LONG = 3;
+  protected static final byte DOUBLE = 4;
+  protected static final byte BOOLEAN = 5;
+  protected static final byte DATE = 6;
+  protected static final byte BYTES = 7;
+  protected static final byte COLLECTION = 8;
+  protected static final byte EVENT = 9;
+
+  protected final Map<Class<?>, Map<String, Field>> fieldsByClass = new ConcurrentHashMap<>();
+
+  public byte[] serialize(HistoryEvent historyEvent) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      writeEvent(out, historyEvent);
+    }
+    return bytes.toByteArray();
+  }
+
+  public HistoryEvent deserialize(byte[] payload) throws IOException {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+      return readEvent(in);
+    }
+  }
+
+  protected void writeEvent(DataOutputStream out, HistoryEvent historyEvent) throws IOException {
+    Map<String, Field> fields = getFields(historyEvent.getClass());
+
+    out.writeUTF(historyEvent.getClass().getName());
+    out.writeShort(fields.size());
+    for (Field field : fields.values()) {
+      out.writeUTF(field.getName());
+      writeValue(out, getFieldValue(field, historyEvent));
+    }
+  }
+
+  protected HistoryEvent readEvent(DataInputStream in) throws IOException {
+    Class<?> eventClass = loadEventClass(in.readUTF());
+    HistoryEvent historyEvent = newInstance(eventClass);
+    Map<String, Field> fields = getFields(eventClass);
+
+    int fieldCount = in.readUnsignedShort();
+    for (int i = 0; i < fieldCount; i++) {
+      Field field = fields.get(in.readUTF());
+      Object value = readValue(in);
+      if (field != null) {
+        setFieldValue(field, historyEvent, value);
+      }
+    }
+    return historyEvent;
+  }
+
+  protected void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    }
+    else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+    }
+    else if (value instanceof Integer) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    }
+    else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    }
+    else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    }
+    else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean((Boolean) value);
+    }
+    else if (value instanceof Date) {
+      out.writeByte(DATE);
+      out.writeLong(((Date) value).getTime());
+    }
+    else if (value instanceof byte[]) {
+      out.writeByte(BYTES);
+      writeBytes(out, (byte[]) value);
+    }
+    else if (value instanceof Collection) {
+      Collection<?> collection = (Collection<?>) value;
+      out.writeByte(COLLECTION);
+      out.writeInt(collection.size());
+      for (Object element : collection) {
+        writeValue(out, element);
+      }
+    }
+    else if (value instanceof HistoryEvent) {
+      out.writeByte(EVENT);
+      writeEvent(out, (HistoryEvent) value);
+    }
+    else {
+      throw new IOException("Unsupported value of type " + value.getClass().getName());
+    }
+  }
+
+  protected Object readValue(DataInputStream in) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case NULL:
+        return null;
+      case STRING:
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+      case INTEGER:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case BOOLEAN:
+        return in.readBoolean();
+      case DATE:
+        return new Date(in.readLong());
+      case BYTES:
+        return readBytes(in);
+      case COLLECTION:
+        int size = in.readInt();
+        List<Object> collection = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          collection.add(readValue(in));
+        }
+        return collection;
+      case EVENT:
+        return readEvent(in);
+      default:
+        throw new IOException("Unknown value type " + type);
+    }
+  }
+
+  protected void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  protected byte[] readBytes(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  protected Object getFieldValue(Field field, Object object) throws IOException {
+    try {
+      Object value = field.get(object);
+      if (value instanceof ByteArrayField) {
+        return ((ByteArrayField) value).getByteArrayId();
+      }
+      else if (value instanceof TypedValueField) {
+        return ((TypedValueField) value).getSerializerName();
+      }
+      else {
+        return value;
+      }
+    } catch (IllegalAccessException e) {
+      throw new IOException("Could not read field " + field, e);
+    }
+  }
+
+  protected void setFieldValue(Field field, Object object, Object value) throws IOException {
+    try {
+      Class<?> type = field.getType();
+      if (ByteArrayField.class.equals(type)) {
+        ((ByteArrayField) field.get(object)).setByteArrayId((String) value);
+      }
+      else if (TypedValueField.class.equals(type)) {
+        ((TypedValueField) field.get(object)).setSerializerName((String) value);
+      }
+      else if (value != null || !type.isPrimitive()) {
+        field.set(object, value);
+      }
+    } catch (IllegalArgumentException | ClassCastException e) {
+      // the type of the field has changed since the event was written
+    } catch (IllegalAccessException e) {
+      throw new IOException("Could not set field " + field, e);
+    }
+  }
+
+  protected Map<String, Field> getFields(Class<?> eventClass) {
+    Map<String, Field> fields = fieldsByClass.get(eventClass);
+    if (fields == null) {
+      fields = collectFields(eventClass);
+      fieldsByClass.put(eventClass, fields);
+    }
+    return fields;
+  }
+
+  protected Map<String, Field> collectFields(Class<?> eventClass) {
+    Map<String, Field> fields = new LinkedHashMap<>();
+    for (Class<?> type = eventClass; type != null && type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+          continue;
+        }
+        if (isSupportedType(field.getType()) && !fields.containsKey(field.getName())) {
+          field.setAccessible(true);
+          fields.put(field.getName(), field);
+        }
+      }
+    }
+    return Collections.unmodifiableMap(fields);
+  }
+
+  protected boolean isSupportedType(Class<?> type) {
+    return String.class.equals(type)
+        || Date.class.equals(type)
+        || byte[].class.equals(type)
+        || int.class.equals(type) || Integer.class.equals(type)
+        || long.class.equals(type) || Long.class.equals(type)
+        || double.class.equals(type) || Double.class.equals(type)
+        || boolean.class.equals(type) || Boolean.class.equals(type)
+        || Collection.class.isAssignableFrom(type)
+        || HistoryEvent.class.isAssignableFrom(type)
+        || ByteArrayField.class.equals(type)
+        || TypedValueField.class.equals(type);
+  }
+
+  protected Class<?> loadEventClass(String name) throws IOException {
+    Class<?> eventClass;
+    try {
+      eventClass = Class.forName(name, false, ReflectUtil.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      try {
+        eventClass = Class.forName(name, false, HistoryEventLogSerializer.class.getClassLoader());
+      } catch (ClassNotFoundException ex) {
+        throw new IOException("Unknown history event class " + name, ex);
+      }
+    }
+
+    if (!HistoryEvent.class.isAssignableFrom(eventClass)) {
+      throw new IOException("Class " + name + " is not a history event");
+    }
+    return eventClass;
+  }
+
+  protected HistoryEvent newInstance(Class<?> eventClass) throws IOException {
+    try {
+      return (HistoryEvent) eventClass.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("Could not instantiate history event class " + eventClass.getName(), e);
+    }
+  }
+
+}
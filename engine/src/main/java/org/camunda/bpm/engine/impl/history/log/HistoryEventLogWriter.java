@@ -0,0 +1,245 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.log;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.zip.CRC32;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Appends history events to memory-mapped segment files of fixed size,
+ * starting a new segment whenever the current one is full.</p>
+ *
+ * <p>Appended records are forced to the storage device once {@link #getSyncBatchSize()}
+ * records have been appended since the last sync, at least every {@link #getSyncIntervalInMillis()}
+ * while the writer is open, and when the writer is closed. Until then, they survive a crash
+ * of the JVM, but not of the operating system.</p>
+ *
+ * <p>Each writer starts a new segment when it is opened, so that a segment
+ * is only ever written by a single writer.</p>
+ */
+public class HistoryEventLogWriter implements Closeable {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected File directory;
+  protected int segmentSize = 64 * 1024 * 1024;
+  protected int syncBatchSize = 100;
+  protected long syncIntervalInMillis = 1000;
+
+  protected HistoryEventLogSerializer serializer = new HistoryEventLogSerializer();
+
+  protected long segmentIndex = -1;
+  protected MappedByteBuffer buffer;
+  protected int unsyncedRecords;
+  protected long lastSyncTime;
+  protected Timer syncTimer;
+
+  public HistoryEventLogWriter(File directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Appends the events and syncs the segment if necessary. Events that cannot
+   * be serialized are logged and skipped. Opens the writer if it is not open.
+   */
+  public synchronized void append(List<HistoryEvent> historyEvents) {
+    if (buffer == null) {
+      open();
+    }
+
+    for (HistoryEvent historyEvent : historyEvents) {
+      byte[] payload;
+      try {
+        payload = serializer.serialize(historyEvent);
+      } catch (IOException e) {
+        LOG.couldNotAppendHistoryEvent(historyEvent, e);
+        continue;
+      }
+
+      int recordSize = HistoryEventLogSegment.RECORD_HEADER_SIZE + payload.length;
+      if (recordSize > segmentSize - HistoryEventLogSegment.HEADER_SIZE) {
+        LOG.historyEventTooLargeForLogSegment(historyEvent, payload.length, segmentSize);
+        continue;
+      }
+
+      if (recordSize > buffer.remaining()) {
+        roll();
+      }
+      appendRecord(payload);
+    }
+
+    if (unsyncedRecords >= syncBatchSize || ClockUtil.getCurrentTime().getTime() - lastSyncTime >= syncIntervalInMillis) {
+      sync();
+    }
+  }
+
+  protected void appendRecord(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload, 0, payload.length);
+
+    int position = buffer.position();
+    buffer.position(position + HistoryEventLogSegment.RECORD_HEADER_SIZE);
+    buffer.put(payload);
+    buffer.putInt(position + 4, (int) crc.getValue());
+    // the length is written last, it makes the record visible to readers
+    buffer.putInt(position, payload.length);
+
+    unsyncedRecords++;
+  }
+
+  /**
+   * Forces all appended records to the storage device.
+   */
+  public synchronized void sync() {
+    if (buffer != null && unsyncedRecords > 0) {
+      buffer.force();
+    }
+    unsyncedRecords = 0;
+    lastSyncTime = ClockUtil.getCurrentTime().getTime();
+  }
+
+  public synchronized void open() {
+    if (buffer != null) {
+      return;
+    }
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw LOG.historyEventLogException("create directory of", directory.getAbsolutePath(), new IOException("mkdirs failed"));
+    }
+
+    List<Long> indexes = HistoryEventLogSegment.getIndexes(directory);
+    long lastIndex = indexes.isEmpty() ? -1 : indexes.get(indexes.size() - 1);
+    openSegment(Math.max(lastIndex, segmentIndex) + 1);
+    startSyncTimer();
+  }
+
+  /**
+   * Syncs the appended records in the background, such that they are synced
+   * within the sync interval even if no further records are appended.
+   */
+  protected void startSyncTimer() {
+    if (syncIntervalInMillis > 0) {
+      syncTimer = new Timer("Camunda History Event Log Sync", true);
+      syncTimer.schedule(new TimerTask() {
+        public void run() {
+          syncInBackground();
+        }
+      }, syncIntervalInMillis, syncIntervalInMillis);
+    }
+  }
+
+  protected synchronized void syncInBackground() {
+    try {
+      if (unsyncedRecords > 0) {
+        sync();
+      }
+    } catch (RuntimeException e) {
+      // keep the timer alive, the next append or tick tries again
+      LOG.couldNotSyncHistoryEventLog(e);
+    }
+  }
+
+  protected void stopSyncTimer() {
+    if (syncTimer != null) {
+      syncTimer.cancel();
+      syncTimer = null;
+    }
+  }
+
+  protected void roll() {
+    sync();
+    closeSegment();
+    openSegment(segmentIndex + 1);
+  }
+
+  protected void openSegment(long index) {
+    File file = HistoryEventLogSegment.getFile(directory, index);
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+      randomAccessFile.setLength(segmentSize);
+      // the mapping stays valid after the file is closed
+      buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    } catch (IOException e) {
+      throw LOG.historyEventLogException("create", file.getAbsolutePath(), e);
+    }
+
+    // the magic number is written last, it makes the segment visible to readers
+    buffer.put(4, HistoryEventLogSegment.FORMAT_VERSION);
+    buffer.putInt(0, HistoryEventLogSegment.MAGIC);
+    buffer.position(HistoryEventLogSegment.HEADER_SIZE);
+    segmentIndex = index;
+    unsyncedRecords = 1;
+    lastSyncTime = ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected void closeSegment() {
+    buffer = null;
+  }
+
+  @Override
+  public synchronized void close() {
+    stopSyncTimer();
+    if (buffer != null) {
+      sync();
+      closeSegment();
+    }
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  public long getSegmentIndex() {
+    return segmentIndex;
+  }
+
+  public int getSegmentSize() {
+    return segmentSize;
+  }
+
+  public void setSegmentSize(int segmentSize) {
+    this.segmentSize = segmentSize;
+  }
+
+  public int getSyncBatchSize() {
+    return syncBatchSize;
+  }
+
+  public void setSyncBatchSize(int syncBatchSize) {
+    this.syncBatchSize = syncBatchSize;
+  }
+
+  public long getSyncIntervalInMillis() {
+    return syncIntervalInMillis;
+  }
+
+  public void setSyncIntervalInMillis(long syncIntervalInMillis) {
+    this.syncIntervalInMillis = syncIntervalInMillis;
+  }
+
+}
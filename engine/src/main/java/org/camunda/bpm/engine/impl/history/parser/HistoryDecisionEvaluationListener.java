@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.DmnHistoryEventProducer;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 
@@ -54,7 +55,7 @@ public class HistoryDecisionEvaluationListener implements DmnDecisionEvaluationL
       historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
     }
     DmnDecision decisionTable = evaluationEvent.getDecisionResult().getDecision();
-    if(isDeployedDecisionTable(decisionTable) && historyLevel.isHistoryEventProduced(HistoryEventTypes.DMN_DECISION_EVALUATE, decisionTable)) {
+    if(isDeployedDecisionTable(decisionTable) && isDecisionHistoryEnabled() && historyLevel.isHistoryEventProduced(HistoryEventTypes.DMN_DECISION_EVALUATE, decisionTable)) {
 
       CoreExecutionContext<? extends CoreExecution> executionContext = Context.getCoreExecutionContext();
       if (executionContext != null) {
@@ -78,6 +79,11 @@ public class HistoryDecisionEvaluationListener implements DmnDecisionEvaluationL
     }
   }
 
+  protected boolean isDecisionHistoryEnabled() {
+    CommandContext commandContext = Context.getCommandContext();
+    return commandContext == null || commandContext.isDecisionHistoryEnabled();
+  }
+
   protected boolean isDeployedDecisionTable(DmnDecision decision) {
     if(decision instanceof DecisionDefinition) {
       return ((DecisionDefinition) decision).getId() != null;
@@ -41,6 +41,7 @@ import org.camunda.bpm.engine.impl.batch.BatchEntity;
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchEntity;
 import org.camunda.bpm.engine.impl.cfg.ConfigurationLogger;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -638,7 +639,12 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
     if (isRootProcessInstance(evt) && isHistoryRemovalTimeStrategyEnd()) {
       Date removalTime = calculateRemovalTime(evt);
 
-      if (removalTime != null) {
+      if (removalTime != null && isHistoryWrittenAsynchronously()) {
+        // the history of this transaction is not written yet, so the
+        // async handler adds the removal time once it has written the event
+        evt.setRemovalTime(removalTime);
+
+      } else if (removalTime != null) {
         addRemovalTimeToHistoricProcessInstances(evt.getRootProcessInstanceId(), removalTime);
 
         if (isDmnEnabled()) {
@@ -667,6 +673,12 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
       .addRemovalTimeToProcessInstancesByRootProcessInstanceId(rootProcessInstanceId, removalTime);
   }
 
+  protected boolean isHistoryWrittenAsynchronously() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration.isAsyncHistoryEventHandlerEnabled()
+      && processEngineConfiguration.getAsyncDbHistoryEventHandler() != null;
+  }
+
   protected boolean isDmnEnabled() {
     return Context.getCommandContext()
       .getProcessEngineConfiguration()
@@ -1299,7 +1311,9 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
 
   protected void provideRemovalTime(HistoryEvent historyEvent) {
     String rootProcessInstanceId = historyEvent.getRootProcessInstanceId();
-    if (rootProcessInstanceId != null) {
+    // the historic root process instance may not be written yet,
+    // so the async handler provides the removal time when writing the event
+    if (rootProcessInstanceId != null && !isHistoryWrittenAsynchronously()) {
       HistoricProcessInstanceEventEntity historicRootProcessInstance =
         getHistoricRootProcessInstance(rootProcessInstanceId);
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.CommandInvocationMetrics;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsRegistry;
+import org.camunda.bpm.engine.impl.util.ClassNameUtil;
+
+/**
+ * <p>Records the latency, flush time, number of SQL statements and loaded entities
+ * of every command invocation per command class in the {@link CommandMetricsRegistry}.</p>
+ *
+ * <p>Must be placed before the {@link CommandContextInterceptor}, such that the
+ * flush of the command context is included. The activity of nested command
+ * invocations is also added to the invocation they are nested in.</p>
+ */
+public class CommandMetricsInterceptor extends CommandInterceptor {
+
+  protected CommandMetricsRegistry commandMetricsRegistry;
+
+  public CommandMetricsInterceptor(CommandMetricsRegistry commandMetricsRegistry) {
+    this.commandMetricsRegistry = commandMetricsRegistry;
+  }
+
+  @Override
+  public <T> T execute(Command<T> command) {
+    CommandInvocationMetrics invocationMetrics = new CommandInvocationMetrics();
+    Context.setCommandInvocationMetrics(invocationMetrics);
+
+    boolean optimisticLockingFailure = false;
+    long start = System.nanoTime();
+
+    try {
+      return next.execute(command);
+
+    } catch (OptimisticLockingException e) {
+      optimisticLockingFailure = true;
+      throw e;
+
+    } finally {
+      long latency = System.nanoTime() - start;
+
+      Context.removeCommandInvocationMetrics();
+      CommandInvocationMetrics outerInvocationMetrics = Context.getCommandInvocationMetrics();
+      if (outerInvocationMetrics != null) {
+        outerInvocationMetrics.add(invocationMetrics);
+      }
+
+      commandMetricsRegistry.getCommandMetrics(getCommandName(command))
+        .record(latency, invocationMetrics, optimisticLockingFailure);
+    }
+  }
+
+  protected String getCommandName(Command<?> command) {
+    String className = ClassNameUtil.getClassNameWithoutPackage(command);
+    // lambda class names contain a suffix that differs per lambda
+    int lambdaIndex = className.indexOf("$$Lambda");
+    if (lambdaIndex >= 0) {
+      className = className.substring(0, lambdaIndex) + "$Lambda";
+    }
+    return className;
+  }
+
+}
@@ -96,7 +96,7 @@ public class ExecuteJobHelper {
         }
 
       } else {
-        SuccessfulJobListener successListener = createSuccessfulJobListener(commandExecutor);
+        SuccessfulJobListener successListener = createSuccessfulJobListener(commandExecutor, jobFailureCollector);
         commandExecutor.execute(successListener);
       }
     }
@@ -129,8 +129,8 @@ public class ExecuteJobHelper {
     return new FailedJobListener(commandExecutor, jobFailureCollector);
   }
 
-  protected static SuccessfulJobListener createSuccessfulJobListener(CommandExecutor commandExecutor) {
-    return new SuccessfulJobListener();
+  protected static SuccessfulJobListener createSuccessfulJobListener(CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector) {
+    return new SuccessfulJobListener(jobFailureCollector.getJob());
   }
 
   public interface ExceptionLoggingHandler {
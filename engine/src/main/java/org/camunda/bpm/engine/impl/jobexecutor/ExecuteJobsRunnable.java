@@ -20,6 +20,7 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.ExecuteJobBatchCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.cmd.UnlockJobCmd;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -27,6 +28,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataContext;
 import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -62,6 +64,10 @@ public class ExecuteJobsRunnable implements Runnable {
     ClassLoader classLoaderBeforeExecution = switchClassLoader();
 
     try {
+      if (jobExecutor.isActive() && engineConfiguration.isJobExecutorBatchingEnabled() && currentProcessorJobQueue.size() > 1) {
+        executeJobBatch(currentProcessorJobQueue, commandExecutor);
+      }
+
       while (!currentProcessorJobQueue.isEmpty()) {
 
         String nextJobId = currentProcessorJobQueue.remove(0);
@@ -110,6 +116,30 @@ public class ExecuteJobsRunnable implements Runnable {
     ExecuteJobHelper.executeJob(nextJobId, commandExecutor, jobFailureCollector, new ExecuteJobsCmd(nextJobId, jobFailureCollector), processEngine.getProcessEngineConfiguration());
   }
 
+  /**
+   * Executes the batchable jobs of the queue in one transaction and removes them from the queue.
+   * If the batch fails, it is rolled back and all jobs remain in the queue, such that they are
+   * executed one by one and only the failing job is retried. The database changes of the batch
+   * are undone by the rollback, but any non-transactional work of the jobs (e.g. calls to
+   * external systems) is performed again, which is why batching is opt-in per job definition.
+   */
+  protected void executeJobBatch(List<String> jobQueue, CommandExecutor commandExecutor) {
+    List<JobFailureCollector> executedJobs;
+    try {
+      executedJobs = commandExecutor.execute(new ExecuteJobBatchCmd(new ArrayList<>(jobQueue)));
+    } catch (Throwable t) {
+      LOG.warnJobBatchFailed(jobQueue, t);
+      return;
+    } finally {
+      new ProcessDataContext(processEngine.getProcessEngineConfiguration()).clearMdc();
+    }
+
+    for (JobFailureCollector jobFailureCollector : executedJobs) {
+      jobQueue.remove(jobFailureCollector.getJobId());
+      ExecuteJobHelper.invokeJobListener(commandExecutor, jobFailureCollector);
+    }
+  }
+
   protected void unlockJob(String nextJobId, CommandExecutor commandExecutor) {
     commandExecutor.execute(new UnlockJobCmd(nextJobId));
   }
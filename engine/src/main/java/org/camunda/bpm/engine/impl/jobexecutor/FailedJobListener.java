@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.util.MetricsUtil;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.management.Metrics;
 
@@ -92,9 +93,8 @@ public class FailedJobListener implements Command<Void> {
 
   protected void logJobFailure(CommandContext commandContext) {
     if (commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
-      commandContext.getProcessEngineConfiguration()
-              .getMetricsRegistry()
-              .markOccurrence(Metrics.JOB_FAILED);
+      MetricsUtil.markJobOccurrence(commandContext.getProcessEngineConfiguration().getMetricsRegistry(),
+          Metrics.JOB_FAILED, jobFailureCollector.getJob());
     }
   }
 
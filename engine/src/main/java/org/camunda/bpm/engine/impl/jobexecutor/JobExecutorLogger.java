@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -217,4 +218,23 @@ public class JobExecutorLogger extends ProcessEngineLogger {
     return new ProcessEngineException(exceptionMessage("031", "Invalid configuration for job executor priority range. Reason: {}", reason));
   }
 
+  public void virtualThreadsNotSupported(String jobExecutorClass) {
+    logWarn("032",
+        "Virtual threads are not supported by the current Java runtime. {} falls back to platform threads.",
+        jobExecutorClass);
+  }
+
+  public void skipLockedAcquisitionNotSupported(String databaseType) {
+    logWarn("033",
+        "Acquiring jobs with skip locked is not supported on database '{}'. The job executor falls back to optimistic locking.",
+        databaseType);
+  }
+
+  public void warnJobBatchFailed(List<String> jobIds, Throwable exception) {
+    logWarn(
+        "034",
+        "Batch of jobs {} was rolled back, executing the jobs one by one. Non-transactional work "
+            + "performed by the jobs of the batch is repeated: ", jobIds, exception);
+  }
+
 }
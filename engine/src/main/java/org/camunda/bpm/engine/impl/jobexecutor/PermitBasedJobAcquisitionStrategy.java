@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>{@link BackoffJobAcquisitionStrategy} that never acquires more jobs than there are
+ * free execution permits.</p>
+ *
+ * <p>Idle and backoff times are determined exactly as in the parent strategy. In addition,
+ * when no permit is left, acquisition waits for the execution saturation wait time instead
+ * of acquiring jobs that would only be rejected.</p>
+ */
+public class PermitBasedJobAcquisitionStrategy extends BackoffJobAcquisitionStrategy {
+
+  protected Semaphore executionPermits;
+
+  public PermitBasedJobAcquisitionStrategy(
+      long baseIdleWaitTime,
+      float idleIncreaseFactor,
+      long maxIdleTime,
+      long baseBackoffWaitTime,
+      float backoffIncreaseFactor,
+      long maxBackoffTime,
+      int backoffDecreaseThreshold,
+      int baseNumJobsToAcquire,
+      Semaphore executionPermits) {
+
+    super(baseIdleWaitTime, idleIncreaseFactor, maxIdleTime, baseBackoffWaitTime, backoffIncreaseFactor,
+        maxBackoffTime, backoffDecreaseThreshold, baseNumJobsToAcquire);
+    this.executionPermits = executionPermits;
+  }
+
+  public PermitBasedJobAcquisitionStrategy(VirtualThreadJobExecutor jobExecutor) {
+    super(jobExecutor);
+    this.executionPermits = jobExecutor.getExecutionPermits();
+  }
+
+  @Override
+  public void reconfigure(JobAcquisitionContext context) {
+    super.reconfigure(context);
+    executionSaturated = executionSaturated || executionPermits.availablePermits() == 0;
+  }
+
+  @Override
+  public int getNumJobsToAcquire(String processEngine) {
+    int numJobsToAcquire = super.getNumJobsToAcquire(processEngine);
+    return Math.min(numJobsToAcquire, executionPermits.availablePermits());
+  }
+
+}
@@ -18,6 +18,8 @@ package org.camunda.bpm.engine.impl.jobexecutor;
 
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.util.MetricsUtil;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.management.Metrics;
 
 /**
@@ -26,6 +28,15 @@ import org.camunda.bpm.engine.management.Metrics;
  */
 public class SuccessfulJobListener implements Command<Void> {
 
+  protected JobEntity job;
+
+  public SuccessfulJobListener() {
+  }
+
+  public SuccessfulJobListener(JobEntity job) {
+    this.job = job;
+  }
+
   public Void execute(CommandContext commandContext) {
     logJobSuccess(commandContext);
 
@@ -34,9 +45,8 @@ public class SuccessfulJobListener implements Command<Void> {
 
   protected void logJobSuccess(CommandContext commandContext) {
     if (commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
-      commandContext.getProcessEngineConfiguration()
-        .getMetricsRegistry()
-        .markOccurrence(Metrics.JOB_SUCCESSFUL);
+      MetricsUtil.markJobOccurrence(commandContext.getProcessEngineConfiguration().getMetricsRegistry(),
+          Metrics.JOB_SUCCESSFUL, job);
     }
   }
 
@@ -0,0 +1,209 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>{@link JobExecutor} that runs every batch of acquired jobs on its own virtual thread.</p>
+ *
+ * <p>Instead of a bounded queue in front of a fixed number of worker threads, the number of
+ * jobs in execution is bounded by a number of execution permits ({@link #maxConcurrentJobs}).
+ * Job acquisition asks for at most as many jobs as there are free permits
+ * (see {@link PermitBasedJobAcquisitionStrategy}), so jobs that mostly wait for JDBC or
+ * HTTP calls no longer limit throughput to the size of a thread pool.</p>
+ *
+ * <p>Since each batch gets a fresh thread, the thread-local state kept by
+ * {@link org.camunda.bpm.engine.impl.context.Context} is isolated per batch and discarded
+ * together with the thread. Permits are managed by a {@link Semaphore} rather than a monitor
+ * so that waiting for a permit never pins a carrier thread.</p>
+ *
+ * <p>Virtual threads require Java 21. On older runtimes, the executor falls back to
+ * platform threads created on demand; concurrency is still bounded by the permits.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int maxConcurrentJobs = 256;
+  protected String threadNamePrefix = "camunda-job-";
+
+  protected Semaphore executionPermits;
+  protected ExecutorService executorService;
+
+  protected void ensureInitialization() {
+    if (acquireJobsCmdFactory == null) {
+      acquireJobsCmdFactory = new DefaultAcquireJobsCommandFactory(this);
+    }
+    acquireJobsRunnable = new PermitBasedJobAcquisitionRunnable(this);
+  }
+
+  protected void startExecutingJobs() {
+    // jobs that outlived the previous shutdown keep releasing into the semaphore they acquired from
+    executionPermits = new Semaphore(maxConcurrentJobs);
+
+    if (executorService == null || executorService.isShutdown()) {
+      executorService = createExecutorService();
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    executorService.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if (!executorService.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    // a batch larger than the total number of permits must still be executable
+    int permits = Math.min(jobIds.size(), maxConcurrentJobs);
+    Semaphore executionPermits = this.executionPermits;
+
+    if (!executionPermits.tryAcquire(permits)) {
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      return;
+    }
+
+    try {
+      executorService.execute(new PermitReleasingRunnable(getExecuteJobsRunnable(jobIds, processEngine), executionPermits, permits));
+
+    } catch (RejectedExecutionException e) {
+      executionPermits.release(permits);
+
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+    }
+  }
+
+  protected ExecutorService createExecutorService() {
+    try {
+      ThreadFactory threadFactory = createVirtualThreadFactory();
+      Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+
+    } catch (ReflectiveOperationException e) {
+      LOG.virtualThreadsNotSupported(getClass().getName());
+      return Executors.newCachedThreadPool(createPlatformThreadFactory());
+    }
+  }
+
+  protected ThreadFactory createVirtualThreadFactory() throws ReflectiveOperationException {
+    Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+
+    Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+    builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+
+    return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+  }
+
+  protected ThreadFactory createPlatformThreadFactory() {
+    final AtomicLong threadCounter = new AtomicLong();
+    return runnable -> {
+      Thread thread = new Thread(runnable, threadNamePrefix + threadCounter.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * @return the number of jobs that can currently be submitted for execution
+   * without being rejected
+   */
+  public int getAvailablePermits() {
+    if (executionPermits == null) {
+      return maxConcurrentJobs;
+    }
+    return executionPermits.availablePermits();
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  public String getThreadNamePrefix() {
+    return threadNamePrefix;
+  }
+
+  public void setThreadNamePrefix(String threadNamePrefix) {
+    this.threadNamePrefix = threadNamePrefix;
+  }
+
+  public Semaphore getExecutionPermits() {
+    return executionPermits;
+  }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+  public void setExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+  }
+
+  /**
+   * Returns the execution permits of a batch once all of its jobs have been executed.
+   */
+  protected static class PermitReleasingRunnable implements Runnable {
+
+    protected final Runnable delegate;
+    protected final Semaphore executionPermits;
+    protected final int permits;
+
+    public PermitReleasingRunnable(Runnable delegate, Semaphore executionPermits, int permits) {
+      this.delegate = delegate;
+      this.executionPermits = executionPermits;
+      this.permits = permits;
+    }
+
+    public void run() {
+      try {
+        delegate.run();
+      } finally {
+        executionPermits.release(permits);
+      }
+    }
+  }
+
+}
@@ -48,6 +48,12 @@ public abstract class HistoryCleanupHandler implements TransactionListener {
 
   abstract boolean shouldRescheduleNow();
 
+  /**
+   * Called after the cleanup has been committed, before the job is rescheduled.
+   */
+  void adaptBatchSize() {
+  }
+
   public HistoryCleanupJobHandlerConfiguration getConfiguration() {
     return configuration;
   }
@@ -73,6 +79,7 @@ public abstract class HistoryCleanupHandler implements TransactionListener {
 
       Map<String, Long> report = reportMetrics();
       boolean isRescheduleNow = shouldRescheduleNow();
+      adaptBatchSize();
 
       new HistoryCleanupSchedulerCmd(isRescheduleNow, report, configuration, jobId).execute(commandContext);
 
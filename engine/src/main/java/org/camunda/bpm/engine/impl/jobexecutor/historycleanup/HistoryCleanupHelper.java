@@ -16,13 +16,30 @@
  */
 package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -31,6 +48,21 @@ import org.camunda.bpm.engine.impl.util.ClockUtil;
  */
 public abstract class HistoryCleanupHelper {
 
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /**
+   * History tables that are range partitioned by their removal time
+   * if history partitioning is enabled.
+   */
+  public static final List<String> PARTITIONED_HISTORY_TABLES = Collections.unmodifiableList(Arrays.asList(
+      "ACT_HI_ACTINST", "ACT_HI_TASKINST", "ACT_HI_VARINST", "ACT_HI_DETAIL", "ACT_HI_JOB_LOG"));
+
+  private static final Pattern HISTORY_PARTITION_NAME = Pattern.compile(".*_P(\\d{8})", Pattern.CASE_INSENSITIVE);
+
+  private static final String HISTORY_PARTITION_DAY_FORMAT = "yyyyMMdd";
+
+  private static final String HISTORY_PARTITION_BOUND_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
   private static final SimpleDateFormat TIME_FORMAT_WITHOUT_SECONDS = new SimpleDateFormat("yyyy-MM-ddHH:mm");
 
   private static final SimpleDateFormat TIME_FORMAT_WITHOUT_SECONDS_WITH_TIMEZONE = new SimpleDateFormat("yyyy-MM-ddHH:mmZ");
@@ -141,4 +173,224 @@ public abstract class HistoryCleanupHelper {
   public static boolean isBatchWindowConfigured(CommandContext commandContext) {
     return commandContext.getProcessEngineConfiguration().getBatchWindowManager().isBatchWindowConfigured(commandContext.getProcessEngineConfiguration());
   }
+
+  /**
+   * Drops the expired day partitions of all {@link #PARTITIONED_HISTORY_TABLES} and creates the
+   * partitions of the days to come, see {@link #getHistoryPartitionLookAheadDays(CommandContext, Connection)}.
+   * A partition is expired once its whole range lies before the current time, i.e. when history cleanup
+   * would delete all of its rows anyway.
+   *
+   * @return the number of dropped partitions
+   */
+  public static int manageHistoryPartitions(CommandContext commandContext) {
+    DbSqlSession dbSqlSession = commandContext.getDbSqlSession();
+    Connection connection = dbSqlSession.getSqlSession().getConnection();
+    String databaseTablePrefix = dbSqlSession.getDbSqlSessionFactory().getDatabaseTablePrefix();
+    Date now = ClockUtil.getCurrentTime();
+
+    Integer lookAheadDays = null;
+    int droppedPartitions = 0;
+    for (String table : PARTITIONED_HISTORY_TABLES) {
+      String tableName = databaseTablePrefix + table;
+      try {
+        List<String> partitionNames = selectHistoryPartitionNames(connection, tableName);
+
+        for (Date day : findExpiredHistoryPartitionDays(partitionNames, now)) {
+          String partitionName = getHistoryPartitionName(tableName, day);
+          executeStatement(connection, "alter table " + tableName + " detach partition " + partitionName);
+          executeStatement(connection, "drop table " + partitionName);
+          LOG.droppedHistoryPartition(partitionName);
+          droppedPartitions++;
+        }
+
+        if (lookAheadDays == null) {
+          lookAheadDays = getHistoryPartitionLookAheadDays(commandContext, connection);
+        }
+        for (Date day : findMissingHistoryPartitionDays(partitionNames, now, lookAheadDays)) {
+          createHistoryPartition(connection, tableName, day);
+        }
+
+      } catch (SQLException e) {
+        throw LOG.historyPartitionException(tableName, e);
+      }
+    }
+
+    return droppedPartitions;
+  }
+
+  /**
+   * Rows get a removal time of up to the longest history time to live ahead, and a row whose day has no
+   * partition yet goes to the default partition, which then prevents the partition of that day from being
+   * created. Therefore, partitions are created for the longest history time to live of all deployed
+   * definitions and batch operations plus {@link ProcessEngineConfigurationImpl#getHistoryPartitionLookAheadDays()}
+   * days, which covers definitions with a longer time to live that are deployed until the next cleanup.
+   * The number of days is capped by {@link ProcessEngineConfigurationImpl#getHistoryPartitionMaxLookAheadDays()},
+   * such that a time to live of years does not create a partition per table for each of its days; rows beyond
+   * that go to the default partition.
+   */
+  protected static int getHistoryPartitionLookAheadDays(CommandContext commandContext, Connection connection) throws SQLException {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    String databaseTablePrefix = commandContext.getDbSqlSession().getDbSqlSessionFactory().getDatabaseTablePrefix();
+
+    int maxHistoryTimeToLive = selectMaxHistoryTimeToLive(connection, databaseTablePrefix + "ACT_RE_PROCDEF");
+    if (processEngineConfiguration.isDmnEnabled()) {
+      maxHistoryTimeToLive = Math.max(maxHistoryTimeToLive, selectMaxHistoryTimeToLive(connection, databaseTablePrefix + "ACT_RE_DECISION_DEF"));
+    }
+    if (processEngineConfiguration.isCmmnEnabled()) {
+      maxHistoryTimeToLive = Math.max(maxHistoryTimeToLive, selectMaxHistoryTimeToLive(connection, databaseTablePrefix + "ACT_RE_CASE_DEF"));
+    }
+
+    Map<String, Integer> batchOperationsForHistoryCleanup = processEngineConfiguration.getParsedBatchOperationsForHistoryCleanup();
+    if (batchOperationsForHistoryCleanup != null) {
+      for (Integer historyTimeToLive : batchOperationsForHistoryCleanup.values()) {
+        if (historyTimeToLive != null) {
+          maxHistoryTimeToLive = Math.max(maxHistoryTimeToLive, historyTimeToLive);
+        }
+      }
+    }
+
+    return getHistoryPartitionLookAheadDays(maxHistoryTimeToLive,
+        processEngineConfiguration.getHistoryPartitionLookAheadDays(),
+        processEngineConfiguration.getHistoryPartitionMaxLookAheadDays());
+  }
+
+  /**
+   * @return the number of days from today on to create partitions for; the day on which a row with
+   * the given time to live ends is included unless that exceeds the given maximum
+   */
+  public static int getHistoryPartitionLookAheadDays(int maxHistoryTimeToLive, int lookAheadDays, int maxLookAheadDays) {
+    long days = (long) maxHistoryTimeToLive + 1 + lookAheadDays;
+    return (int) Math.min(days, maxLookAheadDays);
+  }
+
+  protected static int selectMaxHistoryTimeToLive(Connection connection, String tableName) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("select max(HISTORY_TTL_) from " + tableName)) {
+      return resultSet.next() ? resultSet.getInt(1) : 0;
+    }
+  }
+
+  public static String getHistoryPartitionName(String tableName, Date day) {
+    return tableName + "_P" + new SimpleDateFormat(HISTORY_PARTITION_DAY_FORMAT).format(day);
+  }
+
+  /**
+   * @return the first day covered by the given partition or <code>null</code> if it is no day partition
+   */
+  public static Date getHistoryPartitionDay(String partitionName) {
+    Matcher matcher = HISTORY_PARTITION_NAME.matcher(partitionName);
+    if (!matcher.matches()) {
+      return null;
+    }
+
+    SimpleDateFormat dayFormat = new SimpleDateFormat(HISTORY_PARTITION_DAY_FORMAT);
+    dayFormat.setLenient(false);
+    try {
+      return dayFormat.parse(matcher.group(1));
+    } catch (ParseException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the days of the given partitions that end before or at the given time
+   */
+  public static List<Date> findExpiredHistoryPartitionDays(List<String> partitionNames, Date now) {
+    List<Date> expiredDays = new ArrayList<>();
+    for (String partitionName : partitionNames) {
+      Date day = getHistoryPartitionDay(partitionName);
+      if (day != null && !addDays(day, 1).after(now)) {
+        expiredDays.add(day);
+      }
+    }
+    Collections.sort(expiredDays);
+    return expiredDays;
+  }
+
+  /**
+   * @return the days from the day of the given time on, for which none of the given partitions exists
+   */
+  public static List<Date> findMissingHistoryPartitionDays(List<String> partitionNames, Date now, int lookAheadDays) {
+    Set<Date> existingDays = new HashSet<>();
+    for (String partitionName : partitionNames) {
+      Date day = getHistoryPartitionDay(partitionName);
+      if (day != null) {
+        existingDays.add(day);
+      }
+    }
+
+    List<Date> missingDays = new ArrayList<>();
+    Date today = startOfDay(now);
+    for (int i = 0; i < lookAheadDays; i++) {
+      Date day = addDays(today, i);
+      if (!existingDays.contains(day)) {
+        missingDays.add(day);
+      }
+    }
+    return missingDays;
+  }
+
+  protected static List<String> selectHistoryPartitionNames(Connection connection, String tableName) throws SQLException {
+    List<String> partitionNames = new ArrayList<>();
+    String sql = "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid where i.inhparent = cast(? as regclass)";
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setString(1, tableName);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          partitionNames.add(resultSet.getString(1));
+        }
+      }
+    }
+    return partitionNames;
+  }
+
+  /**
+   * Creates the partition of the given day unless the default partition already contains rows of that day.
+   * PostgreSQL rejects such partitions; their rows are removed row by row instead.
+   */
+  protected static void createHistoryPartition(Connection connection, String tableName, Date day) throws SQLException {
+    String partitionName = getHistoryPartitionName(tableName, day);
+    String defaultPartitionName = tableName + "_DEFAULT";
+    Date nextDay = addDays(day, 1);
+
+    String sql = "select 1 from " + defaultPartitionName + " where REMOVAL_TIME_ >= ? and REMOVAL_TIME_ < ?";
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setMaxRows(1);
+      statement.setTimestamp(1, new Timestamp(day.getTime()));
+      statement.setTimestamp(2, new Timestamp(nextDay.getTime()));
+      try (ResultSet resultSet = statement.executeQuery()) {
+        if (resultSet.next()) {
+          LOG.skippedHistoryPartition(partitionName, defaultPartitionName);
+          return;
+        }
+      }
+    }
+
+    SimpleDateFormat boundFormat = new SimpleDateFormat(HISTORY_PARTITION_BOUND_FORMAT);
+    executeStatement(connection, "create table " + partitionName + " partition of " + tableName
+        + " for values from ('" + boundFormat.format(day) + "') to ('" + boundFormat.format(nextDay) + "')");
+  }
+
+  protected static void executeStatement(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  protected static Date startOfDay(Date date) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    calendar.set(Calendar.HOUR_OF_DAY, 0);
+    calendar.set(Calendar.MINUTE, 0);
+    calendar.set(Calendar.SECOND, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+    return calendar.getTime();
+  }
+
+  protected static Date addDays(Date date, int days) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    calendar.add(Calendar.DAY_OF_MONTH, days);
+    return calendar.getTime();
+  }
 }
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchEntity;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -36,7 +37,23 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
 
   protected Map<Class<? extends DbEntity>, DbOperation> deleteOperations = new HashMap<>();
 
+  /**
+   * Start of the cleanup as returned by {@link System#nanoTime()}, -1 if no cleanup was performed.
+   */
+  protected long cleanupStartTime = -1;
+
+  /**
+   * Number of expired history partitions dropped by this cleanup, <code>null</code> if partitions were not managed.
+   */
+  protected Integer droppedPartitions;
+
   public void performCleanup() {
+    cleanupStartTime = System.nanoTime();
+
+    if (isHistoryPartitioningEnabled() && configuration.getMinuteFrom() == 0) {
+      droppedPartitions = performPartitionCleanup();
+    }
+
     deleteOperations.putAll(performProcessCleanup());
 
     if (isDmnEnabled()) {
@@ -52,6 +69,15 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
     }
   }
 
+  /**
+   * Drops expired partitions in a separate transaction, such that the lock on the
+   * partitioned tables is released before the remaining rows are deleted.
+   * Only the cleanup job of the first minute chunk manages the partitions.
+   */
+  protected Integer performPartitionCleanup() {
+    return commandExecutor.execute(HistoryCleanupHelper::manageHistoryPartitions);
+  }
+
   protected Map<Class<? extends DbEntity>, DbOperation> performDmnCleanup() {
     return Context
         .getCommandContext()
@@ -107,9 +133,73 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
       reports.put(Metrics.HISTORY_CLEANUP_REMOVED_TASK_METRICS, (long) deleteOperationTaskMetric.getRowsAffected());
     }
 
+    if (droppedPartitions != null) {
+      reports.put(Metrics.HISTORY_CLEANUP_DROPPED_PARTITIONS, (long) droppedPartitions);
+    }
+
+    if (isTableMetricsEnabled()) {
+      for (DbOperation deleteOperation : deleteOperations.values()) {
+        reports.put(Metrics.HISTORY_CLEANUP_REMOVED_ROWS_PREFIX + deleteOperation.getEntityType().getSimpleName(),
+            (long) deleteOperation.getRowsAffected());
+      }
+      if (cleanupStartTime >= 0) {
+        reports.put(Metrics.HISTORY_CLEANUP_DURATION, getCleanupDuration());
+      }
+    }
+
     return reports;
   }
 
+  void adaptBatchSize() {
+    if (cleanupStartTime >= 0 && isAdaptiveBatchSizeEnabled()) {
+      configuration.setBatchSize(calculateNextBatchSize(getBatchSize(), getCleanupDuration(), shouldRescheduleNow()));
+    }
+  }
+
+  /**
+   * Halves the batch size if the cleanup took longer than the target duration and
+   * doubles it if a full batch took less than half of the target duration, up to the
+   * configured max batch size and never above {@link HistoryCleanupHandler#MAX_BATCH_SIZE}.
+   */
+  protected int calculateNextBatchSize(int batchSize, long durationInMillis, boolean isFullBatch) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    long targetDuration = processEngineConfiguration.getHistoryCleanupTargetBatchDuration();
+
+    if (durationInMillis > targetDuration) {
+      return Math.max(1, batchSize / 2);
+    }
+    if (isFullBatch && durationInMillis < targetDuration / 2) {
+      int maxBatchSize = Math.min(processEngineConfiguration.getHistoryCleanupMaxBatchSize(), HistoryCleanupHandler.MAX_BATCH_SIZE);
+      return Math.min(maxBatchSize, batchSize * 2);
+    }
+    return batchSize;
+  }
+
+  /**
+   * @return the time in milliseconds since the cleanup started, including the flush and commit of its deletes
+   */
+  protected long getCleanupDuration() {
+    return (System.nanoTime() - cleanupStartTime) / 1_000_000;
+  }
+
+  protected boolean isAdaptiveBatchSizeEnabled() {
+    return Context
+        .getProcessEngineConfiguration()
+        .isHistoryCleanupAdaptiveBatchSizeEnabled();
+  }
+
+  protected boolean isHistoryPartitioningEnabled() {
+    return Context
+        .getProcessEngineConfiguration()
+        .isHistoryPartitioningEnabled();
+  }
+
+  protected boolean isTableMetricsEnabled() {
+    return Context
+        .getProcessEngineConfiguration()
+        .isHistoryCleanupTableMetricsEnabled();
+  }
+
   protected boolean isDmnEnabled() {
     return Context
         .getProcessEngineConfiguration()
@@ -135,6 +225,11 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
   }
 
   public int getBatchSize() {
+    Integer adaptedBatchSize = configuration.getBatchSize();
+    if (adaptedBatchSize != null && isAdaptiveBatchSizeEnabled()) {
+      return adaptedBatchSize;
+    }
+
     return Context
         .getProcessEngineConfiguration()
         .getHistoryCleanupBatchSize();
@@ -0,0 +1,62 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+/**
+ * Collects the database activity of a single command invocation on the invoking
+ * thread, see {@link org.camunda.bpm.engine.impl.context.Context#getCommandInvocationMetrics()}.
+ */
+public class CommandInvocationMetrics {
+
+  protected long flushTimeNanos;
+  protected long sqlStatements;
+  protected long loadedEntities;
+
+  public void addFlushTime(long nanos) {
+    flushTimeNanos += nanos;
+  }
+
+  public void addSqlStatements(long statements) {
+    sqlStatements += statements;
+  }
+
+  public void addLoadedEntity() {
+    loadedEntities++;
+  }
+
+  /**
+   * Adds the activity of a nested command invocation to this invocation.
+   */
+  public void add(CommandInvocationMetrics nestedInvocation) {
+    flushTimeNanos += nestedInvocation.flushTimeNanos;
+    sqlStatements += nestedInvocation.sqlStatements;
+    loadedEntities += nestedInvocation.loadedEntities;
+  }
+
+  public long getFlushTimeNanos() {
+    return flushTimeNanos;
+  }
+
+  public long getSqlStatements() {
+    return sqlStatements;
+  }
+
+  public long getLoadedEntities() {
+    return loadedEntities;
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.management.CommandStatistics;
+import org.camunda.bpm.engine.management.HistogramStatistics;
+
+/**
+ * Aggregates the invocations of one command class.
+ */
+public class CommandMetrics implements CommandStatistics {
+
+  protected String commandName;
+
+  protected LongAdder optimisticLockingFailures = new LongAdder();
+  protected Histogram latency = new Histogram();
+  protected Histogram flushTime = new Histogram();
+  protected Histogram sqlStatements = new Histogram();
+  protected Histogram loadedEntities = new Histogram();
+
+  public CommandMetrics(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public void record(long latencyNanos, CommandInvocationMetrics invocation, boolean optimisticLockingFailure) {
+    latency.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    flushTime.record(TimeUnit.NANOSECONDS.toMicros(invocation.getFlushTimeNanos()));
+    sqlStatements.record(invocation.getSqlStatements());
+    loadedEntities.record(invocation.getLoadedEntities());
+
+    if (optimisticLockingFailure) {
+      optimisticLockingFailures.increment();
+    }
+  }
+
+  @Override
+  public String getCommandName() {
+    return commandName;
+  }
+
+  @Override
+  public long getInvocations() {
+    return latency.getCount();
+  }
+
+  @Override
+  public long getOptimisticLockingFailures() {
+    return optimisticLockingFailures.sum();
+  }
+
+  @Override
+  public HistogramStatistics getLatency() {
+    return latency;
+  }
+
+  @Override
+  public HistogramStatistics getFlushTime() {
+    return flushTime;
+  }
+
+  @Override
+  public HistogramStatistics getSqlStatements() {
+    return sqlStatements;
+  }
+
+  @Override
+  public HistogramStatistics getLoadedEntities() {
+    return loadedEntities;
+  }
+
+}
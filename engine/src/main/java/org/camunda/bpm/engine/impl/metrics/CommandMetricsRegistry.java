@@ -0,0 +1,61 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link CommandMetrics} of all command classes invoked on a process engine.
+ * The number of command classes is bounded; invocations of further command classes
+ * are aggregated as {@link #OTHER_COMMANDS}.
+ */
+public class CommandMetricsRegistry {
+
+  public static final String OTHER_COMMANDS = "OtherCommands";
+
+  protected int maxCommands = 500;
+  protected ConcurrentMap<String, CommandMetrics> commandMetrics = new ConcurrentHashMap<>();
+
+  public CommandMetrics getCommandMetrics(String commandName) {
+    CommandMetrics metrics = commandMetrics.get(commandName);
+    if (metrics == null) {
+      String name = commandMetrics.size() < maxCommands ? commandName : OTHER_COMMANDS;
+      metrics = commandMetrics.computeIfAbsent(name, CommandMetrics::new);
+    }
+    return metrics;
+  }
+
+  public List<CommandMetrics> getAllCommandMetrics() {
+    return new ArrayList<>(commandMetrics.values());
+  }
+
+  public void clear() {
+    commandMetrics.clear();
+  }
+
+  public int getMaxCommands() {
+    return maxCommands;
+  }
+
+  public void setMaxCommands(int maxCommands) {
+    this.maxCommands = maxCommands;
+  }
+
+}
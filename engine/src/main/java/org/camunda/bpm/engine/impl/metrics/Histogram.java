@@ -0,0 +1,138 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.management.HistogramStatistics;
+
+/**
+ * <p>Histogram of non-negative values with log-linear buckets, similar to an HDR histogram
+ * with a precision of one significant binary digit plus three sub-bucket bits.
+ * Values below 8 are counted exactly; larger values fall into buckets whose width
+ * is at most 12.5% of their lower bound.</p>
+ *
+ * <p>Recording is lock-free. Percentiles are reported as the upper bound of the
+ * bucket that contains them, capped by the largest recorded value.</p>
+ */
+public class Histogram implements HistogramStatistics {
+
+  protected static final int SUB_BUCKET_BITS = 3;
+  protected static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  protected static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  protected AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  protected LongAdder count = new LongAdder();
+  protected LongAdder sum = new LongAdder();
+  protected AtomicLong max = new AtomicLong();
+
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+
+    buckets.incrementAndGet(bucketIndex(value));
+    count.increment();
+    sum.add(value);
+
+    long currentMax = max.get();
+    while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+      currentMax = max.get();
+    }
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getSum() {
+    return sum.sum();
+  }
+
+  @Override
+  public double getMean() {
+    long currentCount = count.sum();
+    return currentCount == 0 ? 0 : (double) sum.sum() / currentCount;
+  }
+
+  @Override
+  public long getMax() {
+    return max.get();
+  }
+
+  @Override
+  public long getP50() {
+    return getPercentile(50);
+  }
+
+  @Override
+  public long getP95() {
+    return getPercentile(95);
+  }
+
+  @Override
+  public long getP99() {
+    return getPercentile(99);
+  }
+
+  /**
+   * @param percentile between 0 and 100
+   */
+  public long getPercentile(double percentile) {
+    long totalCount = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      totalCount += buckets.get(i);
+    }
+    if (totalCount == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(totalCount * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        return Math.min(bucketUpperBound(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  protected static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+  }
+
+  protected static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+    int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+    long lowerBound = ((long) (SUB_BUCKETS + subBucket)) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+}
@@ -16,30 +16,73 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A Meter implementation based on AtomicLong
+ * <p>A Meter implementation based on LongAdder, such that concurrent
+ * occurrences do not contend on a single counter.</p>
+ *
+ * <p>Besides the total count, which is cleared whenever it is reported, a meter
+ * can count occurrences per {@link MeterTags series}. Series counts are cumulative
+ * and never cleared. The number of series is bounded by {@link #maxSeries};
+ * occurrences of further series are counted in the {@link MeterTags#OVERFLOW} series.</p>
  *
  * @author Daniel Meyer
  *
  */
 public class Meter {
 
-  protected AtomicLong counter = new AtomicLong(0);
+  protected LongAdder counter = new LongAdder();
+
+  /**
+   * The sum of the counter at the time it was last cleared. The counter itself is
+   * never reset, so that occurrences marked while clearing are not lost.
+   */
+  protected long clearedCount = 0;
 
   protected String name;
 
+  protected int maxSeries = 0;
+  protected ConcurrentMap<MeterTags, LongAdder> series = new ConcurrentHashMap<>();
+
   public Meter(String name) {
     this.name = name;
   }
 
+  public Meter(String name, int maxSeries) {
+    this.name = name;
+    this.maxSeries = maxSeries;
+  }
+
   public void mark() {
-    counter.incrementAndGet();
+    counter.increment();
   }
 
   public void markTimes(long times) {
-    counter.addAndGet(times);
+    counter.add(times);
+  }
+
+  public void markTimes(MeterTags tags, long times) {
+    counter.add(times);
+
+    if (maxSeries > 0 && tags != null) {
+      getSeriesCounter(tags).add(times);
+    }
+  }
+
+  protected LongAdder getSeriesCounter(MeterTags tags) {
+    LongAdder seriesCounter = series.get(tags);
+    if (seriesCounter == null) {
+      // the size check is not atomic, such that the bound may be exceeded by a few concurrently added series
+      MeterTags seriesTags = series.size() < maxSeries ? tags : MeterTags.OVERFLOW;
+      seriesCounter = series.computeIfAbsent(seriesTags, key -> new LongAdder());
+    }
+    return seriesCounter;
   }
 
   public String getName() {
@@ -50,16 +93,42 @@ public class Meter {
     this.name = name;
   }
 
-  public long getAndClear() {
-    return counter.getAndSet(0);
+  public synchronized long getAndClear() {
+    long sum = counter.sum();
+    long count = sum - clearedCount;
+    clearedCount = sum;
+    return count;
   }
 
   public long get(boolean clear) {
     return clear ? getAndClear() : get();
   }
 
-  public long get() {
-    return counter.get();
+  public synchronized long get() {
+    return counter.sum() - clearedCount;
+  }
+
+  /**
+   * @return a snapshot of the cumulative count of every series of this meter
+   */
+  public Map<MeterTags, Long> getSeries() {
+    if (series.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<MeterTags, Long> snapshot = new HashMap<>();
+    for (Map.Entry<MeterTags, LongAdder> entry : series.entrySet()) {
+      snapshot.put(entry.getKey(), entry.getValue().sum());
+    }
+    return snapshot;
+  }
+
+  public int getMaxSeries() {
+    return maxSeries;
+  }
+
+  public void setMaxSeries(int maxSeries) {
+    this.maxSeries = maxSeries;
   }
 
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Immutable set of dimensions that identifies a series of a {@link Meter},
+ * e.g. the process definition key and tenant id of an activity instance start.</p>
+ *
+ * <p>Dimensions without a value are omitted.</p>
+ */
+public class MeterTags {
+
+  public static final String PROCESS_DEFINITION_KEY = "processDefinitionKey";
+  public static final String TENANT_ID = "tenantId";
+  public static final String ACTIVITY_TYPE = "activityType";
+  public static final String JOB_TYPE = "jobType";
+
+  /**
+   * Identifies the series that collects all occurrences exceeding
+   * the maximum number of series of a meter.
+   */
+  public static final MeterTags OVERFLOW = new MeterTags(Collections.singletonMap("overflow", "true"));
+
+  public static final MeterTags EMPTY = new MeterTags(Collections.<String, String>emptyMap());
+
+  protected final Map<String, String> tags;
+  protected final int hashCode;
+
+  protected MeterTags(Map<String, String> tags) {
+    this.tags = Collections.unmodifiableMap(tags);
+    this.hashCode = tags.hashCode();
+  }
+
+  /**
+   * @param keysAndValues alternating dimension names and values
+   */
+  public static MeterTags of(String... keysAndValues) {
+    if (keysAndValues.length % 2 != 0) {
+      throw new IllegalArgumentException("Meter tags must be given as pairs of keys and values");
+    }
+
+    Map<String, String> tags = new TreeMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      if (keysAndValues[i + 1] != null) {
+        tags.put(keysAndValues[i], keysAndValues[i + 1]);
+      }
+    }
+    return tags.isEmpty() ? EMPTY : new MeterTags(tags);
+  }
+
+  public Map<String, String> getTags() {
+    return tags;
+  }
+
+  public String get(String key) {
+    return tags.get(key);
+  }
+
+  public boolean isEmpty() {
+    return tags.isEmpty();
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    return tags.equals(((MeterTags) obj).tags);
+  }
+
+  @Override
+  public String toString() {
+    return tags.toString();
+  }
+
+}
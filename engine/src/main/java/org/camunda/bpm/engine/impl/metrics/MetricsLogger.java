@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
+import java.util.Map;
+
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 
 /**
@@ -32,4 +34,14 @@ public class MetricsLogger extends ProcessEngineLogger {
         "001", "Could not collect and log metrics", e);
   }
 
+  public void couldNotReportMetricsToSink(Object sink, Exception e) {
+    logWarn(
+        "002", "Could not report metrics to sink {}", sink, e);
+  }
+
+  public void logMeterSeries(String meterName, Map<MeterTags, Long> series) {
+    logInfo(
+        "003", "Meter {}: {}", meterName, series);
+  }
+
 }
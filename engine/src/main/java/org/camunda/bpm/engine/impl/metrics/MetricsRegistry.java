@@ -28,6 +28,11 @@ public class MetricsRegistry {
   protected Map<String, Meter> dbMeters = new HashMap<>();
   protected Map<String, Meter> telemetryMeters = new HashMap<>();
 
+  /**
+   * The maximum number of series per database meter. Series are not counted if 0.
+   */
+  protected int maxSeriesPerMeter = 0;
+
   public Meter getDbMeterByName(String name) {
     return dbMeters.get(name);
   }
@@ -53,6 +58,30 @@ public class MetricsRegistry {
     markOccurrence(telemetryMeters, name, times);
   }
 
+  /**
+   * Marks an occurrence of the given series. The series is only counted by database meters,
+   * telemetry meters only count the total.
+   */
+  public void markOccurrence(String name, MeterTags tags) {
+    markOccurrence(name, tags, 1);
+  }
+
+  public void markOccurrence(String name, MeterTags tags, long times) {
+    Meter dbMeter = dbMeters.get(name);
+    if (dbMeter != null) {
+      dbMeter.markTimes(tags, times);
+    }
+    markOccurrence(telemetryMeters, name, times);
+  }
+
+  /**
+   * @return true if meters count occurrences per series, such that
+   * callers should provide {@link MeterTags} when marking occurrences
+   */
+  public boolean isSeriesEnabled() {
+    return maxSeriesPerMeter > 0;
+  }
+
   public void markTelemetryOccurrence(String name, long times) {
     markOccurrence(telemetryMeters, name, times);
   }
@@ -69,7 +98,7 @@ public class MetricsRegistry {
    * Creates a meter for both database and telemetry collection.
    */
   public void createMeter(String name) {
-    Meter dbMeter = new Meter(name);
+    Meter dbMeter = new Meter(name, maxSeriesPerMeter);
     dbMeters.put(name, dbMeter);
 
     Meter telemetryMeter = new Meter(name);
@@ -80,7 +109,18 @@ public class MetricsRegistry {
    * Creates a meter only for database collection.
    */
   public void createDbMeter(String name) {
-    Meter dbMeter = new Meter(name);
+    Meter dbMeter = new Meter(name, maxSeriesPerMeter);
     dbMeters.put(name, dbMeter);
   }
+
+  public int getMaxSeriesPerMeter() {
+    return maxSeriesPerMeter;
+  }
+
+  /**
+   * Applies to meters created afterwards.
+   */
+  public void setMaxSeriesPerMeter(int maxSeriesPerMeter) {
+    this.maxSeriesPerMeter = maxSeriesPerMeter;
+  }
 }
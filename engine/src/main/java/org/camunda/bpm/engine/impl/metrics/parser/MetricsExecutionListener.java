@@ -20,7 +20,13 @@ import java.util.function.Function;
 
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.MeterTags;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 
 /**
  * @author Daniel Meyer
@@ -43,10 +49,23 @@ public class MetricsExecutionListener implements ExecutionListener {
 
   public void notify(DelegateExecution execution) throws Exception {
     if (condition.apply(execution)) {
-      Context.getProcessEngineConfiguration()
-          .getMetricsRegistry()
-          .markOccurrence(metricsName);
+      MetricsRegistry metricsRegistry = Context.getProcessEngineConfiguration().getMetricsRegistry();
+      if (metricsRegistry.isSeriesEnabled()) {
+        metricsRegistry.markOccurrence(metricsName, createTags((ExecutionEntity) execution));
+      } else {
+        metricsRegistry.markOccurrence(metricsName);
+      }
     }
   }
 
+  protected MeterTags createTags(ExecutionEntity execution) {
+    ProcessDefinitionEntity processDefinition = execution.getProcessDefinition();
+    ActivityImpl activity = execution.getActivity();
+
+    return MeterTags.of(
+        MeterTags.PROCESS_DEFINITION_KEY, processDefinition != null ? processDefinition.getKey() : null,
+        MeterTags.TENANT_ID, execution.getTenantId(),
+        MeterTags.ACTIVITY_TYPE, activity != null ? activity.getProperties().get(BpmnProperties.TYPE) : null);
+  }
+
 }
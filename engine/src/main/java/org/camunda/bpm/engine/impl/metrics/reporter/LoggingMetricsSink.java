@@ -0,0 +1,44 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.reporter;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MeterTags;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+
+/**
+ * Logs the series of all meters that have any.
+ */
+public class LoggingMetricsSink implements MetricsSink {
+
+  private final static MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  @Override
+  public void report(Collection<Meter> meters) {
+    for (Meter meter : meters) {
+      Map<MeterTags, Long> series = meter.getSeries();
+      if (!series.isEmpty()) {
+        LOG.logMeterSeries(meter.getName(), series);
+      }
+    }
+  }
+
+}
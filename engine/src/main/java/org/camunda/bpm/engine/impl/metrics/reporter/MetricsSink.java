@@ -0,0 +1,35 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.reporter;
+
+import java.util.Collection;
+
+import org.camunda.bpm.engine.impl.metrics.Meter;
+
+/**
+ * <p>Exports the meters of the engine, e.g. to a monitoring system, without
+ * writing them to the engine database like the {@link DbMetricsReporter}.</p>
+ *
+ * <p>Sinks are invoked periodically by the {@link MetricsSinkReporter}. They should
+ * export the cumulative {@link Meter#getSeries() series} of the meters and must
+ * not clear the meters, since the database reporter relies on their totals.</p>
+ */
+public interface MetricsSink {
+
+  void report(Collection<Meter> meters);
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.reporter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+
+/**
+ * Periodically reports the database meters of the {@link MetricsRegistry} to {@link MetricsSink}s.
+ */
+public class MetricsSinkReporter {
+
+  private final static MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  protected MetricsRegistry metricsRegistry;
+  protected List<MetricsSink> sinks;
+
+  protected long reportingIntervalInSeconds = 60;
+
+  private Timer timer;
+
+  public MetricsSinkReporter(MetricsRegistry metricsRegistry, List<MetricsSink> sinks) {
+    this.metricsRegistry = metricsRegistry;
+    this.sinks = sinks;
+  }
+
+  public void start() {
+    timer = new Timer("Camunda Metrics Sink Reporter", true);
+    long reportingIntervalInMillis = reportingIntervalInSeconds * 1000;
+
+    timer.scheduleAtFixedRate(new TimerTask() {
+      @Override
+      public void run() {
+        reportNow();
+      }
+    }, reportingIntervalInMillis, reportingIntervalInMillis);
+  }
+
+  public void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+      reportNow();
+    }
+  }
+
+  public void reportNow() {
+    Collection<Meter> meters = new ArrayList<>(metricsRegistry.getDbMeters().values());
+    for (MetricsSink sink : sinks) {
+      try {
+        sink.report(meters);
+      }
+      catch (Exception e) {
+        LOG.couldNotReportMetricsToSink(sink, e);
+      }
+    }
+  }
+
+  public long getReportingIntervalInSeconds() {
+    return reportingIntervalInSeconds;
+  }
+
+  public void setReportingIntervalInSeconds(long reportingIntervalInSeconds) {
+    this.reportingIntervalInSeconds = reportingIntervalInSeconds;
+  }
+
+  public List<MetricsSink> getSinks() {
+    return sinks;
+  }
+
+}
@@ -16,6 +16,9 @@
  */
 package org.camunda.bpm.engine.impl.metrics.util;
 
+import org.camunda.bpm.engine.impl.metrics.MeterTags;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.management.Metrics;
 
 public class MetricsUtil {
@@ -54,4 +57,19 @@ public class MetricsUtil {
     }
   }
 
+  /**
+   * Marks an occurrence of a job metric. If the registry counts series,
+   * the occurrence is counted per job type, process definition key and tenant.
+   */
+  public static void markJobOccurrence(MetricsRegistry metricsRegistry, String name, JobEntity job) {
+    if (job != null && metricsRegistry.isSeriesEnabled()) {
+      metricsRegistry.markOccurrence(name, MeterTags.of(
+          MeterTags.JOB_TYPE, job.getJobHandlerType(),
+          MeterTags.PROCESS_DEFINITION_KEY, job.getProcessDefinitionKey(),
+          MeterTags.TENANT_ID, job.getTenantId()));
+    } else {
+      metricsRegistry.markOccurrence(name);
+    }
+  }
+
 }
@@ -56,15 +56,23 @@ public class DeploymentCache {
   protected CacheDeployer cacheDeployer = new CacheDeployer();
 
   public DeploymentCache(CacheFactory factory, int cacheCapacity) {
+    this(factory, cacheCapacity, factory, cacheCapacity);
+  }
+
+  /**
+   * Allows to build the model instance caches independently of the definition caches,
+   * since parsed model instances take up considerably more memory than definitions.
+   */
+  public DeploymentCache(CacheFactory factory, int cacheCapacity, CacheFactory modelInstanceCacheFactory, int modelInstanceCacheCapacity) {
     processDefinitionEntityCache = new ProcessDefinitionCache(factory, cacheCapacity, cacheDeployer);
     caseDefinitionCache = new CaseDefinitionCache(factory, cacheCapacity, cacheDeployer);
     decisionDefinitionCache = new DecisionDefinitionCache(factory, cacheCapacity, cacheDeployer);
     decisionRequirementsDefinitionCache = new DecisionRequirementsDefinitionCache(factory, cacheCapacity, cacheDeployer);
     camundaFormDefinitionCache = new CamundaFormDefinitionCache(factory, cacheCapacity, cacheDeployer);
 
-    bpmnModelInstanceCache = new BpmnModelInstanceCache(factory, cacheCapacity, processDefinitionEntityCache);
-    cmmnModelInstanceCache = new CmmnModelInstanceCache(factory, cacheCapacity, caseDefinitionCache);
-    dmnModelInstanceCache = new DmnModelInstanceCache(factory, cacheCapacity, decisionDefinitionCache);
+    bpmnModelInstanceCache = new BpmnModelInstanceCache(modelInstanceCacheFactory, modelInstanceCacheCapacity, processDefinitionEntityCache);
+    cmmnModelInstanceCache = new CmmnModelInstanceCache(modelInstanceCacheFactory, modelInstanceCacheCapacity, caseDefinitionCache);
+    dmnModelInstanceCache = new DmnModelInstanceCache(modelInstanceCacheFactory, modelInstanceCacheCapacity, decisionDefinitionCache);
   }
 
   public void deploy(final DeploymentEntity deployment) {
@@ -297,6 +305,18 @@ public class DeploymentCache {
     return bpmnModelInstanceCache.getCache();
   }
 
+  public BpmnModelInstanceCache getBpmnModelInstances() {
+    return bpmnModelInstanceCache;
+  }
+
+  public CmmnModelInstanceCache getCmmnModelInstances() {
+    return cmmnModelInstanceCache;
+  }
+
+  public DmnModelInstanceCache getDmnModelInstances() {
+    return dmnModelInstanceCache;
+  }
+
   public Cache<String, CmmnModelInstance> getCmmnModelInstanceCache() {
     return cmmnModelInstanceCache.getCache();
   }
@@ -0,0 +1,121 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * <p>Count-Min sketch that estimates how often a key was accessed recently.</p>
+ *
+ * <p>Every key is mapped to four 4-bit counters, so a frequency saturates at 15.
+ * Once the number of increments reaches the sample size, all counters are halved,
+ * such that keys that were popular a long time ago age out.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public class FrequencySketch {
+
+  protected static final long[] SEED = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+  protected static final long RESET_MASK = 0x7777777777777777L;
+  protected static final long ONE_MASK = 0x1111111111111111L;
+
+  protected long[] table;
+  protected int tableMask;
+  protected int sampleSize;
+  protected int size;
+
+  public FrequencySketch(int expectedNumberOfKeys) {
+    int maximum = Math.max(1, Math.min(expectedNumberOfKeys, 1 << 30));
+    table = new long[ceilingPowerOfTwo(maximum)];
+    tableMask = table.length - 1;
+    sampleSize = maximum <= Integer.MAX_VALUE / 10 ? 10 * maximum : Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return the estimated number of recent accesses of the key, at most 15
+   */
+  public int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  public void increment(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+
+    if (added && ++size == sampleSize) {
+      reset();
+    }
+  }
+
+  protected boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halves all counters and the number of increments.
+   */
+  protected void reset() {
+    int oddCounters = 0;
+    for (int i = 0; i < table.length; i++) {
+      oddCounters += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (oddCounters >>> 2);
+  }
+
+  protected int indexOf(int hash, int i) {
+    long index = (hash + SEED[i]) * SEED[i];
+    index += index >>> 32;
+    return ((int) index) & tableMask;
+  }
+
+  protected int spread(int hash) {
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    return (hash >>> 16) ^ hash;
+  }
+
+  /**
+   * @return the number of 64-bit words holding the counters
+   */
+  public int getTableLength() {
+    return table.length;
+  }
+
+  protected static int ceilingPowerOfTwo(int value) {
+    return 1 << -Integer.numberOfLeadingZeros(value - 1);
+  }
+
+}
@@ -28,6 +28,7 @@ import org.camunda.commons.utils.cache.Cache;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author: Johannes Heinemann
@@ -39,13 +40,16 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   protected Cache<String, InstanceType> instanceCache;
   protected ResourceDefinitionCache<DefinitionType> definitionCache;
 
+  protected LongAdder hitCount = new LongAdder();
+  protected LongAdder missCount = new LongAdder();
+
   public ModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache) {
     this.instanceCache = factory.createCache(cacheCapacity);
     this.definitionCache = definitionCache;
   }
 
   public InstanceType findBpmnModelInstanceForDefinition(DefinitionType definitionEntity) {
-    InstanceType bpmnModelInstance = instanceCache.get(definitionEntity.getId());
+    InstanceType bpmnModelInstance = findModelInstanceInCache(definitionEntity.getId());
     if (bpmnModelInstance == null) {
       bpmnModelInstance = loadAndCacheBpmnModelInstance(definitionEntity);
     }
@@ -53,7 +57,7 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   }
 
   public InstanceType findBpmnModelInstanceForDefinition(String definitionId) {
-    InstanceType bpmnModelInstance = instanceCache.get(definitionId);
+    InstanceType bpmnModelInstance = findModelInstanceInCache(definitionId);
     if (bpmnModelInstance == null) {
       DefinitionType definition = definitionCache.findDeployedDefinitionById(definitionId);
       bpmnModelInstance = loadAndCacheBpmnModelInstance(definition);
@@ -61,6 +65,16 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
     return bpmnModelInstance;
   }
 
+  protected InstanceType findModelInstanceInCache(String definitionId) {
+    InstanceType modelInstance = instanceCache.get(definitionId);
+    if (modelInstance == null) {
+      missCount.increment();
+    } else {
+      hitCount.increment();
+    }
+    return modelInstance;
+  }
+
   protected InstanceType loadAndCacheBpmnModelInstance(final DefinitionType definitionEntity) {
     final CommandContext commandContext = Context.getCommandContext();
     InputStream bpmnResourceInputStream = commandContext.runWithoutAuthorization(
@@ -102,6 +116,20 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
     return instanceCache;
   }
 
+  /**
+   * @return the number of model instances found in the cache
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * @return the number of model instances that had to be parsed from the deployment resource
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
   protected abstract void throwLoadModelException(String definitionId, Exception e);
 
   protected abstract void logRemoveEntryFromDeploymentCacheFailure(String definitionId, Exception e);
@@ -0,0 +1,68 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.lang.ref.Reference;
+
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.instance.DomElement;
+
+/**
+ * <p>Weighs deployment cache entries by the size of their model: model instances
+ * by the number of XML elements and parsed definitions by the number of activities.
+ * Values held by a {@link Reference}, e.g. in a {@link SoftReferenceCache}, are weighed
+ * by their referent. All other entries weigh 1.</p>
+ */
+public class ModelSizeCacheWeigher implements CacheWeigher<String, Object> {
+
+  @Override
+  public int weigh(String key, Object value) {
+    if (value instanceof Reference) {
+      value = ((Reference<?>) value).get();
+    }
+
+    if (value instanceof ModelInstance) {
+      DomElement rootElement = ((ModelInstance) value).getDocument().getRootElement();
+      return rootElement != null ? countElements(rootElement) : 1;
+    }
+    else if (value instanceof ScopeImpl) {
+      return countActivities((ScopeImpl) value);
+    }
+    else {
+      return 1;
+    }
+  }
+
+  protected int countElements(DomElement element) {
+    int count = 1;
+    for (DomElement childElement : element.getChildElements()) {
+      count += countElements(childElement);
+    }
+    return count;
+  }
+
+  protected int countActivities(ScopeImpl scope) {
+    int count = 1;
+    for (ActivityImpl activity : scope.getActivities()) {
+      count += countActivities(activity);
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.lang.ref.SoftReference;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Cache that holds its values by {@link SoftReference}s, such that the garbage
+ * collector can reclaim them when memory runs low. Entries whose values were
+ * reclaimed are treated as absent and removed on access.</p>
+ *
+ * <p>The keys and references are kept in a delegate cache, which determines the
+ * eviction policy and bounds the number of entries.</p>
+ */
+public class SoftReferenceCache<K, V> implements Cache<K, V> {
+
+  protected Cache<K, SoftReference<V>> delegate;
+  protected LongAdder collectedCount = new LongAdder();
+
+  public SoftReferenceCache(Cache<K, SoftReference<V>> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public V get(K key) {
+    SoftReference<V> reference = delegate.get(key);
+    if (reference == null) {
+      return null;
+    }
+
+    V value = reference.get();
+    if (value == null) {
+      delegate.remove(key);
+      collectedCount.increment();
+    }
+    return value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    delegate.put(key, new SoftReference<>(value));
+  }
+
+  @Override
+  public void remove(K key) {
+    delegate.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return delegate.isEmpty();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return delegate.keySet();
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  /**
+   * @return the number of accessed entries whose values had been reclaimed by the garbage collector
+   */
+  public long getCollectedCount() {
+    return collectedCount.sum();
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.lang.ref.SoftReference;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Builds caches that hold their values by soft references, see {@link SoftReferenceCache}.
+ * The eviction of entries is left to the caches created by the delegate factory.</p>
+ */
+public class SoftReferenceCacheFactory implements CacheFactory {
+
+  protected CacheFactory delegate;
+
+  public SoftReferenceCacheFactory(CacheFactory delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public <T> Cache<String, T> createCache(int maxNumberOfElementsInCache) {
+    Cache<String, SoftReference<T>> referenceCache = delegate.createCache(maxNumberOfElementsInCache);
+    return new SoftReferenceCache<>(referenceCache);
+  }
+
+  public CacheFactory getDelegate() {
+    return delegate;
+  }
+
+}
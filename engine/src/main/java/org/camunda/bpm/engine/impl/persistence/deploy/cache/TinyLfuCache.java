@@ -0,0 +1,371 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Cache with a Window TinyLFU eviction policy, which keeps frequently used entries
+ * even if a large number of other entries is accessed once, e.g. when old definition
+ * versions are scanned.</p>
+ *
+ * <p>New entries are added to a small LRU window. Entries evicted from the window are only
+ * admitted to the main space if they were accessed more often than the entry that would be
+ * evicted for them, as estimated by a {@link FrequencySketch}. The main space is a segmented
+ * LRU: entries accessed again while on probation are promoted to the protected segment.</p>
+ *
+ * <p>The cache is bounded by the total weight of its entries as calculated by a
+ * {@link CacheWeigher}. Without a weigher, every entry weighs 1. The frequency sketch is
+ * sized by the expected number of entries, which is the maximum weight without a weigher.
+ * With a weigher, the maximum weight says little about the number of entries, so it is
+ * {@link #DEFAULT_EXPECTED_WEIGHED_ENTRIES} at most, unless it is given explicitly.</p>
+ *
+ * <p>All operations synchronize on the cache.</p>
+ */
+public class TinyLfuCache<K, V> implements Cache<K, V> {
+
+  protected static final double WINDOW_PERCENTAGE = 0.01;
+  protected static final double PROTECTED_PERCENTAGE = 0.8;
+
+  public static final int DEFAULT_EXPECTED_WEIGHED_ENTRIES = 4096;
+
+  protected final long maximumWeight;
+  protected final long maximumWindowWeight;
+  protected final long maximumProtectedWeight;
+  protected final CacheWeigher<? super K, ? super V> weigher;
+
+  protected final Map<K, Node<K, V>> nodes = new HashMap<>();
+  protected final LinkedHashMap<K, Node<K, V>> window = new LinkedHashMap<>();
+  protected final LinkedHashMap<K, Node<K, V>> probation = new LinkedHashMap<>();
+  protected final LinkedHashMap<K, Node<K, V>> protectedSegment = new LinkedHashMap<>();
+  protected final FrequencySketch sketch;
+
+  protected long weight;
+  protected long windowWeight;
+  protected long protectedWeight;
+
+  protected long hitCount;
+  protected long missCount;
+  protected long evictionCount;
+  protected long evictionWeight;
+
+  public TinyLfuCache(long maximumWeight) {
+    this(maximumWeight, null);
+  }
+
+  public TinyLfuCache(long maximumWeight, CacheWeigher<? super K, ? super V> weigher) {
+    this(maximumWeight, weigher, getDefaultExpectedEntries(maximumWeight, weigher));
+  }
+
+  public TinyLfuCache(long maximumWeight, CacheWeigher<? super K, ? super V> weigher, int expectedEntries) {
+    if (maximumWeight <= 0) {
+      throw new IllegalArgumentException("Cache weight must be greater than 0");
+    }
+    if (expectedEntries <= 0) {
+      throw new IllegalArgumentException("Expected number of cache entries must be greater than 0");
+    }
+    this.maximumWeight = maximumWeight;
+    this.maximumWindowWeight = Math.max(1, (long) (maximumWeight * WINDOW_PERCENTAGE));
+    this.maximumProtectedWeight = (long) ((maximumWeight - maximumWindowWeight) * PROTECTED_PERCENTAGE);
+    this.weigher = weigher;
+    this.sketch = new FrequencySketch(expectedEntries);
+  }
+
+  protected static int getDefaultExpectedEntries(long maximumWeight, CacheWeigher<?, ?> weigher) {
+    long maximumEntries = weigher == null ? maximumWeight : Math.min(maximumWeight, DEFAULT_EXPECTED_WEIGHED_ENTRIES);
+    return (int) Math.min(maximumEntries, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public synchronized V get(K key) {
+    Node<K, V> node = nodes.get(key);
+    sketch.increment(key);
+
+    if (node == null) {
+      missCount++;
+      return null;
+    }
+
+    hitCount++;
+    onAccess(node);
+    return node.value;
+  }
+
+  @Override
+  public synchronized void put(K key, V value) {
+    if (key == null) {
+      throw new NullPointerException("null key is not allowed");
+    }
+    if (value == null) {
+      throw new NullPointerException("null value is not allowed");
+    }
+
+    sketch.increment(key);
+
+    Node<K, V> node = nodes.get(key);
+    int nodeWeight = weigh(key, value);
+
+    if (node == null) {
+      node = new Node<>(key, value, nodeWeight);
+      nodes.put(key, node);
+      window.put(key, node);
+      weight += nodeWeight;
+      windowWeight += nodeWeight;
+    }
+    else {
+      int weightDifference = nodeWeight - node.weight;
+      node.value = value;
+      node.weight = nodeWeight;
+      weight += weightDifference;
+      if (node.segment == Segment.WINDOW) {
+        windowWeight += weightDifference;
+      }
+      else if (node.segment == Segment.PROTECTED) {
+        protectedWeight += weightDifference;
+      }
+      onAccess(node);
+    }
+
+    evict();
+  }
+
+  @Override
+  public synchronized void remove(K key) {
+    Node<K, V> node = nodes.get(key);
+    if (node != null) {
+      unlink(node);
+    }
+  }
+
+  @Override
+  public synchronized void clear() {
+    nodes.clear();
+    window.clear();
+    probation.clear();
+    protectedSegment.clear();
+    weight = 0;
+    windowWeight = 0;
+    protectedWeight = 0;
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return nodes.isEmpty();
+  }
+
+  @Override
+  public synchronized Set<K> keySet() {
+    return new HashSet<>(nodes.keySet());
+  }
+
+  @Override
+  public synchronized int size() {
+    return nodes.size();
+  }
+
+  protected void onAccess(Node<K, V> node) {
+    switch (node.segment) {
+      case WINDOW:
+        moveToTail(window, node);
+        break;
+      case PROBATION:
+        probation.remove(node.key);
+        node.segment = Segment.PROTECTED;
+        protectedSegment.put(node.key, node);
+        protectedWeight += node.weight;
+        demoteProtected();
+        break;
+      case PROTECTED:
+        moveToTail(protectedSegment, node);
+        break;
+    }
+  }
+
+  /**
+   * Moves the least recently used protected entries to probation
+   * until the protected segment does not exceed its weight anymore.
+   */
+  protected void demoteProtected() {
+    while (protectedWeight > maximumProtectedWeight && protectedSegment.size() > 1) {
+      Node<K, V> node = protectedSegment.values().iterator().next();
+      protectedSegment.remove(node.key);
+      protectedWeight -= node.weight;
+      node.segment = Segment.PROBATION;
+      probation.put(node.key, node);
+    }
+  }
+
+  /**
+   * Moves entries that overflow the window to the main space and evicts
+   * the less frequently used one of a window candidate and a main space victim
+   * until the cache does not exceed its maximum weight anymore.
+   */
+  protected void evict() {
+    while (windowWeight > maximumWindowWeight && window.size() > 1) {
+      Node<K, V> candidate = window.values().iterator().next();
+      window.remove(candidate.key);
+      windowWeight -= candidate.weight;
+      candidate.segment = Segment.PROBATION;
+      probation.put(candidate.key, candidate);
+
+      while (weight > maximumWeight && nodes.containsKey(candidate.key)) {
+        Node<K, V> victim = findVictim(candidate);
+        if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+          evict(candidate);
+        }
+        else {
+          evict(victim);
+        }
+      }
+    }
+
+    // entries heavier than the window or the entire cache
+    Iterator<Node<K, V>> iterator = window.values().iterator();
+    while (weight > maximumWeight && iterator.hasNext()) {
+      Node<K, V> node = iterator.next();
+      iterator.remove();
+      windowWeight -= node.weight;
+      node.segment = Segment.PROBATION;
+      evict(node);
+    }
+  }
+
+  protected Node<K, V> findVictim(Node<K, V> candidate) {
+    for (Node<K, V> node : probation.values()) {
+      if (node != candidate) {
+        return node;
+      }
+    }
+    if (!protectedSegment.isEmpty()) {
+      return protectedSegment.values().iterator().next();
+    }
+    return null;
+  }
+
+  protected void evict(Node<K, V> node) {
+    unlink(node);
+    evictionCount++;
+    evictionWeight += node.weight;
+  }
+
+  protected void unlink(Node<K, V> node) {
+    nodes.remove(node.key);
+    weight -= node.weight;
+    switch (node.segment) {
+      case WINDOW:
+        window.remove(node.key);
+        windowWeight -= node.weight;
+        break;
+      case PROBATION:
+        probation.remove(node.key);
+        break;
+      case PROTECTED:
+        protectedSegment.remove(node.key);
+        protectedWeight -= node.weight;
+        break;
+    }
+  }
+
+  protected void moveToTail(LinkedHashMap<K, Node<K, V>> segment, Node<K, V> node) {
+    segment.remove(node.key);
+    segment.put(node.key, node);
+  }
+
+  protected int weigh(K key, V value) {
+    if (weigher == null) {
+      return 1;
+    }
+    int entryWeight = weigher.weigh(key, value);
+    if (entryWeight < 1) {
+      throw new IllegalArgumentException("Cache entry weight must be at least 1 but was " + entryWeight);
+    }
+    return entryWeight;
+  }
+
+  // statistics ///////////////////////////////////////////////////////////////
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized double getHitRate() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public synchronized long getEvictionWeight() {
+    return evictionWeight;
+  }
+
+  public synchronized long getWeight() {
+    return weight;
+  }
+
+  public long getMaximumWeight() {
+    return maximumWeight;
+  }
+
+  public FrequencySketch getFrequencySketch() {
+    return sketch;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "TinyLfuCache["
+        + "size=" + nodes.size()
+        + ", weight=" + weight
+        + ", maximumWeight=" + maximumWeight
+        + ", hitCount=" + hitCount
+        + ", missCount=" + missCount
+        + ", evictionCount=" + evictionCount
+        + "]";
+  }
+
+  protected enum Segment {
+    WINDOW, PROBATION, PROTECTED
+  }
+
+  protected static class Node<K, V> {
+
+    protected final K key;
+    protected V value;
+    protected int weight;
+    protected Segment segment = Segment.WINDOW;
+
+    public Node(K key, V value, int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Provides frequency-aware caches for the deployment caches, see {@link TinyLfuCache}.</p>
+ *
+ * <p>If a {@link CacheWeigher} is set, the cache capacity is interpreted as the maximum
+ * total weight of each cache instead of the maximum number of elements, e.g. in combination
+ * with the {@link ModelSizeCacheWeigher}. The expected number of entries per cache then
+ * sizes the frequency sketch of each cache and defaults to
+ * {@link TinyLfuCache#DEFAULT_EXPECTED_WEIGHED_ENTRIES}.</p>
+ */
+public class TinyLfuCacheFactory implements CacheFactory {
+
+  protected CacheWeigher<String, Object> weigher;
+  protected int expectedEntries = TinyLfuCache.DEFAULT_EXPECTED_WEIGHED_ENTRIES;
+
+  public TinyLfuCacheFactory() {
+  }
+
+  public TinyLfuCacheFactory(CacheWeigher<String, Object> weigher) {
+    this.weigher = weigher;
+  }
+
+  @Override
+  public <T> Cache<String, T> createCache(int maxNumberOfElementsInCache) {
+    if (weigher == null) {
+      return new TinyLfuCache<String, T>(maxNumberOfElementsInCache);
+    }
+    else {
+      return new TinyLfuCache<String, T>(maxNumberOfElementsInCache, weigher, Math.min(maxNumberOfElementsInCache, expectedEntries));
+    }
+  }
+
+  public CacheWeigher<String, Object> getWeigher() {
+    return weigher;
+  }
+
+  public void setWeigher(CacheWeigher<String, Object> weigher) {
+    this.weigher = weigher;
+  }
+
+  public int getExpectedEntries() {
+    return expectedEntries;
+  }
+
+  public void setExpectedEntries(int expectedEntries) {
+    this.expectedEntries = expectedEntries;
+  }
+
+}
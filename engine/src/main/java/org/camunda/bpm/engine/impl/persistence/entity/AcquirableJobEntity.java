@@ -37,6 +37,7 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
   protected String processInstanceId = null;
 
   protected boolean isExclusive = DEFAULT_EXCLUSIVE;
+  protected String jobDefinitionId;
 
 
   @Override
@@ -115,6 +116,14 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
     this.isExclusive = isExclusive;
   }
 
+  public String getJobDefinitionId() {
+    return jobDefinitionId;
+  }
+
+  public void setJobDefinitionId(String jobDefinitionId) {
+    this.jobDefinitionId = jobDefinitionId;
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -34,6 +34,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableListener;
 import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
@@ -55,7 +56,7 @@ public class ExternalTaskManager extends AbstractManager {
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
-    fireExternalTaskAvailableEvent();
+    fireExternalTaskAvailableEvent(externalTask.getTopicName());
   }
 
   public void delete(ExternalTaskEntity externalTask) {
@@ -171,11 +172,21 @@ public class ExternalTaskManager extends AbstractManager {
   }
 
   public void fireExternalTaskAvailableEvent() {
+    fireExternalTaskAvailableEvent(null);
+  }
+
+  /**
+   * @param topicName the topic of the available task, <code>null</code> if unknown
+   */
+  public void fireExternalTaskAvailableEvent(final String topicName) {
     Context.getCommandContext()
       .getTransactionContext()
       .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
         @Override
         public void execute(CommandContext commandContext) {
+          for (ExternalTaskAvailableListener listener : ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS) {
+            listener.onExternalTaskAvailable(topicName);
+          }
           ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
         }
       });
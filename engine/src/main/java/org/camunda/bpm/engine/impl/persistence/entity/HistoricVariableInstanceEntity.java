@@ -110,13 +110,11 @@ public class HistoricVariableInstanceEntity implements ValueFields, HistoricVari
 
     setSerializerName(historyEvent.getSerializerName());
 
-    byteArrayField.deleteByteArrayValue();
-
     if(historyEvent.getByteValue() != null) {
       byteArrayField.setRootProcessInstanceId(rootProcessInstanceId);
       byteArrayField.setRemovalTime(removalTime);
-      setByteArrayValue(historyEvent.getByteValue());
     }
+    byteArrayField.replaceByteArrayValue(historyEvent.getByteValue());
 
   }
 
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,7 +24,9 @@ import java.util.Map;
 import org.camunda.bpm.engine.impl.JobDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.management.JobDefinition;
 
 /**
@@ -38,6 +41,17 @@ public class JobDefinitionManager extends AbstractManager {
     return getDbEntityManager().selectById(JobDefinitionEntity.class, jobDefinitionId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobDefinitionEntity> findByIds(List<String> jobDefinitionIds) {
+    List<JobDefinitionEntity> jobDefinitions = new ArrayList<JobDefinitionEntity>();
+
+    // break down parameter list to not hit query parameter limitations
+    for (List<String> partition : CollectionUtil.partition(jobDefinitionIds, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+      jobDefinitions.addAll(getDbEntityManager().selectList("selectJobDefinitionsByIds", partition));
+    }
+    return jobDefinitions;
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobDefinitionEntity> findByProcessDefinitionId(String processDefinitionId) {
     return getDbEntityManager().selectList("selectJobDefinitionsByProcessDefinitionId", processDefinitionId);
@@ -220,6 +220,7 @@ public class JobManager extends AbstractManager {
     params.put("jobPriorityMax", jobExecutorAcquireByPriority && jobExecutorPriorityRangeMax != Long.MAX_VALUE ? jobExecutorPriorityRangeMax : null);
 
     params.put("historyCleanupEnabled", engineConfiguration.isHistoryCleanupEnabled());
+    params.put("skipLocked", engineConfiguration.isJobExecutorAcquireWithSkipLocked());
 
     List<QueryOrderingProperty> orderingProperties = new ArrayList<>();
     if (engineConfiguration.isJobExecutorAcquireByPriority()) {
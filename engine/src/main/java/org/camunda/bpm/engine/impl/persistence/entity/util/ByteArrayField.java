@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity.util;
 
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.Nameable;
 import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
@@ -123,6 +124,30 @@ public class ByteArrayField {
 
   }
 
+  /**
+   * Replaces the byte array value. A byte array entity that has been inserted within the
+   * current command is updated in place, so that repeated updates do not create an entity
+   * each. A persistent one is deleted and replaced by a new one instead, which tolerates
+   * that it has been deleted concurrently.
+   */
+  public void replaceByteArrayValue(byte[] bytes) {
+    if (bytes != null && byteArrayValue != null && isTransient(byteArrayValue)) {
+      byteArrayValue.setBytes(bytes);
+      byteArrayValue.setRootProcessInstanceId(rootProcessInstanceId);
+      byteArrayValue.setRemovalTime(removalTime);
+    }
+    else {
+      deleteByteArrayValue();
+      setByteArrayValue(bytes);
+    }
+  }
+
+  protected boolean isTransient(ByteArrayEntity byteArrayEntity) {
+    CommandContext commandContext = Context.getCommandContext();
+    return commandContext != null
+        && commandContext.getDbEntityManager().getDbEntityCache().isTransient(byteArrayEntity);
+  }
+
   public void deleteByteArrayValue() {
     if (byteArrayId != null) {
       // the next apparently useless line is probably to ensure consistency in the DbSqlSession cache,
@@ -16,12 +16,15 @@
  */
 package org.camunda.bpm.engine.impl.util;
 
+import java.util.List;
+
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableResultImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.BaseCallableElement;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.camunda.bpm.engine.impl.dmn.invocation.DecisionBatchInvocation;
 import org.camunda.bpm.engine.impl.dmn.invocation.DecisionInvocation;
 import org.camunda.bpm.engine.impl.dmn.invocation.VariableScopeContext;
 import org.camunda.bpm.engine.impl.dmn.result.CollectEntriesDecisionResultMapper;
@@ -100,6 +103,14 @@ public class DecisionEvaluationUtil {
     return DmnDecisionTableResultImpl.wrap(decisionResult);
   }
 
+  public static List<DmnDecisionResult> evaluateDecisions(DecisionDefinition decisionDefinition, List<? extends VariableContext> variableContexts, boolean parallel) throws Exception {
+    DecisionBatchInvocation invocation = new DecisionBatchInvocation(decisionDefinition, variableContexts, parallel);
+    Context.getProcessEngineConfiguration()
+      .getDelegateInterceptor()
+      .handleInvocation(invocation);
+    return invocation.getInvocationResult();
+  }
+
   protected static void invoke(DecisionInvocation invocation) throws Exception {
     Context.getProcessEngineConfiguration()
       .getDelegateInterceptor()
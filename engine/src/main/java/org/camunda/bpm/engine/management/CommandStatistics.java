@@ -0,0 +1,61 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * Statistics about the invocations of a command class on this process engine
+ * since it was started, see {@link org.camunda.bpm.engine.ManagementService#getCommandStatistics()}.
+ * Durations are given in microseconds.
+ */
+public interface CommandStatistics {
+
+  /**
+   * The simple class name of the command.
+   */
+  String getCommandName();
+
+  /**
+   * The number of invocations of the command.
+   */
+  long getInvocations();
+
+  /**
+   * The number of invocations that failed with an {@link org.camunda.bpm.engine.OptimisticLockingException}.
+   */
+  long getOptimisticLockingFailures();
+
+  /**
+   * The duration of the invocations, including the flush of the command context.
+   */
+  HistogramStatistics getLatency();
+
+  /**
+   * The duration of flushing the entity changes to the database.
+   */
+  HistogramStatistics getFlushTime();
+
+  /**
+   * The number of SQL statements executed by an invocation.
+   */
+  HistogramStatistics getSqlStatements();
+
+  /**
+   * The number of entities loaded from the database by an invocation.
+   */
+  HistogramStatistics getLoadedEntities();
+
+}
@@ -78,9 +78,44 @@ public class Metrics {
   public static final String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
   public static final String HISTORY_CLEANUP_REMOVED_TASK_METRICS = "history-cleanup-removed-task-metrics";
 
+  /**
+   * Number of rows removed from a table by history cleanup. The name of the
+   * removed entity type is appended, e.g. <code>history-cleanup-removed-rows-HistoricActivityInstanceEventEntity</code>.
+   */
+  public static final String HISTORY_CLEANUP_REMOVED_ROWS_PREFIX = "history-cleanup-removed-rows-";
+
+  /**
+   * Time in milliseconds spent by history cleanup jobs deleting data.
+   */
+  public static final String HISTORY_CLEANUP_DURATION = "history-cleanup-duration";
+
+  /**
+   * Number of expired history table partitions dropped by history cleanup.
+   */
+  public static final String HISTORY_CLEANUP_DROPPED_PARTITIONS = "history-cleanup-dropped-partitions";
+
   /**
    * Number of unique task workers
    */
   public static final String UNIQUE_TASK_WORKERS = "unique-task-workers";
   public static final String TASK_USERS = "task-users";
+
+  /**
+   * Number of entities found / not found in the second level entity cache.
+   */
+  public static final String ENTITY_CACHE_HIT = "entity-cache-hit";
+  public static final String ENTITY_CACHE_MISS = "entity-cache-miss";
+
+  /**
+   * Number of id blocks fetched by the striped id generator, in total, while a thread
+   * was waiting for it, and taken from the prefetched blocks.
+   */
+  public static final String ID_BLOCK_FETCH = "id-block-fetch";
+  public static final String ID_BLOCK_SYNCHRONOUS_FETCH = "id-block-synchronous-fetch";
+  public static final String ID_BLOCK_PREFETCH_USED = "id-block-prefetch-used";
+
+  /**
+   * Number of times two threads refilled the same stripe of the striped id generator.
+   */
+  public static final String ID_BLOCK_CONTENTION = "id-block-contention";
 }
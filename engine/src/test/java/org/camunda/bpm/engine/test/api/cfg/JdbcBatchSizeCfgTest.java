@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.junit.Test;
+
+public class JdbcBatchSizeCfgTest {
+
+  @Test
+  public void shouldAcceptPositiveBatchSize() {
+    // given
+    TestProcessEngineCfg configuration = new TestProcessEngineCfg();
+    configuration.setJdbcBatchSize(1);
+
+    // when
+    configuration.initJdbcBatchSize();
+  }
+
+  @Test
+  public void shouldRejectZeroBatchSize() {
+    // given
+    TestProcessEngineCfg configuration = new TestProcessEngineCfg();
+    configuration.setJdbcBatchSize(0);
+
+    // when/then
+    assertThatThrownBy(configuration::initJdbcBatchSize)
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("Invalid value '0' for configuration property 'jdbcBatchSize'");
+  }
+
+  @Test
+  public void shouldRejectNegativeBatchSize() {
+    // given
+    TestProcessEngineCfg configuration = new TestProcessEngineCfg();
+    configuration.setJdbcBatchSize(-1);
+
+    // when/then
+    assertThatThrownBy(configuration::initJdbcBatchSize)
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("Invalid value '-1' for configuration property 'jdbcBatchSize'");
+  }
+
+  protected static class TestProcessEngineCfg extends StandaloneInMemProcessEngineConfiguration {
+
+    @Override
+    public void initJdbcBatchSize() {
+      super.initJdbcBatchSize();
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.ref.SoftReference;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.ModelSizeCacheWeigher;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.SoftReferenceCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.SoftReferenceCacheFactory;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+import org.junit.Test;
+
+public class SoftReferenceCacheTest {
+
+  @Test
+  public void shouldReturnCachedValue() {
+    // given
+    Cache<String, String> cache = new SoftReferenceCacheFactory(new DefaultCacheFactory()).createCache(10);
+
+    // when
+    cache.put("a", "value");
+
+    // then
+    assertThat(cache).isInstanceOf(SoftReferenceCache.class);
+    assertThat(cache.get("a")).isEqualTo("value");
+    assertThat(cache.keySet()).containsExactly("a");
+  }
+
+  @Test
+  public void shouldRemoveReclaimedValue() {
+    // given
+    ConcurrentLruCache<String, SoftReference<String>> delegate = new ConcurrentLruCache<>(10);
+    SoftReferenceCache<String, String> cache = new SoftReferenceCache<>(delegate);
+    cache.put("a", "value");
+
+    // when
+    delegate.get("a").clear();
+
+    // then
+    assertThat(cache.get("a")).isNull();
+    assertThat(cache.isEmpty()).isTrue();
+    assertThat(cache.getCollectedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldWeighReferencedModelInstance() {
+    // given
+    ModelSizeCacheWeigher weigher = new ModelSizeCacheWeigher();
+    BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process").startEvent().endEvent().done();
+
+    // when
+    int weight = weigher.weigh("process", new SoftReference<>(modelInstance));
+
+    // then
+    assertThat(weight).isGreaterThan(1);
+    assertThat(weight).isEqualTo(weigher.weigh("process", modelInstance));
+  }
+
+}
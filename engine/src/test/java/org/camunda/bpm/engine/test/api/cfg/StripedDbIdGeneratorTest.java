@@ -0,0 +1,154 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+import org.camunda.bpm.engine.impl.db.IdBlock;
+import org.camunda.bpm.engine.impl.db.StripedDbIdGenerator;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StripedDbIdGeneratorTest {
+
+  protected static final int ID_BLOCK_SIZE = 100;
+
+  protected StripedDbIdGenerator idGenerator;
+  protected BlockCommandExecutor commandExecutor;
+
+  @Before
+  public void setUp() {
+    commandExecutor = new BlockCommandExecutor();
+
+    idGenerator = new StripedDbIdGenerator();
+    idGenerator.setIdBlockSize(ID_BLOCK_SIZE);
+    idGenerator.setStripes(4);
+    idGenerator.setCommandExecutor(commandExecutor);
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws InterruptedException {
+    // given
+    final int numThreads = 8;
+    final int idsPerThread = 2000;
+    final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < numThreads; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < idsPerThread; j++) {
+          ids.add(idGenerator.getNextId());
+        }
+      }));
+    }
+
+    // when
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertThat(ids).hasSize(numThreads * idsPerThread);
+    assertThat(idGenerator.getBlockFetches()).isGreaterThanOrEqualTo(numThreads * idsPerThread / ID_BLOCK_SIZE);
+  }
+
+  @Test
+  public void shouldUseIdsOfOneBlockPerStripe() {
+    // when
+    long first = Long.parseLong(idGenerator.getNextId());
+    long second = Long.parseLong(idGenerator.getNextId());
+
+    // then
+    assertThat(second).isEqualTo(first + 1);
+    assertThat(idGenerator.getSynchronousBlockFetches()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldFetchNewBlocksAfterReset() {
+    // given
+    idGenerator.getNextId();
+
+    // when
+    idGenerator.reset();
+    idGenerator.getNextId();
+
+    // then
+    assertThat(idGenerator.getSynchronousBlockFetches()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCountBlockFetchesInMetricsRegistry() {
+    // given
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createDbMeter(Metrics.ID_BLOCK_FETCH);
+    metricsRegistry.createDbMeter(Metrics.ID_BLOCK_SYNCHRONOUS_FETCH);
+    idGenerator.setMetricsRegistry(metricsRegistry);
+
+    // when
+    idGenerator.getNextId();
+
+    // then
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.ID_BLOCK_FETCH).get(false)).isEqualTo(1);
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.ID_BLOCK_SYNCHRONOUS_FETCH).get(false)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldFetchBlocksOnDemandAfterClose() {
+    // given
+    idGenerator.setStripes(1);
+    idGenerator.close();
+
+    // when
+    for (int i = 0; i < 2 * ID_BLOCK_SIZE; i++) {
+      idGenerator.getNextId();
+    }
+
+    // then
+    assertThat(idGenerator.getSynchronousBlockFetches()).isEqualTo(2);
+    assertThat(idGenerator.getPrefetchedBlocksUsed()).isZero();
+  }
+
+  /**
+   * Hands out consecutive id blocks without a database.
+   */
+  protected static class BlockCommandExecutor implements CommandExecutor {
+
+    protected AtomicLong nextId = new AtomicLong(1);
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Command<T> command) {
+      assertThat(command).isInstanceOf(GetNextIdBlockCmd.class);
+      long first = nextId.getAndAdd(ID_BLOCK_SIZE);
+      return (T) new IdBlock(first, first + ID_BLOCK_SIZE - 1);
+    }
+  }
+
+}
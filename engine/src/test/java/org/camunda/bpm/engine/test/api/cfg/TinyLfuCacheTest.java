@@ -0,0 +1,155 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheWeigher;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.TinyLfuCache;
+import org.junit.Test;
+
+public class TinyLfuCacheTest {
+
+  @Test
+  public void shouldNotExceedCapacity() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      cache.put("key" + i, "value" + i);
+    }
+
+    // then
+    assertThat(cache.size()).isEqualTo(10);
+    assertThat(cache.getEvictionCount()).isEqualTo(90);
+  }
+
+  @Test
+  public void shouldKeepFrequentlyUsedEntriesDuringScan() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(100);
+    for (int i = 0; i < 50; i++) {
+      cache.put("hot" + i, "value");
+    }
+    for (int access = 0; access < 3; access++) {
+      for (int i = 0; i < 50; i++) {
+        cache.get("hot" + i);
+      }
+    }
+
+    // when
+    for (int i = 0; i < 1000; i++) {
+      cache.put("cold" + i, "value");
+    }
+
+    // then
+    for (int i = 0; i < 50; i++) {
+      assertThat(cache.get("hot" + i)).isEqualTo("value");
+    }
+  }
+
+  @Test
+  public void shouldSizeFrequencySketchByExpectedEntriesWithWeigher() {
+    // given
+    CacheWeigher<String, String> weigher = (key, value) -> value.length();
+
+    // when
+    TinyLfuCache<String, String> defaultCache = new TinyLfuCache<>(10_000_000, weigher);
+    TinyLfuCache<String, String> expectedEntriesCache = new TinyLfuCache<>(10_000_000, weigher, 100);
+
+    // then
+    assertThat(defaultCache.getFrequencySketch().getTableLength()).isEqualTo(TinyLfuCache.DEFAULT_EXPECTED_WEIGHED_ENTRIES);
+    assertThat(expectedEntriesCache.getFrequencySketch().getTableLength()).isEqualTo(128);
+  }
+
+  @Test
+  public void shouldSizeFrequencySketchByMaximumWeightWithoutWeigher() {
+    // when
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(1000);
+
+    // then
+    assertThat(cache.getFrequencySketch().getTableLength()).isEqualTo(1024);
+  }
+
+  @Test
+  public void shouldEvictByWeight() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10, (key, value) -> value.length());
+
+    // when
+    cache.put("a", "aaaa");
+    cache.put("b", "bbbb");
+    cache.put("c", "cccc");
+
+    // then
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getWeight()).isEqualTo(8);
+    assertThat(cache.getEvictionWeight()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldNotKeepEntryHeavierThanCache() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(3, (key, value) -> value.length());
+
+    // when
+    cache.put("a", "aaaa");
+
+    // then
+    assertThat(cache.isEmpty()).isTrue();
+    assertThat(cache.getWeight()).isZero();
+  }
+
+  @Test
+  public void shouldRecordStatistics() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+    cache.put("a", "value");
+
+    // when
+    cache.get("a");
+    cache.get("b");
+
+    // then
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  public void shouldRemoveAndClear() {
+    // given
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+    cache.put("a", "value");
+    cache.put("b", "value");
+
+    // when
+    cache.remove("a");
+
+    // then
+    assertThat(cache.keySet()).containsExactly("b");
+
+    // when
+    cache.clear();
+
+    // then
+    assertThat(cache.isEmpty()).isTrue();
+    assertThat(cache.getWeight()).isZero();
+  }
+
+}
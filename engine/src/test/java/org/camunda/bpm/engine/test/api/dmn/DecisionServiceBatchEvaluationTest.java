@@ -0,0 +1,309 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.dmn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
+import org.camunda.bpm.dmn.engine.delegate.DmnDecisionTableEvaluationEvent;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.dmn.DecisionBatchEvaluationBuilderImpl;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DecisionServiceBatchEvaluationTest {
+
+  protected static final String DMN_DECISION_TABLE = "org/camunda/bpm/engine/test/api/dmn/Example.dmn";
+
+  protected static final String DECISION_DEFINITION_KEY = "decision";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected DecisionService decisionService;
+  protected HistoryService historyService;
+  protected IdentityService identityService;
+
+  @Before
+  public void init() {
+    decisionService = engineRule.getDecisionService();
+    historyService = engineRule.getHistoryService();
+    identityService = engineRule.getIdentityService();
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void shouldEvaluateDecisionForEveryVariableMap() {
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(100))
+        .evaluate();
+
+    // then
+    assertThatResultsMatchVariables(results, 100);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void shouldEvaluateDecisionInParallel() {
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(3000))
+        .parallel()
+        .evaluate();
+
+    // then
+    assertThatResultsMatchVariables(results, 3000);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void shouldEvaluateDecisionForStream() {
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(10).stream())
+        .evaluate();
+
+    // then
+    assertThatResultsMatchVariables(results, 10);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void shouldEvaluateStreamInChunks() {
+    // given
+    int numberOfEvaluations = 2 * DecisionBatchEvaluationBuilderImpl.EVALUATION_CHUNK_SIZE + 1;
+
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(numberOfEvaluations).stream())
+        .evaluate();
+
+    // then
+    assertThatResultsMatchVariables(results, numberOfEvaluations);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void shouldPassResultsToConsumer() {
+    // given
+    int numberOfEvaluations = 2 * DecisionBatchEvaluationBuilderImpl.EVALUATION_CHUNK_SIZE + 1;
+    List<DmnDecisionResult> results = new ArrayList<>();
+
+    // when
+    decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(numberOfEvaluations).stream())
+        .evaluate(results::add);
+
+    // then
+    assertThatResultsMatchVariables(results, numberOfEvaluations);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void shouldEvaluateNoVariables() {
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(Stream.empty())
+        .evaluate();
+
+    // then
+    assertThat(results).isEmpty();
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldCreateHistoricDecisionInstanceForEveryEvaluation() {
+    // when
+    decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(10))
+        .parallel()
+        .evaluate();
+
+    // then
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isEqualTo(10);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldSampleHistoricDecisionInstances() {
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(10))
+        .historySampled(3)
+        .evaluate();
+
+    // then
+    assertThatResultsMatchVariables(results, 10);
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isEqualTo(4);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldSampleHistoricDecisionInstancesAcrossChunks() {
+    // given
+    int numberOfEvaluations = 2 * DecisionBatchEvaluationBuilderImpl.EVALUATION_CHUNK_SIZE + 500;
+
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(numberOfEvaluations))
+        .historySampled(3)
+        .evaluate();
+
+    // then
+    assertThatResultsMatchVariables(results, numberOfEvaluations);
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isEqualTo((numberOfEvaluations + 2) / 3);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldNotifyListenersInInputOrderWhenSampled() {
+    // given
+    List<VariableMap> variables = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      variables.add(Variables.createVariables().putValue("status", "silver").putValue("sum", i));
+    }
+
+    final List<Object> evaluatedSums = new ArrayList<>();
+    DmnDecisionEvaluationListener listener = evaluationEvent -> {
+      DmnDecisionTableEvaluationEvent decisionTableEvent = (DmnDecisionTableEvaluationEvent) evaluationEvent.getDecisionResult();
+      evaluatedSums.add(decisionTableEvent.getInputs().get(1).getValue().getValue());
+    };
+
+    DefaultDmnEngineConfiguration dmnEngineConfiguration = engineRule.getProcessEngineConfiguration().getDmnEngineConfiguration();
+    dmnEngineConfiguration.getCustomPostDecisionEvaluationListeners().add(listener);
+    dmnEngineConfiguration.init();
+
+    try {
+      // when
+      decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+          .variables(variables)
+          .historySampled(3)
+          .evaluate();
+    }
+    finally {
+      dmnEngineConfiguration.getCustomPostDecisionEvaluationListeners().remove(listener);
+      dmnEngineConfiguration.init();
+    }
+
+    // then
+    assertThat(evaluatedSums).containsExactly(0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0);
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isEqualTo(4);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldWriteOneOperationLogEntryForAllChunks() {
+    // given
+    int numberOfEvaluations = 2 * DecisionBatchEvaluationBuilderImpl.EVALUATION_CHUNK_SIZE + 1;
+    identityService.setAuthenticatedUserId("userId");
+
+    try {
+      // when
+      decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+          .variables(createVariables(numberOfEvaluations).stream())
+          .evaluate();
+    }
+    finally {
+      identityService.clearAuthentication();
+    }
+
+    // then
+    assertThat(historyService.createUserOperationLogQuery().property("decisionDefinitionKey").count()).isEqualTo(1);
+
+    UserOperationLogEntry entry = historyService.createUserOperationLogQuery().property("nrOfEvaluations").singleResult();
+    assertThat(entry.getOperationType()).isEqualTo(UserOperationLogEntry.OPERATION_TYPE_EVALUATE);
+    assertThat(entry.getNewValue()).isEqualTo(String.valueOf(numberOfEvaluations));
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldSkipHistory() {
+    // when
+    decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY)
+        .variables(createVariables(10))
+        .skipHistory()
+        .evaluate();
+
+    // then
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldFailForNonExistingKey() {
+    assertThatThrownBy(() -> decisionService.evaluateDecisionBatchByKey("unknown").variables(createVariables(1)).evaluate())
+      .isInstanceOf(NotFoundException.class)
+      .hasMessageContaining("no decision definition deployed with key 'unknown'");
+  }
+
+  @Test
+  public void shouldFailForInvalidSampleInterval() {
+    assertThatThrownBy(() -> decisionService.evaluateDecisionBatchByKey(DECISION_DEFINITION_KEY).historySampled(0).evaluate())
+      .isInstanceOf(NotValidException.class)
+      .hasMessageContaining("history sample interval must be greater than zero");
+  }
+
+  protected List<VariableMap> createVariables(int numberOfVariableMaps) {
+    List<VariableMap> variables = new ArrayList<>(numberOfVariableMaps);
+    for (int i = 0; i < numberOfVariableMaps; i++) {
+      variables.add(Variables.createVariables()
+          .putValue("status", i % 2 == 0 ? "silver" : "bronze")
+          .putValue("sum", 723));
+    }
+    return variables;
+  }
+
+  protected void assertThatResultsMatchVariables(List<DmnDecisionResult> results, int numberOfResults) {
+    assertThat(results).hasSize(numberOfResults);
+    for (int i = 0; i < numberOfResults; i++) {
+      String expectedResult = i % 2 == 0 ? "ok" : "notok";
+      assertThat((String) results.get(i).getSingleResult().getEntry("result")).isEqualTo(expectedResult);
+    }
+  }
+
+}
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.verify;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableListener;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
 import org.camunda.bpm.engine.test.ProcessEngineRule;
 import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
@@ -45,6 +46,9 @@ public class ExternalTaskConditionsTest {
   @Mock
   public SingleConsumerCondition condition;
 
+  @Mock
+  public ExternalTaskAvailableListener listener;
+
   private String deploymentId;
 
   private final BpmnModelInstance testProcess = Bpmn.createExecutableProcess("theProcess")
@@ -59,6 +63,7 @@ public class ExternalTaskConditionsTest {
     MockitoAnnotations.initMocks(this);
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.add(listener);
 
     deploymentId = rule.getRepositoryService()
         .createDeployment()
@@ -71,6 +76,7 @@ public class ExternalTaskConditionsTest {
   public void tearDown() {
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.remove(listener);
 
     if (deploymentId != null) {
       rule.getRepositoryService().deleteDeployment(deploymentId, true);
@@ -123,4 +129,37 @@ public class ExternalTaskConditionsTest {
     verify(condition, times(1)).signal();
   }
 
+  @Test
+  public void shouldNotifyListenerWithTopicOnTaskCreate() {
+
+    // when
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    // then
+    verify(listener, times(1)).onExternalTaskAvailable("theTopic");
+  }
+
+  @Test
+  public void shouldNotifyListenerWithTopicOnUnlock() {
+
+    // given
+
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    reset(listener); // clear notification for create
+
+    LockedExternalTask lockedTask = rule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("theTopic", 10000)
+      .execute()
+      .get(0);
+
+    // when
+    rule.getExternalTaskService().unlock(lockedTask.getId());
+
+    // then
+    verify(listener, times(1)).onExternalTaskAvailable("theTopic");
+  }
+
 }
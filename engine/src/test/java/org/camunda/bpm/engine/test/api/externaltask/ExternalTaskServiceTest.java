@@ -1311,6 +1311,82 @@ public class ExternalTaskServiceTest extends PluggableProcessEngineTest {
     }
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/twoExternalTaskProcess.bpmn20.xml")
+  @Test
+  public void testCompleteAll() {
+    // given
+    ProcessInstance processInstance1 = runtimeService.startProcessInstanceByKey("twoExternalTaskProcess");
+    ProcessInstance processInstance2 = runtimeService.startProcessInstanceByKey("twoExternalTaskProcess");
+
+    List<LockedExternalTask> externalTasks = externalTaskService.fetchAndLock(2, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // when
+    externalTaskService.completeAll(WORKER_ID)
+      .task(externalTasks.get(0).getId())
+      .task(externalTasks.get(1).getId(), Variables.createVariables().putValue("var", 42), null)
+      .execute();
+
+    // then
+    assertEquals(0, externalTaskService.createExternalTaskQuery().count());
+    assertEquals(1, runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(externalTasks.get(1).getProcessInstanceId())
+        .variableName("var")
+        .count());
+
+    for (ProcessInstance processInstance : Arrays.asList(processInstance1, processInstance2)) {
+      ActivityInstance activityInstance = runtimeService.getActivityInstance(processInstance.getId());
+      assertThat(activityInstance).hasStructure(
+          describeActivityInstanceTree(processInstance.getProcessDefinitionId())
+            .activity("afterExternalTask")
+          .done());
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/twoExternalTaskProcess.bpmn20.xml")
+  @Test
+  public void testCompleteAllWithWrongWorkerIdCompletesNone() {
+    // given
+    runtimeService.startProcessInstanceByKey("twoExternalTaskProcess");
+    runtimeService.startProcessInstanceByKey("twoExternalTaskProcess");
+
+    String firstTaskId = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute()
+      .get(0)
+      .getId();
+    String secondTaskId = externalTaskService.fetchAndLock(1, "anotherWorkerId")
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute()
+      .get(0)
+      .getId();
+
+    // when
+    try {
+      externalTaskService.completeAll(WORKER_ID)
+        .task(firstTaskId)
+        .task(secondTaskId)
+        .execute();
+      fail("exception expected");
+    } catch (BadUserRequestException e) {
+      // then
+      testRule.assertTextPresent("cannot be completed by worker '" + WORKER_ID + "'. It is locked by worker 'anotherWorkerId'.", e.getMessage());
+    }
+
+    assertEquals(2, externalTaskService.createExternalTaskQuery().count());
+  }
+
+  @Test
+  public void testCompleteAllWithoutTasks() {
+    try {
+      externalTaskService.completeAll(WORKER_ID).execute();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      testRule.assertTextPresent("completions is empty", e.getMessage());
+    }
+  }
+
   @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
   @Test
   public void testCompleteNullWorkerId() {
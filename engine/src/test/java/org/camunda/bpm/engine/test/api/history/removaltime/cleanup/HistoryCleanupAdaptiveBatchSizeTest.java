@@ -0,0 +1,190 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history.removaltime.cleanup;
+
+import static org.apache.commons.lang3.time.DateUtils.addDays;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler.MAX_BATCH_SIZE;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class HistoryCleanupAdaptiveBatchSizeTest extends AbstractHistoryCleanupSchedulerTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configure(configuration, HistoryEventTypes.ACTIVITY_INSTANCE_START));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain =  RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected final String PROCESS_KEY = "process";
+  protected final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess(PROCESS_KEY)
+    .camundaHistoryTimeToLive(5)
+    .startEvent()
+      .userTask("userTask").name("userTask")
+    .endEvent().done();
+
+  @Before
+  public void init() {
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+    initEngineConfiguration(engineConfiguration);
+
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+
+    engineConfiguration
+      .setHistoryCleanupAdaptiveBatchSizeEnabled(true)
+      .setHistoryCleanupTargetBatchDuration(60 * 1000);
+  }
+
+  @After
+  public void resetConfiguration() {
+    engineConfiguration
+      .setHistoryCleanupAdaptiveBatchSizeEnabled(false)
+      .setHistoryCleanupTargetBatchDuration(1000)
+      .setHistoryCleanupMaxBatchSize(MAX_BATCH_SIZE)
+      .setHistoryCleanupTableMetricsEnabled(false);
+  }
+
+  @Test
+  public void shouldDoubleBatchSizeAfterFastFullBatch() {
+    // given
+    completeProcessInstance();
+
+    engineConfiguration.setHistoryCleanupBatchSize(3);
+    engineConfiguration.initHistoryCleanup();
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(getAdaptedBatchSize()).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldNotExceedMaxBatchSize() {
+    // given
+    completeProcessInstance();
+
+    engineConfiguration.setHistoryCleanupBatchSize(3);
+    engineConfiguration.setHistoryCleanupMaxBatchSize(4);
+    engineConfiguration.initHistoryCleanup();
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(getAdaptedBatchSize()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldRejectMaxBatchSizeAboveCleanupLimit() {
+    // given
+    engineConfiguration.setHistoryCleanupMaxBatchSize(MAX_BATCH_SIZE + 1);
+
+    // when/then
+    assertThatThrownBy(() -> engineConfiguration.initHistoryCleanup())
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("historyCleanupMaxBatchSize");
+  }
+
+  @Test
+  public void shouldKeepBatchSizeAfterPartialBatch() {
+    // given
+    completeProcessInstance();
+
+    engineConfiguration.setHistoryCleanupBatchSize(4);
+    engineConfiguration.initHistoryCleanup();
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(getAdaptedBatchSize()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldReportRemovedRowsPerTable() {
+    // given
+    engineConfiguration.setHistoryCleanupTableMetricsEnabled(true);
+    completeProcessInstance();
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    long removedActivityInstances = managementService.createMetricsQuery()
+      .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS_PREFIX + "HistoricActivityInstanceEventEntity")
+      .sum();
+
+    assertThat(removedActivityInstances).isEqualTo(3L);
+  }
+
+  protected void completeProcessInstance() {
+    testRule.deploy(PROCESS);
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.complete(taskId);
+  }
+
+  protected Integer getAdaptedBatchSize() {
+    JobEntity job = (JobEntity) historyService.findHistoryCleanupJobs().get(0);
+    return HistoryCleanupJobHandlerConfiguration.fromJson(JsonUtil.asObject(job.getJobHandlerConfigurationRaw()))
+      .getBatchSize();
+  }
+
+}
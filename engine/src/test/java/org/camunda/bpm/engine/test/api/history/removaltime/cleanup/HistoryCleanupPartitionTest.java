@@ -0,0 +1,132 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history.removaltime.cleanup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+import org.junit.Test;
+
+public class HistoryCleanupPartitionTest {
+
+  @Test
+  public void shouldNamePartitionByDay() throws ParseException {
+    // when
+    String partitionName = HistoryCleanupHelper.getHistoryPartitionName("ACT_HI_ACTINST", date("2026-10-17 13:45"));
+
+    // then
+    assertThat(partitionName).isEqualTo("ACT_HI_ACTINST_P20261017");
+  }
+
+  @Test
+  public void shouldParsePartitionDay() throws ParseException {
+    // when
+    Date day = HistoryCleanupHelper.getHistoryPartitionDay("act_hi_actinst_p20261017");
+
+    // then
+    assertThat(day).isEqualTo(date("2026-10-17 00:00"));
+  }
+
+  @Test
+  public void shouldIgnoreOtherPartitions() {
+    assertThat(HistoryCleanupHelper.getHistoryPartitionDay("act_hi_actinst_default")).isNull();
+    assertThat(HistoryCleanupHelper.getHistoryPartitionDay("act_hi_actinst_p20261399")).isNull();
+  }
+
+  @Test
+  public void shouldFindExpiredPartitions() throws ParseException {
+    // given
+    List<String> partitionNames = Arrays.asList(
+        "act_hi_actinst_default",
+        "act_hi_actinst_p20261017",
+        "act_hi_actinst_p20261015",
+        "act_hi_actinst_p20261016");
+
+    // when
+    List<Date> expiredDays = HistoryCleanupHelper.findExpiredHistoryPartitionDays(partitionNames, date("2026-10-17 00:00"));
+
+    // then
+    assertThat(expiredDays).containsExactly(date("2026-10-15 00:00"), date("2026-10-16 00:00"));
+  }
+
+  @Test
+  public void shouldNotExpirePartitionOfToday() throws ParseException {
+    // given
+    List<String> partitionNames = Collections.singletonList("act_hi_actinst_p20261017");
+
+    // when
+    List<Date> expiredDays = HistoryCleanupHelper.findExpiredHistoryPartitionDays(partitionNames, date("2026-10-17 23:59"));
+
+    // then
+    assertThat(expiredDays).isEmpty();
+  }
+
+  @Test
+  public void shouldFindMissingPartitions() throws ParseException {
+    // given
+    List<String> partitionNames = Arrays.asList(
+        "act_hi_actinst_default",
+        "act_hi_actinst_p20261016",
+        "act_hi_actinst_p20261018");
+
+    // when
+    List<Date> missingDays = HistoryCleanupHelper.findMissingHistoryPartitionDays(partitionNames, date("2026-10-17 13:45"), 3);
+
+    // then
+    assertThat(missingDays).containsExactly(date("2026-10-17 00:00"), date("2026-10-19 00:00"));
+  }
+
+  @Test
+  public void shouldLookAheadBeyondLongestHistoryTimeToLive() throws ParseException {
+    // given
+    int lookAheadDays = HistoryCleanupHelper.getHistoryPartitionLookAheadDays(180, 30, 366);
+
+    // when
+    List<Date> missingDays = HistoryCleanupHelper.findMissingHistoryPartitionDays(
+        Collections.<String>emptyList(), date("2026-10-17 13:45"), lookAheadDays);
+
+    // then a process instance that ends today has a removal time within the created partitions
+    assertThat(missingDays).contains(date("2027-04-15 00:00"));
+    assertThat(missingDays).hasSize(211);
+  }
+
+  @Test
+  public void shouldBoundPartitionsForLongHistoryTimeToLive() throws ParseException {
+    // given a time to live of ten years
+    int lookAheadDays = HistoryCleanupHelper.getHistoryPartitionLookAheadDays(3650, 30, 366);
+
+    // when
+    List<Date> missingDays = HistoryCleanupHelper.findMissingHistoryPartitionDays(
+        Collections.<String>emptyList(), date("2026-10-17 13:45"), lookAheadDays);
+
+    // then
+    assertThat(missingDays).hasSize(366);
+    assertThat(missingDays.get(365)).isEqualTo(date("2027-10-17 00:00"));
+  }
+
+  protected Date date(String date) throws ParseException {
+    return new SimpleDateFormat("yyyy-MM-dd HH:mm").parse(date);
+  }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.interceptor.CommandMetricsInterceptor;
+import org.camunda.bpm.engine.impl.metrics.CommandMetrics;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsRegistry;
+import org.camunda.bpm.engine.impl.util.ClassNameUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandMetricsInterceptorTest {
+
+  protected CommandMetricsRegistry registry;
+  protected CommandMetricsInterceptor interceptor;
+
+  @Before
+  public void setUp() {
+    registry = new CommandMetricsRegistry();
+    interceptor = new CommandMetricsInterceptor(registry);
+    interceptor.setNext(new CommandExecutor() {
+      @Override
+      public <T> T execute(Command<T> command) {
+        return command.execute(null);
+      }
+    });
+  }
+
+  @Test
+  public void shouldRecordInvocationPerCommandClass() {
+    // when
+    interceptor.execute(new StatementsCmd(3));
+    interceptor.execute(new StatementsCmd(5));
+
+    // then
+    CommandMetrics metrics = getCommandMetrics(StatementsCmd.class);
+    assertThat(metrics.getInvocations()).isEqualTo(2);
+    assertThat(metrics.getSqlStatements().getMax()).isEqualTo(5);
+    assertThat(metrics.getSqlStatements().getMean()).isEqualTo(4.0);
+    assertThat(metrics.getOptimisticLockingFailures()).isZero();
+    assertThat(Context.getCommandInvocationMetrics()).isNull();
+  }
+
+  @Test
+  public void shouldAddNestedInvocationToOuterInvocation() {
+    // when
+    interceptor.execute(new NestingCmd(interceptor, new StatementsCmd(2)));
+
+    // then
+    assertThat(getCommandMetrics(StatementsCmd.class).getSqlStatements().getMax()).isEqualTo(2);
+    assertThat(getCommandMetrics(NestingCmd.class).getSqlStatements().getMax()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldCountOptimisticLockingFailures() {
+    // when
+    assertThatThrownBy(() -> interceptor.execute(new FailingCmd()))
+      .isInstanceOf(OptimisticLockingException.class);
+
+    // then
+    CommandMetrics metrics = getCommandMetrics(FailingCmd.class);
+    assertThat(metrics.getInvocations()).isEqualTo(1);
+    assertThat(metrics.getOptimisticLockingFailures()).isEqualTo(1);
+    assertThat(Context.getCommandInvocationMetrics()).isNull();
+  }
+
+  @Test
+  public void shouldAggregateFurtherCommandsAsOtherCommands() {
+    // given
+    registry.setMaxCommands(1);
+    interceptor.execute(new StatementsCmd(1));
+
+    // when
+    interceptor.execute(new FailingCmd() {
+      @Override
+      public Void execute(CommandContext commandContext) {
+        return null;
+      }
+    });
+
+    // then
+    assertThat(registry.getAllCommandMetrics())
+      .extracting("commandName")
+      .containsExactlyInAnyOrder(ClassNameUtil.getClassNameWithoutPackage(StatementsCmd.class), CommandMetricsRegistry.OTHER_COMMANDS);
+  }
+
+  protected CommandMetrics getCommandMetrics(Class<?> commandClass) {
+    return registry.getCommandMetrics(ClassNameUtil.getClassNameWithoutPackage(commandClass));
+  }
+
+  protected static class StatementsCmd implements Command<Void> {
+
+    protected int statements;
+
+    public StatementsCmd(int statements) {
+      this.statements = statements;
+    }
+
+    @Override
+    public Void execute(CommandContext commandContext) {
+      Context.getCommandInvocationMetrics().addSqlStatements(statements);
+      return null;
+    }
+  }
+
+  protected static class NestingCmd implements Command<Void> {
+
+    protected CommandExecutor commandExecutor;
+    protected Command<Void> nestedCommand;
+
+    public NestingCmd(CommandExecutor commandExecutor, Command<Void> nestedCommand) {
+      this.commandExecutor = commandExecutor;
+      this.nestedCommand = nestedCommand;
+    }
+
+    @Override
+    public Void execute(CommandContext commandContext) {
+      Context.getCommandInvocationMetrics().addSqlStatements(1);
+      return commandExecutor.execute(nestedCommand);
+    }
+  }
+
+  protected static class FailingCmd implements Command<Void> {
+
+    @Override
+    public Void execute(CommandContext commandContext) {
+      throw new OptimisticLockingException("concurrent modification");
+    }
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void shouldReportEmptyHistogram() {
+    // given
+    Histogram histogram = new Histogram();
+
+    // then
+    assertThat(histogram.getCount()).isZero();
+    assertThat(histogram.getMean()).isZero();
+    assertThat(histogram.getP99()).isZero();
+  }
+
+  @Test
+  public void shouldCountSmallValuesExactly() {
+    // given
+    Histogram histogram = new Histogram();
+
+    // when
+    for (int i = 1; i <= 4; i++) {
+      histogram.record(i);
+    }
+
+    // then
+    assertThat(histogram.getCount()).isEqualTo(4);
+    assertThat(histogram.getMean()).isEqualTo(2.5);
+    assertThat(histogram.getP50()).isEqualTo(2);
+    assertThat(histogram.getMax()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldApproximatePercentiles() {
+    // given
+    Histogram histogram = new Histogram();
+
+    // when
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+
+    // then
+    assertThat(histogram.getP50()).isBetween(500L, 563L);
+    assertThat(histogram.getP95()).isBetween(950L, 1000L);
+    assertThat(histogram.getP99()).isBetween(990L, 1000L);
+    assertThat(histogram.getMax()).isEqualTo(1000);
+  }
+
+}
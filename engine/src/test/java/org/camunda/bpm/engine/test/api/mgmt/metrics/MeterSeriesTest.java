@@ -0,0 +1,103 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MeterTags;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.Test;
+
+public class MeterSeriesTest {
+
+  @Test
+  public void shouldCountSeriesAndTotal() {
+    // given
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.setMaxSeriesPerMeter(10);
+    metricsRegistry.createMeter(Metrics.ACTIVTY_INSTANCE_START);
+
+    MeterTags invoice = MeterTags.of(MeterTags.PROCESS_DEFINITION_KEY, "invoice", MeterTags.TENANT_ID, null);
+    MeterTags order = MeterTags.of(MeterTags.PROCESS_DEFINITION_KEY, "order");
+
+    // when
+    metricsRegistry.markOccurrence(Metrics.ACTIVTY_INSTANCE_START, invoice);
+    metricsRegistry.markOccurrence(Metrics.ACTIVTY_INSTANCE_START, invoice, 2);
+    metricsRegistry.markOccurrence(Metrics.ACTIVTY_INSTANCE_START, order);
+
+    // then
+    Meter meter = metricsRegistry.getDbMeterByName(Metrics.ACTIVTY_INSTANCE_START);
+    assertThat(meter.getSeries()).containsOnly(entry(invoice, 3L), entry(order, 1L));
+    assertThat(meter.getAndClear()).isEqualTo(4);
+    assertThat(metricsRegistry.getTelemetryMeters().get(Metrics.ACTIVTY_INSTANCE_START).get()).isEqualTo(4);
+    assertThat(metricsRegistry.getTelemetryMeters().get(Metrics.ACTIVTY_INSTANCE_START).getSeries()).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepSeriesWhenClearingTotal() {
+    // given
+    Meter meter = new Meter(Metrics.JOB_SUCCESSFUL, 10);
+    MeterTags tags = MeterTags.of(MeterTags.JOB_TYPE, "async-continuation");
+    meter.markTimes(tags, 2);
+
+    // when
+    long total = meter.getAndClear();
+    meter.markTimes(tags, 1);
+
+    // then
+    assertThat(total).isEqualTo(2);
+    assertThat(meter.get()).isEqualTo(1);
+    assertThat(meter.getSeries()).containsOnly(entry(tags, 3L));
+  }
+
+  @Test
+  public void shouldBoundNumberOfSeries() {
+    // given
+    Meter meter = new Meter(Metrics.JOB_SUCCESSFUL, 2);
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      meter.markTimes(MeterTags.of(MeterTags.PROCESS_DEFINITION_KEY, "process" + i), 1);
+    }
+
+    // then
+    Map<MeterTags, Long> series = meter.getSeries();
+    assertThat(series).hasSize(3);
+    assertThat(series.get(MeterTags.OVERFLOW)).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotCountSeriesByDefault() {
+    // given
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createDbMeter(Metrics.JOB_SUCCESSFUL);
+
+    // when
+    metricsRegistry.markOccurrence(Metrics.JOB_SUCCESSFUL, MeterTags.of(MeterTags.JOB_TYPE, "timer"));
+
+    // then
+    assertThat(metricsRegistry.isSeriesEnabled()).isFalse();
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.JOB_SUCCESSFUL).getSeries()).isEmpty();
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.JOB_SUCCESSFUL).get()).isEqualTo(1);
+  }
+
+}
@@ -18,10 +18,13 @@ package org.camunda.bpm.engine.test.api.resources;
 
 import static org.camunda.bpm.engine.repository.ResourceTypes.HISTORY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +47,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInputInstanceEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionOutputInstanceEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricExternalTaskLogEntity;
+import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
@@ -173,6 +177,38 @@ public class HistoryByteArrayTest {
     checkBinary(byteArrayEntity);
   }
 
+  @Test
+  public void shouldUpdateHistoricVariableBinaryOfSameCommandInPlace() {
+    // given
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    taskId = task.getId();
+    taskService.setVariableLocal(taskId, "binaryVariable", "initial content".getBytes());
+
+    String initialByteArrayValueId = ((HistoricVariableInstanceEntity) historyService.createHistoricVariableInstanceQuery().singleResult()).getByteArrayValueId();
+
+    // when
+    List<String> byteArrayValueIds = configuration.getCommandExecutorTxRequired().execute((Command<List<String>>) commandContext -> {
+      List<String> ids = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        taskService.setVariableLocal(taskId, "binaryVariable", ("content " + i).getBytes());
+        ids.add(commandContext.getDbEntityManager()
+            .getCachedEntitiesByType(HistoricVariableInstanceEntity.class)
+            .get(0)
+            .getByteArrayValueId());
+      }
+      return ids;
+    });
+
+    // then
+    assertNotEquals(initialByteArrayValueId, byteArrayValueIds.get(0));
+    assertEquals(byteArrayValueIds.get(0), byteArrayValueIds.get(1));
+    assertEquals(byteArrayValueIds.get(0), byteArrayValueIds.get(2));
+
+    assertNull(configuration.getCommandExecutorTxRequired().execute(new GetByteArrayCommand(initialByteArrayValueId)));
+    assertEquals("content 2", new String((byte[]) historyService.createHistoricVariableInstanceQuery().singleResult().getValue()));
+  }
+
   @Test
   public void testHistoricDetailBinaryForFileValues() {
     // given
@@ -0,0 +1,193 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.el.JuelExpression;
+import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.mock.Mocks;
+import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JuelExpressionPlanTest extends PluggableProcessEngineTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .exclusiveGateway()
+        .condition("large", "${amount > 1000 && !manualReview}")
+        .userTask("largeAmount")
+        .endEvent()
+      .moveToLastGateway()
+        .condition("small", "${amount <= 1000 || manualReview}")
+        .userTask("smallAmount")
+        .endEvent()
+      .done();
+
+  protected JuelExpressionManager expressionManager;
+
+  @Before
+  public void setUp() {
+    expressionManager = (JuelExpressionManager) processEngineConfiguration.getExpressionManager();
+    testRule.deploy(PROCESS);
+  }
+
+  @After
+  public void tearDown() {
+    Mocks.reset();
+  }
+
+  @Test
+  public void shouldCreatePlanForSimpleExpressions() {
+    assertThat(createExpression("${amount > 1000}").getExpressionPlan()).isNotNull();
+    assertThat(createExpression("${(a + b) * 2 >= limit ? 'high' : 'low'}").getExpressionPlan()).isNotNull();
+    assertThat(createExpression("${!approved && empty comment}").getExpressionPlan()).isNotNull();
+  }
+
+  @Test
+  public void shouldNotCreatePlanForOtherExpressions() {
+    assertThat(createExpression("${execution.id}").getExpressionPlan()).isNull();
+    assertThat(createExpression("${authenticatedUserId == 'demo'}").getExpressionPlan()).isNull();
+    assertThat(createExpression("${bean.amount > 1000}").getExpressionPlan()).isNull();
+    assertThat(createExpression("${list[0]}").getExpressionPlan()).isNull();
+    assertThat(createExpression("amount: ${amount}").getExpressionPlan()).isNull();
+  }
+
+  @Test
+  public void shouldNotCreatePlanIfDisabled() {
+    // given
+    expressionManager.setExpressionPlansEnabled(false);
+
+    try {
+      // when
+      JuelExpression expression = createExpression("${amount > 1000}");
+
+      // then
+      assertThat(expression.getExpressionPlan()).isNull();
+    } finally {
+      expressionManager.setExpressionPlansEnabled(true);
+    }
+  }
+
+  @Test
+  public void shouldTakeSequenceFlowByPlannedCondition() {
+    // when
+    ProcessInstance largeAmount = runtimeService.startProcessInstanceByKey("process",
+        Variables.putValue("amount", 5000).putValue("manualReview", false));
+    ProcessInstance smallAmount = runtimeService.startProcessInstanceByKey("process",
+        Variables.putValue("amount", 500L).putValue("manualReview", false));
+
+    // then
+    assertThat(getCurrentActivityId(largeAmount)).isEqualTo("largeAmount");
+    assertThat(getCurrentActivityId(smallAmount)).isEqualTo("smallAmount");
+  }
+
+  @Test
+  public void shouldEvaluateLikeValueExpression() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", Variables
+        .putValue("amount", 5000)
+        .putValue("manualReview", false)
+        .putValue("a", 2.5)
+        .putValue("b", 3L)
+        .putValue("limit", "10")
+        .putValue("comment", "")
+        .putValue("nothing", null));
+
+    String[] expressions = {
+      "${amount > 1000}",
+      "${amount == '5000'}",
+      "${amount / 3}",
+      "${amount % 7 - -a}",
+      "${(a + b) * 2 >= limit ? 'high' : 'low'}",
+      "${!manualReview && empty comment}",
+      "${manualReview || nothing == null}",
+      "${nothing + 1}",
+      "${limit}"
+    };
+
+    for (String expressionText : expressions) {
+      // when
+      JuelExpression expression = createExpression(expressionText);
+      Object[] values = evaluate(expression, processInstance.getId());
+
+      // then
+      assertThat(expression.getExpressionPlan()).as(expressionText).isNotNull();
+      assertThat(values[0]).as(expressionText).isEqualTo(values[1]);
+    }
+  }
+
+  @Test
+  public void shouldFallBackToBeansForMissingVariables() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.putValue("amount", 5000).putValue("manualReview", false));
+    Mocks.register("threshold", 1000);
+
+    // when
+    Object value = evaluate(createExpression("${amount > threshold}"), processInstance.getId())[0];
+
+    // then
+    assertThat(value).isEqualTo(true);
+  }
+
+  @Test
+  public void shouldFailForUnknownProperty() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.putValue("amount", 5000).putValue("manualReview", false));
+    JuelExpression expression = createExpression("${amount > unknown}");
+
+    // when/then
+    assertThatThrownBy(() -> evaluate(expression, processInstance.getId()))
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("Unknown property used in expression: ${amount > unknown}");
+  }
+
+  protected JuelExpression createExpression(String expression) {
+    return (JuelExpression) expressionManager.createExpression(expression);
+  }
+
+  /**
+   * @return the value of the planned evaluation and the value of the value expression
+   */
+  protected Object[] evaluate(final JuelExpression expression, final String executionId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute((Command<Object[]>) commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+      Object value = expression.getValue(execution);
+      Object expectedValue = expressionManager
+          .createValueExpression(expression.getExpressionText())
+          .getValue(expressionManager.getElContext(execution));
+      return new Object[] { value, expectedValue };
+    });
+  }
+
+  protected String getCurrentActivityId(ProcessInstance processInstance) {
+    return runtimeService.getActiveActivityIds(processInstance.getId()).get(0);
+  }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.test.RequiredDatabase;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * Two competing job acquisitions with skip locked enabled: the second acquisition
+ * does not see the job locked by the first one, instead of failing to lock it.
+ */
+public class SkipLockedJobAcquisitionTest {
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  protected static ControllableThread activeThread;
+
+  @Before
+  public void initializeServices() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    processEngineConfiguration.setJobExecutorAcquireWithSkipLocked(true);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setJobExecutorAcquireWithSkipLocked(false);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/concurrency/CompetingJobAcquisitionTest.testCompetingJobAcquisitions.bpmn20.xml")
+  @RequiredDatabase(includes = {DbSqlSessionFactory.H2, DbSqlSessionFactory.POSTGRES, DbSqlSessionFactory.MYSQL, DbSqlSessionFactory.MARIADB})
+  @Test
+  public void shouldSkipJobLockedByCompetingAcquisition() {
+    // given
+    runtimeService.startProcessInstanceByKey("CompetingJobAcquisitionProcess");
+
+    JobAcquisitionThread threadOne = new JobAcquisitionThread();
+    threadOne.startAndWaitUntilControlIsReturned();
+
+    // when
+    JobAcquisitionThread threadTwo = new JobAcquisitionThread();
+    threadTwo.startAndWaitUntilControlIsReturned();
+
+    threadTwo.proceedAndWaitTillDone();
+    threadOne.proceedAndWaitTillDone();
+
+    // then
+    assertThat(threadTwo.exception).isNull();
+    assertThat(threadTwo.jobs.size()).isZero();
+    assertThat(threadTwo.jobs.getNumberOfJobsFailedToLock()).isZero();
+
+    assertThat(threadOne.exception).isNull();
+    assertThat(threadOne.jobs.size()).isEqualTo(1);
+  }
+
+  public class JobAcquisitionThread extends ControllableThread {
+    OptimisticLockingException exception;
+    AcquiredJobs jobs;
+
+    @Override
+    public synchronized void startAndWaitUntilControlIsReturned() {
+      activeThread = this;
+      super.startAndWaitUntilControlIsReturned();
+    }
+
+    @Override
+    public void run() {
+      try {
+        JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+        jobs = processEngineConfiguration
+          .getCommandExecutorTxRequired()
+          .execute(new ControlledCommand<>(activeThread, new AcquireJobsCmd(jobExecutor)));
+
+      } catch (OptimisticLockingException e) {
+        this.exception = e;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
+import org.camunda.bpm.engine.test.Deployment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncDbHistoryEventHandlerTest extends AbstractCompositeHistoryEventHandlerTest {
+
+  protected AsyncDbHistoryEventHandler asyncDbHistoryEventHandler;
+  protected String historyRemovalTimeStrategy;
+
+  @Before
+  public void startAsyncHandler() {
+    asyncDbHistoryEventHandler = new AsyncDbHistoryEventHandler();
+    asyncDbHistoryEventHandler.setBatchSize(10);
+    historyRemovalTimeStrategy = processEngineConfiguration.getHistoryRemovalTimeStrategy();
+  }
+
+  @After
+  public void stopAsyncHandler() {
+    asyncDbHistoryEventHandler.stop();
+    processEngineConfiguration.setAsyncHistoryEventHandlerEnabled(false);
+    processEngineConfiguration.setAsyncDbHistoryEventHandler(null);
+    processEngineConfiguration.setHistoryRemovalTimeStrategy(historyRemovalTimeStrategy);
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void shouldWriteHistoryEventsOnStop() {
+    // given
+    asyncDbHistoryEventHandler.start(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+    processEngineConfiguration.setHistoryEventHandler(asyncDbHistoryEventHandler);
+
+    startProcessAndCompleteUserTask();
+
+    // when
+    asyncDbHistoryEventHandler.stop();
+
+    // then
+    assertThat(asyncDbHistoryEventHandler.getQueuedEventCount()).isZero();
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1L);
+    assertThat(historyService.createHistoricDetailQuery().count()).isEqualTo(2L);
+
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery().list();
+    assertThat(activityInstances).hasSize(5);
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      assertThat(activityInstance.getStartTime()).isNotNull();
+      assertThat(activityInstance.getEndTime()).isNotNull();
+    }
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void shouldWriteHistoryEventsSynchronouslyIfNotStarted() {
+    // given
+    processEngineConfiguration.setHistoryEventHandler(asyncDbHistoryEventHandler);
+
+    // when
+    startProcessAndCompleteUserTask();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1L);
+    assertThat(historyService.createHistoricActivityInstanceQuery().finished().count()).isEqualTo(5L);
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void shouldAddRemovalTimeAfterWritingHistoryEvents() {
+    // given
+    String processDefinitionId = engineRule.getRepositoryService().createProcessDefinitionQuery().singleResult().getId();
+    engineRule.getRepositoryService().updateProcessDefinitionHistoryTimeToLive(processDefinitionId, 5);
+
+    processEngineConfiguration.setAsyncHistoryEventHandlerEnabled(true);
+    processEngineConfiguration.setAsyncDbHistoryEventHandler(asyncDbHistoryEventHandler);
+    asyncDbHistoryEventHandler.start(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+    processEngineConfiguration.setHistoryEventHandler(asyncDbHistoryEventHandler);
+
+    startProcessAndCompleteUserTask();
+
+    // when
+    asyncDbHistoryEventHandler.stop();
+
+    // then
+    HistoricProcessInstance processInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(processInstance.getRemovalTime()).isNotNull();
+
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery().list();
+    assertThat(activityInstances).hasSize(5);
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      assertThat(activityInstance.getRemovalTime()).isEqualTo(processInstance.getRemovalTime());
+    }
+  }
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void shouldProvideRemovalTimeOfRootProcessInstanceWithStartStrategy() {
+    // given
+    String processDefinitionId = engineRule.getRepositoryService().createProcessDefinitionQuery().singleResult().getId();
+    engineRule.getRepositoryService().updateProcessDefinitionHistoryTimeToLive(processDefinitionId, 5);
+
+    processEngineConfiguration.setHistoryRemovalTimeStrategy(HISTORY_REMOVAL_TIME_STRATEGY_START);
+    processEngineConfiguration.setAsyncHistoryEventHandlerEnabled(true);
+    processEngineConfiguration.setAsyncDbHistoryEventHandler(asyncDbHistoryEventHandler);
+    asyncDbHistoryEventHandler.start(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+    processEngineConfiguration.setHistoryEventHandler(asyncDbHistoryEventHandler);
+
+    startProcessAndCompleteUserTask();
+
+    // when
+    asyncDbHistoryEventHandler.stop();
+
+    // then
+    HistoricProcessInstance processInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(processInstance.getRemovalTime()).isNotNull();
+
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery().list();
+    assertThat(activityInstances).hasSize(5);
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      assertThat(activityInstance.getRemovalTime()).isEqualTo(processInstance.getRemovalTime());
+    }
+
+    HistoricVariableInstance variableInstance = historyService.createHistoricVariableInstanceQuery().singleResult();
+    assertThat(variableInstance.getRemovalTime()).isEqualTo(processInstance.getRemovalTime());
+  }
+
+  @Test
+  public void shouldWriteHistoryEventOutsideOfCommandSynchronously() {
+    // given
+    asyncDbHistoryEventHandler.start(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+
+    HistoricActivityInstanceEventEntity start = activityInstanceEvent("anActivityInstanceId", HistoryEventTypes.ACTIVITY_INSTANCE_START, new Date());
+    start.setProcessDefinitionId("aProcessDefinitionId");
+    start.setProcessInstanceId("aProcessInstanceId");
+    start.setExecutionId("anExecutionId");
+    start.setActivityId("anActivityId");
+    start.setActivityType("userTask");
+
+    // when
+    asyncDbHistoryEventHandler.handleEvent(start);
+
+    // then
+    assertThat(asyncDbHistoryEventHandler.getQueuedEventCount()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityInstanceId("anActivityInstanceId").count()).isEqualTo(1L);
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      commandContext.getHistoricActivityInstanceManager()
+        .deleteHistoricActivityInstancesByProcessInstanceIds(Collections.singletonList("aProcessInstanceId"));
+      return null;
+    });
+  }
+
+  @Test
+  public void shouldMergeStartAndEndOfActivityInstance() {
+    // given
+    Date startTime = new Date(1000);
+    HistoricActivityInstanceEventEntity start = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_START, startTime);
+    HistoricActivityInstanceEventEntity other = activityInstanceEvent("2", HistoryEventTypes.ACTIVITY_INSTANCE_START, startTime);
+    HistoricActivityInstanceEventEntity end = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_END, null);
+
+    Set<HistoryEvent> eventsToInsert = Collections.newSetFromMap(new IdentityHashMap<HistoryEvent, Boolean>());
+
+    // when
+    List<HistoryEvent> mergedEvents = new TestAsyncDbHistoryEventHandler()
+        .mergeEvents(Arrays.<HistoryEvent>asList(start, other, end), eventsToInsert);
+
+    // then
+    assertThat(mergedEvents).containsExactly(end, other);
+    assertThat(eventsToInsert).containsExactly(end);
+    assertThat(end.getStartTime()).isEqualTo(startTime);
+  }
+
+  @Test
+  public void shouldKeepFieldsOfStartEventWhenMerging() {
+    // given
+    HistoricActivityInstanceEventEntity start = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_START, new Date(1000));
+    start.setCalledProcessInstanceId("aCalledProcessInstanceId");
+    start.setTaskId("aTaskId");
+    start.setTaskAssignee("anAssignee");
+    HistoricActivityInstanceEventEntity end = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_END, null);
+    end.setEndTime(new Date(3000));
+
+    Set<HistoryEvent> eventsToInsert = Collections.newSetFromMap(new IdentityHashMap<HistoryEvent, Boolean>());
+
+    // when
+    new TestAsyncDbHistoryEventHandler().mergeEvents(Arrays.<HistoryEvent>asList(start, end), eventsToInsert);
+
+    // then
+    assertThat(end.getCalledProcessInstanceId()).isEqualTo("aCalledProcessInstanceId");
+    assertThat(end.getTaskId()).isEqualTo("aTaskId");
+    assertThat(end.getTaskAssignee()).isEqualTo("anAssignee");
+    assertThat(end.getDurationInMillis()).isEqualTo(2000L);
+  }
+
+  @Test
+  public void shouldNotMergeEventsWithUpdateInBetween() {
+    // given
+    HistoricActivityInstanceEventEntity start = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_START, new Date(1000));
+    HistoricActivityInstanceEventEntity update = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE, null);
+    update.setTaskId("aTaskId");
+    update.setTaskAssignee("anAssignee");
+    HistoricActivityInstanceEventEntity end = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_END, null);
+
+    Set<HistoryEvent> eventsToInsert = Collections.newSetFromMap(new IdentityHashMap<HistoryEvent, Boolean>());
+
+    // when
+    List<HistoryEvent> mergedEvents = new TestAsyncDbHistoryEventHandler()
+        .mergeEvents(Arrays.<HistoryEvent>asList(start, update, end), eventsToInsert);
+
+    // then
+    assertThat(mergedEvents).containsExactly(start, update, end);
+    assertThat(eventsToInsert).isEmpty();
+  }
+
+  @Test
+  public void shouldNotMergeUpdates() {
+    // given
+    HistoricActivityInstanceEventEntity update = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE, null);
+    HistoricActivityInstanceEventEntity end = activityInstanceEvent("1", HistoryEventTypes.ACTIVITY_INSTANCE_END, null);
+
+    Set<HistoryEvent> eventsToInsert = Collections.newSetFromMap(new IdentityHashMap<HistoryEvent, Boolean>());
+
+    // when
+    List<HistoryEvent> mergedEvents = new TestAsyncDbHistoryEventHandler()
+        .mergeEvents(Arrays.<HistoryEvent>asList(update, end), eventsToInsert);
+
+    // then
+    assertThat(mergedEvents).containsExactly(update, end);
+    assertThat(eventsToInsert).isEmpty();
+  }
+
+  protected HistoricActivityInstanceEventEntity activityInstanceEvent(String id, HistoryEventTypes eventType, Date startTime) {
+    HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+    event.setId(id);
+    event.setEventType(eventType.getEventName());
+    event.setStartTime(startTime);
+    return event;
+  }
+
+  protected static class TestAsyncDbHistoryEventHandler extends AsyncDbHistoryEventHandler {
+
+    @Override
+    public List<HistoryEvent> mergeEvents(List<HistoryEvent> historyEvents, Set<HistoryEvent> eventsToInsert) {
+      return super.mergeEvents(historyEvents, eventsToInsert);
+    }
+
+  }
+
+}
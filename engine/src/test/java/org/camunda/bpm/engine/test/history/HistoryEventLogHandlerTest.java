@@ -0,0 +1,310 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.history.HistoricDecisionInputInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInputInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.log.HistoryEventLogHandler;
+import org.camunda.bpm.engine.impl.history.log.HistoryEventLogReader;
+import org.camunda.bpm.engine.impl.history.log.HistoryEventLogSegment;
+import org.camunda.bpm.engine.impl.history.log.HistoryEventLogWriter;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.test.Deployment;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HistoryEventLogHandlerTest extends AbstractCompositeHistoryEventHandlerTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoryLevelTest.bpmn20.xml"})
+  public void shouldAppendHistoryEventsOfCommittedTransactions() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    HistoryEventLogHandler historyEventLogHandler = new HistoryEventLogHandler(new HistoryEventLogWriter(directory));
+    processEngineConfiguration.setHistoryEventHandler(historyEventLogHandler);
+
+    // when
+    startProcessAndCompleteUserTask();
+    historyEventLogHandler.close();
+
+    // then
+    List<HistoryEvent> historyEvents = readAll(directory);
+    assertThat(historyEvents).isNotEmpty();
+    assertThat(historyEvents.get(0)).isInstanceOf(HistoricProcessInstanceEventEntity.class);
+    assertThat(historyEvents.get(0).getEventType()).isEqualTo(HistoryEventTypes.PROCESS_INSTANCE_START.getEventName());
+    assertThat(historyEvents)
+      .filteredOn(historyEvent -> historyEvent instanceof HistoricProcessInstanceEventEntity)
+      .extracting(HistoryEvent::getEventType)
+      .contains(HistoryEventTypes.PROCESS_INSTANCE_START.getEventName(), HistoryEventTypes.PROCESS_INSTANCE_END.getEventName());
+
+    // no history in the database
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldRollToNextSegment() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    HistoryEventLogWriter writer = new HistoryEventLogWriter(directory);
+    writer.setSegmentSize(4096);
+
+    List<HistoryEvent> historyEvents = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      historyEvents.add(activityInstanceEvent("activityInstance" + i));
+    }
+
+    // when
+    writer.append(historyEvents);
+    writer.close();
+
+    // then
+    assertThat(writer.getSegmentIndex()).isGreaterThan(0);
+
+    List<HistoryEvent> readEvents = readAll(directory);
+    assertThat(readEvents).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(readEvents.get(i).getId()).isEqualTo("activityInstance" + i);
+    }
+  }
+
+  @Test
+  public void shouldFollowLogThatIsStillWritten() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    HistoryEventLogWriter writer = new HistoryEventLogWriter(directory);
+    HistoryEventLogReader reader = new HistoryEventLogReader(directory);
+
+    writer.append(Arrays.<HistoryEvent>asList(activityInstanceEvent("1")));
+    assertThat(reader.next().getId()).isEqualTo("1");
+    assertThat(reader.hasNext()).isFalse();
+
+    // when
+    writer.append(Arrays.<HistoryEvent>asList(activityInstanceEvent("2")));
+
+    // then
+    assertThat(reader.hasNext()).isTrue();
+    assertThat(reader.next().getId()).isEqualTo("2");
+
+    writer.close();
+    reader.close();
+  }
+
+  @Test
+  public void shouldSkipEventThatDoesNotFitIntoSegment() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    HistoryEventLogWriter writer = new HistoryEventLogWriter(directory);
+    writer.setSegmentSize(256);
+
+    HistoricActivityInstanceEventEntity largeEvent = activityInstanceEvent("large");
+    largeEvent.setActivityName(new String(new char[512]).replace('\0', 'a'));
+
+    // when
+    writer.append(Arrays.<HistoryEvent>asList(largeEvent, activityInstanceEvent("small")));
+    writer.close();
+
+    // then
+    List<HistoryEvent> readEvents = readAll(directory);
+    assertThat(readEvents).hasSize(1);
+    assertThat(readEvents.get(0).getId()).isEqualTo("small");
+  }
+
+  @Test
+  public void shouldSyncWithinIntervalWithoutFurtherAppends() throws Exception {
+    // given
+    final CountDownLatch synced = new CountDownLatch(1);
+    HistoryEventLogWriter writer = new HistoryEventLogWriter(temporaryFolder.newFolder()) {
+      @Override
+      public synchronized void sync() {
+        super.sync();
+        synced.countDown();
+      }
+    };
+    writer.setSyncIntervalInMillis(50);
+
+    // the interval never passes for the append itself
+    ClockUtil.setCurrentTime(new Date());
+
+    try {
+      // when
+      writer.append(Arrays.<HistoryEvent>asList(activityInstanceEvent("1")));
+
+      // then
+      assertThat(synced.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+    finally {
+      ClockUtil.reset();
+      writer.close();
+    }
+  }
+
+  @Test
+  public void shouldReadFieldsOfVariableUpdateEvent() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    HistoryEventLogWriter writer = new HistoryEventLogWriter(directory);
+
+    Date removalTime = new Date(1000);
+    HistoricVariableUpdateEventEntity event = new HistoricVariableUpdateEventEntity();
+    event.setId("variableUpdate");
+    event.setSequenceCounter(5);
+    event.setRemovalTime(removalTime);
+    event.setVariableName("aVariable");
+    event.setSerializerName("long");
+    event.setLongValue(42L);
+    event.setDoubleValue(0.5);
+    event.setTextValue(new String(new char[70000]).replace('\0', 'a'));
+    event.setByteValue(new byte[] { 1, 2, 3 });
+    event.setRevision(2);
+    event.setInitial(true);
+
+    // when
+    writer.append(Arrays.<HistoryEvent>asList(event));
+    writer.close();
+
+    // then
+    List<HistoryEvent> readEvents = readAll(directory);
+    assertThat(readEvents).hasSize(1);
+    assertThat(readEvents.get(0)).isInstanceOf(HistoricVariableUpdateEventEntity.class);
+
+    HistoricVariableUpdateEventEntity readEvent = (HistoricVariableUpdateEventEntity) readEvents.get(0);
+    assertThat(readEvent.getId()).isEqualTo("variableUpdate");
+    assertThat(readEvent.getSequenceCounter()).isEqualTo(5);
+    assertThat(readEvent.getRemovalTime()).isEqualTo(removalTime);
+    assertThat(readEvent.getVariableName()).isEqualTo("aVariable");
+    assertThat(readEvent.getSerializerName()).isEqualTo("long");
+    assertThat(readEvent.getLongValue()).isEqualTo(42L);
+    assertThat(readEvent.getDoubleValue()).isEqualTo(0.5);
+    assertThat(readEvent.getTextValue()).isEqualTo(event.getTextValue());
+    assertThat(readEvent.getByteValue()).containsExactly(1, 2, 3);
+    assertThat(readEvent.getRevision()).isEqualTo(2);
+    assertThat(readEvent.isInitial()).isTrue();
+  }
+
+  @Test
+  public void shouldReadNestedDecisionInstances() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    HistoryEventLogWriter writer = new HistoryEventLogWriter(directory);
+
+    HistoricDecisionInputInstanceEntity input = new HistoricDecisionInputInstanceEntity();
+    input.setId("input");
+    input.setClauseId("clause");
+    input.setSerializerName("string");
+    input.setTextValue("a value");
+    input.setByteArrayValueId("byteArray");
+
+    HistoricDecisionInstanceEntity decisionInstance = new HistoricDecisionInstanceEntity();
+    decisionInstance.setId("decisionInstance");
+    decisionInstance.setDecisionDefinitionKey("decision");
+    decisionInstance.setInputs(Arrays.<HistoricDecisionInputInstance>asList(input));
+
+    HistoricDecisionEvaluationEvent event = new HistoricDecisionEvaluationEvent();
+    event.setRootHistoricDecisionInstance(decisionInstance);
+    event.setRequiredHistoricDecisionInstances(new ArrayList<HistoricDecisionInstanceEntity>());
+
+    // when
+    writer.append(Arrays.<HistoryEvent>asList(event));
+    writer.close();
+
+    // then
+    List<HistoryEvent> readEvents = readAll(directory);
+    assertThat(readEvents).hasSize(1);
+
+    HistoricDecisionEvaluationEvent readEvent = (HistoricDecisionEvaluationEvent) readEvents.get(0);
+    assertThat(readEvent.getRequiredHistoricDecisionInstances()).isEmpty();
+
+    HistoricDecisionInstanceEntity readDecisionInstance = readEvent.getRootHistoricDecisionInstance();
+    assertThat(readDecisionInstance.getId()).isEqualTo("decisionInstance");
+    assertThat(readDecisionInstance.getDecisionDefinitionKey()).isEqualTo("decision");
+    assertThat(readDecisionInstance.getInputs()).hasSize(1);
+
+    HistoricDecisionInputInstanceEntity readInput = (HistoricDecisionInputInstanceEntity) readDecisionInstance.getInputs().get(0);
+    assertThat(readInput.getId()).isEqualTo("input");
+    assertThat(readInput.getClauseId()).isEqualTo("clause");
+    assertThat(readInput.getSerializerName()).isEqualTo("string");
+    assertThat(readInput.getTextValue()).isEqualTo("a value");
+    assertThat(readInput.getByteArrayValueId()).isEqualTo("byteArray");
+  }
+
+  @Test
+  public void shouldRejectSegmentOfUnsupportedFormatVersion() throws Exception {
+    // given
+    File directory = temporaryFolder.newFolder();
+    HistoryEventLogWriter writer = new HistoryEventLogWriter(directory);
+    writer.append(Arrays.<HistoryEvent>asList(activityInstanceEvent("1")));
+    writer.close();
+
+    try (RandomAccessFile segment = new RandomAccessFile(HistoryEventLogSegment.getFile(directory, 0), "rw")) {
+      segment.seek(4);
+      segment.writeByte(HistoryEventLogSegment.FORMAT_VERSION + 1);
+    }
+
+    // when
+    try (HistoryEventLogReader reader = new HistoryEventLogReader(directory)) {
+      assertThatThrownBy(reader::hasNext)
+
+      // then
+        .isInstanceOf(ProcessEngineException.class)
+        .hasMessageContaining("format version " + (HistoryEventLogSegment.FORMAT_VERSION + 1))
+        .hasMessageContaining("only version " + HistoryEventLogSegment.FORMAT_VERSION + " is supported");
+    }
+  }
+
+  protected List<HistoryEvent> readAll(File directory) {
+    List<HistoryEvent> historyEvents = new ArrayList<>();
+    try (HistoryEventLogReader reader = new HistoryEventLogReader(directory)) {
+      while (reader.hasNext()) {
+        historyEvents.add(reader.next());
+      }
+    }
+    return historyEvents;
+  }
+
+  protected HistoricActivityInstanceEventEntity activityInstanceEvent(String id) {
+    HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+    event.setId(id);
+    event.setEventType(HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName());
+    event.setActivityId("task");
+    return event;
+  }
+
+}
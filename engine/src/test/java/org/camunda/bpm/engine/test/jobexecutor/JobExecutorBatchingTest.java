@@ -0,0 +1,163 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.ExecuteJobBatchCmd;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobFailureCollector;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobExecutorBatchingTest extends PluggableProcessEngineTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+        .camundaClass(FailOnVariableDelegate.class.getName())
+      .endEvent()
+      .done();
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration.setJobExecutorBatchedJobDefinitions(Collections.singletonList("process:task"));
+    testRule.deploy(PROCESS);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setJobExecutorBatchedJobDefinitions(Collections.emptyList());
+  }
+
+  @Test
+  public void shouldAcquireJobsOfBatchedJobDefinitionAsOneBatch() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    AcquiredJobs acquiredJobs = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new AcquireJobsCmd(processEngineConfiguration.getJobExecutor()));
+
+    // then
+    assertThat(acquiredJobs.getJobIdBatches()).hasSize(1);
+    assertThat(acquiredJobs.getJobIdBatches().get(0)).hasSize(3);
+  }
+
+  @Test
+  public void shouldAcquireJobsSeparatelyIfBatchingIsDisabled() {
+    // given
+    processEngineConfiguration.setJobExecutorBatchedJobDefinitions(Collections.emptyList());
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    AcquiredJobs acquiredJobs = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new AcquireJobsCmd(processEngineConfiguration.getJobExecutor()));
+
+    // then
+    assertThat(acquiredJobs.getJobIdBatches()).hasSize(2);
+  }
+
+  @Test
+  public void shouldExecuteJobsInOneTransaction() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    List<JobFailureCollector> executedJobs = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new ExecuteJobBatchCmd(getJobIds()));
+
+    // then
+    assertThat(executedJobs).hasSize(2);
+    assertThat(managementService.createJobQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldRollBackBatchIfOneJobFails() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("fail", true));
+    List<String> jobIds = getJobIds();
+
+    // when
+    assertThatThrownBy(() -> processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new ExecuteJobBatchCmd(jobIds)))
+      .isInstanceOf(ProcessEngineException.class);
+
+    // then
+    assertThat(managementService.createJobQuery().count()).isEqualTo(2);
+    assertThat(managementService.createJobQuery().noRetriesLeft().count()).isZero();
+  }
+
+  @Test
+  public void shouldNotExecuteJobsOfOtherJobDefinitions() {
+    // given
+    processEngineConfiguration.setJobExecutorBatchedJobDefinitions(Collections.singletonList("otherProcess:task"));
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    List<JobFailureCollector> executedJobs = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new ExecuteJobBatchCmd(getJobIds()));
+
+    // then
+    assertThat(executedJobs).isEmpty();
+    assertThat(managementService.createJobQuery().count()).isEqualTo(2);
+  }
+
+  protected List<String> getJobIds() {
+    List<String> jobIds = new ArrayList<>();
+    for (Job job : managementService.createJobQuery().list()) {
+      jobIds.add(job.getId());
+    }
+    return jobIds;
+  }
+
+  public static class FailOnVariableDelegate implements JavaDelegate {
+
+    @Override
+    public void execute(DelegateExecution execution) throws Exception {
+      if (Boolean.TRUE.equals(execution.getVariable("fail"))) {
+        throw new ProcessEngineException("Expected Exception");
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.BackoffJobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.camunda.bpm.engine.impl.jobexecutor.PermitBasedJobAcquisitionStrategy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PermitBasedJobAcquisitionStrategyTest {
+
+  protected static final long BASE_IDLE_WAIT_TIME = 50;
+  protected static final float IDLE_INCREASE_FACTOR = 1.5f;
+  protected static final long MAX_IDLE_TIME = 500;
+
+  protected static final long BASE_BACKOFF_WAIT_TIME = 80;
+  protected static final float BACKOFF_INCREASE_FACTOR = 2.0f;
+  protected static final long MAX_BACKOFF_TIME = 1000;
+
+  protected static final int DECREASE_THRESHOLD = 3;
+  protected static final int NUM_JOBS_TO_ACQUIRE = 10;
+
+  protected static final String ENGINE_NAME = "engine";
+
+  protected Semaphore executionPermits;
+  protected PermitBasedJobAcquisitionStrategy strategy;
+
+  @Before
+  public void setUp() {
+    executionPermits = new Semaphore(NUM_JOBS_TO_ACQUIRE);
+    strategy = new PermitBasedJobAcquisitionStrategy(
+        BASE_IDLE_WAIT_TIME,
+        IDLE_INCREASE_FACTOR,
+        MAX_IDLE_TIME,
+        BASE_BACKOFF_WAIT_TIME,
+        BACKOFF_INCREASE_FACTOR,
+        MAX_BACKOFF_TIME,
+        DECREASE_THRESHOLD,
+        NUM_JOBS_TO_ACQUIRE,
+        executionPermits);
+  }
+
+  @Test
+  public void shouldAcquireAllJobsWithFreePermits() {
+    // when all permits are available
+    // then the base number of jobs is acquired
+    Assert.assertEquals(NUM_JOBS_TO_ACQUIRE, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
+  @Test
+  public void shouldLimitAcquisitionToFreePermits() {
+    // given
+    executionPermits.acquireUninterruptibly(7);
+
+    // then
+    Assert.assertEquals(3, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
+  @Test
+  public void shouldWaitWhenNoPermitIsLeft() {
+    // given a successful acquisition cycle
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE));
+
+    // and all permits are taken by executing jobs
+    executionPermits.acquireUninterruptibly(NUM_JOBS_TO_ACQUIRE);
+
+    // when
+    strategy.reconfigure(context);
+
+    // then no jobs are acquired and there is a slight wait time
+    Assert.assertEquals(0, strategy.getNumJobsToAcquire(ENGINE_NAME));
+    Assert.assertEquals(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME, strategy.getWaitTime());
+
+    // when permits are released again
+    executionPermits.release(NUM_JOBS_TO_ACQUIRE);
+    context.reset();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE));
+    strategy.reconfigure(context);
+
+    // then acquisition continues without waiting
+    Assert.assertEquals(NUM_JOBS_TO_ACQUIRE, strategy.getNumJobsToAcquire(ENGINE_NAME));
+    Assert.assertEquals(0L, strategy.getWaitTime());
+  }
+
+  protected AcquiredJobs buildAcquiredJobs(int numJobsToAcquire, int numJobsAcquired) {
+    AcquiredJobs acquiredJobs = new AcquiredJobs(numJobsToAcquire);
+    for (int i = 0; i < numJobsAcquired; i++) {
+      acquiredJobs.addJobIdBatch(Arrays.asList(Integer.toString(i)));
+    }
+    return acquiredJobs;
+  }
+
+}
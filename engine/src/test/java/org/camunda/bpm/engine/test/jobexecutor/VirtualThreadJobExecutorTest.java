@@ -0,0 +1,150 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VirtualThreadJobExecutorTest {
+
+  protected BlockingJobExecutor jobExecutor;
+  protected List<String> rejectedJobIds;
+
+  @Before
+  public void setUp() {
+    rejectedJobIds = Collections.synchronizedList(new ArrayList<>());
+
+    jobExecutor = new BlockingJobExecutor();
+    jobExecutor.setMaxConcurrentJobs(3);
+    jobExecutor.setRejectedJobsHandler(new RejectedJobsHandler() {
+      public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+        rejectedJobIds.addAll(jobIds);
+      }
+    });
+    jobExecutor.start();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.finishJobs.countDown();
+    jobExecutor.shutdown();
+  }
+
+  @Test
+  public void shouldRejectJobsWithoutFreePermits() {
+    // given
+    jobExecutor.executeJobs(Arrays.asList("1", "2"), null);
+
+    // when
+    jobExecutor.executeJobs(Arrays.asList("3", "4"), null);
+
+    // then
+    assertThat(rejectedJobIds).containsExactly("3", "4");
+    assertThat(jobExecutor.getAvailablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldExecuteBatchLargerThanAllPermits() throws InterruptedException {
+    // when
+    jobExecutor.executeJobs(Arrays.asList("1", "2", "3", "4"), null);
+
+    // then
+    assertThat(jobExecutor.startedJobs.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(rejectedJobIds).isEmpty();
+    assertThat(jobExecutor.getAvailablePermits()).isZero();
+  }
+
+  @Test
+  public void shouldReleasePermitsAfterExecution() throws InterruptedException {
+    // given
+    jobExecutor.executeJobs(Arrays.asList("1", "2", "3"), null);
+
+    // when
+    jobExecutor.finishJobs.countDown();
+
+    // then
+    assertThat(jobExecutor.finishedJobs.await(10, TimeUnit.SECONDS)).isTrue();
+    Semaphore executionPermits = jobExecutor.getExecutionPermits();
+    assertThat(executionPermits.tryAcquire(3, 10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void shouldRecreatePermitsOnRestart() {
+    // given
+    jobExecutor.setMaxConcurrentJobs(5);
+
+    // when
+    jobExecutor.shutdown();
+    jobExecutor.start();
+
+    // then
+    assertThat(jobExecutor.getAvailablePermits()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldRunJobsOnNamedThreads() throws InterruptedException {
+    // when
+    jobExecutor.executeJobs(Collections.singletonList("1"), null);
+
+    // then
+    assertThat(jobExecutor.startedJobs.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(jobExecutor.threadName).startsWith("camunda-job-");
+  }
+
+  /**
+   * Executes a batch of jobs by blocking until the test lets it finish.
+   */
+  public static class BlockingJobExecutor extends VirtualThreadJobExecutor {
+
+    protected CountDownLatch startedJobs = new CountDownLatch(1);
+    protected CountDownLatch finishJobs = new CountDownLatch(1);
+    protected CountDownLatch finishedJobs = new CountDownLatch(1);
+    protected volatile String threadName;
+
+    @Override
+    public Runnable getExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
+      return new Runnable() {
+        public void run() {
+          threadName = Thread.currentThread().getName();
+          startedJobs.countDown();
+          try {
+            finishJobs.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          finishedJobs.countDown();
+        }
+      };
+    }
+  }
+
+}
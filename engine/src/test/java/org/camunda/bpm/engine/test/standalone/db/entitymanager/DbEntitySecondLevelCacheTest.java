@@ -0,0 +1,197 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntitySecondLevelCache;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbEntitySecondLevelCacheTest {
+
+  protected DbEntitySecondLevelCache cache;
+
+  @Before
+  public void setUp() {
+    ClockUtil.setCurrentTime(new Date(0));
+    cache = new DbEntitySecondLevelCache(Collections.singletonList(JobDefinitionEntity.class));
+    cache.setTimeToLive(1000);
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldReturnCopyOfCachedEntity() {
+    // given
+    JobDefinitionEntity jobDefinition = jobDefinition("1", 1);
+    cache.put(jobDefinition);
+
+    // when
+    JobDefinitionEntity cachedJobDefinition = cache.get(JobDefinitionEntity.class, "1");
+
+    // then
+    assertThat(cachedJobDefinition).isNotSameAs(jobDefinition);
+    assertThat(cachedJobDefinition.getId()).isEqualTo("1");
+    assertThat(cachedJobDefinition.getRevision()).isEqualTo(1);
+    assertThat(cache.getHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotCacheOtherTypes() {
+    // given
+    TaskEntity task = new TaskEntity();
+    task.setId("1");
+
+    // when
+    cache.put(task);
+
+    // then
+    assertThat(cache.get(TaskEntity.class, "1")).isNull();
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  public void shouldNotReplaceNewerRevision() {
+    // given
+    cache.put(jobDefinition("1", 2));
+
+    // when
+    cache.put(jobDefinition("1", 1));
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "1").getRevision()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldInvalidateEntity() {
+    // given
+    cache.put(jobDefinition("1", 1));
+    cache.put(jobDefinition("2", 1));
+
+    // when
+    cache.invalidate(JobDefinitionEntity.class, jobDefinition("1", 1));
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "1")).isNull();
+    assertThat(cache.get(JobDefinitionEntity.class, "2")).isNotNull();
+  }
+
+  @Test
+  public void shouldNotCacheStaleRevisionAfterInvalidation() {
+    // given a command that loaded revision 1 before it was updated
+    JobDefinitionEntity staleJobDefinition = jobDefinition("1", 1);
+    cache.invalidate(JobDefinitionEntity.class, jobDefinition("1", 1));
+
+    // when
+    cache.put(staleJobDefinition);
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "1")).isNull();
+  }
+
+  @Test
+  public void shouldCacheNewerRevisionAfterInvalidation() {
+    // given the invalidations before the flush and after the commit of an update
+    cache.invalidate(JobDefinitionEntity.class, jobDefinition("1", 1));
+    cache.invalidate(JobDefinitionEntity.class, jobDefinition("1", 2));
+
+    // when
+    cache.put(jobDefinition("1", 2));
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "1").getRevision()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCacheAgainWhenInvalidationExpired() {
+    // given
+    cache.invalidate(JobDefinitionEntity.class, jobDefinition("1", 1));
+    ClockUtil.setCurrentTime(new Date(1001));
+
+    // when
+    cache.put(jobDefinition("1", 1));
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "1")).isNotNull();
+  }
+
+  @Test
+  public void shouldNotCacheTypeAfterTypeInvalidation() {
+    // given
+    cache.put(jobDefinition("1", 1));
+
+    // when
+    cache.invalidateType(JobDefinitionEntity.class);
+    cache.put(jobDefinition("2", 1));
+
+    // then
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  public void shouldExpireEntity() {
+    // given
+    cache.put(jobDefinition("1", 1));
+
+    // when
+    ClockUtil.setCurrentTime(new Date(1001));
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "1")).isNull();
+    assertThat(cache.getMisses()).isEqualTo(1);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  public void shouldEvictExpiredEntitiesFirst() {
+    // given
+    cache.setMaxSize(2);
+    cache.put(jobDefinition("1", 1));
+    ClockUtil.setCurrentTime(new Date(500));
+    cache.put(jobDefinition("2", 1));
+    ClockUtil.setCurrentTime(new Date(1001));
+
+    // when
+    cache.put(jobDefinition("3", 1));
+
+    // then
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.getEvictions()).isEqualTo(1);
+    assertThat(cache.get(JobDefinitionEntity.class, "1")).isNull();
+    assertThat(cache.get(JobDefinitionEntity.class, "2")).isNotNull();
+    assertThat(cache.get(JobDefinitionEntity.class, "3")).isNotNull();
+  }
+
+  protected JobDefinitionEntity jobDefinition(String id, int revision) {
+    JobDefinitionEntity jobDefinition = new JobDefinitionEntity();
+    jobDefinition.setId(id);
+    jobDefinition.setRevision(revision);
+    return jobDefinition;
+  }
+
+}
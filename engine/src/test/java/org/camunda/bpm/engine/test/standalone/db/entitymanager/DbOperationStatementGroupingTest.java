@@ -0,0 +1,142 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.EverLivingJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbOperationStatementGroupingTest {
+
+  protected DbOperationManager operationManager;
+
+  @Before
+  public void setUp() {
+    // all job types share the same statements, like in the mybatis mappings
+    Function<DbOperation, String> statementResolver = operation -> {
+      String type = operation.getEntityType().getSimpleName();
+      if (type.endsWith("JobEntity") || type.equals("MessageEntity")) {
+        type = "JobEntity";
+      }
+      if (operation instanceof DbBulkOperation) {
+        return ((DbBulkOperation) operation).getStatement();
+      }
+      return operation.getOperationType() + type;
+    };
+
+    operationManager = new DbOperationManager(statementResolver);
+  }
+
+  @Test
+  public void shouldGroupUpdatesOfSameStatement() {
+    // given
+    EverLivingJobEntity everLivingJob = entity(new EverLivingJobEntity(), "1");
+    ExternalTaskEntity externalTask = entity(new ExternalTaskEntity(), "2");
+    MessageEntity message = entity(new MessageEntity(), "3");
+
+    operationManager.addOperation(operation(DbOperationType.UPDATE, everLivingJob));
+    operationManager.addOperation(operation(DbOperationType.UPDATE, externalTask));
+    operationManager.addOperation(operation(DbOperationType.UPDATE, message));
+
+    // when
+    List<DbOperation> flush = operationManager.calculateFlush();
+
+    // then both job updates are adjacent
+    assertThat(flush).extracting("entity").containsExactly(externalTask, everLivingJob, message);
+  }
+
+  @Test
+  public void shouldKeepUpdatesBeforeDeletesOfSameType() {
+    // given
+    MessageEntity updatedMessage = entity(new MessageEntity(), "1");
+    MessageEntity deletedMessage = entity(new MessageEntity(), "2");
+    ExternalTaskEntity updatedExternalTask = entity(new ExternalTaskEntity(), "3");
+
+    operationManager.addOperation(operation(DbOperationType.DELETE, deletedMessage));
+    operationManager.addOperation(operation(DbOperationType.UPDATE, updatedMessage));
+    operationManager.addOperation(operation(DbOperationType.UPDATE, updatedExternalTask));
+
+    // when
+    List<DbOperation> flush = operationManager.calculateFlush();
+
+    // then all updates happen before the delete
+    assertThat(flush).extracting("entity").containsExactly(updatedExternalTask, updatedMessage, deletedMessage);
+  }
+
+  @Test
+  public void shouldNotReorderAcrossTypeOrder() {
+    // given an execution, which must be deleted after the jobs referencing it
+    ExecutionEntity execution = entity(new ExecutionEntity(), "1");
+    MessageEntity message = entity(new MessageEntity(), "2");
+
+    operationManager.addOperation(operation(DbOperationType.DELETE, execution));
+    operationManager.addOperation(operation(DbOperationType.DELETE, message));
+
+    // when
+    List<DbOperation> flush = operationManager.calculateFlush();
+
+    // then
+    assertThat(flush).extracting("entity").containsExactly(message, execution);
+  }
+
+  @Test
+  public void shouldNotReorderBulkOperationsWithInsertionOrder() {
+    // given
+    DbBulkOperation first = new DbBulkOperation(DbOperationType.DELETE_BULK, MessageEntity.class, "b", null);
+    DbBulkOperation second = new DbBulkOperation(DbOperationType.DELETE_BULK, MessageEntity.class, "a", null);
+    MessageEntity message = entity(new MessageEntity(), "1");
+
+    operationManager.addOperationPreserveOrder(first);
+    operationManager.addOperationPreserveOrder(second);
+    operationManager.addOperation(operation(DbOperationType.UPDATE, message));
+
+    // when
+    List<DbOperation> flush = operationManager.calculateFlush();
+
+    // then
+    assertThat(flush).hasSize(3);
+    assertThat(flush.get(1)).isSameAs(first);
+    assertThat(flush.get(2)).isSameAs(second);
+  }
+
+  protected <T extends DbEntity> T entity(T entity, String id) {
+    entity.setId(id);
+    return entity;
+  }
+
+  protected DbEntityOperation operation(DbOperationType type, DbEntity entity) {
+    DbEntityOperation operation = new DbEntityOperation();
+    operation.setOperationType(type);
+    operation.setEntity(entity);
+    return operation;
+  }
+
+}
@@ -27,7 +27,7 @@ public class AstBinary extends AstRightValue {
 			return apply(bindings, left.eval(bindings, context), right.eval(bindings, context));
 		}
 
-		protected abstract Object apply(TypeConverter converter, Object o1, Object o2);
+		public abstract Object apply(TypeConverter converter, Object o1, Object o2);
 	}
 	public static final Operator ADD = new SimpleOperator() {
 		@Override public Object apply(TypeConverter converter, Object o1, Object o2) { return NumberOperations.add(converter, o1, o2); }
@@ -28,7 +28,7 @@ public class AstUnary extends AstRightValue {
 			return apply(bindings, node.eval(bindings, context));
 		}
 
-		protected abstract Object apply(TypeConverter converter, Object o);
+		public abstract Object apply(TypeConverter converter, Object o);
 	}
 	public static final Operator EMPTY = new SimpleOperator() {
 		@Override public Object apply(TypeConverter converter, Object o) { return BooleanOperations.empty(converter, o); }
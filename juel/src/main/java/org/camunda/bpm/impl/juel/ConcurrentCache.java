@@ -0,0 +1,192 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.impl.juel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe tree cache with lock-free reads and frequency-based eviction.
+ *
+ * <p>Every cached tree counts how often it was read. Once the cache exceeds its maximum
+ * size, a single thread removes the least frequently read entries until the cache is back
+ * at 90% of its maximum size. Whenever as many entries were evicted as fit into the cache,
+ * the read counts of the remaining entries are halved, such that trees which were popular
+ * a long time ago age out. Readers never wait for the eviction.</p>
+ *
+ * <p>Read counts saturate at 15 and are incremented without synchronization, so concurrent
+ * reads may be lost. This only affects the choice of the evicted entries.</p>
+ *
+ * <p>Like {@link Cache}, evicted trees are moved to a secondary map, by default a
+ * {@link WeakHashMap}, which is only looked up if a tree is not in the primary cache.</p>
+ */
+public final class ConcurrentCache implements TreeCache {
+	private static final int MAX_FREQUENCY = 15;
+
+	private final ConcurrentHashMap<String, CacheEntry> entries;
+	private final Map<String, Tree> secondary;
+	private final AtomicBoolean evicting = new AtomicBoolean();
+	private final int maximumSize;
+	private final int evictionSize;
+	private int evictionsSinceAging; // guarded by evicting
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * Use a {@link WeakHashMap} as secondary map.
+	 * @param size maximum cache size
+	 */
+	public ConcurrentCache(int size) {
+		this(size, new WeakHashMap<String, Tree>());
+	}
+
+	/**
+	 * Constructor.
+	 * Trees evicted from the cache are added to the secondary map.
+	 * @param size maximum cache size
+	 * @param secondary the secondary map (may be <code>null</code>)
+	 */
+	public ConcurrentCache(int size, Map<String, Tree> secondary) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("Cache size must be greater than zero: " + size);
+		}
+		this.maximumSize = size;
+		this.evictionSize = Math.max(1, size / 10);
+		this.entries = new ConcurrentHashMap<String, CacheEntry>(Math.min(size, 1 << 16));
+		this.secondary = secondary == null ? null : Collections.synchronizedMap(secondary);
+	}
+
+	public Tree get(String expression) {
+		CacheEntry entry = entries.get(expression);
+		if (entry == null) {
+			Tree tree = secondary == null ? null : secondary.get(expression);
+			if (tree == null) {
+				missCount.increment();
+			} else {
+				hitCount.increment();
+			}
+			return tree;
+		}
+		hitCount.increment();
+		if (entry.frequency < MAX_FREQUENCY) { // saturated entries are only read
+			entry.frequency++;
+		}
+		return entry.tree;
+	}
+
+	public void put(String expression, Tree tree) {
+		entries.put(expression, new CacheEntry(tree));
+
+		// only one thread evicts, the others retry if the cache is still too large afterwards
+		while (entries.size() > maximumSize && evicting.compareAndSet(false, true)) {
+			try {
+				evict();
+			} finally {
+				evicting.set(false);
+			}
+		}
+	}
+
+	private void evict() {
+		int size = entries.size();
+		if (size <= maximumSize) {
+			return;
+		}
+
+		// find the read count up to which entries are removed
+		int[] frequencies = new int[size];
+		int i = 0;
+		for (CacheEntry entry : entries.values()) {
+			if (i == frequencies.length) {
+				break;
+			}
+			frequencies[i++] = entry.frequency;
+		}
+		Arrays.sort(frequencies, 0, i);
+		int toRemove = Math.min(i, size - maximumSize + evictionSize);
+		int threshold = frequencies[toRemove - 1];
+
+		// age the read counts once the cache content was replaced
+		boolean aging = evictionsSinceAging >= maximumSize;
+		if (aging) {
+			evictionsSinceAging = 0;
+		}
+		evictionsSinceAging += toRemove;
+
+		Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, CacheEntry> mapEntry = iterator.next();
+			CacheEntry entry = mapEntry.getValue();
+			if (toRemove > 0 && entry.frequency <= threshold) {
+				iterator.remove();
+				if (secondary != null) { // move to secondary cache
+					secondary.put(mapEntry.getKey(), entry.tree);
+				}
+				evictionCount.increment();
+				toRemove--;
+			} else if (aging) {
+				entry.frequency >>>= 1;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of trees in the primary cache
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the number of lookups which found a cached tree
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return the number of lookups which did not find a cached tree
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return the number of trees which were removed from the primary cache to keep its maximum size
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	private static final class CacheEntry {
+		final Tree tree;
+		int frequency = 1;
+
+		CacheEntry(Tree tree) {
+			this.tree = tree;
+		}
+	}
+}
@@ -331,7 +331,7 @@ public class ExpressionFactoryImpl extends jakarta.el.ExpressionFactory {
 				throw new ELException("Cannot parse EL property " + PROP_CACHE_SIZE, e);
 			}
 		}
-		Cache cache = cacheSize > 0 ? new Cache(cacheSize) : null;
+		TreeCache cache = cacheSize > 0 ? new ConcurrentCache(cacheSize) : null;
 
 		return new TreeStore(builder, cache);
 	}
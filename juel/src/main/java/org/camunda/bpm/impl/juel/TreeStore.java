@@ -43,6 +43,13 @@ public class TreeStore {
 	public TreeBuilder getBuilder() {
 		return builder;
 	}
+
+	/**
+	 * @return the tree cache or <code>null</code> if trees are not cached
+	 */
+	public TreeCache getCache() {
+		return cache;
+	}
 	
 	/**
 	 * Get a {@link Tree}.
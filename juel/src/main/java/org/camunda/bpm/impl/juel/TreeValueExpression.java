@@ -83,6 +83,20 @@ public final class TreeValueExpression extends jakarta.el.ValueExpression {
 		return type;
 	}
 
+	/**
+	 * @return the root node of the parse tree
+	 */
+	public ExpressionNode getRoot() {
+		return node;
+	}
+
+	/**
+	 * @return the function, variable and type converter bindings of this expression
+	 */
+	public Bindings getBindings() {
+		return bindings;
+	}
+
 	@Override
 	public String getExpressionString() {
 		return expr;
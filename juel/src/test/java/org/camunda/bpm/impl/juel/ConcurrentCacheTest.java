@@ -0,0 +1,136 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.impl.juel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ConcurrentCacheTest {
+
+	protected static final Tree TREE = new Builder().build("${value}");
+
+	@Test
+	public void shouldEvictLeastFrequentlyReadTrees() {
+		// given
+		ConcurrentCache cache = new ConcurrentCache(10, null);
+		for (int i = 0; i < 10; i++) {
+			cache.put("expression" + i, TREE);
+		}
+		for (int i = 1; i < 10; i++) {
+			cache.get("expression" + i);
+		}
+
+		// when
+		cache.put("expression10", TREE);
+
+		// then
+		assertThat(cache.size()).isEqualTo(9);
+		assertThat(cache.getEvictionCount()).isEqualTo(2);
+		assertThat(cache.get("expression0")).isNull();
+		assertThat(cache.get("expression10")).isNull();
+		for (int i = 1; i < 10; i++) {
+			assertThat(cache.get("expression" + i)).isSameAs(TREE);
+		}
+	}
+
+	@Test
+	public void shouldKeepFrequentlyReadTrees() {
+		// given
+		ConcurrentCache cache = new ConcurrentCache(10, null);
+		cache.put("hot", TREE);
+
+		// when
+		for (int i = 0; i < 1000; i++) {
+			cache.put("expression" + i, TREE);
+			cache.get("hot");
+		}
+
+		// then
+		assertThat(cache.get("hot")).isSameAs(TREE);
+		assertThat(cache.size()).isLessThanOrEqualTo(10);
+	}
+
+	@Test
+	public void shouldAgeTreesWhichAreNoLongerRead() {
+		// given
+		ConcurrentCache cache = new ConcurrentCache(10, null);
+		cache.put("formerlyHot", TREE);
+		for (int i = 0; i < 100; i++) {
+			cache.get("formerlyHot");
+		}
+
+		// when
+		for (int i = 0; i < 1000; i++) {
+			cache.put("expression" + i, TREE);
+		}
+
+		// then
+		assertThat(cache.get("formerlyHot")).isNull();
+		assertThat(cache.size()).isLessThanOrEqualTo(10);
+	}
+
+	@Test
+	public void shouldMoveEvictedTreesToSecondaryMap() {
+		// given
+		Map<String, Tree> secondary = new HashMap<String, Tree>();
+		ConcurrentCache cache = new ConcurrentCache(10, secondary);
+
+		// when
+		for (int i = 0; i < 20; i++) {
+			cache.put("expression" + i, TREE);
+		}
+
+		// then
+		assertThat(cache.size()).isLessThanOrEqualTo(10);
+		assertThat(secondary).hasSize((int) cache.getEvictionCount());
+		assertThat(cache.size() + secondary.size()).isEqualTo(20);
+		for (int i = 0; i < 20; i++) {
+			assertThat(cache.get("expression" + i)).isSameAs(TREE);
+		}
+		assertThat(cache.getMissCount()).isZero();
+	}
+
+	@Test
+	public void shouldCountHitsMissesAndEvictions() {
+		// given
+		ConcurrentCache cache = new ConcurrentCache(10, null);
+
+		// when
+		cache.get("expression");
+		cache.put("expression", TREE);
+		cache.get("expression");
+		cache.get("expression");
+		for (int i = 0; i < 10; i++) {
+			cache.put("expression" + i, TREE);
+		}
+
+		// then
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getEvictionCount()).isEqualTo(11 - cache.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNonPositiveSize() {
+		new ConcurrentCache(0);
+	}
+
+}
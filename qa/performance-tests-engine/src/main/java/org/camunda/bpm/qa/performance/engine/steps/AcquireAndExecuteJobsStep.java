@@ -0,0 +1,61 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+
+/**
+ * Acquires jobs like a job executor would and executes them. Every thread acts as a
+ * separate node with its own lock owner, such that running the test with multiple
+ * threads shows how well job acquisition copes with competing nodes.
+ */
+public class AcquireAndExecuteJobsStep extends ProcessEngineAwareStep {
+
+  protected CommandExecutor commandExecutor;
+  protected ManagementService managementService;
+
+  public AcquireAndExecuteJobsStep(ProcessEngine processEngine) {
+    super(processEngine);
+    commandExecutor = ((ProcessEngineImpl) processEngine).getProcessEngineConfiguration().getCommandExecutorTxRequired();
+    managementService = processEngine.getManagementService();
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    JobExecutor node = new DefaultJobExecutor();
+    node.setLockOwner("node-" + Thread.currentThread().getId());
+
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(node));
+
+    for (List<String> jobIds : acquiredJobs.getJobIdBatches()) {
+      for (String jobId : jobIds) {
+        managementService.executeJob(jobId);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jobexecutor;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.qa.performance.engine.bpmn.delegate.NoopDelegate;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.AcquireAndExecuteJobsStep;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares job acquisition by optimistic locking with job acquisition by
+ * <code>SELECT ... FOR UPDATE SKIP LOCKED</code>. Each thread acts as a separate
+ * job executor node, so run the benchmark with <code>-DnumberOfThreads=8</code>
+ * to get the numbers for 2, 4 and 8 nodes.
+ */
+public class JobAcquisitionPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+  protected String deploymentId;
+
+  @Before
+  public void deployProcess() {
+    engineConfiguration = ((ProcessEngineImpl) engine).getProcessEngineConfiguration();
+
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaClass(NoopDelegate.class.getName())
+      .endEvent()
+      .done();
+
+    deploymentId = repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", process)
+      .deploy()
+      .getId();
+  }
+
+  @After
+  public void cleanUp() {
+    engineConfiguration.setJobExecutorAcquireWithSkipLocked(false);
+    repositoryService.deleteDeployment(deploymentId, true);
+  }
+
+  @Test
+  public void acquireWithOptimisticLocking() {
+    engineConfiguration.setJobExecutorAcquireWithSkipLocked(false);
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+      .step(new AcquireAndExecuteJobsStep(engine))
+      .run();
+  }
+
+  @Test
+  public void acquireWithSkipLocked() {
+    engineConfiguration.setJobExecutorAcquireWithSkipLocked(true);
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+      .step(new AcquireAndExecuteJobsStep(engine))
+      .run();
+  }
+
+}